@@ -0,0 +1,58 @@
+-- ========================================
+-- BENCHMARK - BELOW-MINIMUM QUERIES ON 1M RAW MATERIALS
+-- ========================================
+-- Compares the old two-column predicate (stock < stock_min, full scan)
+-- with the indexed generated column (deficit > 0, range scan on idx_material_deficit).
+--
+-- Run against a scratch database where Liquibase changesets up to
+-- 10-add-raw-material-deficit-column have been applied:
+--   mysql -u scx_user -p supplychainx_bench < schema/benchmark/raw-materials-deficit-benchmark.sql
+-- ========================================
+
+-- ========================================
+-- DATA: 1,000,000 materials, ~1% below minimum
+-- ========================================
+DROP TEMPORARY TABLE IF EXISTS digits;
+CREATE TEMPORARY TABLE digits (d INT PRIMARY KEY);
+INSERT INTO digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+INSERT INTO raw_materials (name, stock, stock_min, unit)
+SELECT CONCAT('Material ', n),
+       CASE WHEN n % 100 = 0 THEN n % 47 ELSE 100 + n % 900 END,
+       50 + n % 50,
+       'kg'
+FROM (
+    SELECT a.d + 10 * b.d + 100 * c.d + 1000 * e.d + 10000 * f.d + 100000 * g.d AS n
+    FROM digits a, digits b, digits c, digits e, digits f, digits g
+) numbers;
+
+ANALYZE TABLE raw_materials;
+
+-- ========================================
+-- BEFORE: column-to-column comparison
+-- ========================================
+EXPLAIN ANALYZE
+SELECT * FROM raw_materials WHERE stock < stock_min LIMIT 10;
+
+EXPLAIN ANALYZE
+SELECT * FROM raw_materials WHERE stock < stock_min ORDER BY stock_min - stock DESC LIMIT 10;
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM raw_materials WHERE stock < stock_min;
+
+-- ========================================
+-- AFTER: indexed deficit column
+-- ========================================
+EXPLAIN ANALYZE
+SELECT * FROM raw_materials WHERE deficit > 0 LIMIT 10;
+
+EXPLAIN ANALYZE
+SELECT * FROM raw_materials WHERE deficit > 0 ORDER BY deficit DESC LIMIT 10;
+
+EXPLAIN ANALYZE
+SELECT COUNT(*) FROM raw_materials WHERE deficit > 0;
+
+-- ========================================
+-- CLEANUP
+-- ========================================
+-- DELETE FROM raw_materials WHERE name LIKE 'Material %';
@@ -0,0 +1,52 @@
+package com.protocol.supplychainx.catalog.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * R2DBC connection pool of the reactive read path and the client on top of it
+ * Deliberately not a ConnectionFactory bean: Spring Boot's DataSource auto-configuration backs off as soon as
+ * one exists, and JPA goes with it.
+ */
+public class CatalogDatabase implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @param url            R2DBC URL, e.g. r2dbc:mysql://host:3306/supplychainx
+     * @param username       Database user
+     * @param password       Database password
+     * @param maxSize        Maximum pooled connections
+     * @param maxAcquireTime How long a query waits for a connection before failing
+     */
+    public CatalogDatabase(String url, String username, String password, int maxSize, Duration maxAcquireTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("catalog")
+                .initialSize(Math.min(2, maxSize))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public DatabaseClient client() {
+        return databaseClient;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
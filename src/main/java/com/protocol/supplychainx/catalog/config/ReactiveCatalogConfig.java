@@ -0,0 +1,141 @@
+package com.protocol.supplychainx.catalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protocol.supplychainx.catalog.handler.CatalogHandler;
+import com.protocol.supplychainx.catalog.handler.ReactiveEndpointAuthenticator;
+import com.protocol.supplychainx.catalog.repository.CatalogReadRepository;
+import com.protocol.supplychainx.common.exceptions.ErrorResponse;
+import com.protocol.supplychainx.common.exceptions.UnauthorizedException;
+import com.protocol.supplychainx.common.exceptions.procurement.RawMaterialNotFoundException;
+import com.protocol.supplychainx.common.exceptions.procurement.SupplierNotFoundException;
+import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking read path for the product, raw material and supplier catalogues, active only when
+ * reactive-catalog.enabled is set
+ * The routes run on a separate Netty server (reactive-catalog.port) with a few event loop threads, reading through
+ * R2DBC from the same schema as JPA. Everything else, including every write, stays on Spring MVC. Spring Boot's own
+ * R2DBC auto-configuration is excluded in SupplyChainXApplication: it would fail without spring.r2dbc.url and
+ * register a second transaction manager next to the JPA one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reactive-catalog.enabled", havingValue = "true")
+public class ReactiveCatalogConfig {
+
+    /**
+     * @param url            R2DBC URL, e.g. r2dbc:mysql://host:3306/supplychainx; a replica is fine, reads only
+     * @param username       Database user, defaults to spring.datasource.username
+     * @param password       Database password, defaults to spring.datasource.password
+     * @param maxSize        Maximum pooled connections
+     * @param maxAcquireTime How long a query waits for a connection before failing
+     * @return The R2DBC pool and client of the reactive read path
+     */
+    @Bean
+    public CatalogDatabase catalogDatabase(
+            @Value("${reactive-catalog.r2dbc.url}") String url,
+            @Value("${reactive-catalog.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${reactive-catalog.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${reactive-catalog.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${reactive-catalog.r2dbc.pool.max-acquire-time-ms:3000}") long maxAcquireTime) {
+        return new CatalogDatabase(url, username, password, maxSize, Duration.ofMillis(maxAcquireTime));
+    }
+
+    @Bean
+    public CatalogHandler catalogHandler(CatalogDatabase catalogDatabase, PasswordEncoder passwordEncoder,
+                                         DomainMetrics domainMetrics) {
+        return new CatalogHandler(new CatalogReadRepository(catalogDatabase.client()),
+                new ReactiveEndpointAuthenticator(catalogDatabase.client(), passwordEncoder, domainMetrics));
+    }
+
+    /**
+     * Catalogue routes, with the error responses of GlobalExceptionHandler
+     *
+     * @param handler The catalogue handler
+     * @return The router of the reactive server
+     */
+    @Bean
+    public RouterFunction<ServerResponse> catalogRoutes(CatalogHandler handler) {
+        return routes(handler);
+    }
+
+    /**
+     * @param catalogRoutes The catalogue routes
+     * @param objectMapper  Spring Boot's object mapper, so JSON matches the MVC responses
+     * @param port          Port of the reactive server, 0 for a random one
+     * @return The reactive server, started with the application context
+     */
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(RouterFunction<ServerResponse> catalogRoutes,
+                                                       ObjectMapper objectMapper,
+                                                       @Value("${reactive-catalog.port:8081}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveCatalogServer(new NettyReactiveWebServerFactory(port),
+                RouterFunctions.toHttpHandler(catalogRoutes, strategies));
+    }
+
+    static RouterFunction<ServerResponse> routes(CatalogHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/production/products", handler::getAllProducts)
+                .GET("/api/production/products/search", handler::searchProducts)
+                .GET("/api/production/products/{id}", handler::getProductById)
+                .GET("/api/procurement/raw-materials", handler::getAllRawMaterials)
+                .GET("/api/procurement/raw-materials/search", handler::searchRawMaterials)
+                .GET("/api/procurement/raw-materials/below-minimum", handler::getMaterialsBelowMinimumStock)
+                .GET("/api/procurement/raw-materials/{id}", handler::getRawMaterialById)
+                .GET("/api/procurement/suppliers", handler::getAllSuppliers)
+                .GET("/api/procurement/suppliers/search", handler::searchSuppliers)
+                .GET("/api/procurement/suppliers/{id}", handler::getSupplierById)
+                // Deferred so that parameter parsing errors, thrown before the handler returns a Mono, are mapped too
+                .filter((request, next) -> Mono.defer(() -> next.handle(request)).onErrorResume(
+                        e -> status(e) != null, e -> error(status(e), e)))
+                .build();
+    }
+
+    private static HttpStatus status(Throwable e) {
+        if (e instanceof UnauthorizedException) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        if (e instanceof ProductNotFoundException || e instanceof RawMaterialNotFoundException
+                || e instanceof SupplierNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return null;
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, Throwable e) {
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(e.getMessage())
+                .build();
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
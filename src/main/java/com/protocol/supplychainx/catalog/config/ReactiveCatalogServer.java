@@ -0,0 +1,52 @@
+package com.protocol.supplychainx.catalog.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+
+/**
+ * Netty server for the reactive catalogue routes, started and stopped with the application context next to
+ * the servlet container
+ */
+@Slf4j
+public class ReactiveCatalogServer implements SmartLifecycle {
+
+    private final NettyReactiveWebServerFactory factory;
+    private final HttpHandler httpHandler;
+    private volatile WebServer webServer;
+
+    public ReactiveCatalogServer(NettyReactiveWebServerFactory factory, HttpHandler httpHandler) {
+        this.factory = factory;
+        this.httpHandler = httpHandler;
+    }
+
+    @Override
+    public void start() {
+        webServer = factory.getWebServer(httpHandler);
+        webServer.start();
+        log.info("Reactive catalogue read path listening on port {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        if (webServer != null) {
+            webServer.stop();
+            webServer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return webServer != null;
+    }
+
+    /**
+     * @return The bound port, useful when reactive-catalog.port is 0; -1 when not running
+     */
+    public int getPort() {
+        WebServer server = webServer;
+        return server != null ? server.getPort() : -1;
+    }
+}
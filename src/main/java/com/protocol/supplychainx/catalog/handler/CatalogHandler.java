@@ -0,0 +1,185 @@
+package com.protocol.supplychainx.catalog.handler;
+
+import com.protocol.supplychainx.catalog.repository.CatalogPage;
+import com.protocol.supplychainx.catalog.repository.CatalogReadRepository;
+import com.protocol.supplychainx.common.enums.RoleUtilisateur;
+import com.protocol.supplychainx.common.exceptions.procurement.RawMaterialNotFoundException;
+import com.protocol.supplychainx.common.exceptions.procurement.SupplierNotFoundException;
+import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
+import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
+import com.protocol.supplychainx.procurement.dto.SupplierDTO;
+import com.protocol.supplychainx.production.dto.ProductDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Catalogue GET routes, on the same paths and with the same parameters and DTOs as ProductController,
+ * RawMaterialController and SupplierController
+ * Lists are returned as the same Spring Data Page body as the MVC controllers, serialized by the same object mapper.
+ * Like a Spring Data repository, the count query is skipped when the page itself tells the total. A client that
+ * explicitly accepts application/x-ndjson and sends no size gets the whole catalogue instead, one DTO per line in id
+ * order, read from the database as fast as it consumes them.
+ */
+public class CatalogHandler {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Map<String, String> MATERIAL_SORT_COLUMNS = Map.of(
+            "idMaterial", "m.id_material", "name", "m.name", "stock", "m.stock",
+            "stockMin", "m.stock_min", "unit", "m.unit", "deficit", "m.deficit");
+    private static final Map<String, String> SUPPLIER_SORT_COLUMNS = Map.of(
+            "idSupplier", "s.id_supplier", "name", "s.name", "contact", "s.contact",
+            "rating", "s.rating", "leadTime", "s.lead_time");
+    private static final Map<String, String> PRODUCT_SORT_COLUMNS = Map.of("idProduct", "p.id_product");
+
+    private final CatalogReadRepository catalogReadRepository;
+    private final ReactiveEndpointAuthenticator authenticator;
+
+    public CatalogHandler(CatalogReadRepository catalogReadRepository, ReactiveEndpointAuthenticator authenticator) {
+        this.catalogReadRepository = catalogReadRepository;
+        this.authenticator = authenticator;
+    }
+
+    public Mono<ServerResponse> getProductById(ServerRequest request) {
+        Long id = pathId(request);
+        return authenticator.authenticate(request, RoleUtilisateur.ADMIN, RoleUtilisateur.CHEF_PRODUCTION,
+                        RoleUtilisateur.SUPERVISEUR_PRODUCTION, RoleUtilisateur.PLANIFICATEUR)
+                .then(catalogReadRepository.findProductById(id))
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)))
+                .flatMap(CatalogHandler::ok);
+    }
+
+    public Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        return list(catalogReadRepository::findProducts, catalogReadRepository::countProducts, ProductDTO.class,
+                page(request, PRODUCT_SORT_COLUMNS, "idProduct", "ASC", false));
+    }
+
+    public Mono<ServerResponse> searchProducts(ServerRequest request) {
+        String name = requiredParam(request, "name");
+        return list(page -> catalogReadRepository.searchProducts(name, page),
+                () -> catalogReadRepository.countProductsByName(name), ProductDTO.class,
+                page(request, PRODUCT_SORT_COLUMNS, "idProduct", "ASC", false));
+    }
+
+    public Mono<ServerResponse> getRawMaterialById(ServerRequest request) {
+        Long id = pathId(request);
+        return catalogReadRepository.findMaterialById(id)
+                .switchIfEmpty(Mono.error(() -> new RawMaterialNotFoundException(id)))
+                .flatMap(CatalogHandler::ok);
+    }
+
+    public Mono<ServerResponse> getAllRawMaterials(ServerRequest request) {
+        return list(catalogReadRepository::findMaterials, catalogReadRepository::countMaterials, RawMaterialDTO.class,
+                page(request, MATERIAL_SORT_COLUMNS, "idMaterial", "ASC", true));
+    }
+
+    public Mono<ServerResponse> searchRawMaterials(ServerRequest request) {
+        String name = requiredParam(request, "name");
+        return list(page -> catalogReadRepository.searchMaterials(name, page),
+                () -> catalogReadRepository.countMaterialsByName(name), RawMaterialDTO.class,
+                page(request, MATERIAL_SORT_COLUMNS, "idMaterial", "ASC", false));
+    }
+
+    public Mono<ServerResponse> getMaterialsBelowMinimumStock(ServerRequest request) {
+        return list(catalogReadRepository::findMaterialsBelowMinimum, catalogReadRepository::countMaterialsBelowMinimum,
+                RawMaterialDTO.class, page(request, MATERIAL_SORT_COLUMNS, "deficit", "DESC", true));
+    }
+
+    public Mono<ServerResponse> getSupplierById(ServerRequest request) {
+        Long id = pathId(request);
+        return catalogReadRepository.findSupplierById(id)
+                .switchIfEmpty(Mono.error(() -> new SupplierNotFoundException(id)))
+                .flatMap(CatalogHandler::ok);
+    }
+
+    public Mono<ServerResponse> getAllSuppliers(ServerRequest request) {
+        return list(catalogReadRepository::findSuppliers, catalogReadRepository::countSuppliers, SupplierDTO.class,
+                page(request, SUPPLIER_SORT_COLUMNS, "idSupplier", "ASC", true));
+    }
+
+    public Mono<ServerResponse> searchSuppliers(ServerRequest request) {
+        String name = requiredParam(request, "name");
+        return list(page -> catalogReadRepository.searchSuppliers(name, page),
+                () -> catalogReadRepository.countSuppliersByName(name), SupplierDTO.class,
+                page(request, SUPPLIER_SORT_COLUMNS, "idSupplier", "ASC", false));
+    }
+
+    private static <T> Mono<ServerResponse> list(Function<CatalogPage, Flux<T>> query, Supplier<Mono<Long>> count,
+                                                 Class<T> type, PagedQuery paged) {
+        if (paged.pageable() == null) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(query.apply(paged.page()), type);
+        }
+        return query.apply(paged.page()).collectList()
+                .flatMap(content -> toPage(content, paged.pageable(), count))
+                .flatMap(CatalogHandler::ok);
+    }
+
+    // Same shortcut as PageableExecutionUtils: a page shorter than its size, not past the end, is the last one
+    private static <T> Mono<Page<T>> toPage(List<T> content, Pageable pageable, Supplier<Mono<Long>> count) {
+        Mono<Long> total = content.size() < pageable.getPageSize() && (pageable.getOffset() == 0 || !content.isEmpty())
+                ? Mono.just(pageable.getOffset() + content.size())
+                : count.get();
+        return total.map(t -> new PageImpl<>(content, pageable, t));
+    }
+
+    private static Mono<ServerResponse> ok(Object body) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    /**
+     * @param sorted Whether the MVC endpoint takes sortBy and direction, and so reports them in its page
+     */
+    private static PagedQuery page(ServerRequest request, Map<String, String> sortColumns,
+                                   String defaultSortBy, String defaultDirection, boolean sorted) {
+        boolean ndjson = request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        if (ndjson && request.queryParam("size").isEmpty()) {
+            return new PagedQuery(CatalogPage.stream(), null);
+        }
+
+        int page = intParam(request, "page", 0);
+        int size = intParam(request, "size", 10);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        String sortBy = request.queryParam("sortBy").orElse(defaultSortBy);
+        String sortColumn = sortColumns.get(sortBy);
+        if (sortColumn == null) {
+            throw new IllegalArgumentException("Cannot sort by " + sortBy + ", expected one of " + sortColumns.keySet());
+        }
+        boolean descending = request.queryParam("direction").orElse(defaultDirection).equalsIgnoreCase("DESC");
+        Pageable pageable = sorted
+                ? PageRequest.of(page, size, Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy))
+                : PageRequest.of(page, size);
+        return new PagedQuery(new CatalogPage(sortColumn, descending, page, size), pageable);
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new IllegalArgumentException("Required parameter '" + name + "' is not present"));
+    }
+
+    private static Long pathId(ServerRequest request) {
+        return Long.valueOf(request.pathVariable("id"));
+    }
+
+    // The query of a list route, and the page reported for it; no pageable when the whole catalogue is streamed
+    private record PagedQuery(CatalogPage page, Pageable pageable) {
+    }
+}
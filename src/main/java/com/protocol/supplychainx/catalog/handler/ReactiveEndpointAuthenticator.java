@@ -0,0 +1,73 @@
+package com.protocol.supplychainx.catalog.handler;
+
+import com.protocol.supplychainx.common.enums.RoleUtilisateur;
+import com.protocol.supplychainx.common.exceptions.UnauthorizedException;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+
+/**
+ * Reactive counterpart of SecurityAspect for the catalogue routes
+ * Same X-User-Email / X-User-Password headers, messages and metrics. The password hash is checked on the
+ * bounded elastic scheduler: BCrypt takes tens of milliseconds and would stall every connection of the event
+ * loop it ran on.
+ */
+@Slf4j
+public class ReactiveEndpointAuthenticator {
+
+    private final DatabaseClient databaseClient;
+    private final PasswordEncoder passwordEncoder;
+    private final DomainMetrics domainMetrics;
+
+    public ReactiveEndpointAuthenticator(DatabaseClient databaseClient, PasswordEncoder passwordEncoder,
+                                         DomainMetrics domainMetrics) {
+        this.databaseClient = databaseClient;
+        this.passwordEncoder = passwordEncoder;
+        this.domainMetrics = domainMetrics;
+    }
+
+    /**
+     * @param request      The incoming request
+     * @param allowedRoles Roles allowed to call the route, none for any authenticated user
+     * @return Completes empty when the caller may proceed, errors with UnauthorizedException otherwise
+     */
+    public Mono<Void> authenticate(ServerRequest request, RoleUtilisateur... allowedRoles) {
+        String email = request.headers().firstHeader("X-User-Email");
+        String password = request.headers().firstHeader("X-User-Password");
+
+        if (email == null || email.isEmpty() || password == null || password.isEmpty()) {
+            domainMetrics.authMissingHeaders();
+            return Mono.error(new UnauthorizedException(
+                    "Authentication headers missing. Please provide X-User-Email and X-User-Password headers."));
+        }
+
+        return databaseClient.sql("SELECT password, role FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> new Credentials(row.get("password", String.class),
+                        RoleUtilisateur.valueOf(row.get("role", String.class))))
+                .one()
+                .publishOn(Schedulers.boundedElastic())
+                .filter(credentials -> passwordEncoder.matches(password, credentials.passwordHash()))
+                .switchIfEmpty(Mono.defer(() -> {
+                    domainMetrics.authInvalidCredentials();
+                    return Mono.error(new UnauthorizedException("Invalid credentials"));
+                }))
+                .flatMap(credentials -> {
+                    if (allowedRoles.length > 0 && !Arrays.asList(allowedRoles).contains(credentials.role())) {
+                        domainMetrics.authAccessDenied();
+                        return Mono.error(new UnauthorizedException("Access denied. Required roles: " + Arrays.toString(allowedRoles)));
+                    }
+                    log.debug("User {} authenticated with role {}", email, credentials.role());
+                    return Mono.empty();
+                });
+    }
+
+    private record Credentials(String passwordHash, RoleUtilisateur role) {
+    }
+}
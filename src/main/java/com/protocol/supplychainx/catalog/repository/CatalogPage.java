@@ -0,0 +1,28 @@
+package com.protocol.supplychainx.catalog.repository;
+
+/**
+ * Ordering and optional page of a catalogue query
+ *
+ * @param sortColumn Column to order by, already checked against the catalogue's sortable columns
+ * @param descending Sort direction
+ * @param page       Zero-based page number, ignored when size is null
+ * @param size       Rows per page, null to stream every row in primary key order (sortColumn is then ignored)
+ */
+public record CatalogPage(String sortColumn, boolean descending, int page, Integer size) {
+
+    public static CatalogPage stream() {
+        return new CatalogPage(null, false, 0, null);
+    }
+
+    boolean isStream() {
+        return size == null;
+    }
+
+    String toSql() {
+        String orderBy = " ORDER BY " + sortColumn + (descending ? " DESC" : " ASC");
+        if (size == null) {
+            return orderBy;
+        }
+        return orderBy + " LIMIT " + size + " OFFSET " + (long) page * size;
+    }
+}
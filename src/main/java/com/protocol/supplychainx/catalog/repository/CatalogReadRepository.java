@@ -0,0 +1,239 @@
+package com.protocol.supplychainx.catalog.repository;
+
+import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
+import com.protocol.supplychainx.procurement.dto.SupplierDTO;
+import com.protocol.supplychainx.production.dto.ProductDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Non-blocking reads of the product, raw material and supplier catalogues over R2DBC
+ * Same tables as the JPA entities, mapped straight to the API DTOs. A page is read in one statement plus one for
+ * the id collections of its rows, and its total with a count of the same rows. An unpaged query streams the whole catalogue in primary key order, one chunk of
+ * rows at a time: the next chunk is only read once the previous one has been consumed, and no connection is held
+ * in between, so slow clients cannot exhaust the pool.
+ */
+public class CatalogReadRepository {
+
+    // Rows per chunk when streaming, and owners per id collection query (hibernate.default_batch_fetch_size)
+    static final int BATCH_SIZE = 100;
+
+    private final DatabaseClient databaseClient;
+    private final Catalogue<ProductDTO> products;
+    private final Catalogue<RawMaterialDTO> materials;
+    private final Catalogue<SupplierDTO> suppliers;
+
+    public CatalogReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.products = new Catalogue<>(
+                "SELECT p.id_product, p.name, p.production_time, p.cost, p.stock, "
+                        + "(SELECT COUNT(*) FROM production_orders po WHERE po.product_id = p.id_product AND po.status IN ('"
+                        + ProductionOrderStatus.EN_ATTENTE + "', '" + ProductionOrderStatus.EN_PRODUCTION + "')) AS active_orders "
+                        + "FROM products p",
+                "products p", "p.id_product", CatalogReadRepository::toProduct, ProductDTO::getIdProduct,
+                rows -> withIds(rows, ProductDTO::getIdProduct,
+                        "SELECT product_id AS owner_id, id_bom AS id FROM bill_of_materials "
+                                + "WHERE product_id IN (:owners) ORDER BY id_bom",
+                        (product, ids) -> product.setBillOfMaterialIds(new ArrayList<>(ids))));
+        this.materials = new Catalogue<>(
+                "SELECT m.id_material, m.name, m.stock, m.stock_min, m.unit FROM raw_materials m",
+                "raw_materials m", "m.id_material", CatalogReadRepository::toMaterial, RawMaterialDTO::getIdMaterial,
+                rows -> withIds(rows, RawMaterialDTO::getIdMaterial,
+                        "SELECT material_id AS owner_id, supplier_id AS id FROM material_suppliers WHERE material_id IN (:owners)",
+                        (material, ids) -> material.setSupplierIds(new HashSet<>(ids))));
+        this.suppliers = new Catalogue<>(
+                "SELECT s.id_supplier, s.name, s.contact, s.rating, s.lead_time, "
+                        + "(SELECT COUNT(*) FROM supply_orders o WHERE o.supplier_id = s.id_supplier) AS order_count "
+                        + "FROM suppliers s",
+                "suppliers s", "s.id_supplier", CatalogReadRepository::toSupplier, SupplierDTO::getIdSupplier, Mono::just);
+    }
+
+    public Mono<ProductDTO> findProductById(Long id) {
+        return findById(products, id);
+    }
+
+    public Flux<ProductDTO> findProducts(CatalogPage page) {
+        return find(products, null, Map.of(), page);
+    }
+
+    public Mono<Long> countProducts() {
+        return count(products, null, Map.of());
+    }
+
+    public Flux<ProductDTO> searchProducts(String name, CatalogPage page) {
+        return find(products, "LOWER(p.name) LIKE :pattern", Map.of("pattern", containsPattern(name)), page);
+    }
+
+    public Mono<Long> countProductsByName(String name) {
+        return count(products, "LOWER(p.name) LIKE :pattern", Map.of("pattern", containsPattern(name)));
+    }
+
+    public Mono<RawMaterialDTO> findMaterialById(Long id) {
+        return findById(materials, id);
+    }
+
+    public Flux<RawMaterialDTO> findMaterials(CatalogPage page) {
+        return find(materials, null, Map.of(), page);
+    }
+
+    public Mono<Long> countMaterials() {
+        return count(materials, null, Map.of());
+    }
+
+    public Flux<RawMaterialDTO> searchMaterials(String name, CatalogPage page) {
+        return find(materials, "LOWER(m.name) LIKE :pattern", Map.of("pattern", containsPattern(name)), page);
+    }
+
+    public Mono<Long> countMaterialsByName(String name) {
+        return count(materials, "LOWER(m.name) LIKE :pattern", Map.of("pattern", containsPattern(name)));
+    }
+
+    public Flux<RawMaterialDTO> findMaterialsBelowMinimum(CatalogPage page) {
+        // deficit is the indexed generated column (stock_min - stock)
+        return find(materials, "m.deficit > 0", Map.of(), page);
+    }
+
+    public Mono<Long> countMaterialsBelowMinimum() {
+        return count(materials, "m.deficit > 0", Map.of());
+    }
+
+    public Mono<SupplierDTO> findSupplierById(Long id) {
+        return findById(suppliers, id);
+    }
+
+    public Flux<SupplierDTO> findSuppliers(CatalogPage page) {
+        return find(suppliers, null, Map.of(), page);
+    }
+
+    public Mono<Long> countSuppliers() {
+        return count(suppliers, null, Map.of());
+    }
+
+    public Flux<SupplierDTO> searchSuppliers(String name, CatalogPage page) {
+        return find(suppliers, "LOWER(s.name) LIKE :pattern", Map.of("pattern", containsPattern(name)), page);
+    }
+
+    public Mono<Long> countSuppliersByName(String name) {
+        return count(suppliers, "LOWER(s.name) LIKE :pattern", Map.of("pattern", containsPattern(name)));
+    }
+
+    private <T> Mono<T> findById(Catalogue<T> catalogue, Long id) {
+        return fetch(catalogue, catalogue.select() + " WHERE " + catalogue.keyColumn() + " = :id", Map.of("id", id))
+                .flatMap(rows -> Mono.justOrEmpty(rows.stream().findFirst()));
+    }
+
+    private <T> Flux<T> find(Catalogue<T> catalogue, String condition, Map<String, Object> parameters, CatalogPage page) {
+        String where = condition == null ? "" : " WHERE " + condition;
+        if (!page.isStream()) {
+            return fetch(catalogue, catalogue.select() + where + page.toSql(), parameters).flatMapIterable(rows -> rows);
+        }
+
+        String chunk = catalogue.select() + (condition == null ? " WHERE " : where + " AND ")
+                + catalogue.keyColumn() + " > :after ORDER BY " + catalogue.keyColumn() + " LIMIT " + BATCH_SIZE;
+        return fetchAfter(catalogue, chunk, parameters, 0L)
+                .expand(rows -> rows.size() < BATCH_SIZE
+                        ? Mono.empty()
+                        : fetchAfter(catalogue, chunk, parameters, catalogue.key().apply(rows.get(rows.size() - 1))))
+                .concatMapIterable(rows -> rows);
+    }
+
+    private Mono<Long> count(Catalogue<?> catalogue, String condition, Map<String, Object> parameters) {
+        String where = condition == null ? "" : " WHERE " + condition;
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM " + catalogue.from() + where)
+                .bindValues(parameters)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    private <T> Mono<List<T>> fetchAfter(Catalogue<T> catalogue, String sql, Map<String, Object> parameters, long after) {
+        Map<String, Object> withKey = new HashMap<>(parameters);
+        withKey.put("after", after);
+        return fetch(catalogue, sql, withKey);
+    }
+
+    private <T> Mono<List<T>> fetch(Catalogue<T> catalogue, String sql, Map<String, Object> parameters) {
+        return databaseClient.sql(sql)
+                .bindValues(parameters)
+                .map(catalogue.mapper())
+                .all()
+                .collectList()
+                .flatMap(catalogue.withIds());
+    }
+
+    // One query for the collections of every row read, run after the rows so a single connection is in use
+    private <T> Mono<List<T>> withIds(List<T> owners, Function<T, Long> ownerId, String sql,
+                                      BiConsumer<T, Collection<Long>> setter) {
+        if (owners.isEmpty()) {
+            return Mono.just(owners);
+        }
+        return Flux.fromIterable(owners)
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> databaseClient.sql(sql)
+                        .bind("owners", batch.stream().map(ownerId).toList())
+                        .map(row -> Map.entry(row.get("owner_id", Long.class), row.get("id", Long.class)))
+                        .all())
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(idsByOwner -> {
+                    for (T owner : owners) {
+                        setter.accept(owner, idsByOwner.getOrDefault(ownerId.apply(owner), List.of()));
+                    }
+                    return owners;
+                });
+    }
+
+    private static String containsPattern(String name) {
+        return "%" + name.toLowerCase() + "%";
+    }
+
+    private static ProductDTO toProduct(Readable row) {
+        return ProductDTO.builder()
+                .idProduct(row.get("id_product", Long.class))
+                .name(row.get("name", String.class))
+                .productionTime(row.get("production_time", Integer.class))
+                .cost(row.get("cost", Double.class))
+                .stock(row.get("stock", Integer.class))
+                .activeOrdersCount(row.get("active_orders", Long.class).intValue())
+                .build();
+    }
+
+    private static RawMaterialDTO toMaterial(Readable row) {
+        Integer stock = row.get("stock", Integer.class);
+        Integer stockMin = row.get("stock_min", Integer.class);
+        return RawMaterialDTO.builder()
+                .idMaterial(row.get("id_material", Long.class))
+                .name(row.get("name", String.class))
+                .stock(stock)
+                .stockMin(stockMin)
+                .unit(row.get("unit", String.class))
+                .isBelowMinimum(stock < stockMin)
+                .deficit(stockMin - stock)
+                .build();
+    }
+
+    private static SupplierDTO toSupplier(Readable row) {
+        return SupplierDTO.builder()
+                .idSupplier(row.get("id_supplier", Long.class))
+                .name(row.get("name", String.class))
+                .contact(row.get("contact", String.class))
+                .rating(row.get("rating", Double.class))
+                .leadTime(row.get("lead_time", Integer.class))
+                .activeOrdersCount(row.get("order_count", Long.class).intValue())
+                .build();
+    }
+
+    private record Catalogue<T>(String select, String from, String keyColumn, Function<Readable, T> mapper,
+                                Function<T, Long> key, Function<List<T>, Mono<List<T>>> withIds) {
+    }
+}
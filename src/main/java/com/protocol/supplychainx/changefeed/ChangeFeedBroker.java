@@ -0,0 +1,222 @@
+package com.protocol.supplychainx.changefeed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protocol.supplychainx.changefeed.dto.ChangeEventDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed order, delivery and stock changes to server-sent event subscribers
+ * Each change is serialized once and kept in a ring buffer of the last change-feed.replay-size events, so a client
+ * reconnecting with Last-Event-ID gets what it missed instead of re-querying everything. Event IDs carry the start
+ * time of this instance: an ID from before a restart, or one already overwritten in the ring, gets a reset event
+ * telling the client to reload its state. Only changes committed through this instance are pushed.
+ */
+@Component
+@Slf4j
+public class ChangeFeedBroker {
+
+    static final String SUBSCRIBERS_METRIC = "supplychainx.changefeed.subscribers";
+    static final String EVICTIONS_METRIC = "supplychainx.changefeed.evictions";
+    static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int bufferSize;
+    private final long emitterTimeoutMs;
+    private final Counter evictions;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    // Guards the ring and the sequence, so that a new subscriber's replay and the live events neither overlap nor miss
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ChangeRecord[] ring;
+    private long sequence;
+    private final List<ChangeFeedSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public ChangeFeedBroker(ObjectMapper objectMapper,
+                            @Qualifier("changeFeedExecutor") Executor executor,
+                            MeterRegistry meterRegistry,
+                            @Value("${change-feed.replay-size:1024}") int replaySize,
+                            @Value("${change-feed.subscriber-buffer-size:256}") int bufferSize,
+                            @Value("${change-feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.ring = new ChangeRecord[replaySize];
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.evictions = Counter.builder(EVICTIONS_METRIC)
+                .description("Change feed subscribers disconnected because they did not keep up")
+                .register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_METRIC, subscribers, List::size)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pushes a change once the current transaction commits; nothing is pushed if it rolls back
+     *
+     * @param type   Entity type
+     * @param id     Entity ID
+     * @param action What happened to the entity
+     * @param data   The entity DTO after the change, null for a deletion
+     */
+    public void publish(ChangeType type, Long id, ChangeAction action, Object data) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcast(type, id, action, data);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                broadcast(type, id, action, data);
+            }
+        });
+    }
+
+    /**
+     * @param filter      Changes the subscriber wants
+     * @param lastEventId ID of the last event the client received, null for live events only
+     * @return The open event stream
+     */
+    public SseEmitter subscribe(ChangeFeedFilter filter, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+
+        lock.lock();
+        try {
+            List<ChangeRecord> replay = new ArrayList<>();
+            boolean reset = lastEventId != null && !collectSince(lastEventId, filter, replay);
+
+            ChangeFeedSubscriber subscriber = new ChangeFeedSubscriber(emitter, filter,
+                    bufferSize + replay.size() + 1, executor);
+            if (reset) {
+                subscriber.offer(SseEmitter.event()
+                        .id(eventId(sequence))
+                        .name(RESET_EVENT)
+                        .data("Events after " + lastEventId + " are no longer available, reload the current state"));
+            }
+            replay.forEach(change -> subscriber.offer(change.toEvent(eventId(change.sequence()))));
+
+            Runnable unsubscribe = () -> {
+                subscriber.close();
+                subscribers.remove(subscriber);
+            };
+            emitter.onCompletion(unsubscribe);
+            emitter.onTimeout(unsubscribe);
+            emitter.onError(e -> unsubscribe.run());
+            subscribers.add(subscriber);
+
+            log.debug("Change feed subscriber added ({} open), {} event(s) replayed{}", subscribers.size(),
+                    replay.size(), reset ? " after a reset" : "");
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away without closing
+    @Scheduled(fixedDelayString = "${change-feed.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            offer(subscriber, SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void broadcast(ChangeType type, Long id, ChangeAction action, Object data) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(ChangeEventDTO.builder()
+                    .type(type)
+                    .action(action)
+                    .id(id)
+                    .data(data)
+                    .committedAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            // The change is committed already, the feed must not fail the request
+            log.warn("Could not serialize {} change of ID {}: {}", type, id, e.getMessage());
+            return;
+        }
+
+        lock.lock();
+        try {
+            ChangeRecord change = new ChangeRecord(++sequence, type, id, json);
+            ring[(int) (change.sequence() % ring.length)] = change;
+            for (ChangeFeedSubscriber subscriber : subscribers) {
+                if (subscriber.getFilter().matches(type, id)) {
+                    offer(subscriber, change.toEvent(eventId(change.sequence())));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void offer(ChangeFeedSubscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.offer(event)) {
+            subscribers.remove(subscriber);
+            evictions.increment();
+            log.warn("Change feed subscriber evicted: more than {} events pending", bufferSize);
+        }
+    }
+
+    // Called with the lock held; false when the events after lastEventId are not all in the ring any more
+    private boolean collectSince(String lastEventId, ChangeFeedFilter filter, List<ChangeRecord> replay) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return false;
+        }
+
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        long oldest = Math.max(1, sequence - ring.length + 1);
+        if (after < oldest - 1 || after > sequence) {
+            return false;
+        }
+        for (long next = after + 1; next <= sequence; next++) {
+            ChangeRecord change = ring[(int) (next % ring.length)];
+            if (filter.matches(change.type(), change.entityId())) {
+                replay.add(change);
+            }
+        }
+        return true;
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private record ChangeRecord(long sequence, ChangeType type, Long entityId, String json) {
+
+        SseEmitter.SseEventBuilder toEvent(String eventId) {
+            return SseEmitter.event()
+                    .id(eventId)
+                    .name(type.name())
+                    .data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+}
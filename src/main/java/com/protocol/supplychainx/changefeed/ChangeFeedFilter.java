@@ -0,0 +1,21 @@
+package com.protocol.supplychainx.changefeed;
+
+import com.protocol.supplychainx.common.enums.ChangeType;
+
+import java.util.Set;
+
+/**
+ * Changes a change feed subscriber wants to receive; an empty or null set means no restriction
+ *
+ * @param types Entity types
+ * @param ids   Entity IDs, usually combined with a single type
+ */
+public record ChangeFeedFilter(Set<ChangeType> types, Set<Long> ids) {
+
+    public static final ChangeFeedFilter ALL = new ChangeFeedFilter(null, null);
+
+    public boolean matches(ChangeType type, Long id) {
+        return (types == null || types.isEmpty() || types.contains(type))
+                && (ids == null || ids.isEmpty() || ids.contains(id));
+    }
+}
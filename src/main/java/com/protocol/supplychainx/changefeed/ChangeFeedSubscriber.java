@@ -0,0 +1,92 @@
+package com.protocol.supplychainx.changefeed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open change feed connection with its bounded event buffer
+ * Events are offered by the committing thread and written to the connection by at most one sender task at a time,
+ * so a slow client never holds up a commit. When the buffer is full the subscriber is evicted: pending events are
+ * dropped and the connection is closed, and the client resumes from its last event ID on reconnect.
+ */
+@Slf4j
+class ChangeFeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final ChangeFeedFilter filter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final Executor executor;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean evicted;
+    private volatile boolean closed;
+
+    ChangeFeedSubscriber(SseEmitter emitter, ChangeFeedFilter filter, int bufferSize, Executor executor) {
+        this.emitter = emitter;
+        this.filter = filter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+    }
+
+    ChangeFeedFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * @param event The event to send
+     * @return false when the buffer was full and the subscriber has just been evicted
+     */
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        if (evicted || closed) {
+            return true;
+        }
+        if (!buffer.offer(event)) {
+            evicted = true;
+            buffer.clear();
+            schedule();
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    private void schedule() {
+        if (sending.compareAndSet(false, true)) {
+            executor.execute(this::send);
+        }
+    }
+
+    private void send() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!evicted && !closed && (event = buffer.poll()) != null) {
+                emitter.send(event);
+            }
+            if (evicted && !closed) {
+                closed = true;
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the emitter, which unsubscribes it
+            log.debug("Change feed subscriber disconnected: {}", e.getMessage());
+            close();
+        } finally {
+            sending.set(false);
+        }
+
+        // An event offered after the last poll but before the flag was cleared would otherwise wait for the next one
+        if (!closed && (evicted || !buffer.isEmpty())) {
+            schedule();
+        }
+    }
+}
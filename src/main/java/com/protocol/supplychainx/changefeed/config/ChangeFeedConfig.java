@@ -0,0 +1,44 @@
+package com.protocol.supplychainx.changefeed.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for the change feed
+ */
+@Configuration
+public class ChangeFeedConfig {
+
+    /**
+     * Executor writing change feed events to the subscribers' connections
+     * Each subscriber has at most one task queued or running, so a few threads serve many connections; a thread is
+     * only held while an event is being written.
+     *
+     * @param environment Environment, to check whether virtual threads are enabled
+     * @param threads     Number of sender threads when virtual threads are off
+     * @return The change feed executor
+     */
+    @Bean(name = "changeFeedExecutor")
+    public TaskExecutor changeFeedExecutor(Environment environment,
+                                           @Value("${change-feed.sender-threads:4}") int threads) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("change-feed-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("change-feed-");
+        executor.initialize();
+        return executor;
+    }
+}
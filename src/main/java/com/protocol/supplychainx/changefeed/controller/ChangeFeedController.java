@@ -0,0 +1,40 @@
+package com.protocol.supplychainx.changefeed.controller;
+
+import com.protocol.supplychainx.changefeed.ChangeFeedBroker;
+import com.protocol.supplychainx.changefeed.ChangeFeedFilter;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "Change Feed", description = "Server-sent events for order, delivery and stock changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedBroker changeFeedBroker;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes", description = "Push committed changes as server-sent events, named after the entity type, instead of polling the list endpoints. "
+            + "A 'reset' event means the missed events are no longer available and the state must be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened")
+    })
+    public SseEmitter streamChanges(
+            @Parameter(description = "Entity types to receive, all when omitted") @RequestParam(required = false) Set<ChangeType> types,
+            @Parameter(description = "Entity IDs to receive, all when omitted") @RequestParam(required = false) Set<Long> ids,
+            @Parameter(description = "Resume after this event ID, for clients that cannot send Last-Event-ID") @RequestParam(required = false) String lastEventId,
+            @Parameter(description = "Resume after this event ID, sent by EventSource when it reconnects") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        return changeFeedBroker.subscribe(new ChangeFeedFilter(types, ids),
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
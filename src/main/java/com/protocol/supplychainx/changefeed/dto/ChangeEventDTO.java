@@ -0,0 +1,28 @@
+package com.protocol.supplychainx.changefeed.dto;
+
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data of one change feed event: the entity state after the change, or no data when it was deleted
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEventDTO {
+
+    private ChangeType type;
+
+    private ChangeAction action;
+
+    private Long id;
+
+    private Object data;
+
+    private LocalDateTime committedAt;
+}
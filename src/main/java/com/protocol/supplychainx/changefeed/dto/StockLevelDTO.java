@@ -0,0 +1,22 @@
+package com.protocol.supplychainx.changefeed.dto;
+
+import lombok.*;
+
+/**
+ * Stock level pushed on the change feed for a product or a raw material; stockMin is null for products
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevelDTO {
+
+    private Long id;
+
+    private String name;
+
+    private Integer stock;
+
+    private Integer stockMin;
+}
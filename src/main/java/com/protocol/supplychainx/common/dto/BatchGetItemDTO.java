@@ -0,0 +1,37 @@
+package com.protocol.supplychainx.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of one requested ID of a batch get")
+public class BatchGetItemDTO<T> {
+
+    @Schema(description = "Requested ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Whether the ID exists; data is null when it does not")
+    private boolean found;
+
+    private T data;
+
+    /**
+     * One result per requested ID, in request order, from the rows found for them in any order
+     */
+    public static <T> List<BatchGetItemDTO<T>> inRequestOrder(List<Long> ids, Collection<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity(), (first, second) -> first));
+        return ids.stream()
+                .map(id -> new BatchGetItemDTO<>(id, byId.containsKey(id), byId.get(id)))
+                .toList();
+    }
+}
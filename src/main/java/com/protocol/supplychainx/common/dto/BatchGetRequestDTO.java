@@ -0,0 +1,25 @@
+package com.protocol.supplychainx.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "IDs to fetch in one call; a repeated ID is answered at each of its positions")
+public class BatchGetRequestDTO {
+
+    public static final int MAX_IDS = 1000;
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " IDs can be fetched at once")
+    @Schema(description = "IDs, in the order of the results", example = "[1, 2, 3]")
+    private List<@NotNull(message = "IDs cannot be null") Long> ids;
+}
@@ -0,0 +1,25 @@
+package com.protocol.supplychainx.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "IDs of the orders to move to a new status, cancel or delete in one call")
+public class BulkTransitionRequestDTO {
+
+    public static final int MAX_IDS = 10_000;
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " orders can be handled at once")
+    @Schema(description = "Order IDs", example = "[1, 2, 3]")
+    private List<@NotNull(message = "IDs cannot be null") Long> ids;
+}
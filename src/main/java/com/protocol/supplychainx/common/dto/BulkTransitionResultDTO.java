@@ -0,0 +1,46 @@
+package com.protocol.supplychainx.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk status transition, cancellation or deletion")
+public class BulkTransitionResultDTO {
+
+    // IDs per statement, below the IN list limits of the databases
+    public static final int CHUNK_SIZE = 1000;
+
+    @Schema(description = "Number of orders moved to the new status, cancelled or deleted", example = "2")
+    private int transitioned;
+
+    @Schema(description = "Requested IDs left unchanged, because they do not exist or their status does not allow the operation",
+            example = "[3]")
+    private List<Long> rejectedIds;
+
+    /**
+     * Transitions the distinct requested IDs CHUNK_SIZE at a time
+     *
+     * @param transition Transitions one chunk and returns the IDs it moved
+     */
+    public static BulkTransitionResultDTO inChunks(List<Long> ids, Function<List<Long>, List<Long>> transition) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        Set<Long> transitionedIds = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            transitionedIds.addAll(transition.apply(distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()))));
+        }
+        List<Long> rejectedIds = distinctIds.stream()
+                .filter(id -> !transitionedIds.contains(id))
+                .toList();
+        return new BulkTransitionResultDTO(transitionedIds.size(), rejectedIds);
+    }
+}
@@ -0,0 +1,7 @@
+package com.protocol.supplychainx.common.enums;
+
+public enum ChangeAction {
+    CREATED,
+    UPDATED,
+    DELETED
+}
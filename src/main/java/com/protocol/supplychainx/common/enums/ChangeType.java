@@ -0,0 +1,10 @@
+package com.protocol.supplychainx.common.enums;
+
+public enum ChangeType {
+    CUSTOMER_ORDER,
+    DELIVERY,
+    PRODUCTION_ORDER,
+    SUPPLY_ORDER,
+    PRODUCT_STOCK,
+    MATERIAL_STOCK
+}
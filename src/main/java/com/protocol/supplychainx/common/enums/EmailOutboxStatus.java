@@ -0,0 +1,8 @@
+package com.protocol.supplychainx.common.enums;
+
+public enum EmailOutboxStatus {
+    EN_ATTENTE,
+    EN_COURS,
+    ENVOYE,
+    ECHEC
+}
@@ -0,0 +1,6 @@
+package com.protocol.supplychainx.common.enums;
+
+public enum JobRunOutcome {
+    SUCCES,
+    ECHEC
+}
@@ -0,0 +1,10 @@
+package com.protocol.supplychainx.common.enums;
+
+public enum SearchDocumentType {
+    PRODUCT,
+    RAW_MATERIAL,
+    SUPPLIER,
+    CUSTOMER,
+    USER,
+    DELIVERY
+}
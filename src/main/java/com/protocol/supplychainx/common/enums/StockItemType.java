@@ -0,0 +1,6 @@
+package com.protocol.supplychainx.common.enums;
+
+public enum StockItemType {
+    PRODUCT,
+    RAW_MATERIAL
+}
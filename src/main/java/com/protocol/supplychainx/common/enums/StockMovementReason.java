@@ -0,0 +1,11 @@
+package com.protocol.supplychainx.common.enums;
+
+public enum StockMovementReason {
+    OPENING_BALANCE,
+    ITEM_CREATED,
+    MANUAL_ADJUSTMENT,
+    CUSTOMER_ORDER,
+    CUSTOMER_ORDER_CHANGED,
+    CUSTOMER_ORDER_CANCELLED,
+    ITEM_DELETED
+}
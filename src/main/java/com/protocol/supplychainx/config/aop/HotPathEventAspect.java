@@ -0,0 +1,98 @@
+package com.protocol.supplychainx.config.aop;
+
+import com.protocol.supplychainx.config.jfr.CustomerOrderCreateEvent;
+import com.protocol.supplychainx.config.jfr.DbTimeTracker;
+import com.protocol.supplychainx.config.jfr.HotPathEvent;
+import com.protocol.supplychainx.config.jfr.MaterialsAvailabilityEvent;
+import com.protocol.supplychainx.config.jfr.ProductionOrderCreateEvent;
+import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
+import com.protocol.supplychainx.production.dto.ProductionOrderDTO;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Emits JFR events around the order and stock hot paths and measures the time spent in repositories
+ * while one of those events is in progress.
+ * With no active recording each advice costs one isEnabled() check.
+ */
+@Aspect
+@Component
+public class HotPathEventAspect {
+
+    @Around("execution(* com.protocol.supplychainx.delivery.service.ICustomerOrderService.createCustomerOrder(..)) && args(request)")
+    public Object recordCustomerOrderCreate(ProceedingJoinPoint joinPoint, CustomerOrderDTO request) throws Throwable {
+        CustomerOrderCreateEvent event = new CustomerOrderCreateEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.setCustomerId(valueOf(request.getCustomerId()));
+        event.setProductId(valueOf(request.getProductId()));
+        event.setQuantity(valueOf(request.getQuantity()));
+        return record(joinPoint, event, result -> event.setOrderId(valueOf(((CustomerOrderDTO) result).getIdOrder())));
+    }
+
+    @Around("execution(* com.protocol.supplychainx.production.service.IProductionOrderService.createProductionOrder(..)) && args(request)")
+    public Object recordProductionOrderCreate(ProceedingJoinPoint joinPoint, ProductionOrderDTO request) throws Throwable {
+        ProductionOrderCreateEvent event = new ProductionOrderCreateEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.setProductId(valueOf(request.getProductId()));
+        event.setQuantity(valueOf(request.getQuantity()));
+        event.setPriority(Boolean.TRUE.equals(request.getIsPriority()));
+        return record(joinPoint, event, result -> event.setOrderId(valueOf(((ProductionOrderDTO) result).getIdOrder())));
+    }
+
+    @Around("execution(* com.protocol.supplychainx.production.service.IBillOfMaterialService.checkMaterialsAvailability(..)) && args(productId, quantity)")
+    public Object recordMaterialsAvailability(ProceedingJoinPoint joinPoint, Long productId, Integer quantity) throws Throwable {
+        MaterialsAvailabilityEvent event = new MaterialsAvailabilityEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.setProductId(valueOf(productId));
+        event.setQuantity(valueOf(quantity));
+        return record(joinPoint, event, result -> event.setAvailable(Boolean.TRUE.equals(result)));
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object trackDbTime(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!DbTimeTracker.isTracking()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DbTimeTracker.add(System.nanoTime() - start);
+        }
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, HotPathEvent event,
+                          Consumer<Object> onSuccess) throws Throwable {
+        event.start();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            event.fail(throwable);
+            throw throwable;
+        }
+        if (result != null) {
+            onSuccess.accept(result);
+        }
+        event.finish(HotPathEvent.SUCCESS);
+        return result;
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
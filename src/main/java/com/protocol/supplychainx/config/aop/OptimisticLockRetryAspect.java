@@ -0,0 +1,101 @@
+package com.protocol.supplychainx.config.aop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Handles {@link RetryOnConflict}
+ * Ordered just outside the transaction interceptor so that the conflict, raised at commit, is seen here
+ * and every retry starts a new transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+@Slf4j
+public class OptimisticLockRetryAspect {
+
+    static final String CONFLICTS_METRIC = "supplychainx.optimistic.conflicts";
+    static final String RETRIES_METRIC = "supplychainx.optimistic.retries";
+    static final String EXHAUSTED_METRIC = "supplychainx.optimistic.exhausted";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, Counters> counters = new ConcurrentHashMap<>();
+
+    private record Counters(Counter conflicts, Counter retries, Counter exhausted) {
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        // Joined an outer transaction: it is already marked rollback-only, only its owner can retry
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Counters methodCounters = counters.computeIfAbsent(method,
+                m -> createCounters(ClassUtils.getUserClass(joinPoint.getTarget()), m));
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                methodCounters.conflicts().increment();
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    methodCounters.exhausted().increment();
+                    log.warn("Optimistic lock conflict on {}, giving up after {} attempt(s)", method.getName(), attempt);
+                    throw e;
+                }
+
+                long backoff = backoff(retryOnConflict, attempt);
+                log.debug("Optimistic lock conflict on {} (attempt {}), retrying in {} ms", method.getName(), attempt, backoff);
+                methodCounters.retries().increment();
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter: uniform in [0, min(max, base * 2^(attempt - 1))]
+     * so that the writers that collided do not collide again on the same schedule
+     */
+    static long backoff(RetryOnConflict retryOnConflict, int attempt) {
+        long ceiling = Math.min(retryOnConflict.maxBackoffMs(), retryOnConflict.backoffMs() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private Counters createCounters(Class<?> targetClass, Method method) {
+        String className = targetClass.getSimpleName();
+        return new Counters(
+                counter(CONFLICTS_METRIC, "Optimistic lock conflicts", className, method),
+                counter(RETRIES_METRIC, "Re-executions after an optimistic lock conflict", className, method),
+                counter(EXHAUSTED_METRIC, "Calls that still conflicted after the last attempt", className, method));
+    }
+
+    private Counter counter(String name, String description, String className, Method method) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("class", className)
+                .tag("method", method.getName())
+                .register(meterRegistry);
+    }
+}
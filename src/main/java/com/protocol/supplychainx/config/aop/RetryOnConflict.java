@@ -0,0 +1,28 @@
+package com.protocol.supplychainx.config.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-executes a transactional service method when its commit loses an optimistic lock race
+ * Each attempt runs in a new transaction, so it re-reads the rows the other writer changed.
+ * Calls made inside an existing transaction are not retried: the conflict is left to the outermost method.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Total executions, first one included
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * Backoff ceiling before the first retry, doubled on each further retry; the actual wait is random below it
+     */
+    long backoffMs() default 20;
+
+    long maxBackoffMs() default 500;
+}
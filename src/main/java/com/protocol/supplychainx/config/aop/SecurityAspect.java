@@ -2,6 +2,9 @@ package com.protocol.supplychainx.config.aop;
 
 import com.protocol.supplychainx.common.enums.RoleUtilisateur;
 import com.protocol.supplychainx.common.exceptions.UnauthorizedException;
+import com.protocol.supplychainx.config.jfr.AuthenticationEvent;
+import com.protocol.supplychainx.config.jfr.HotPathEvent;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
 import com.protocol.supplychainx.user.entity.User;
 import com.protocol.supplychainx.user.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,11 +30,38 @@ public class SecurityAspect {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DomainMetrics domainMetrics;
 
     @Around("@annotation(com.protocol.supplychainx.config.aop.SecuredEndpoint)")
     public Object checkAuthentication(ProceedingJoinPoint joinPoint) throws Throwable {
         HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.start();
+
+        User user;
+        try {
+            user = authenticate(request, signature);
+        } catch (RuntimeException e) {
+            event.setEndpoint(signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+            event.fail(e);
+            throw e;
+        }
+
+        if (event.isEnabled()) {
+            event.setEndpoint(signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+            event.setUserId(user.getId());
+            event.setRole(user.getRole().name());
+            event.finish(HotPathEvent.SUCCESS);
+        }
+
+        request.setAttribute("authenticatedUser", user);
+
+        return joinPoint.proceed();
+    }
+
+    private User authenticate(HttpServletRequest request, MethodSignature signature) {
         // Get headers
         String email = request.getHeader("X-User-Email");
         String password = request.getHeader("X-User-Password");
@@ -39,31 +69,29 @@ public class SecurityAspect {
         log.debug("Security check - Email: {}", email);
 
         if (email == null || email.isEmpty() || password == null || password.isEmpty()) {
+            domainMetrics.authMissingHeaders();
             throw new UnauthorizedException("Authentication headers missing. Please provide X-User-Email and X-User-Password headers.");
         }
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
+        User user = userRepository.findByEmail(email).orElse(null);
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (user == null || !passwordEncoder.matches(password, user.getPassword())) {
+            domainMetrics.authInvalidCredentials();
             throw new UnauthorizedException("Invalid credentials");
         }
 
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         SecuredEndpoint annotation = signature.getMethod().getAnnotation(SecuredEndpoint.class);
         RoleUtilisateur[] allowedRoles = annotation.allowedRoles();
 
         if (allowedRoles.length > 0) {
             boolean hasRole = Arrays.asList(allowedRoles).contains(user.getRole());
             if (!hasRole) {
+                domainMetrics.authAccessDenied();
                 throw new UnauthorizedException("Access denied. Required roles: " + Arrays.toString(allowedRoles));
             }
         }
 
         log.info("User {} authenticated successfully with role {}", email, user.getRole());
-
-        request.setAttribute("authenticatedUser", user);
-
-        return joinPoint.proceed();
+        return user;
     }
 }
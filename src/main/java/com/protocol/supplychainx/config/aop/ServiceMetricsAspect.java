@@ -0,0 +1,63 @@
+package com.protocol.supplychainx.config.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the I*Service implementations.
+ * Timers are resolved once per method and cached, so the per-call cost is a map lookup,
+ * two System.nanoTime() calls and the timer update.
+ * Repository calls are timed by Spring Boot (spring.data.repository.invocations).
+ * Ordered outside {@link OptimisticLockRetryAspect} and the transaction interceptor, so a timer covers the whole
+ * call as the caller sees it: every {@link RetryOnConflict} attempt, the commit and its flush.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "supplychainx.service";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("within(com.protocol.supplychainx..I*Service+) && execution(public * *(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, m -> createTimer(ClassUtils.getUserClass(joinPoint.getTarget()), m));
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer createTimer(Class<?> targetClass, Method method) {
+        return Timer.builder(METRIC_NAME)
+                .description("Service method latency")
+                .tag("class", targetClass.getSimpleName())
+                .tag("method", method.getName())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.protocol.supplychainx.config.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache
+ * Every region is created here with its own size and expiry, and Hibernate is told to fail on any other region
+ * so that an entity annotated with an unknown region cannot silently get an unbounded cache.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String PRODUCT_REGION = "product";
+    public static final String RAW_MATERIAL_REGION = "raw-material";
+    public static final String SUPPLIER_REGION = "supplier";
+    public static final String CUSTOMER_REGION = "customer";
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Region defaults, overridable with cache.l2.region.&lt;name&gt;.max-entries / expire-after-write-minutes
+     * A max of 0 means unbounded: the update timestamps region must never evict, or cached queries would be
+     * served after the tables they read were modified
+     */
+    static final List<Region> REGIONS = List.of(
+            new Region(PRODUCT_REGION, 10_000, 60),
+            new Region(RAW_MATERIAL_REGION, 100_000, 60),
+            new Region(SUPPLIER_REGION, 5_000, 240),
+            new Region(CUSTOMER_REGION, 20_000, 240),
+            new Region(QUERY_RESULTS_REGION, 5_000, 10),
+            new Region(UPDATE_TIMESTAMPS_REGION, 0, 0));
+
+    record Region(String name, long maxEntries, long expireAfterWriteMinutes) {
+    }
+
+    /**
+     * JCache manager holding one Caffeine cache per Hibernate region
+     *
+     * @param environment Source of the per-region overrides
+     * @return The cache manager handed to Hibernate
+     */
+    @Bean
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (Region region : REGIONS) {
+            String prefix = "cache.l2.region." + region.name() + ".";
+            long maxEntries = environment.getProperty(prefix + "max-entries", Long.class, region.maxEntries());
+            long expireMinutes = environment.getProperty(prefix + "expire-after-write-minutes", Long.class,
+                    region.expireAfterWriteMinutes());
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(maxEntries > 0 ? OptionalLong.of(maxEntries) : OptionalLong.empty());
+            configuration.setExpireAfterWrite(expireMinutes > 0
+                    ? OptionalLong.of(TimeUnit.MINUTES.toNanos(expireMinutes))
+                    : OptionalLong.empty());
+            configuration.setStatisticsEnabled(true);
+
+            if (cacheManager.getCache(region.name()) == null) {
+                cacheManager.createCache(region.name(), configuration);
+            }
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Points Hibernate's JCache region factory at the regions configured above
+     *
+     * @param hibernateCacheManager The cache manager holding the regions
+     * @return The Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * JCache statistics per region (gets, puts, evictions); evictions show an undersized region
+     * Hibernate's own hit/miss statistics are bound by Spring Boot when hibernate.generate_statistics is on
+     *
+     * @param hibernateCacheManager The cache manager holding the regions
+     * @return The meter binder registering every region
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> REGIONS.forEach(region ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region.name())));
+    }
+}
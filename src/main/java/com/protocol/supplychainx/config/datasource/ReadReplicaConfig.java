@@ -0,0 +1,121 @@
+package com.protocol.supplychainx.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write split, active only when datasource.replica.urls is set
+ * Transactions marked readOnly = true run on a replica, everything else on the primary. The application data
+ * source is a lazy proxy: the physical connection is only taken at the first statement, once Spring has
+ * flagged the transaction as read-only, so the choice of pool can depend on it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class ReadReplicaConfig {
+
+    /**
+     * Primary pool, configured by the usual spring.datasource.* properties
+     *
+     * @param properties The spring.datasource properties
+     * @return The primary connection pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * One pool per replica URL, behind a router that picks an available replica per connection
+     *
+     * @param primaryDataSource Fallback when no replica is available
+     * @param properties        Primary credentials, reused when no replica credentials are set
+     * @param urls              Comma-separated replica JDBC URLs
+     * @param username          Replica user, defaults to the primary one
+     * @param password          Replica password, defaults to the primary one
+     * @param poolSize          Maximum connections per replica
+     * @param selection         ROUND_ROBIN or LEAST_LOADED
+     * @param meterRegistry     Registry for pool, lag and fallback metrics
+     * @return The read-only data source
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            @Value("${datasource.replica.pool-size:10}") int poolSize,
+            @Value("${datasource.replica.selection:ROUND_ROBIN}") ReplicaSelection selection,
+            MeterRegistry meterRegistry) {
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + replicas.size();
+
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            pool.setPassword(StringUtils.hasText(username) ? password : properties.determinePassword());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            // A replica that is down must not fail startup, the health check keeps it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricRegistry(meterRegistry);
+
+            Replica replica = new Replica(name, pool);
+            Gauge.builder("supplychainx.datasource.replica.lag", replica, Replica::getLagSeconds)
+                    .description("Seconds behind the primary at the last health check, -1 when unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, selection, meterRegistry);
+    }
+
+    /**
+     * @param replicaRoutingDataSource The replicas to probe
+     * @param maxLagSeconds            Replication delay beyond which a replica stops serving reads
+     * @return The scheduled replica health checker
+     */
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        return new ReplicaHealthChecker(replicaRoutingDataSource.getReplicas(), maxLagSeconds);
+    }
+
+    /**
+     * Application data source: primary for read-write transactions, replicas for read-only ones
+     *
+     * @param primaryDataSource        The primary pool
+     * @param replicaRoutingDataSource The replica router
+     * @return The data source used by JPA, Liquibase and JDBC
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
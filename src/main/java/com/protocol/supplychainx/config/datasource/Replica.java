@@ -0,0 +1,55 @@
+package com.protocol.supplychainx.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * One read replica pool and the state last observed by {@link ReplicaHealthChecker}
+ * A replica starts unavailable: reads stay on the primary until the first health check passes.
+ */
+class Replica {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile boolean available;
+    private volatile long lagSeconds = -1;
+
+    Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    boolean isAvailable() {
+        return available;
+    }
+
+    long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    void markAvailable(long lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        this.available = true;
+    }
+
+    void markUnavailable(long lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        this.available = false;
+    }
+
+    /**
+     * Connections currently borrowed from the pool, used by least-loaded selection
+     */
+    int activeConnections() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+}
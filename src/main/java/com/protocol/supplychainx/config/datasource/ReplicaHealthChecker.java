@@ -0,0 +1,79 @@
+package com.protocol.supplychainx.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically probes every replica and takes it out of rotation when it is unreachable, when replication
+ * is stopped, or when it lags the primary by more than the allowed number of seconds.
+ */
+@Slf4j
+public class ReplicaHealthChecker {
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+
+    ReplicaHealthChecker(List<Replica> replicas, long maxLagSeconds) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicas.forEach(this::check);
+    }
+
+    void check(Replica replica) {
+        boolean wasAvailable = replica.isAvailable();
+        long lag;
+        try {
+            lag = replicationLag(replica);
+        } catch (Exception e) {
+            replica.markUnavailable(-1);
+            if (wasAvailable) {
+                log.warn("Replica {} unreachable, read-only traffic falls back: {}", replica.getName(), e.getMessage());
+            }
+            return;
+        }
+
+        if (lag >= 0 && lag <= maxLagSeconds) {
+            replica.markAvailable(lag);
+            if (!wasAvailable) {
+                log.info("Replica {} available (lag {}s)", replica.getName(), lag);
+            }
+        } else {
+            replica.markUnavailable(lag);
+            if (wasAvailable) {
+                log.warn("Replica {} out of rotation: {}", replica.getName(),
+                        lag < 0 ? "replication stopped" : "lag " + lag + "s > " + maxLagSeconds + "s");
+            }
+        }
+    }
+
+    /**
+     * Seconds behind the source, 0 for a server that is not a replica, -1 when replication is stopped
+     */
+    long replicationLag(Replica replica) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.getDataSource());
+        jdbcTemplate.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        List<Map<String, Object>> status = jdbcTemplate.queryForList("SHOW REPLICA STATUS");
+        if (status.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Object> row = status.get(0);
+        Object secondsBehind = row.get("Seconds_Behind_Source");
+        if (!"Yes".equals(row.get("Replica_IO_Running"))
+                || !"Yes".equals(row.get("Replica_SQL_Running"))
+                || secondsBehind == null) {
+            return -1;
+        }
+        return ((Number) secondsBehind).longValue();
+    }
+}
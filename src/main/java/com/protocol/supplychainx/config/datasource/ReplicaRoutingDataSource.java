@@ -0,0 +1,87 @@
+package com.protocol.supplychainx.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source used for read-only transactions
+ * Routes each new connection to an available replica, or to the primary when none is available
+ * (all down, all lagging, or not checked yet).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryFallbacks;
+
+    ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReplicaSelection selection,
+                             MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.selection = selection;
+        this.primaryFallbacks = Counter.builder("supplychainx.datasource.replica.fallbacks")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(meterRegistry);
+
+        Map<Object, Object> targets = new HashMap<>();
+        replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = selection == ReplicaSelection.LEAST_LOADED ? leastLoaded() : roundRobin();
+        if (replica == null) {
+            // A null key resolves to the default target, the primary
+            primaryFallbacks.increment();
+            return null;
+        }
+        return replica.getName();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    private Replica roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            int active = replica.activeConnections();
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,9 @@
+package com.protocol.supplychainx.config.datasource;
+
+/**
+ * How a read-only transaction picks among the available replicas
+ */
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_LOADED
+}
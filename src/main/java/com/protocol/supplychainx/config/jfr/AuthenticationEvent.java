@@ -0,0 +1,20 @@
+package com.protocol.supplychainx.config.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+@Name("com.protocol.supplychainx.Authentication")
+@Label("Authentication")
+@Setter
+public class AuthenticationEvent extends HotPathEvent {
+
+    @Label("User ID")
+    private long userId;
+
+    @Label("Role")
+    private String role;
+
+    @Label("Endpoint")
+    private String endpoint;
+}
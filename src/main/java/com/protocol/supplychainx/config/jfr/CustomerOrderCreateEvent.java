@@ -0,0 +1,23 @@
+package com.protocol.supplychainx.config.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+@Name("com.protocol.supplychainx.CustomerOrderCreate")
+@Label("Customer Order Create")
+@Setter
+public class CustomerOrderCreateEvent extends HotPathEvent {
+
+    @Label("Order ID")
+    private long orderId;
+
+    @Label("Customer ID")
+    private long customerId;
+
+    @Label("Product ID")
+    private long productId;
+
+    @Label("Quantity")
+    private int quantity;
+}
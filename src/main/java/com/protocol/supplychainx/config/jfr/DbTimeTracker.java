@@ -0,0 +1,44 @@
+package com.protocol.supplychainx.config.jfr;
+
+/**
+ * Per-thread clock of the time spent in repository calls.
+ * Only accumulates while a hot path event is in progress on the thread.
+ */
+public final class DbTimeTracker {
+
+    private static final ThreadLocal<Clock> CLOCK = ThreadLocal.withInitial(Clock::new);
+
+    private DbTimeTracker() {
+    }
+
+    public static boolean isTracking() {
+        return CLOCK.get().depth > 0;
+    }
+
+    public static void add(long nanos) {
+        CLOCK.get().nanos += nanos;
+    }
+
+    /**
+     * @return The current clock value, to be passed back to exit()
+     */
+    static long enter() {
+        Clock clock = CLOCK.get();
+        clock.depth++;
+        return clock.nanos;
+    }
+
+    /**
+     * @return The database time accumulated since the matching enter()
+     */
+    static long exit(long startNanos) {
+        Clock clock = CLOCK.get();
+        clock.depth--;
+        return clock.nanos - startNanos;
+    }
+
+    private static final class Clock {
+        private int depth;
+        private long nanos;
+    }
+}
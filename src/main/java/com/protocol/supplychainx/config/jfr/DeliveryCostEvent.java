@@ -0,0 +1,23 @@
+package com.protocol.supplychainx.config.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+@Name("com.protocol.supplychainx.DeliveryCost")
+@Label("Delivery Cost Calculation")
+@Setter
+public class DeliveryCostEvent extends HotPathEvent {
+
+    @Label("Order ID")
+    private long orderId;
+
+    @Label("Product ID")
+    private long productId;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Cost")
+    private double cost;
+}
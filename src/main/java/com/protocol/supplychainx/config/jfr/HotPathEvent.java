@@ -0,0 +1,71 @@
+package com.protocol.supplychainx.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Base class of the JFR events emitted on the order and stock hot paths.
+ * When no recording enables the event, start() and finish() return after a single isEnabled() check.
+ * The common fields are protected: JFR ignores private fields inherited from a superclass.
+ */
+@Category({"SupplyChainX", "Hot Paths"})
+@StackTrace(false)
+public abstract class HotPathEvent extends Event {
+
+    public static final String SUCCESS = "SUCCES";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Label("DB Time")
+    @Description("Time spent in repository calls")
+    @Timespan(Timespan.NANOSECONDS)
+    protected long dbTime;
+
+    @Label("CPU Time")
+    @Description("CPU time consumed by the thread")
+    @Timespan(Timespan.NANOSECONDS)
+    protected long cpuTime;
+
+    @Label("Outcome")
+    @Description("SUCCES, or the simple name of the exception thrown")
+    protected String outcome;
+
+    private transient boolean started;
+    private transient long cpuStart;
+    private transient long dbStart;
+
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        started = true;
+        cpuStart = THREADS.getCurrentThreadCpuTime();
+        dbStart = DbTimeTracker.enter();
+        begin();
+    }
+
+    public void finish(String outcome) {
+        if (!started) {
+            return;
+        }
+        end();
+        long elapsedDbTime = DbTimeTracker.exit(dbStart);
+        if (shouldCommit()) {
+            this.dbTime = elapsedDbTime;
+            this.cpuTime = THREADS.getCurrentThreadCpuTime() - cpuStart;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+    public void fail(Throwable throwable) {
+        finish(throwable.getClass().getSimpleName());
+    }
+}
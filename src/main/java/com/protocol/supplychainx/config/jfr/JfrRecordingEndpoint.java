@@ -0,0 +1,125 @@
+package com.protocol.supplychainx.config.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * On-demand Java Flight Recorder recording, so hot path events can be correlated with GC and lock profiles.
+ * JMX only (org.springframework.boot:type=Endpoint,name=Jfr): status returns the state, control start, dump
+ * or stop drives the recording. It writes files on the server and is never exposed over HTTP.
+ * Outside the application the same can be done with jcmd (JFR.start, JFR.dump, JFR.stop).
+ */
+@Component
+@JmxEndpoint(id = "jfr")
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "supplychainx-on-demand";
+    private static final DateTimeFormatter FILE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final String defaultSettings;
+    private final Duration maxAge;
+
+    // A lock rather than synchronized methods: dump writes to disk while holding it, and blocking inside
+    // synchronized would pin the carrier thread when requests run on virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+
+    public JfrRecordingEndpoint(@Value("${jfr.recording.directory:${java.io.tmpdir}}") String directory,
+                                @Value("${jfr.recording.settings:profile}") String defaultSettings,
+                                @Value("${jfr.recording.max-age-minutes:30}") long maxAgeMinutes) {
+        this.directory = Path.of(directory);
+        this.defaultSettings = defaultSettings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        lock.lock();
+        try {
+            return currentStatus();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param action   start, dump (write the recording so far without stopping it) or stop (dump and stop)
+     * @param settings JFR settings for start, "default" or "profile"
+     */
+    @WriteOperation
+    public Map<String, Object> control(@Selector String action, @Nullable String settings) throws Exception {
+        lock.lock();
+        try {
+            switch (action) {
+                case "start" -> start(settings != null ? settings : defaultSettings);
+                case "dump" -> {
+                    return Map.of("file", dump().toString());
+                }
+                case "stop" -> {
+                    Path file = dump();
+                    recording.close();
+                    recording = null;
+                    log.info("JFR recording stopped, dumped to {}", file);
+                    return Map.of("file", file.toString());
+                }
+                default -> throw new IllegalArgumentException("Unknown action: " + action + " (expected start, dump or stop)");
+            }
+            return currentStatus();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Object> currentStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : RecordingState.NEW.name());
+        if (recording != null) {
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", recording.getMaxAge());
+        }
+        return status;
+    }
+
+    private void start(String settings) throws Exception {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return;
+        }
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.start();
+        log.info("JFR recording started with '{}' settings", settings);
+    }
+
+    private Path dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No JFR recording in progress");
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve("supplychainx-" + LocalDateTime.now().format(FILE_FORMATTER) + ".jfr");
+        recording.dump(file);
+        return file;
+    }
+}
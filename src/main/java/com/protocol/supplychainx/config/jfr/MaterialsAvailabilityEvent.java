@@ -0,0 +1,20 @@
+package com.protocol.supplychainx.config.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+@Name("com.protocol.supplychainx.MaterialsAvailability")
+@Label("Materials Availability Check")
+@Setter
+public class MaterialsAvailabilityEvent extends HotPathEvent {
+
+    @Label("Product ID")
+    private long productId;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Available")
+    private boolean available;
+}
@@ -0,0 +1,116 @@
+package com.protocol.supplychainx.config.metrics;
+
+import com.protocol.supplychainx.procurement.event.LowStockEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Business counters exported alongside the technical metrics.
+ * Counters are registered once at startup so that incrementing them is a single atomic add.
+ */
+@Component
+public class DomainMetrics {
+
+    private final Counter supplyOrdersCreated;
+    private final Counter productionOrdersCreated;
+    private final Counter customerOrdersCreated;
+    private final Counter stockOuts;
+    private final Counter insufficientProductStock;
+    private final Counter insufficientMaterials;
+    private final Counter authMissingHeaders;
+    private final Counter authInvalidCredentials;
+    private final Counter authAccessDenied;
+
+    public DomainMetrics(MeterRegistry meterRegistry) {
+        this.supplyOrdersCreated = ordersCreated(meterRegistry, "supply");
+        this.productionOrdersCreated = ordersCreated(meterRegistry, "production");
+        this.customerOrdersCreated = ordersCreated(meterRegistry, "customer");
+
+        this.stockOuts = Counter.builder("supplychainx.stock.outs")
+                .description("Raw materials that fell below their minimum stock")
+                .register(meterRegistry);
+
+        this.insufficientProductStock = Counter.builder("supplychainx.stock.insufficient")
+                .description("Orders rejected for lack of stock")
+                .tag("exception", "InsufficientProductStockException")
+                .register(meterRegistry);
+        this.insufficientMaterials = Counter.builder("supplychainx.stock.insufficient")
+                .description("Orders rejected for lack of stock")
+                .tag("exception", "InsufficientMaterialsException")
+                .register(meterRegistry);
+
+        this.authMissingHeaders = authFailures(meterRegistry, "missing_headers");
+        this.authInvalidCredentials = authFailures(meterRegistry, "invalid_credentials");
+        this.authAccessDenied = authFailures(meterRegistry, "access_denied");
+    }
+
+    public void supplyOrderCreated() {
+        afterCommit(supplyOrdersCreated);
+    }
+
+    public void productionOrderCreated() {
+        afterCommit(productionOrdersCreated);
+    }
+
+    public void customerOrderCreated() {
+        afterCommit(customerOrdersCreated);
+    }
+
+    public void insufficientProductStock() {
+        insufficientProductStock.increment();
+    }
+
+    public void insufficientMaterials() {
+        insufficientMaterials.increment();
+    }
+
+    public void authMissingHeaders() {
+        authMissingHeaders.increment();
+    }
+
+    public void authInvalidCredentials() {
+        authInvalidCredentials.increment();
+    }
+
+    public void authAccessDenied() {
+        authAccessDenied.increment();
+    }
+
+    // Counted once the stock change is committed, as for the alerts
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLowStock(LowStockEvent event) {
+        stockOuts.increment();
+    }
+
+    // A retried or rolled back transaction must not count an order that was never created
+    private static void afterCommit(Counter counter) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment();
+            }
+        });
+    }
+
+    private static Counter ordersCreated(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("supplychainx.orders.created")
+                .description("Orders created")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static Counter authFailures(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("supplychainx.auth.failures")
+                .description("Rejected authentications on secured endpoints")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.protocol.supplychainx.config.thread;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests in progress
+ * On virtual threads Tomcat no longer bounds concurrency with its worker pool, so under overload every accepted
+ * connection would queue on the Hikari pool and time out together. Requests beyond the limit wait up to the queue
+ * timeout for a slot, then get 503 with Retry-After. Actuator endpoints are never limited, so health checks keep
+ * answering while the application sheds load.
+ */
+@Slf4j
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String IN_FLIGHT_METRIC = "supplychainx.requests.in-flight";
+    static final String SHED_METRIC = "supplychainx.requests.shed";
+
+    private final int maxConcurrent;
+    private final long queueTimeoutMs;
+    private final Semaphore permits;
+    private final Counter shed;
+
+    public RequestConcurrencyLimitFilter(int maxConcurrent, long queueTimeoutMs, MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.queueTimeoutMs = queueTimeoutMs;
+        // Fair, so that a request waiting for a slot is not overtaken by later ones
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.shed = Counter.builder(SHED_METRIC)
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, permits, p -> maxConcurrent - p.availablePermits())
+                .description("Requests currently holding a concurrency slot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            shed.increment();
+            log.debug("Rejecting {} {}: {} requests in progress", request.getMethod(), request.getRequestURI(), maxConcurrent);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many requests in progress");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
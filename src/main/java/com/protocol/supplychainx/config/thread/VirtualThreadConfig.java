@@ -0,0 +1,52 @@
+package com.protocol.supplychainx.config.thread;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Safeguards for the virtual thread mode, active with spring.threads.virtual.enabled=true on Java 21+
+ * Spring Boot itself moves Tomcat requests, the @Async executor and the @Scheduled scheduler to virtual threads
+ * (SchedulerConfig then leaves the scheduler to it). What it no longer provides is a bound on concurrency, which
+ * the platform thread pool used to give for free.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    // Requests allowed per pooled connection when request-limit.max-concurrent is not set: enough to keep the
+    // pool busy while other requests are parsing or serialising JSON, few enough that the wait for a connection
+    // stays well below the Hikari connection timeout
+    static final int DEFAULT_REQUESTS_PER_CONNECTION = 4;
+
+    /**
+     * Concurrency limit in front of every servlet, including Spring Security
+     *
+     * @param maxConcurrent  Requests in progress at once, 0 to derive it from the connection pool size
+     * @param poolSize       Maximum size of the primary Hikari pool
+     * @param queueTimeoutMs How long a request waits for a slot before being rejected with 503
+     * @param meterRegistry  Registry for the in-flight gauge and the shed counter
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            @Value("${request-limit.max-concurrent:0}") int maxConcurrent,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${request-limit.queue-timeout-ms:1000}") long queueTimeoutMs,
+            MeterRegistry meterRegistry) {
+        int limit = maxConcurrent > 0 ? maxConcurrent : poolSize * DEFAULT_REQUESTS_PER_CONNECTION;
+        log.info("Virtual threads enabled, limiting requests in progress to {}", limit);
+
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new RequestConcurrencyLimitFilter(limit, queueTimeoutMs, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
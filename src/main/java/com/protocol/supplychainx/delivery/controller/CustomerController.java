@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.delivery.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
 import com.protocol.supplychainx.delivery.dto.CustomerDTO;
 import com.protocol.supplychainx.delivery.service.ICustomerService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/delivery/customers")
 @RequiredArgsConstructor
@@ -62,6 +66,17 @@ public class CustomerController {
         return ResponseEntity.ok(customer);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get customers by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " customers in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customers fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<CustomerDTO>>> getCustomersByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<CustomerDTO>> customers = customerService.getCustomersByIds(request.getIds());
+        return ResponseEntity.ok(customers);
+    }
+
     @GetMapping
     @Operation(summary = "Get all customers", description = "Retrieve paginated list of all customers (US33)")
     @ApiResponses(value = {
@@ -1,5 +1,10 @@
 package com.protocol.supplychainx.delivery.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionRequestDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
 import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
 import com.protocol.supplychainx.delivery.service.ICustomerOrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +22,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/delivery/orders")
 @RequiredArgsConstructor
@@ -53,6 +60,19 @@ public class CustomerOrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PatchMapping("/status")
+    @Operation(summary = "Update the status of customer orders in bulk", description = "Move up to " + BulkTransitionRequestDTO.MAX_IDS + " customer orders to a new status in one call; orders that do not exist or whose status does not allow the move are left unchanged and returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses updated"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<BulkTransitionResultDTO> updateOrderStatuses(
+            @Parameter(description = "New status") @RequestParam CustomerOrderStatus status,
+            @Valid @RequestBody BulkTransitionRequestDTO request) {
+        BulkTransitionResultDTO result = customerOrderService.updateOrderStatuses(request.getIds(), status);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get customer order by ID", description = "Retrieve customer order details by ID")
     @ApiResponses(value = {
@@ -65,6 +85,17 @@ public class CustomerOrderController {
         return ResponseEntity.ok(customerOrder);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get customer orders by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " customer orders in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer orders fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<CustomerOrderDTO>>> getCustomerOrdersByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<CustomerOrderDTO>> customerOrders = customerOrderService.getCustomerOrdersByIds(request.getIds());
+        return ResponseEntity.ok(customerOrders);
+    }
+
     @GetMapping
     @Operation(summary = "Get all customer orders", description = "Retrieve paginated list of all customer orders (US38)")
     @ApiResponses(value = {
@@ -126,4 +157,15 @@ public class CustomerOrderController {
         customerOrderService.cancelCustomerOrder(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/cancel")
+    @Operation(summary = "Cancel customer orders in bulk", description = "Cancel up to " + BulkTransitionRequestDTO.MAX_IDS + " customer orders in one call and give their stock back; orders that do not exist or are already shipped or delivered are left unchanged and returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders cancelled"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<BulkTransitionResultDTO> cancelCustomerOrders(@Valid @RequestBody BulkTransitionRequestDTO request) {
+        BulkTransitionResultDTO result = customerOrderService.cancelCustomerOrders(request.getIds());
+        return ResponseEntity.ok(result);
+    }
 }
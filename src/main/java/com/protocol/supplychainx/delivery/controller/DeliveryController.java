@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.delivery.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
 import com.protocol.supplychainx.delivery.dto.DeliveryDTO;
 import com.protocol.supplychainx.delivery.service.IDeliveryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/delivery/deliveries")
 @RequiredArgsConstructor
@@ -63,6 +67,17 @@ public class DeliveryController {
         return ResponseEntity.ok(delivery);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get deliveries by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " deliveries in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deliveries fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<DeliveryDTO>>> getDeliveriesByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<DeliveryDTO>> deliveries = deliveryService.getDeliveriesByIds(request.getIds());
+        return ResponseEntity.ok(deliveries);
+    }
+
     @GetMapping("/order/{orderId}")
     @Operation(summary = "Get delivery by order ID", description = "Retrieve delivery details by customer order ID")
     @ApiResponses(value = {
@@ -1,11 +1,16 @@
 package com.protocol.supplychainx.delivery.entity;
 
+import com.protocol.supplychainx.config.cache.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "customers")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = HibernateCacheConfig.CUSTOMER_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +29,7 @@ public class Customer {
     private String address;
     private String city;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL)
     private List<CustomerOrder> orders;
 }
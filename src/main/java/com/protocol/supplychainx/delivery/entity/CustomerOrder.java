@@ -5,8 +5,15 @@ import com.protocol.supplychainx.production.entity.Product;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.Set;
+
 @Entity
 @Table(name = "customer_orders")
+@NamedEntityGraph(name = CustomerOrder.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("product"),
+        @NamedAttributeNode("delivery")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,6 +21,9 @@ import lombok.*;
 @Builder
 public class CustomerOrder {
 
+    // Associations the list mapper reads, fetched in the same query as the page
+    public static final String LIST_GRAPH = "CustomerOrder.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_order")
@@ -32,6 +42,30 @@ public class CustomerOrder {
     @Enumerated(EnumType.STRING)
     private CustomerOrderStatus status;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
     private Delivery delivery;
+
+    /**
+     * Statuses in which an order can be cancelled: not yet shipped
+     */
+    public static final Set<CustomerOrderStatus> CANCELLABLE_STATUSES = Set.of(CustomerOrderStatus.EN_PREPARATION);
+
+    public boolean canBeCancelled() {
+        return CANCELLABLE_STATUSES.contains(status);
+    }
+
+    /**
+     * Statuses an order can be moved to the given status from by a bulk transition: one step forward
+     */
+    public static Set<CustomerOrderStatus> statusesBefore(CustomerOrderStatus status) {
+        return switch (status) {
+            case EN_PREPARATION -> Set.of();
+            case EN_ROUTE -> Set.of(CustomerOrderStatus.EN_PREPARATION);
+            case LIVREE -> Set.of(CustomerOrderStatus.EN_ROUTE);
+        };
+    }
 }
@@ -7,6 +7,12 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "deliveries")
+@NamedEntityGraph(name = Delivery.LIST_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "order", subgraph = "order"),
+        subgraphs = @NamedSubgraph(name = "order", attributeNodes = {
+                @NamedAttributeNode("customer"),
+                @NamedAttributeNode("product")
+        }))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,6 +20,9 @@ import java.time.LocalDate;
 @Builder
 public class Delivery {
 
+    // Associations the list mapper reads, fetched in the same query as the page
+    public static final String LIST_GRAPH = "Delivery.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_delivery")
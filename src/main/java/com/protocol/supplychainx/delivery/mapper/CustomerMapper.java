@@ -2,6 +2,7 @@ package com.protocol.supplychainx.delivery.mapper;
 
 import com.protocol.supplychainx.delivery.dto.CustomerDTO;
 import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.repository.projection.CustomerView;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -10,6 +11,8 @@ public interface CustomerMapper {
     @Mapping(target = "activeOrdersCount", expression = "java(customer.getOrders() != null ? (int) customer.getOrders().stream().filter(o -> o.getStatus() != com.protocol.supplychainx.common.enums.CustomerOrderStatus.LIVREE).count() : 0)")
     CustomerDTO toDTO(Customer customer);
     
+    CustomerDTO toDTO(CustomerView customerView);
+    
     @Mapping(target = "orders", ignore = true)
     Customer toEntity(CustomerDTO customerDTO);
     
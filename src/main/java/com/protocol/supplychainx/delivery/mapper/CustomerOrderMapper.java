@@ -2,6 +2,7 @@ package com.protocol.supplychainx.delivery.mapper;
 
 import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
 import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.repository.projection.CustomerOrderView;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE, uses = {DeliveryMapper.class})
@@ -14,14 +15,18 @@ public interface CustomerOrderMapper {
     @Mapping(source = "delivery", target = "delivery")
     CustomerOrderDTO toDTO(CustomerOrder customerOrder);
     
+    CustomerOrderDTO toDTO(CustomerOrderView customerOrderView);
+    
     @Mapping(source = "customerId", target = "customer.idCustomer")
     @Mapping(source = "productId", target = "product.idProduct")
     @Mapping(target = "delivery", ignore = true)
+    @Mapping(target = "version", ignore = true)
     CustomerOrder toEntity(CustomerOrderDTO customerOrderDTO);
     
     @Mapping(source = "customerId", target = "customer.idCustomer")
     @Mapping(source = "productId", target = "product.idProduct")
     @Mapping(target = "idOrder", ignore = true)
     @Mapping(target = "delivery", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDTO(CustomerOrderDTO customerOrderDTO, @MappingTarget CustomerOrder customerOrder);
 }
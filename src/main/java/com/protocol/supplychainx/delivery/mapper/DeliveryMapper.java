@@ -2,6 +2,7 @@ package com.protocol.supplychainx.delivery.mapper;
 
 import com.protocol.supplychainx.delivery.dto.DeliveryDTO;
 import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.repository.projection.DeliveryView;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -11,6 +12,9 @@ public interface DeliveryMapper {
     @Mapping(target = "orderDetails", expression = "java(delivery.getOrder() != null && delivery.getOrder().getCustomer() != null && delivery.getOrder().getProduct() != null ? delivery.getOrder().getCustomer().getName() + \" - \" + delivery.getOrder().getProduct().getName() : \"N/A\")")
     DeliveryDTO toDTO(Delivery delivery);
     
+    @Mapping(target = "orderDetails", expression = "java(deliveryView.customerName() != null && deliveryView.productName() != null ? deliveryView.customerName() + \" - \" + deliveryView.productName() : \"N/A\")")
+    DeliveryDTO toDTO(DeliveryView deliveryView);
+    
     @Mapping(source = "orderId", target = "order.idOrder")
     @Mapping(target = "order.customer", ignore = true)
     @Mapping(target = "order.product", ignore = true)
@@ -2,21 +2,75 @@ package com.protocol.supplychainx.delivery.repository;
 
 import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
 import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.repository.projection.CustomerOrderView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, Long> {
+    @Override
+    @EntityGraph(CustomerOrder.LIST_GRAPH)
+    Page<CustomerOrder> findAll(Pageable pageable);
+
+    @EntityGraph(CustomerOrder.LIST_GRAPH)
     Page<CustomerOrder> findByCustomerIdCustomer(Long customerId, Pageable pageable);
+    @EntityGraph(CustomerOrder.LIST_GRAPH)
     Page<CustomerOrder> findByStatus(CustomerOrderStatus status, Pageable pageable);
+    @EntityGraph(CustomerOrder.LIST_GRAPH)
     Page<CustomerOrder> findByProductIdProduct(Long productId, Pageable pageable);
     @Query("SELECT COUNT(o) FROM CustomerOrder o WHERE o.product.idProduct = :productId AND o.status IN :statuses")
     long countActiveOrdersByProduct(@Param("productId") Long productId, 
                                    @Param("statuses") List<CustomerOrderStatus> statuses);
+
+    // Read endpoints: one statement per request, rows are not managed by the persistence context
+    String SELECT_VIEW = "SELECT new com.protocol.supplychainx.delivery.repository.projection.CustomerOrderView("
+            + "o.idOrder, c.idCustomer, c.name, p.idProduct, p.name, o.quantity, o.status, "
+            + "d.idDelivery, d.vehicle, d.driver, d.status, d.deliveryDate, d.cost) "
+            + "FROM CustomerOrder o LEFT JOIN o.customer c LEFT JOIN o.product p LEFT JOIN o.delivery d";
+
+    @Query(SELECT_VIEW + " WHERE o.idOrder = :id")
+    Optional<CustomerOrderView> findViewById(@Param("id") Long id);
+
+    @Query(value = SELECT_VIEW, countQuery = "SELECT COUNT(o) FROM CustomerOrder o")
+    Page<CustomerOrderView> findAllViews(Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE c.idCustomer = :customerId",
+            countQuery = "SELECT COUNT(o) FROM CustomerOrder o WHERE o.customer.idCustomer = :customerId")
+    Page<CustomerOrderView> findViewsByCustomer(@Param("customerId") Long customerId, Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE o.status = :status",
+            countQuery = "SELECT COUNT(o) FROM CustomerOrder o WHERE o.status = :status")
+    Page<CustomerOrderView> findViewsByStatus(@Param("status") CustomerOrderStatus status, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE o.idOrder IN :ids")
+    List<CustomerOrderView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bulk transitions: the orders among ids whose status allows the move, locked until the transition commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.idOrder FROM CustomerOrder o WHERE o.idOrder IN :ids AND o.status IN :statuses")
+    List<Long> lockIdsByStatusIn(@Param("ids") Collection<Long> ids,
+                                 @Param("statuses") Collection<CustomerOrderStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE CustomerOrder o SET o.status = :status, o.version = o.version + 1 WHERE o.idOrder IN :ids AND o.status IN :statuses")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("statuses") Collection<CustomerOrderStatus> statuses,
+                     @Param("status") CustomerOrderStatus status);
+
+    @Modifying
+    @Query("DELETE FROM CustomerOrder o WHERE o.idOrder IN :ids AND o.status IN :statuses")
+    int deleteByStatusIn(@Param("ids") Collection<Long> ids,
+                         @Param("statuses") Collection<CustomerOrderStatus> statuses);
 }
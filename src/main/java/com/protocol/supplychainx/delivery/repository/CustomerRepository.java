@@ -2,22 +2,48 @@ package com.protocol.supplychainx.delivery.repository;
 
 import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
 import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.repository.projection.CustomerView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Customer> findByName(String name);
     boolean existsByName(String name);
     Page<Customer> findByNameContainingIgnoreCase(String name, Pageable pageable);
     @Query("SELECT COUNT(o) FROM CustomerOrder o WHERE o.customer.idCustomer = :customerId AND o.status IN :statuses")
     long countActiveOrdersByCustomer(@Param("customerId") Long customerId, 
                                      @Param("statuses") List<CustomerOrderStatus> statuses);
+
+    // Read endpoints: one statement per request, rows are not managed by the persistence context
+    String SELECT_VIEW = "SELECT new com.protocol.supplychainx.delivery.repository.projection.CustomerView("
+            + "c.idCustomer, c.name, c.address, c.city, "
+            + "(SELECT COUNT(o) FROM CustomerOrder o WHERE o.customer = c "
+            + "AND o.status <> com.protocol.supplychainx.common.enums.CustomerOrderStatus.LIVREE)) "
+            + "FROM Customer c";
+
+    @Query(SELECT_VIEW + " WHERE c.idCustomer = :id")
+    Optional<CustomerView> findViewById(@Param("id") Long id);
+
+    @Query(value = SELECT_VIEW, countQuery = "SELECT COUNT(c) FROM Customer c")
+    Page<CustomerView> findAllViews(Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))",
+            countQuery = "SELECT COUNT(c) FROM Customer c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<CustomerView> findViewsByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE c.idCustomer IN :ids")
+    List<CustomerView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,18 +2,58 @@ package com.protocol.supplychainx.delivery.repository;
 
 import com.protocol.supplychainx.common.enums.DeliveryStatus;
 import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.repository.projection.DeliveryView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
+    @Override
+    @EntityGraph(Delivery.LIST_GRAPH)
+    Page<Delivery> findAll(Pageable pageable);
+
     Optional<Delivery> findByOrderIdOrder(Long orderId);
+    @EntityGraph(Delivery.LIST_GRAPH)
     Page<Delivery> findByStatus(DeliveryStatus status, Pageable pageable);
+    @EntityGraph(Delivery.LIST_GRAPH)
     Page<Delivery> findByDeliveryDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @EntityGraph(Delivery.LIST_GRAPH)
     Page<Delivery> findByDriverContainingIgnoreCase(String driver, Pageable pageable);
+
+    // Read endpoints: one statement per request, rows are not managed by the persistence context
+    String SELECT_VIEW = "SELECT new com.protocol.supplychainx.delivery.repository.projection.DeliveryView("
+            + "d.idDelivery, o.idOrder, c.name, p.name, d.vehicle, d.driver, d.status, d.deliveryDate, d.cost) "
+            + "FROM Delivery d LEFT JOIN d.order o LEFT JOIN o.customer c LEFT JOIN o.product p";
+
+    @Query(SELECT_VIEW + " WHERE d.idDelivery = :id")
+    Optional<DeliveryView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + " WHERE o.idOrder = :orderId")
+    Optional<DeliveryView> findViewByOrderId(@Param("orderId") Long orderId);
+
+    @Query(value = SELECT_VIEW, countQuery = "SELECT COUNT(d) FROM Delivery d")
+    Page<DeliveryView> findAllViews(Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE d.status = :status",
+            countQuery = "SELECT COUNT(d) FROM Delivery d WHERE d.status = :status")
+    Page<DeliveryView> findViewsByStatus(@Param("status") DeliveryStatus status, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE d.idDelivery IN :ids")
+    List<DeliveryView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Cancelled customer orders take their delivery with them
+    @Modifying
+    @Query("DELETE FROM Delivery d WHERE d.order.idOrder IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -0,0 +1,31 @@
+package com.protocol.supplychainx.delivery.repository.projection;
+
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.DeliveryStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only row for customer order GET endpoints, including the optional delivery.
+ */
+public record CustomerOrderView(
+        Long idOrder,
+        Long customerId,
+        String customerName,
+        Long productId,
+        String productName,
+        Integer quantity,
+        CustomerOrderStatus status,
+        DeliveryView delivery
+) {
+
+    // Target of the JPQL constructor expression, which can only pass flat columns; the delivery
+    // columns are null when the order has no delivery yet
+    public CustomerOrderView(Long idOrder, Long customerId, String customerName, Long productId, String productName,
+                             Integer quantity, CustomerOrderStatus status, Long idDelivery, String vehicle,
+                             String driver, DeliveryStatus deliveryStatus, LocalDate deliveryDate, Double cost) {
+        this(idOrder, customerId, customerName, productId, productName, quantity, status,
+                idDelivery == null ? null : new DeliveryView(idDelivery, idOrder, customerName, productName,
+                        vehicle, driver, deliveryStatus, deliveryDate, cost));
+    }
+}
@@ -0,0 +1,14 @@
+package com.protocol.supplychainx.delivery.repository.projection;
+
+/**
+ * Read-only row for customer GET endpoints, selected by a constructor expression so the orders
+ * collection is counted in SQL instead of being loaded.
+ */
+public record CustomerView(
+        Long idCustomer,
+        String name,
+        String address,
+        String city,
+        Long activeOrdersCount
+) {
+}
@@ -0,0 +1,22 @@
+package com.protocol.supplychainx.delivery.repository.projection;
+
+import com.protocol.supplychainx.common.enums.DeliveryStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only row for delivery GET endpoints. Customer and product names come from the same
+ * statement, joined through the order.
+ */
+public record DeliveryView(
+        Long idDelivery,
+        Long orderId,
+        String customerName,
+        String productName,
+        String vehicle,
+        String driver,
+        DeliveryStatus status,
+        LocalDate deliveryDate,
+        Double cost
+) {
+}
@@ -1,15 +1,26 @@
 package com.protocol.supplychainx.delivery.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
 import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ICustomerOrderService {
     CustomerOrderDTO createCustomerOrder(CustomerOrderDTO customerOrderDTO);
     CustomerOrderDTO updateCustomerOrder(Long id, CustomerOrderDTO customerOrderDTO);
+
+    BulkTransitionResultDTO updateOrderStatuses(List<Long> ids, CustomerOrderStatus status);
     CustomerOrderDTO getCustomerOrder(Long id);
+
+    List<BatchGetItemDTO<CustomerOrderDTO>> getCustomerOrdersByIds(List<Long> ids);
     Page<CustomerOrderDTO> getAllCustomerOrders(Pageable pageable);
     Page<CustomerOrderDTO> getCustomerOrdersByCustomer(Long customerId, Pageable pageable);
     Page<CustomerOrderDTO> getCustomerOrdersByStatus(String status, Pageable pageable);
     void cancelCustomerOrder(Long id);
+
+    BulkTransitionResultDTO cancelCustomerOrders(List<Long> ids);
 }
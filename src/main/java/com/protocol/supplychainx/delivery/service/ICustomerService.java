@@ -1,13 +1,18 @@
 package com.protocol.supplychainx.delivery.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.delivery.dto.CustomerDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ICustomerService {
     CustomerDTO createCustomer(CustomerDTO customerDTO);
     CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO);
     CustomerDTO getCustomer(Long id);
+
+    List<BatchGetItemDTO<CustomerDTO>> getCustomersByIds(List<Long> ids);
     Page<CustomerDTO> getAllCustomers(Pageable pageable);
     Page<CustomerDTO> searchCustomersByName(String name, Pageable pageable);
     void deleteCustomer(Long id);
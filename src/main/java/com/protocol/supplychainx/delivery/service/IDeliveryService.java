@@ -1,13 +1,18 @@
 package com.protocol.supplychainx.delivery.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.delivery.dto.DeliveryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface IDeliveryService {
     DeliveryDTO createDelivery(DeliveryDTO deliveryDTO);
     DeliveryDTO updateDelivery(Long id, DeliveryDTO deliveryDTO);
     DeliveryDTO getDelivery(Long id);
+
+    List<BatchGetItemDTO<DeliveryDTO>> getDeliveriesByIds(List<Long> ids);
     DeliveryDTO getDeliveryByOrderId(Long orderId);
     Page<DeliveryDTO> getAllDeliveries(Pageable pageable);
     Page<DeliveryDTO> getDeliveriesByStatus(String status, Pageable pageable);
@@ -1,26 +1,46 @@
 package com.protocol.supplychainx.delivery.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
 import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
 import com.protocol.supplychainx.common.exceptions.delivery.CustomerNotFoundException;
 import com.protocol.supplychainx.common.exceptions.delivery.CustomerOrderCannotBeCancelledException;
 import com.protocol.supplychainx.common.exceptions.delivery.CustomerOrderNotFoundException;
 import com.protocol.supplychainx.common.exceptions.delivery.InsufficientProductStockException;
 import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
+import com.protocol.supplychainx.config.aop.RetryOnConflict;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
 import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
 import com.protocol.supplychainx.delivery.entity.Customer;
 import com.protocol.supplychainx.delivery.entity.CustomerOrder;
 import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapper;
 import com.protocol.supplychainx.delivery.repository.CustomerOrderRepository;
 import com.protocol.supplychainx.delivery.repository.CustomerRepository;
+import com.protocol.supplychainx.delivery.repository.DeliveryRepository;
+import com.protocol.supplychainx.delivery.repository.projection.CustomerOrderView;
 import com.protocol.supplychainx.delivery.service.ICustomerOrderService;
+import com.protocol.supplychainx.hotstock.service.HotStockService;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
 import com.protocol.supplychainx.production.entity.Product;
 import com.protocol.supplychainx.production.repository.ProductRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -32,8 +52,14 @@ public class CustomerOrderService implements ICustomerOrderService {
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
     private final CustomerOrderMapper customerOrderMapper;
+    private final DomainMetrics domainMetrics;
+    private final DomainEventOutboxService domainEventOutboxService;
+    private final StockLedgerService stockLedgerService;
+    private final HotStockService hotStockService;
+    private final DeliveryRepository deliveryRepository;
 
     @Override
+    @RetryOnConflict
     public CustomerOrderDTO createCustomerOrder(CustomerOrderDTO customerOrderDTO) {
         log.info("Creating new customer order for customer ID: {}", customerOrderDTO.getCustomerId());
 
@@ -43,16 +69,6 @@ public class CustomerOrderService implements ICustomerOrderService {
         Product product = productRepository.findById(customerOrderDTO.getProductId())
                 .orElseThrow(() -> new ProductNotFoundException(customerOrderDTO.getProductId()));
 
-        if (product.getStock() < customerOrderDTO.getQuantity()) {
-            log.error("Insufficient stock for product: {}. Available: {}, Required: {}", 
-                    product.getName(), product.getStock(), customerOrderDTO.getQuantity());
-            throw new InsufficientProductStockException(
-                    product.getName(), 
-                    product.getStock(), 
-                    customerOrderDTO.getQuantity()
-            );
-        }
-
         CustomerOrder customerOrder = customerOrderMapper.toEntity(customerOrderDTO);
         customerOrder.setCustomer(customer);
         customerOrder.setProduct(product);
@@ -61,16 +77,19 @@ public class CustomerOrderService implements ICustomerOrderService {
             customerOrder.setStatus(CustomerOrderStatus.EN_PREPARATION);
         }
 
-        product.setStock(product.getStock() - customerOrderDTO.getQuantity());
-        productRepository.save(product);
-
+        // Saved first: the stock movement references the order, and a shortfall rolls the order back
         CustomerOrder savedOrder = customerOrderRepository.save(customerOrder);
+        changeStock(product, -customerOrderDTO.getQuantity(), StockMovementReason.CUSTOMER_ORDER, savedOrder.getIdOrder());
         log.info("Customer order created successfully with ID: {}", savedOrder.getIdOrder());
+        domainMetrics.customerOrderCreated();
 
-        return customerOrderMapper.toDTO(savedOrder);
+        CustomerOrderDTO savedOrderDTO = customerOrderMapper.toDTO(savedOrder);
+        domainEventOutboxService.record(ChangeType.CUSTOMER_ORDER, savedOrder.getIdOrder(), ChangeAction.CREATED, savedOrderDTO);
+        return savedOrderDTO;
     }
 
     @Override
+    @RetryOnConflict
     public CustomerOrderDTO updateCustomerOrder(Long id, CustomerOrderDTO customerOrderDTO) {
         log.info("Updating customer order with ID: {}", id);
 
@@ -88,22 +107,11 @@ public class CustomerOrderService implements ICustomerOrderService {
             !customerOrderDTO.getProductId().equals(existingOrder.getProduct().getIdProduct())) {
             
             Product oldProduct = existingOrder.getProduct();
-            oldProduct.setStock(oldProduct.getStock() + existingOrder.getQuantity());
-            productRepository.save(oldProduct);
+            changeStock(oldProduct, existingOrder.getQuantity(), StockMovementReason.CUSTOMER_ORDER_CHANGED, id);
 
             Product newProduct = productRepository.findById(customerOrderDTO.getProductId())
                     .orElseThrow(() -> new ProductNotFoundException(customerOrderDTO.getProductId()));
-            
-            if (newProduct.getStock() < customerOrderDTO.getQuantity()) {
-                throw new InsufficientProductStockException(
-                        newProduct.getName(), 
-                        newProduct.getStock(), 
-                        customerOrderDTO.getQuantity()
-                );
-            }
-
-            newProduct.setStock(newProduct.getStock() - customerOrderDTO.getQuantity());
-            productRepository.save(newProduct);
+            changeStock(newProduct, -customerOrderDTO.getQuantity(), StockMovementReason.CUSTOMER_ORDER_CHANGED, id);
             existingOrder.setProduct(newProduct);
         }
 
@@ -112,17 +120,7 @@ public class CustomerOrderService implements ICustomerOrderService {
             
             Product product = existingOrder.getProduct();
             int stockDifference = customerOrderDTO.getQuantity() - existingOrder.getQuantity();
-            
-            if (product.getStock() < stockDifference) {
-                throw new InsufficientProductStockException(
-                        product.getName(), 
-                        product.getStock(), 
-                        stockDifference
-                );
-            }
-
-            product.setStock(product.getStock() - stockDifference);
-            productRepository.save(product);
+            changeStock(product, -stockDifference, StockMovementReason.CUSTOMER_ORDER_CHANGED, id);
             existingOrder.setQuantity(customerOrderDTO.getQuantity());
         }
 
@@ -133,28 +131,67 @@ public class CustomerOrderService implements ICustomerOrderService {
         CustomerOrder updatedOrder = customerOrderRepository.save(existingOrder);
         log.info("Customer order updated successfully with ID: {}", updatedOrder.getIdOrder());
 
-        return customerOrderMapper.toDTO(updatedOrder);
+        CustomerOrderDTO updatedOrderDTO = customerOrderMapper.toDTO(updatedOrder);
+        domainEventOutboxService.record(ChangeType.CUSTOMER_ORDER, id, ChangeAction.UPDATED, updatedOrderDTO);
+        return updatedOrderDTO;
     }
 
     @Override
+    public BulkTransitionResultDTO updateOrderStatuses(List<Long> ids, CustomerOrderStatus status) {
+        log.info("Updating status of {} customer orders to {}", ids.size(), status);
+
+        Set<CustomerOrderStatus> allowedStatuses = CustomerOrder.statusesBefore(status);
+        BulkTransitionResultDTO result = BulkTransitionResultDTO.inChunks(ids, chunk -> {
+            if (allowedStatuses.isEmpty()) {
+                return List.of();
+            }
+            List<Long> orderIds = customerOrderRepository.lockIdsByStatusIn(chunk, allowedStatuses);
+            if (orderIds.isEmpty()) {
+                return orderIds;
+            }
+            customerOrderRepository.updateStatus(orderIds, allowedStatuses, status);
+            customerOrderRepository.findViewsByIdIn(orderIds).forEach(order -> domainEventOutboxService.record(
+                    ChangeType.CUSTOMER_ORDER, order.idOrder(), ChangeAction.UPDATED, customerOrderMapper.toDTO(order)));
+            return orderIds;
+        });
+
+        log.info("{} customer orders moved to {}, {} rejected", result.getTransitioned(), status, result.getRejectedIds().size());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public CustomerOrderDTO getCustomerOrder(Long id) {
         log.info("Fetching customer order with ID: {}", id);
 
-        CustomerOrder customerOrder = customerOrderRepository.findById(id)
+        CustomerOrderView customerOrder = customerOrderRepository.findViewById(id)
                 .orElseThrow(() -> new CustomerOrderNotFoundException(id));
 
         return customerOrderMapper.toDTO(customerOrder);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<CustomerOrderDTO>> getCustomerOrdersByIds(List<Long> ids) {
+        log.info("Fetching {} customer orders by ID", ids.size());
+
+        List<CustomerOrderDTO> customerOrders = customerOrderRepository.findViewsByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(customerOrderMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, customerOrders, CustomerOrderDTO::getIdOrder);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<CustomerOrderDTO> getAllCustomerOrders(Pageable pageable) {
         log.info("Fetching all customer orders with pagination");
 
-        Page<CustomerOrder> orders = customerOrderRepository.findAll(pageable);
+        Page<CustomerOrderView> orders = customerOrderRepository.findAllViews(pageable);
         return orders.map(customerOrderMapper::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CustomerOrderDTO> getCustomerOrdersByCustomer(Long customerId, Pageable pageable) {
         log.info("Fetching customer orders for customer ID: {}", customerId);
 
@@ -162,37 +199,96 @@ public class CustomerOrderService implements ICustomerOrderService {
             throw new CustomerNotFoundException(customerId);
         }
 
-        Page<CustomerOrder> orders = customerOrderRepository.findByCustomerIdCustomer(customerId, pageable);
+        Page<CustomerOrderView> orders = customerOrderRepository.findViewsByCustomer(customerId, pageable);
         return orders.map(customerOrderMapper::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CustomerOrderDTO> getCustomerOrdersByStatus(String status, Pageable pageable) {
         log.info("Fetching customer orders by status: {}", status);
 
         CustomerOrderStatus orderStatus = CustomerOrderStatus.valueOf(status.toUpperCase());
-        Page<CustomerOrder> orders = customerOrderRepository.findByStatus(orderStatus, pageable);
+        Page<CustomerOrderView> orders = customerOrderRepository.findViewsByStatus(orderStatus, pageable);
         return orders.map(customerOrderMapper::toDTO);
     }
 
     @Override
+    @RetryOnConflict
     public void cancelCustomerOrder(Long id) {
         log.info("Attempting to cancel customer order with ID: {}", id);
 
         CustomerOrder customerOrder = customerOrderRepository.findById(id)
                 .orElseThrow(() -> new CustomerOrderNotFoundException(id));
 
-        if (customerOrder.getStatus() == CustomerOrderStatus.EN_ROUTE ||
-            customerOrder.getStatus() == CustomerOrderStatus.LIVREE) {
+        if (!customerOrder.canBeCancelled()) {
             log.error("Cannot cancel customer order with ID: {}. Status: {}", id, customerOrder.getStatus());
             throw new CustomerOrderCannotBeCancelledException(id);
         }
 
-        Product product = customerOrder.getProduct();
-        product.setStock(product.getStock() + customerOrder.getQuantity());
-        productRepository.save(product);
+        changeStock(customerOrder.getProduct(), customerOrder.getQuantity(), StockMovementReason.CUSTOMER_ORDER_CANCELLED, id);
 
         customerOrderRepository.deleteById(id);
         log.info("Customer order cancelled successfully with ID: {}", id);
+        domainEventOutboxService.record(ChangeType.CUSTOMER_ORDER, id, ChangeAction.DELETED, null);
+    }
+
+    @Override
+    @RetryOnConflict
+    public BulkTransitionResultDTO cancelCustomerOrders(List<Long> ids) {
+        log.info("Cancelling {} customer orders", ids.size());
+
+        BulkTransitionResultDTO result = BulkTransitionResultDTO.inChunks(ids, chunk -> {
+            List<Long> orderIds = customerOrderRepository.lockIdsByStatusIn(chunk, CustomerOrder.CANCELLABLE_STATUSES);
+            if (orderIds.isEmpty()) {
+                return orderIds;
+            }
+            // The stock goes back order by order, through the ledger and the hot stock counters like a single cancel
+            List<CustomerOrderView> orders = customerOrderRepository.findViewsByIdIn(orderIds);
+            Map<Long, Product> products = productRepository.findAllById(orders.stream()
+                            .map(CustomerOrderView::productId).collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Product::getIdProduct, Function.identity()));
+            orders.forEach(order -> changeStock(products.get(order.productId()), order.quantity(),
+                    StockMovementReason.CUSTOMER_ORDER_CANCELLED, order.idOrder()));
+
+            deliveryRepository.deleteByOrderIdIn(orderIds);
+            customerOrderRepository.deleteByStatusIn(orderIds, CustomerOrder.CANCELLABLE_STATUSES);
+            orderIds.forEach(id -> domainEventOutboxService.record(ChangeType.CUSTOMER_ORDER, id, ChangeAction.DELETED, null));
+            return orderIds;
+        });
+
+        log.info("{} customer orders cancelled, {} rejected", result.getTransitioned(), result.getRejectedIds().size());
+        return result;
+    }
+
+    /**
+     * Changes the stock of the product of an order, in the in-memory counters for a hot product and in its row
+     * otherwise
+     *
+     * @param delta Stock after the change minus stock before it
+     * @throws InsufficientProductStockException When the stock cannot cover a negative delta
+     */
+    private void changeStock(Product product, int delta, StockMovementReason reason, Long orderId) {
+        if (hotStockService.isHot(product.getIdProduct())) {
+            if (!hotStockService.tryApply(product.getIdProduct(), delta, reason, orderId)) {
+                throw insufficientStock(product, hotStockService.available(product.getIdProduct()), -delta);
+            }
+            return;
+        }
+
+        if (product.getStock() + delta < 0) {
+            throw insufficientStock(product, product.getStock(), -delta);
+        }
+        product.setStock(product.getStock() + delta);
+        productRepository.save(product);
+        domainEventOutboxService.recordStock(product);
+        stockLedgerService.record(StockItemType.PRODUCT, product.getIdProduct(), delta, reason, orderId);
+    }
+
+    private InsufficientProductStockException insufficientStock(Product product, int available, int required) {
+        log.error("Insufficient stock for product: {}. Available: {}, Required: {}",
+                product.getName(), available, required);
+        domainMetrics.insufficientProductStock();
+        return new InsufficientProductStockException(product.getName(), available, required);
     }
 }
@@ -1,21 +1,27 @@
 package com.protocol.supplychainx.delivery.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
 import com.protocol.supplychainx.common.exceptions.delivery.CustomerHasActiveOrdersException;
 import com.protocol.supplychainx.common.exceptions.delivery.CustomerNotFoundException;
 import com.protocol.supplychainx.delivery.dto.CustomerDTO;
 import com.protocol.supplychainx.delivery.entity.Customer;
 import com.protocol.supplychainx.delivery.mapper.CustomerMapper;
 import com.protocol.supplychainx.delivery.repository.CustomerRepository;
+import com.protocol.supplychainx.delivery.repository.projection.CustomerView;
 import com.protocol.supplychainx.delivery.service.ICustomerService;
-import jakarta.transaction.Transactional;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 @Service
 @Transactional
@@ -25,6 +31,7 @@ public class CustomerService implements ICustomerService {
 
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final SearchIndexService searchIndexService;
 
     @Override
     public CustomerDTO createCustomer(CustomerDTO customerDTO) {
@@ -34,6 +41,7 @@ public class CustomerService implements ICustomerService {
         Customer savedCustomer = customerRepository.save(customer);
         
         log.info("Customer created successfully with ID: {}", savedCustomer.getIdCustomer());
+        searchIndexService.index(SearchDocumentType.CUSTOMER, savedCustomer.getIdCustomer(), savedCustomer.getName());
         return customerMapper.toDTO(savedCustomer);
     }
 
@@ -50,33 +58,51 @@ public class CustomerService implements ICustomerService {
 
         Customer updatedCustomer = customerRepository.save(existingCustomer);
         log.info("Customer updated successfully with ID: {}", updatedCustomer.getIdCustomer());
+        searchIndexService.index(SearchDocumentType.CUSTOMER, id, updatedCustomer.getName());
 
         return customerMapper.toDTO(updatedCustomer);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CustomerDTO getCustomer(Long id) {
         log.info("Fetching customer with ID: {}", id);
 
-        Customer customer = customerRepository.findById(id)
+        CustomerView customer = customerRepository.findViewById(id)
                 .orElseThrow(() -> new CustomerNotFoundException(id));
 
         return customerMapper.toDTO(customer);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<CustomerDTO>> getCustomersByIds(List<Long> ids) {
+        log.info("Fetching {} customers by ID", ids.size());
+
+        List<CustomerDTO> customers = customerRepository.findViewsByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(customerMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, customers, CustomerDTO::getIdCustomer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<CustomerDTO> getAllCustomers(Pageable pageable) {
         log.info("Fetching all customers with pagination");
 
-        Page<Customer> customers = customerRepository.findAll(pageable);
+        Page<CustomerView> customers = customerRepository.findAllViews(pageable);
         return customers.map(customerMapper::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<CustomerDTO> searchCustomersByName(String name, Pageable pageable) {
         log.info("Searching customers by name: {}", name);
 
-        Page<Customer> customers = customerRepository.findByNameContainingIgnoreCase(name, pageable);
+        Page<CustomerView> customers = searchIndexService.searchIds(SearchDocumentType.CUSTOMER, name, pageable)
+                .map(ids -> SearchIndexService.inIdOrder(ids, customerRepository.findViewsByIdIn(ids.getContent()),
+                        CustomerView::idCustomer))
+                .orElseGet(() -> customerRepository.findViewsByNameContainingIgnoreCase(name, pageable));
         return customers.map(customerMapper::toDTO);
     }
 
@@ -99,6 +125,7 @@ public class CustomerService implements ICustomerService {
         }
 
         customerRepository.deleteById(id);
+        searchIndexService.remove(SearchDocumentType.CUSTOMER, id);
         log.info("Customer deleted successfully with ID: {}", id);
     }
 }
@@ -1,22 +1,35 @@
 package com.protocol.supplychainx.delivery.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
 import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
 import com.protocol.supplychainx.common.enums.DeliveryStatus;
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
 import com.protocol.supplychainx.common.exceptions.delivery.CustomerOrderNotFoundException;
 import com.protocol.supplychainx.common.exceptions.delivery.DeliveryNotFoundException;
+import com.protocol.supplychainx.config.jfr.DeliveryCostEvent;
+import com.protocol.supplychainx.config.jfr.HotPathEvent;
 import com.protocol.supplychainx.delivery.dto.DeliveryDTO;
 import com.protocol.supplychainx.delivery.entity.CustomerOrder;
 import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapper;
 import com.protocol.supplychainx.delivery.mapper.DeliveryMapper;
 import com.protocol.supplychainx.delivery.repository.CustomerOrderRepository;
 import com.protocol.supplychainx.delivery.repository.DeliveryRepository;
+import com.protocol.supplychainx.delivery.repository.projection.DeliveryView;
 import com.protocol.supplychainx.delivery.service.IDeliveryService;
-import jakarta.transaction.Transactional;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
 
 @Service
 @Transactional
@@ -27,6 +40,9 @@ public class DeliveryService implements IDeliveryService {
     private final DeliveryRepository deliveryRepository;
     private final CustomerOrderRepository customerOrderRepository;
     private final DeliveryMapper deliveryMapper;
+    private final CustomerOrderMapper customerOrderMapper;
+    private final DomainEventOutboxService domainEventOutboxService;
+    private final SearchIndexService searchIndexService;
 
     @Override
     public DeliveryDTO createDelivery(DeliveryDTO deliveryDTO) {
@@ -49,12 +65,16 @@ public class DeliveryService implements IDeliveryService {
         if (customerOrder.getStatus() == CustomerOrderStatus.EN_PREPARATION) {
             customerOrder.setStatus(CustomerOrderStatus.EN_ROUTE);
             customerOrderRepository.save(customerOrder);
+            publishOrderStatus(customerOrder);
         }
 
         Delivery savedDelivery = deliveryRepository.save(delivery);
         log.info("Delivery created successfully with ID: {}", savedDelivery.getIdDelivery());
+        searchIndexService.index(SearchDocumentType.DELIVERY, savedDelivery.getIdDelivery(), savedDelivery.getDriver());
 
-        return deliveryMapper.toDTO(savedDelivery);
+        DeliveryDTO savedDeliveryDTO = deliveryMapper.toDTO(savedDelivery);
+        domainEventOutboxService.record(ChangeType.DELIVERY, savedDelivery.getIdDelivery(), ChangeAction.CREATED, savedDeliveryDTO);
+        return savedDeliveryDTO;
     }
 
     @Override
@@ -87,53 +107,73 @@ public class DeliveryService implements IDeliveryService {
                 CustomerOrder order = existingDelivery.getOrder();
                 order.setStatus(CustomerOrderStatus.LIVREE);
                 customerOrderRepository.save(order);
+                publishOrderStatus(order);
             } else if (deliveryDTO.getStatus() == DeliveryStatus.EN_COURS) {
                 CustomerOrder order = existingDelivery.getOrder();
                 order.setStatus(CustomerOrderStatus.EN_ROUTE);
                 customerOrderRepository.save(order);
+                publishOrderStatus(order);
             }
         }
 
         Delivery updatedDelivery = deliveryRepository.save(existingDelivery);
         log.info("Delivery updated successfully with ID: {}", updatedDelivery.getIdDelivery());
+        searchIndexService.index(SearchDocumentType.DELIVERY, id, updatedDelivery.getDriver());
 
-        return deliveryMapper.toDTO(updatedDelivery);
+        DeliveryDTO updatedDeliveryDTO = deliveryMapper.toDTO(updatedDelivery);
+        domainEventOutboxService.record(ChangeType.DELIVERY, id, ChangeAction.UPDATED, updatedDeliveryDTO);
+        return updatedDeliveryDTO;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public DeliveryDTO getDelivery(Long id) {
         log.info("Fetching delivery with ID: {}", id);
 
-        Delivery delivery = deliveryRepository.findById(id)
+        DeliveryView delivery = deliveryRepository.findViewById(id)
                 .orElseThrow(() -> new DeliveryNotFoundException(id));
 
         return deliveryMapper.toDTO(delivery);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<DeliveryDTO>> getDeliveriesByIds(List<Long> ids) {
+        log.info("Fetching {} deliveries by ID", ids.size());
+
+        List<DeliveryDTO> deliveries = deliveryRepository.findViewsByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(deliveryMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, deliveries, DeliveryDTO::getIdDelivery);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public DeliveryDTO getDeliveryByOrderId(Long orderId) {
         log.info("Fetching delivery for order ID: {}", orderId);
 
-        Delivery delivery = deliveryRepository.findByOrderIdOrder(orderId)
+        DeliveryView delivery = deliveryRepository.findViewByOrderId(orderId)
                 .orElseThrow(() -> new DeliveryNotFoundException("Delivery not found for order ID: " + orderId));
 
         return deliveryMapper.toDTO(delivery);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<DeliveryDTO> getAllDeliveries(Pageable pageable) {
         log.info("Fetching all deliveries with pagination");
 
-        Page<Delivery> deliveries = deliveryRepository.findAll(pageable);
+        Page<DeliveryView> deliveries = deliveryRepository.findAllViews(pageable);
         return deliveries.map(deliveryMapper::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<DeliveryDTO> getDeliveriesByStatus(String status, Pageable pageable) {
         log.info("Fetching deliveries by status: {}", status);
 
         DeliveryStatus deliveryStatus = DeliveryStatus.valueOf(status.toUpperCase());
-        Page<Delivery> deliveries = deliveryRepository.findByStatus(deliveryStatus, pageable);
+        Page<DeliveryView> deliveries = deliveryRepository.findViewsByStatus(deliveryStatus, pageable);
         return deliveries.map(deliveryMapper::toDTO);
     }
 
@@ -147,7 +187,9 @@ public class DeliveryService implements IDeliveryService {
         Double calculatedCost = calculateCost(delivery.getOrder());
         
         delivery.setCost(calculatedCost);
-        deliveryRepository.save(delivery);
+        Delivery updatedDelivery = deliveryRepository.save(delivery);
+        domainEventOutboxService.record(ChangeType.DELIVERY, deliveryId, ChangeAction.UPDATED,
+                deliveryMapper.toDTO(updatedDelivery));
 
         log.info("Calculated cost for delivery ID {}: {}", deliveryId, calculatedCost);
         return calculatedCost;
@@ -162,16 +204,35 @@ public class DeliveryService implements IDeliveryService {
         }
 
         deliveryRepository.deleteById(id);
+        searchIndexService.remove(SearchDocumentType.DELIVERY, id);
         log.info("Delivery deleted successfully with ID: {}", id);
+        domainEventOutboxService.record(ChangeType.DELIVERY, id, ChangeAction.DELETED, null);
+    }
+
+    private void publishOrderStatus(CustomerOrder order) {
+        domainEventOutboxService.record(ChangeType.CUSTOMER_ORDER, order.getIdOrder(), ChangeAction.UPDATED,
+                customerOrderMapper.toDTO(order));
     }
 
     private Double calculateCost(CustomerOrder order) {
+        DeliveryCostEvent event = new DeliveryCostEvent();
+        event.start();
+
         double baseCost = 50.0;
         double productCost = order.getProduct().getCost();
         int quantity = order.getQuantity();
         
         double calculatedCost = baseCost + (productCost * quantity * 0.1);
-        
-        return Math.round(calculatedCost * 100.0) / 100.0;
+        double cost = Math.round(calculatedCost * 100.0) / 100.0;
+
+        if (event.isEnabled()) {
+            event.setOrderId(order.getIdOrder() != null ? order.getIdOrder() : 0L);
+            event.setProductId(order.getProduct().getIdProduct());
+            event.setQuantity(quantity);
+            event.setCost(cost);
+            event.finish(HotPathEvent.SUCCESS);
+        }
+
+        return cost;
     }
 }
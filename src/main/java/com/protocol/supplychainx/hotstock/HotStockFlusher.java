@@ -0,0 +1,34 @@
+package com.protocol.supplychainx.hotstock;
+
+import com.protocol.supplychainx.hotstock.service.HotStockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the committed hot stock changes to products every hot-stock.flush-interval-ms. Not a cluster job: each
+ * instance flushes the journal of its own hot products.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "hot-stock.enabled", havingValue = "true")
+public class HotStockFlusher {
+
+    private final HotStockService hotStockService;
+
+    @Scheduled(fixedDelayString = "${hot-stock.flush-interval-ms:5}")
+    public void flush() {
+        try {
+            int flushed = hotStockService.flush();
+            if (flushed > 0) {
+                log.debug("Flushed {} hot stock change(s)", flushed);
+            }
+        } catch (RuntimeException e) {
+            // Requeued by the service, the next run retries them
+            log.error("Hot stock flush failed: {}", e.getMessage());
+        }
+    }
+}
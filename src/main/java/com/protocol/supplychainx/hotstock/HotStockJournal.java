@@ -0,0 +1,337 @@
+package com.protocol.supplychainx.hotstock;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal of the hot stock changes not yet written to the database, split in segment files.
+ * A change line ("J movementId occurredAt productId delta") is written before its transaction commits; a flush line
+ * ("F flushId movementId...") is written before the flush transaction, listing the changes it applies. A segment
+ * is deleted once every change in it has been flushed or rolled back.
+ * With sync enabled each append returns once it is on disk. Concurrent appenders share the fsync: the first one
+ * to wait forces everything appended so far, and those whose line was included in it return without forcing.
+ * Locks rather than synchronized blocks: the fsync and file writes happen while they are held, and blocking inside
+ * synchronized would pin the carrier thread of a virtual thread.
+ */
+@Slf4j
+public class HotStockJournal implements Closeable {
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * @param movementId Stock ledger movement recorded with the change, in the same transaction
+     * @param occurredAt Time stamped on that movement
+     */
+    public record Change(long movementId, LocalDateTime occurredAt, long productId, int delta) {
+    }
+
+    /**
+     * What a previous run left in the journal
+     *
+     * @param changes Every change line, in append order
+     * @param flushes Movement IDs listed by each flush line, by flush ID
+     */
+    public record Contents(List<Change> changes, Map<Long, List<Long>> flushes) {
+    }
+
+    /**
+     * A change appended by this run, tracked until it is flushed or discarded
+     */
+    public static final class Entry {
+
+        private final Change change;
+        private final Segment segment;
+
+        private Entry(Change change, Segment segment) {
+            this.change = change;
+            this.segment = segment;
+        }
+
+        public Change change() {
+            return change;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long sequence;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        // Changes appended to this segment and not yet flushed or discarded
+        private int outstanding;
+
+        // A segment of a previous run, only kept until the recovery deletes it
+        private Segment(long sequence, Path path) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = null;
+        }
+
+        private Segment(long sequence, Path path, FileChannel channel) throws IOException {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+            this.size = channel.size();
+        }
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean sync;
+
+    // Lock order: syncLock, then appendLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long appendedPosition;
+    private volatile long syncedPosition;
+
+    /**
+     * @param directory    Directory of the segment files, created if missing
+     * @param segmentBytes Size past which the current segment is closed and a new one started
+     * @param sync         Whether appends wait for the disk; without it a crash of the machine may lose changes
+     */
+    public HotStockJournal(Path directory, long segmentBytes, boolean sync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.sync = sync;
+    }
+
+    /**
+     * Reads the segments left by a previous run; a line torn by a crash at the end of a segment is ignored
+     */
+    public Contents read() throws IOException {
+        List<Change> changes = new ArrayList<>();
+        Map<Long, List<Long>> flushes = new HashMap<>();
+        for (Path path : existingSegments()) {
+            byte[] bytes = Files.readAllBytes(path);
+            int end = bytes.length;
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+            for (String line : new String(bytes, 0, end, StandardCharsets.US_ASCII).split("\n")) {
+                if (!line.isBlank()) {
+                    parseLine(path, line, changes, flushes);
+                }
+            }
+        }
+        return new Contents(changes, flushes);
+    }
+
+    /**
+     * Starts a new segment after those of the previous run, which are deleted by the next call to flushed
+     */
+    public void start() throws IOException {
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            long next = 1;
+            for (Path path : existingSegments()) {
+                next = sequenceOf(path) + 1;
+                segments.addLast(new Segment(sequenceOf(path), path));
+            }
+            segments.addLast(newSegment(next));
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a change, on disk when this returns if sync is enabled
+     */
+    public Entry append(Change change) throws IOException {
+        String line = "J " + change.movementId() + " " + change.occurredAt() + " " + change.productId() + " "
+                + change.delta() + "\n";
+        Entry entry;
+        long position;
+        appendLock.lock();
+        try {
+            Segment segment = current();
+            position = write(segment, line);
+            segment.outstanding++;
+            entry = new Entry(change, segment);
+        } finally {
+            appendLock.unlock();
+        }
+        awaitSync(position);
+        return entry;
+    }
+
+    /**
+     * Appends a flush line listing the movements of the changes it applies, on disk when this returns if sync is
+     * enabled
+     */
+    public void appendFlush(long flushId, List<Long> movementIds) throws IOException {
+        StringBuilder line = new StringBuilder("F ").append(flushId);
+        movementIds.forEach(movementId -> line.append(' ').append(movementId));
+        long position;
+        appendLock.lock();
+        try {
+            position = write(current(), line.append('\n').toString());
+        } finally {
+            appendLock.unlock();
+        }
+        awaitSync(position);
+    }
+
+    /**
+     * Forgets changes whose transaction rolled back
+     */
+    public void discard(Entry entry) {
+        appendLock.lock();
+        try {
+            entry.segment.outstanding--;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Forgets changes written to the database, then starts a new segment if the current one is full and deletes
+     * the segments with nothing left to flush
+     */
+    public void flushed(List<Entry> entries) throws IOException {
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            entries.forEach(entry -> entry.segment.outstanding--);
+
+            Segment current = current();
+            if (current.size >= segmentBytes) {
+                current.channel.force(false);
+                syncedPosition = appendedPosition;
+                current.channel.close();
+                segments.addLast(newSegment(current.sequence + 1));
+            }
+
+            while (segments.size() > 1 && segments.peekFirst().outstanding == 0) {
+                Segment done = segments.removeFirst();
+                if (done.channel != null) {
+                    done.channel.close();
+                }
+                Files.delete(done.path);
+            }
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            for (Segment segment : segments) {
+                if (segment.channel != null && segment.channel.isOpen()) {
+                    segment.channel.force(false);
+                    segment.channel.close();
+                }
+            }
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    // Called with appendLock held; returns the journal position after the line
+    private long write(Segment segment, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        while (buffer.hasRemaining()) {
+            segment.channel.write(buffer);
+        }
+        segment.size += buffer.capacity();
+        appendedPosition += buffer.capacity();
+        return appendedPosition;
+    }
+
+    private void awaitSync(long position) throws IOException {
+        if (!sync || syncedPosition >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (syncedPosition >= position) {
+                return;
+            }
+            // Older segments were forced when they were closed, so forcing the current one covers everything
+            long target;
+            Segment current;
+            appendLock.lock();
+            try {
+                target = appendedPosition;
+                current = current();
+            } finally {
+                appendLock.unlock();
+            }
+            current.channel.force(false);
+            syncedPosition = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private Segment current() {
+        Segment current = segments.peekLast();
+        if (current == null) {
+            throw new IllegalStateException("Hot stock journal not started");
+        }
+        return current;
+    }
+
+    private Segment newSegment(long sequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        return new Segment(sequence, path, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND));
+    }
+
+    private List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(HotStockJournal::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void parseLine(Path path, String line, List<Change> changes, Map<Long, List<Long>> flushes) {
+        String[] fields = line.split(" ");
+        try {
+            switch (fields[0]) {
+                case "J" -> changes.add(new Change(Long.parseLong(fields[1]), LocalDateTime.parse(fields[2]),
+                        Long.parseLong(fields[3]), Integer.parseInt(fields[4])));
+                case "F" -> {
+                    List<Long> movementIds = new ArrayList<>(fields.length - 2);
+                    for (int i = 2; i < fields.length; i++) {
+                        movementIds.add(Long.parseLong(fields[i]));
+                    }
+                    flushes.put(Long.parseLong(fields[1]), movementIds);
+                }
+                default -> log.warn("Skipping unknown hot stock journal line in {}: {}", path, line);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Skipping unreadable hot stock journal line in {}: {}", path, line);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.protocol.supplychainx.hotstock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock of one product split over several stripes, so that concurrent reservations mostly update different
+ * cache lines instead of all retrying a single compare-and-set.
+ * A reservation takes from a random stripe first and from the others when it is short. When the stripes together
+ * hold enough but no single pass could take it, a locked pass retries over all of them; a reservation can still
+ * fail while concurrent ones hold the remaining units, which only happens when the stock is nearly exhausted.
+ * That pass takes a lock rather than a monitor, so virtual threads queued behind it do not pin their carriers.
+ */
+public final class StripedStockCounter {
+
+    // 16 ints = 64 bytes between two stripes, one cache line each
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray cells;
+    private final int stripes;
+    private final ReentrantLock retryLock = new ReentrantLock();
+
+    public StripedStockCounter(int initialStock, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("At least one stripe is required");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicIntegerArray(stripes * PADDING);
+        int share = initialStock / stripes;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            cells.set(stripe * PADDING, stripe == 0 ? initialStock - share * (stripes - 1) : share);
+        }
+    }
+
+    /**
+     * @param quantity Units to take, positive
+     * @return true when the units were taken, false when they were not available and nothing was taken
+     */
+    public boolean tryReserve(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Reserved quantity must be positive: " + quantity);
+        }
+        if (takeAcrossStripes(quantity)) {
+            return true;
+        }
+        // Units released or added by others meanwhile may have landed in stripes already visited
+        retryLock.lock();
+        try {
+            return takeAcrossStripes(quantity);
+        } finally {
+            retryLock.unlock();
+        }
+    }
+
+    /**
+     * Gives back units, from a cancelled reservation or new stock
+     */
+    public void release(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Released quantity must not be negative: " + quantity);
+        }
+        if (quantity > 0) {
+            cells.addAndGet(homeStripe() * PADDING, quantity);
+        }
+    }
+
+    /**
+     * @return The units not reserved, exact only when no reservation is in progress
+     */
+    public int available() {
+        int total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            total += cells.get(stripe * PADDING);
+        }
+        return total;
+    }
+
+    // Either takes the whole quantity or gives back what it took
+    private boolean takeAcrossStripes(int quantity) {
+        int home = homeStripe();
+        int remaining = quantity;
+        for (int i = 0; i < stripes && remaining > 0; i++) {
+            remaining -= take((home + i) % stripes, remaining);
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        release(quantity - remaining);
+        return false;
+    }
+
+    // Takes up to wanted units from one stripe, never leaving it negative
+    private int take(int stripe, int wanted) {
+        int index = stripe * PADDING;
+        while (true) {
+            int current = cells.get(index);
+            if (current <= 0) {
+                return 0;
+            }
+            int taken = Math.min(current, wanted);
+            if (cells.compareAndSet(index, current, current - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        return ThreadLocalRandom.current().nextInt(stripes);
+    }
+}
@@ -0,0 +1,25 @@
+package com.protocol.supplychainx.hotstock.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Last flush of a hot stock journal committed to the database. Written in the flush transaction, it tells the
+ * recovery which flush lines of the journal were applied.
+ */
+@Entity
+@Table(name = "hot_stock_flush_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotStockFlushState {
+
+    @Id
+    @Column(name = "journal_name", length = 100)
+    private String journalName;
+
+    @Column(name = "last_flush_id", nullable = false)
+    private Long lastFlushId;
+}
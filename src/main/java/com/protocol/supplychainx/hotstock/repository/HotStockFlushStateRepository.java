@@ -0,0 +1,9 @@
+package com.protocol.supplychainx.hotstock.repository;
+
+import com.protocol.supplychainx.hotstock.entity.HotStockFlushState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HotStockFlushStateRepository extends JpaRepository<HotStockFlushState, String> {
+}
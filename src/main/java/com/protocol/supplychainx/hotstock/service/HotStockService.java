@@ -0,0 +1,309 @@
+package com.protocol.supplychainx.hotstock.service;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import com.protocol.supplychainx.hotstock.HotStockJournal;
+import com.protocol.supplychainx.hotstock.StripedStockCounter;
+import com.protocol.supplychainx.hotstock.entity.HotStockFlushState;
+import com.protocol.supplychainx.hotstock.repository.HotStockFlushStateRepository;
+import com.protocol.supplychainx.ledger.entity.StockMovement;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind stock for the products listed in hot-stock.product-ids, typically the few SKUs of a flash sale
+ * whose row lock serializes every order. Their stock is held in a StripedStockCounter: a change reserves from the
+ * counter, records its ledger movement, appends itself to a local journal and commits without touching the
+ * products row. HotStockFlusher then writes the committed changes to products every few milliseconds, summed into
+ * one relative UPDATE per product.
+ * The changes committed but not flushed when the process stops are in the journal; at startup those whose ledger
+ * movement exists and whose flush did not commit are applied before anything else runs.
+ * The counters are local to this instance: the stock of a hot product must only change through one instance, and
+ * products.stock lags behind the counter by up to one flush interval.
+ */
+@Service
+@Slf4j
+public class HotStockService {
+
+    static final String PENDING_METRIC = "supplychainx.hotstock.pending";
+    // Widens the movement time range of the recovery lookup, which the database rounds to milliseconds
+    private static final long RECOVERY_CLOCK_MARGIN_SECONDS = 1;
+
+    private final ProductRepository productRepository;
+    private final StockLedgerService stockLedgerService;
+    private final DomainEventOutboxService domainEventOutboxService;
+    private final HotStockFlushStateRepository hotStockFlushStateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Set<Long> productIds;
+    private final int stripes;
+    private final Path journalDirectory;
+    private final String journalName;
+    private final long segmentBytes;
+    private final boolean sync;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    // Committed changes waiting for the next flush
+    private final Queue<HotStockJournal.Entry> committed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // A lock rather than a synchronized flush: the journal fsync and the database writes happen while it is held
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private HotStockJournal journal;
+    private long lastFlushId;
+
+    public HotStockService(ProductRepository productRepository,
+                           StockLedgerService stockLedgerService,
+                           DomainEventOutboxService domainEventOutboxService,
+                           HotStockFlushStateRepository hotStockFlushStateRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${hot-stock.enabled:false}") boolean enabled,
+                           @Value("${hot-stock.product-ids:}") Set<Long> productIds,
+                           @Value("${hot-stock.stripes:16}") int stripes,
+                           @Value("${hot-stock.journal.dir:hot-stock-journal}") Path journalDirectory,
+                           @Value("${hot-stock.journal.name:default}") String journalName,
+                           @Value("${hot-stock.journal.segment-bytes:16777216}") long segmentBytes,
+                           @Value("${hot-stock.journal.sync:true}") boolean sync) {
+        this.productRepository = productRepository;
+        this.stockLedgerService = stockLedgerService;
+        this.domainEventOutboxService = domainEventOutboxService;
+        this.hotStockFlushStateRepository = hotStockFlushStateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.productIds = Set.copyOf(productIds);
+        this.stripes = stripes;
+        this.journalDirectory = journalDirectory;
+        this.journalName = journalName;
+        this.segmentBytes = segmentBytes;
+        this.sync = sync;
+        Gauge.builder(PENDING_METRIC, pending, AtomicInteger::get)
+                .description("Hot stock changes committed and not yet written to products")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the changes a previous run committed but did not flush, then deletes its journal segments.
+     * The recovery is itself a flush with its own flush line, so that a crash before the segments are deleted does
+     * not apply the same changes twice.
+     */
+    @PostConstruct
+    void recover() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new HotStockJournal(journalDirectory, segmentBytes, sync);
+        HotStockJournal.Contents contents = journal.read();
+
+        long flushedUpTo = hotStockFlushStateRepository.findById(journalName)
+                .map(HotStockFlushState::getLastFlushId)
+                .orElse(0L);
+        Set<Long> flushedMovements = contents.flushes().entrySet().stream()
+                .filter(flush -> flush.getKey() <= flushedUpTo)
+                .flatMap(flush -> flush.getValue().stream())
+                .collect(Collectors.toSet());
+        List<HotStockJournal.Change> unflushed = contents.changes().stream()
+                .filter(change -> !flushedMovements.contains(change.movementId()))
+                .toList();
+        long recoveryFlushId = Math.max(flushedUpTo,
+                contents.flushes().keySet().stream().max(Long::compare).orElse(0L)) + 1;
+
+        journal.start();
+        journal.appendFlush(recoveryFlushId, unflushed.stream().map(HotStockJournal.Change::movementId).toList());
+        Map<Long, Integer> replayed = transactionTemplate.execute(status -> {
+            Map<Long, Integer> deltas = unflushed.isEmpty() ? Map.of() : committedDeltas(unflushed);
+            deltas.forEach(productRepository::addStock);
+            hotStockFlushStateRepository.save(new HotStockFlushState(journalName, recoveryFlushId));
+            return deltas;
+        });
+        lastFlushId = recoveryFlushId;
+        journal.flushed(List.of());
+
+        log.info("Hot stock enabled for product(s) {}: {} unflushed journal change(s), replayed for {} product(s)",
+                productIds, unflushed.size(), replayed.size());
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    public boolean isHot(Long productId) {
+        return enabled && productIds.contains(productId);
+    }
+
+    /**
+     * @return The stock of a hot product, including the changes not yet flushed
+     */
+    public int available(Long productId) {
+        return counter(productId).available();
+    }
+
+    /**
+     * Changes the stock of a hot product within the current transaction: units taken now are given back if it
+     * rolls back, and the change is queued for the next flush once it commits
+     *
+     * @param delta            Stock after the change minus stock before it
+     * @param referenceOrderId Customer order causing the change, null for manual changes
+     * @return false, with nothing changed, when the stock cannot cover a negative delta
+     */
+    public boolean tryApply(Long productId, int delta, StockMovementReason reason, Long referenceOrderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Hot stock changes must run in a transaction");
+        }
+        if (delta == 0) {
+            return true;
+        }
+        StripedStockCounter counter = counter(productId);
+        if (delta < 0 && !counter.tryReserve(-delta)) {
+            return false;
+        }
+
+        HotStockJournal.Entry journaled = null;
+        try {
+            StockMovement movement = stockLedgerService.record(StockItemType.PRODUCT, productId, delta, reason,
+                    referenceOrderId);
+            journaled = journal.append(new HotStockJournal.Change(movement.getIdMovement(), movement.getOccurredAt(),
+                    productId, delta));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal the stock change of product " + productId, e);
+        } finally {
+            if (journaled == null && delta < 0) {
+                counter.release(-delta);
+            }
+        }
+        HotStockJournal.Entry entry = journaled;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    if (delta > 0) {
+                        counter.release(delta);
+                    }
+                    committed.add(entry);
+                    pending.incrementAndGet();
+                } else {
+                    if (delta < 0) {
+                        counter.release(-delta);
+                    }
+                    journal.discard(entry);
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Writes the committed changes to products in one transaction, one UPDATE per product, and publishes their new
+     * stock. A failed flush is retried with the next one.
+     *
+     * @return The number of changes flushed
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (journal == null) {
+                return 0;
+            }
+            List<HotStockJournal.Entry> batch = new ArrayList<>();
+            for (HotStockJournal.Entry entry; (entry = committed.poll()) != null; ) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            pending.addAndGet(-batch.size());
+
+            // Sorted, so that concurrent writers of the same rows lock them in the same order
+            Map<Long, Integer> deltas = batch.stream()
+                    .map(HotStockJournal.Entry::change)
+                    .collect(Collectors.groupingBy(HotStockJournal.Change::productId, TreeMap::new,
+                            Collectors.summingInt(HotStockJournal.Change::delta)));
+            // Never reused: a failed flush's changes are requeued whole, so a later committed flush covers them too
+            long flushId = ++lastFlushId;
+            boolean applied = false;
+            try {
+                journal.appendFlush(flushId, batch.stream().map(entry -> entry.change().movementId()).toList());
+                transactionTemplate.executeWithoutResult(status -> {
+                    deltas.forEach((productId, delta) -> {
+                        if (delta != 0) {
+                            productRepository.addStock(productId, delta);
+                        }
+                    });
+                    hotStockFlushStateRepository.save(new HotStockFlushState(journalName, flushId));
+                    productRepository.findAllById(deltas.keySet()).forEach(domainEventOutboxService::recordStock);
+                });
+                applied = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not journal hot stock flush " + flushId, e);
+            } finally {
+                if (!applied) {
+                    committed.addAll(batch);
+                    pending.addAndGet(batch.size());
+                }
+            }
+
+            try {
+                journal.flushed(batch);
+            } catch (IOException e) {
+                // The changes are in the database: only the clean-up of the journal failed, the next flush retries it
+                log.warn("Could not roll the hot stock journal over: {}", e.getMessage());
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Loaded on first use: until then the product has no pending change and its row holds its stock
+    private StripedStockCounter counter(Long productId) {
+        return counters.computeIfAbsent(productId, id -> new StripedStockCounter(
+                productRepository.findById(id).map(Product::getStock).orElse(0), stripes));
+    }
+
+    // Net delta by product of the changes whose ledger movement committed
+    private Map<Long, Integer> committedDeltas(List<HotStockJournal.Change> changes) {
+        LocalDateTime from = changes.stream().map(HotStockJournal.Change::occurredAt).min(Comparator.naturalOrder())
+                .orElseThrow().minusSeconds(RECOVERY_CLOCK_MARGIN_SECONDS);
+        LocalDateTime to = changes.stream().map(HotStockJournal.Change::occurredAt).max(Comparator.naturalOrder())
+                .orElseThrow().plusSeconds(RECOVERY_CLOCK_MARGIN_SECONDS);
+        Set<Long> recorded = stockLedgerService.findRecordedMovements(
+                changes.stream().map(HotStockJournal.Change::movementId).toList(), from, to);
+        return changes.stream()
+                .filter(change -> recorded.contains(change.movementId()))
+                .collect(Collectors.groupingBy(HotStockJournal.Change::productId, TreeMap::new,
+                        Collectors.summingInt(HotStockJournal.Change::delta)));
+    }
+}
@@ -0,0 +1,53 @@
+package com.protocol.supplychainx.ledger;
+
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.scheduler.ClusterJobRunner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Cluster-wide stock ledger jobs: periodic snapshots, which bound the replay of as-of queries, and creation of
+ * the monthly partitions of stock_movements ahead of time
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "stock-ledger.maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class StockLedgerMaintenance {
+
+    static final String SNAPSHOT_JOB_NAME = "stock-ledger-snapshot";
+    static final String PARTITION_JOB_NAME = "stock-ledger-partitions";
+
+    private final StockLedgerService stockLedgerService;
+    private final ClusterJobRunner clusterJobRunner;
+
+    // Movements of transactions still open this long after they were stamped would be missed by the snapshot
+    @Value("${stock-ledger.snapshot.settle-ms:300000}")
+    private long settleMs;
+
+    @Value("${stock-ledger.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${stock-ledger.snapshot.cron:0 0 * * * ?}")
+    public void takeSnapshots() {
+        clusterJobRunner.runExclusive(SNAPSHOT_JOB_NAME,
+                () -> stockLedgerService.takeSnapshots(LocalDateTime.now().minusNanos(settleMs * 1_000_000)));
+    }
+
+    // Also on startup, so that a fresh database gets its partitions before the first movements
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stock-ledger.partitioning.cron:0 30 2 * * ?}")
+    public void createPartitions() {
+        clusterJobRunner.runExclusive(PARTITION_JOB_NAME,
+                () -> stockLedgerService.createMonthlyPartitions(YearMonth.now().plusMonths(monthsAhead)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.protocol.supplychainx.ledger.controller;
+
+import com.protocol.supplychainx.common.enums.RoleUtilisateur;
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.config.aop.SecuredEndpoint;
+import com.protocol.supplychainx.ledger.dto.StockAsOfDTO;
+import com.protocol.supplychainx.ledger.dto.StockMovementDTO;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/stock-ledger")
+@RequiredArgsConstructor
+@Tag(name = "Stock Ledger", description = "Product and raw material stock history")
+public class StockLedgerController {
+
+    private final StockLedgerService stockLedgerService;
+
+    @GetMapping("/{itemType}/{itemId}/stock")
+    @SecuredEndpoint(allowedRoles = {RoleUtilisateur.ADMIN, RoleUtilisateur.GESTIONNAIRE_APPROVISIONNEMENT, RoleUtilisateur.CHEF_PRODUCTION, RoleUtilisateur.GESTIONNAIRE_COMMERCIAL})
+    @Operation(summary = "Get stock at a past time", description = "Stock of a product or raw material at the given time, from the latest snapshot before it and the movements since")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock computed"),
+            @ApiResponse(responseCode = "404", description = "No stock history for the item at that time")
+    })
+    public ResponseEntity<StockAsOfDTO> getStockAsOf(
+            @PathVariable StockItemType itemType,
+            @PathVariable Long itemId,
+            @Parameter(description = "ISO date-time, now when omitted") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        StockAsOfDTO stock = stockLedgerService.getStockAsOf(itemType, itemId, at != null ? at : LocalDateTime.now());
+        return ResponseEntity.ok(stock);
+    }
+
+    @GetMapping("/{itemType}/{itemId}/movements")
+    @SecuredEndpoint(allowedRoles = {RoleUtilisateur.ADMIN, RoleUtilisateur.GESTIONNAIRE_APPROVISIONNEMENT, RoleUtilisateur.CHEF_PRODUCTION, RoleUtilisateur.GESTIONNAIRE_COMMERCIAL})
+    @Operation(summary = "Get stock movements", description = "Stock movements of a product or raw material in a time range, most recent first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Movements retrieved successfully")
+    })
+    public ResponseEntity<Page<StockMovementDTO>> getMovements(
+            @PathVariable StockItemType itemType,
+            @PathVariable Long itemId,
+            @Parameter(description = "ISO date-time, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "ISO date-time, exclusive, now when omitted") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<StockMovementDTO> movements = stockLedgerService.getMovements(itemType, itemId, from,
+                to != null ? to : LocalDateTime.now(), pageable);
+        return ResponseEntity.ok(movements);
+    }
+}
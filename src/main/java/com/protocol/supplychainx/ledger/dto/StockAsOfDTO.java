@@ -0,0 +1,29 @@
+package com.protocol.supplychainx.ledger.dto;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock of an item at a past time; snapshotTakenAt and movementsReplayed tell how it was computed
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockAsOfDTO {
+
+    private StockItemType itemType;
+
+    private Long itemId;
+
+    private LocalDateTime at;
+
+    private Integer stock;
+
+    private LocalDateTime snapshotTakenAt;
+
+    private Long movementsReplayed;
+}
@@ -0,0 +1,29 @@
+package com.protocol.supplychainx.ledger.dto;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovementDTO {
+
+    private Long idMovement;
+
+    private StockItemType itemType;
+
+    private Long itemId;
+
+    private Integer delta;
+
+    private StockMovementReason reason;
+
+    private Long referenceOrderId;
+
+    private LocalDateTime occurredAt;
+}
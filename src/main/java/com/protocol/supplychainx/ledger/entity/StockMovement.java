@@ -0,0 +1,50 @@
+package com.protocol.supplychainx.ledger.entity;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change of a product or raw material stock. Rows are only ever inserted: the stock at any time is the sum of
+ * the deltas up to it. No foreign key to the item, the history outlives it (and MySQL does not allow foreign keys
+ * on the partitioned table).
+ */
+@Entity
+@Table(name = "stock_movements")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovement {
+
+    // The primary key is (id_movement, occurred_at) in the database, as the partitioning column must be part of it
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_movement")
+    private Long idMovement;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", nullable = false, length = 20)
+    private StockItemType itemType;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private StockMovementReason reason;
+
+    // Customer order the movement belongs to, null for manual changes
+    @Column(name = "reference_order_id")
+    private Long referenceOrderId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,39 @@
+package com.protocol.supplychainx.ledger.entity;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock of an item at takenAt, computed from the ledger: an as-of query starts from the latest snapshot before
+ * the requested time and only replays the movements after it
+ */
+@Entity
+@Table(name = "stock_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_snapshot")
+    private Long idSnapshot;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", nullable = false, length = 20)
+    private StockItemType itemType;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,56 @@
+package com.protocol.supplychainx.ledger.repository;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.ledger.entity.StockMovement;
+import com.protocol.supplychainx.ledger.repository.projection.StockDeltaView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Every query bounds occurred_at, so that MySQL only reads the partitions of the requested time range
+ */
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    String SELECT_DELTA = "SELECT new com.protocol.supplychainx.ledger.repository.projection.StockDeltaView("
+            + "m.itemType, m.itemId, SUM(m.delta), COUNT(m)) FROM StockMovement m";
+
+    @Query(SELECT_DELTA + " WHERE m.itemType = :itemType AND m.itemId = :itemId"
+            + " AND m.occurredAt > :after AND m.occurredAt <= :until GROUP BY m.itemType, m.itemId")
+    Optional<StockDeltaView> sumDeltas(@Param("itemType") StockItemType itemType,
+                                       @Param("itemId") Long itemId,
+                                       @Param("after") LocalDateTime after,
+                                       @Param("until") LocalDateTime until);
+
+    // One row per item that moved in the range
+    @Query(SELECT_DELTA + " WHERE m.occurredAt > :after AND m.occurredAt <= :until GROUP BY m.itemType, m.itemId")
+    List<StockDeltaView> sumDeltasByItem(@Param("after") LocalDateTime after, @Param("until") LocalDateTime until);
+
+    @Query("SELECT m FROM StockMovement m WHERE m.itemType = :itemType AND m.itemId = :itemId"
+            + " AND m.occurredAt >= :from AND m.occurredAt < :to ORDER BY m.occurredAt DESC, m.idMovement DESC")
+    Page<StockMovement> findMovements(@Param("itemType") StockItemType itemType,
+                                      @Param("itemId") Long itemId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      Pageable pageable);
+
+    @Query("SELECT m.idMovement FROM StockMovement m WHERE m.idMovement IN :ids"
+            + " AND m.occurredAt >= :from AND m.occurredAt <= :to")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'stock_movements' AND PARTITION_NAME IS NOT NULL",
+            nativeQuery = true)
+    List<String> findPartitionNames();
+}
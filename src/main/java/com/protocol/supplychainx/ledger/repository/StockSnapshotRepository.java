@@ -0,0 +1,29 @@
+package com.protocol.supplychainx.ledger.repository;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.ledger.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByItemTypeAndItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(
+            StockItemType itemType, Long itemId, LocalDateTime at);
+
+    @Query("SELECT MAX(s.takenAt) FROM StockSnapshot s")
+    Optional<LocalDateTime> findLatestTakenAt();
+
+    @Query("SELECT s FROM StockSnapshot s WHERE s.itemType = :itemType AND s.itemId IN :itemIds"
+            + " AND s.takenAt = (SELECT MAX(s2.takenAt) FROM StockSnapshot s2"
+            + " WHERE s2.itemType = s.itemType AND s2.itemId = s.itemId)")
+    List<StockSnapshot> findLatest(@Param("itemType") StockItemType itemType,
+                                   @Param("itemIds") Collection<Long> itemIds);
+}
@@ -0,0 +1,14 @@
+package com.protocol.supplychainx.ledger.repository.projection;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+
+/**
+ * Sum of the movements of one item over a time range
+ */
+public record StockDeltaView(
+        StockItemType itemType,
+        Long itemId,
+        Long delta,
+        Long movements
+) {
+}
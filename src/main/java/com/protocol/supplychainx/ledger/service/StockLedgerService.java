@@ -0,0 +1,210 @@
+package com.protocol.supplychainx.ledger.service;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import com.protocol.supplychainx.common.exceptions.procurement.RawMaterialNotFoundException;
+import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
+import com.protocol.supplychainx.ledger.dto.StockAsOfDTO;
+import com.protocol.supplychainx.ledger.dto.StockMovementDTO;
+import com.protocol.supplychainx.ledger.entity.StockMovement;
+import com.protocol.supplychainx.ledger.entity.StockSnapshot;
+import com.protocol.supplychainx.ledger.repository.StockMovementRepository;
+import com.protocol.supplychainx.ledger.repository.StockSnapshotRepository;
+import com.protocol.supplychainx.ledger.repository.projection.StockDeltaView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only ledger of product and raw material stock movements.
+ * Services record a movement next to every stock change, in the same transaction. The stock at a past time is
+ * the latest snapshot before it plus the movements in between, so an as-of query replays at most one snapshot
+ * interval of movements whatever the size of the ledger.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StockLedgerService {
+
+    // Lower bound of the replay when an item has no snapshot yet; opening balances are dated after it
+    static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final int SNAPSHOT_LOOKUP_CHUNK = 500;
+    private static final int MOVEMENT_LOOKUP_CHUNK = 1000;
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Records a stock change in the current transaction; a zero delta records nothing
+     *
+     * @param itemType         Product or raw material
+     * @param itemId           Item ID
+     * @param delta            Stock after the change minus stock before it
+     * @param reason           Why the stock changed
+     * @param referenceOrderId Customer order causing the change, null for manual changes
+     * @return The recorded movement, null for a zero delta
+     */
+    public StockMovement record(StockItemType itemType, Long itemId, int delta, StockMovementReason reason, Long referenceOrderId) {
+        if (delta == 0) {
+            return null;
+        }
+        return stockMovementRepository.save(StockMovement.builder()
+                .itemType(itemType)
+                .itemId(itemId)
+                .delta(delta)
+                .reason(reason)
+                .referenceOrderId(referenceOrderId)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * @param movementIds Movement IDs, stamped between from and to
+     * @return Those of the movements that were committed
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findRecordedMovements(List<Long> movementIds, LocalDateTime from, LocalDateTime to) {
+        Set<Long> recorded = new HashSet<>();
+        for (int start = 0; start < movementIds.size(); start += MOVEMENT_LOOKUP_CHUNK) {
+            recorded.addAll(stockMovementRepository.findExistingIds(
+                    movementIds.subList(start, Math.min(start + MOVEMENT_LOOKUP_CHUNK, movementIds.size())), from, to));
+        }
+        return recorded;
+    }
+
+    @Transactional(readOnly = true)
+    public StockAsOfDTO getStockAsOf(StockItemType itemType, Long itemId, LocalDateTime at) {
+        Optional<StockSnapshot> snapshot = stockSnapshotRepository
+                .findFirstByItemTypeAndItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(itemType, itemId, at);
+        LocalDateTime replayFrom = snapshot.map(StockSnapshot::getTakenAt).orElse(LEDGER_START);
+        Optional<StockDeltaView> replay = stockMovementRepository.sumDeltas(itemType, itemId, replayFrom, at);
+
+        if (snapshot.isEmpty() && replay.isEmpty()) {
+            String message = "No stock history for " + itemType + " " + itemId + " at " + at;
+            throw itemType == StockItemType.PRODUCT
+                    ? new ProductNotFoundException(message)
+                    : new RawMaterialNotFoundException(message);
+        }
+
+        int base = snapshot.map(StockSnapshot::getStock).orElse(0);
+        return StockAsOfDTO.builder()
+                .itemType(itemType)
+                .itemId(itemId)
+                .at(at)
+                .stock(base + replay.map(StockDeltaView::delta).orElse(0L).intValue())
+                .snapshotTakenAt(snapshot.map(StockSnapshot::getTakenAt).orElse(null))
+                .movementsReplayed(replay.map(StockDeltaView::movements).orElse(0L))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<StockMovementDTO> getMovements(StockItemType itemType, Long itemId,
+                                               LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        return stockMovementRepository.findMovements(itemType, itemId, from, to, pageable)
+                .map(movement -> StockMovementDTO.builder()
+                        .idMovement(movement.getIdMovement())
+                        .itemType(movement.getItemType())
+                        .itemId(movement.getItemId())
+                        .delta(movement.getDelta())
+                        .reason(movement.getReason())
+                        .referenceOrderId(movement.getReferenceOrderId())
+                        .occurredAt(movement.getOccurredAt())
+                        .build());
+    }
+
+    /**
+     * Snapshots every item that moved since the previous snapshot run, as of the given time.
+     * Each new snapshot is the item's previous snapshot plus the movements since, so the ledger is read once per
+     * run over the new range only.
+     *
+     * @param until Time of the snapshots; movements still uncommitted before it would be missed, so it must lag
+     *              behind the clock by more than the longest transaction
+     * @return The number of snapshots written
+     */
+    public int takeSnapshots(LocalDateTime until) {
+        LocalDateTime after = stockSnapshotRepository.findLatestTakenAt().orElse(LEDGER_START);
+        if (!until.isAfter(after)) {
+            return 0;
+        }
+
+        Map<StockItemType, List<StockDeltaView>> deltasByType = stockMovementRepository.sumDeltasByItem(after, until)
+                .stream()
+                .collect(Collectors.groupingBy(StockDeltaView::itemType));
+
+        List<StockSnapshot> snapshots = new ArrayList<>();
+        deltasByType.forEach((itemType, deltas) -> {
+            for (int start = 0; start < deltas.size(); start += SNAPSHOT_LOOKUP_CHUNK) {
+                List<StockDeltaView> chunk = deltas.subList(start, Math.min(start + SNAPSHOT_LOOKUP_CHUNK, deltas.size()));
+                Map<Long, Integer> previous = stockSnapshotRepository
+                        .findLatest(itemType, chunk.stream().map(StockDeltaView::itemId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(StockSnapshot::getItemId, StockSnapshot::getStock));
+                for (StockDeltaView delta : chunk) {
+                    snapshots.add(StockSnapshot.builder()
+                            .itemType(itemType)
+                            .itemId(delta.itemId())
+                            .stock(previous.getOrDefault(delta.itemId(), 0) + delta.delta().intValue())
+                            .takenAt(until)
+                            .build());
+                }
+            }
+        });
+
+        stockSnapshotRepository.saveAll(snapshots);
+        log.info("Stock snapshot as of {}: {} item(s) moved since {}", until, snapshots.size(), after);
+        return snapshots.size();
+    }
+
+    /**
+     * Splits monthly partitions off p_future until the given month has its own, so that p_future stays empty and
+     * each split is instant. Does nothing when stock_movements is not partitioned.
+     *
+     * @return The number of partitions created
+     */
+    public int createMonthlyPartitions(YearMonth through) {
+        List<String> partitions = stockMovementRepository.findPartitionNames();
+        if (partitions.isEmpty()) {
+            log.info("stock_movements is not partitioned, no partition to create");
+            return 0;
+        }
+
+        YearMonth next = partitions.stream()
+                .filter(MONTHLY_PARTITION.asMatchPredicate())
+                .map(name -> YearMonth.parse(name.substring(1), PARTITION_MONTH))
+                .max(Comparator.naturalOrder())
+                .map(month -> month.plusMonths(1))
+                .orElse(YearMonth.now());
+
+        int created = 0;
+        for (; !next.isAfter(through); next = next.plusMonths(1)) {
+            // Partition names and bounds cannot be bound as parameters; both are built from the YearMonth only
+            entityManager.createNativeQuery("ALTER TABLE stock_movements REORGANIZE PARTITION " + FUTURE_PARTITION
+                    + " INTO (PARTITION p" + next.format(PARTITION_MONTH)
+                    + " VALUES LESS THAN ('" + next.plusMonths(1).atDay(1) + "'), PARTITION " + FUTURE_PARTITION
+                    + " VALUES LESS THAN (MAXVALUE))").executeUpdate();
+            log.info("Created stock_movements partition p{}", next.format(PARTITION_MONTH));
+            created++;
+        }
+        return created;
+    }
+}
@@ -0,0 +1,206 @@
+package com.protocol.supplychainx.outbox;
+
+import com.protocol.supplychainx.outbox.entity.DomainEventOutbox;
+import com.protocol.supplychainx.outbox.event.DomainEvent;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.outbox.sink.OutboxSink;
+import com.protocol.supplychainx.scheduler.ClusterJobRunner;
+import com.protocol.supplychainx.scheduler.service.ScheduledJobLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the domain events of the outbox to every OutboxSink, in outbox order, off the request path.
+ * Only the node holding the relay lease publishes, which keeps the events of each aggregate in order across the
+ * cluster. Events are marked published once all sinks accepted the batch, so a crash in between delivers them
+ * again (at least once). When a sink fails the relay stops and retries the same batch after a growing delay:
+ * skipping it would let later events of the same aggregates overtake it.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class DomainEventRelay {
+
+    static final String LEASE_NAME = "domain-event-relay";
+    static final String COMPACTION_JOB_NAME = "domain-event-outbox-compaction";
+    static final String PUBLISHED_METRIC = "supplychainx.outbox.published";
+    static final String FAILURES_METRIC = "supplychainx.outbox.relay.failures";
+    static final String LAG_METRIC = "supplychainx.outbox.lag";
+
+    private final DomainEventOutboxService domainEventOutboxService;
+    private final List<OutboxSink> sinks;
+    private final ScheduledJobLockService scheduledJobLockService;
+    private final ClusterJobRunner clusterJobRunner;
+    private final Counter published;
+    private final Counter failures;
+    // Age of the oldest event still pending at the last poll
+    private final AtomicLong lagMs = new AtomicLong();
+
+    private boolean leaseHeld;
+    private int consecutiveFailures;
+    private long retryAt;
+
+    @Value("${scheduler.job-lock.enabled:true}")
+    private boolean lockEnabled;
+
+    @Value("${outbox.relay.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${outbox.relay.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.relay.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${outbox.compaction.retention-ms:86400000}")
+    private long retentionMs;
+
+    @Value("${outbox.compaction.batch-size:1000}")
+    private int compactionBatchSize;
+
+    public DomainEventRelay(DomainEventOutboxService domainEventOutboxService,
+                            List<OutboxSink> sinks,
+                            ScheduledJobLockService scheduledJobLockService,
+                            ClusterJobRunner clusterJobRunner,
+                            MeterRegistry meterRegistry) {
+        this.domainEventOutboxService = domainEventOutboxService;
+        this.sinks = sinks;
+        this.scheduledJobLockService = scheduledJobLockService;
+        this.clusterJobRunner = clusterJobRunner;
+        this.published = Counter.builder(PUBLISHED_METRIC)
+                .description("Domain events delivered to all outbox sinks")
+                .register(meterRegistry);
+        this.failures = Counter.builder(FAILURES_METRIC)
+                .description("Outbox batches a sink failed to accept")
+                .register(meterRegistry);
+        Gauge.builder(LAG_METRIC, lagMs, AtomicLong::get)
+                .description("Age in milliseconds of the oldest domain event not yet published")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return The number of events published by this poll
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:1000}")
+    public int relayPendingEvents() {
+        if (System.currentTimeMillis() < retryAt || !holdLease()) {
+            return 0;
+        }
+
+        int count = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                List<DomainEventOutbox> pending = domainEventOutboxService.findPending(batchSize);
+                updateLag(pending);
+                if (pending.isEmpty()) {
+                    break;
+                }
+
+                List<DomainEvent> events = pending.stream().map(DomainEvent::from).toList();
+                for (OutboxSink sink : sinks) {
+                    sink.publish(events);
+                }
+                domainEventOutboxService.markPublished(pending.stream().map(DomainEventOutbox::getIdEvent).toList());
+                published.increment(events.size());
+                count += events.size();
+
+                if (pending.size() < batchSize) {
+                    lagMs.set(0);
+                    break;
+                }
+            }
+            consecutiveFailures = 0;
+        } catch (Exception e) {
+            failures.increment();
+            consecutiveFailures++;
+            long backoff = computeBackoff(consecutiveFailures).toMillis();
+            retryAt = System.currentTimeMillis() + backoff;
+            log.warn("Domain event relay failed (attempt {}), retrying in {} ms: {}",
+                    consecutiveFailures, backoff, e.getMessage());
+        }
+
+        if (count > 0) {
+            log.debug("Relayed {} domain event(s) to {} sink(s)", count, sinks.size());
+        }
+        return count;
+    }
+
+    // Published events are kept for a while to help investigate a consumer, then deleted in small batches
+    @Scheduled(fixedDelayString = "${outbox.compaction.interval-ms:3600000}")
+    public void compactPublishedEvents() {
+        clusterJobRunner.runExclusive(COMPACTION_JOB_NAME, () -> {
+            LocalDateTime publishedBefore = LocalDateTime.now().minus(Duration.ofMillis(retentionMs));
+            long deleted = 0;
+            int batch;
+            do {
+                batch = domainEventOutboxService.deletePublishedBefore(publishedBefore, compactionBatchSize);
+                deleted += batch;
+            } while (batch == compactionBatchSize);
+            log.info("Outbox compaction deleted {} published event(s)", deleted);
+            return deleted;
+        });
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (lockEnabled && leaseHeld) {
+            try {
+                scheduledJobLockService.release(LEASE_NAME, 0);
+            } catch (Exception e) {
+                // The lease simply expires after lease-ms
+                log.warn("Failed to release the domain event relay lease", e);
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff: initialBackoff * 2^(failures - 1), capped at maxBackoff.
+     */
+    Duration computeBackoff(int failures) {
+        int shift = Math.min(Math.max(failures - 1, 0), 30);
+        long delay = initialBackoffMs << shift;
+        if (delay <= 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return Duration.ofMillis(delay);
+    }
+
+    // The lease is kept from one poll to the next and renewed each time, so the relay stays on one node
+    private boolean holdLease() {
+        if (!lockEnabled) {
+            return true;
+        }
+        try {
+            leaseHeld = (leaseHeld && scheduledJobLockService.renew(LEASE_NAME, leaseMs))
+                    || scheduledJobLockService.tryAcquire(LEASE_NAME, leaseMs);
+        } catch (Exception e) {
+            log.warn("Could not acquire the domain event relay lease", e);
+            leaseHeld = false;
+        }
+        return leaseHeld;
+    }
+
+    private void updateLag(List<DomainEventOutbox> pending) {
+        lagMs.set(pending.isEmpty() ? 0
+                : Math.max(0, Duration.between(pending.get(0).getCreatedAt(), LocalDateTime.now()).toMillis()));
+    }
+}
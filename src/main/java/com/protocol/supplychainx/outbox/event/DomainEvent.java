@@ -0,0 +1,36 @@
+package com.protocol.supplychainx.outbox.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import com.protocol.supplychainx.outbox.entity.DomainEventOutbox;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed domain change, as handed to the outbox sinks and published to in-process listeners.
+ * Delivery is at least once: a consumer that must not apply an event twice keeps the last ID it processed
+ * per aggregate, events of one aggregate always arriving in order.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class DomainEvent {
+
+    private final Long id;
+    private final ChangeType aggregateType;
+    private final Long aggregateId;
+    private final ChangeAction eventType;
+    // Already JSON, written as is
+    @JsonRawValue
+    private final String payload;
+    private final LocalDateTime occurredAt;
+
+    public static DomainEvent from(DomainEventOutbox row) {
+        return new DomainEvent(row.getIdEvent(), row.getAggregateType(), row.getAggregateId(), row.getEventType(),
+                row.getPayload(), row.getCreatedAt());
+    }
+}
@@ -0,0 +1,34 @@
+package com.protocol.supplychainx.outbox.repository;
+
+import com.protocol.supplychainx.outbox.entity.DomainEventOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DomainEventOutboxRepository extends JpaRepository<DomainEventOutbox, Long> {
+
+    // In insertion order, which is the order of the changes for any given aggregate
+    @Query("SELECT e FROM DomainEventOutbox e WHERE e.publishedAt IS NULL ORDER BY e.idEvent")
+    List<DomainEventOutbox> findPending(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE DomainEventOutbox e SET e.publishedAt = :now WHERE e.idEvent IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT e.idEvent FROM DomainEventOutbox e WHERE e.publishedAt < :publishedBefore ORDER BY e.idEvent")
+    List<Long> findPublishedBefore(@Param("publishedBefore") LocalDateTime publishedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DomainEventOutbox e WHERE e.idEvent IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    long countByPublishedAtIsNull();
+}
@@ -0,0 +1,136 @@
+package com.protocol.supplychainx.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protocol.supplychainx.changefeed.ChangeFeedBroker;
+import com.protocol.supplychainx.changefeed.dto.StockLevelDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import com.protocol.supplychainx.outbox.entity.DomainEventOutbox;
+import com.protocol.supplychainx.outbox.repository.DomainEventOutboxRepository;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for domain events.
+ * Services record their changes here; the events are inserted in the same transaction as the change, so they
+ * exist if and only if it commits, and DomainEventRelay publishes them afterwards. Recording also pushes the
+ * change on the change feed once committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DomainEventOutboxService {
+
+    private final DomainEventOutboxRepository domainEventOutboxRepository;
+    private final ChangeFeedBroker changeFeedBroker;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Records a change of an aggregate in the current transaction
+     *
+     * @param aggregateType Aggregate type
+     * @param aggregateId   Aggregate ID
+     * @param eventType     What happened to the aggregate
+     * @param payload       The aggregate DTO after the change, null for a deletion
+     */
+    public void record(ChangeType aggregateType, Long aggregateId, ChangeAction eventType, Object payload) {
+        stage(DomainEventOutbox.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(toJson(payload))
+                .createdAt(LocalDateTime.now())
+                .build());
+        changeFeedBroker.publish(aggregateType, aggregateId, eventType, payload);
+    }
+
+    public void recordStock(Product product) {
+        record(ChangeType.PRODUCT_STOCK, product.getIdProduct(), ChangeAction.UPDATED,
+                new StockLevelDTO(product.getIdProduct(), product.getName(), product.getStock(), null));
+    }
+
+    public void recordStock(RawMaterial material) {
+        record(ChangeType.MATERIAL_STOCK, material.getIdMaterial(), ChangeAction.UPDATED,
+                new StockLevelDTO(material.getIdMaterial(), material.getName(), material.getStock(),
+                        material.getStockMin()));
+    }
+
+    // Read-write so the poll goes to the primary: a lagging replica would hand back events already marked published
+    // there, or miss the newest ones and publish them out of order
+    public List<DomainEventOutbox> findPending(int batchSize) {
+        return domainEventOutboxRepository.findPending(PageRequest.of(0, batchSize));
+    }
+
+    public void markPublished(List<Long> ids) {
+        domainEventOutboxRepository.markPublished(ids, LocalDateTime.now());
+    }
+
+    /**
+     * Deletes one batch of events published before the given time
+     *
+     * @return The number of rows deleted
+     */
+    public int deletePublishedBefore(LocalDateTime publishedBefore, int batchSize) {
+        List<Long> ids = domainEventOutboxRepository.findPublishedBefore(publishedBefore, PageRequest.of(0, batchSize));
+        return ids.isEmpty() ? 0 : domainEventOutboxRepository.deleteByIds(ids);
+    }
+
+    /*
+     * The rows are inserted just before commit, after the pending entity changes are flushed: the aggregate's row
+     * lock is then already held, so two transactions changing the same aggregate get their event IDs in the order
+     * they commit, which is the order the relay publishes them in.
+     */
+    private void stage(DomainEventOutbox event) {
+        @SuppressWarnings("unchecked")
+        List<DomainEventOutbox> staged = (List<DomainEventOutbox>) TransactionSynchronizationManager.getResource(this);
+        if (staged == null) {
+            List<DomainEventOutbox> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    entityManager.flush();
+                    domainEventOutboxRepository.saveAll(events);
+                    log.debug("{} domain event(s) written to the outbox", events.size());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventOutboxService.this);
+                }
+            });
+            staged = events;
+        }
+        staged.add(event);
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            // Rolls the change back with it: a change without its event is what the outbox exists to prevent
+            throw new IllegalStateException("Could not serialize domain event payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.protocol.supplychainx.outbox.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protocol.supplychainx.outbox.event.DomainEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends relayed events to a file, one JSON object per line
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.file.enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${outbox.sink.file.path:domain-events.ndjson}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public void publish(List<DomainEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (DomainEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+
+        // One write per batch, so a failure leaves at worst a truncated last line before the batch is retried
+        try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.protocol.supplychainx.outbox.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protocol.supplychainx.outbox.event.DomainEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch of relayed events as a JSON array to outbox.sink.http.url, typically a local stand-in for
+ * the message broker or an integration endpoint. Any non-2xx answer fails the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.http.enabled", havingValue = "true")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+
+    public HttpOutboxSink(ObjectMapper objectMapper,
+                          @Value("${outbox.sink.http.url}") String url,
+                          @Value("${outbox.sink.http.timeout-ms:5000}") long timeoutMs) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .build());
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        this.restClient = RestClient.builder()
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .messageConverters(converters -> {
+                    converters.clear();
+                    converters.add(new MappingJackson2HttpMessageConverter(objectMapper));
+                })
+                .build();
+    }
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
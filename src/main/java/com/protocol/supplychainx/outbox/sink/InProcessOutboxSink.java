@@ -0,0 +1,26 @@
+package com.protocol.supplychainx.outbox.sink;
+
+import com.protocol.supplychainx.outbox.event.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes relayed events as Spring application events, for @EventListener reactions that must not run on the
+ * request path. A listener that throws fails the batch, which is then retried.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.sink.in-process.enabled", havingValue = "true", matchIfMissing = true)
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,18 @@
+package com.protocol.supplychainx.outbox.sink;
+
+import com.protocol.supplychainx.outbox.event.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the domain events relayed from the outbox
+ * A batch is delivered to every sink before it is marked published; if any sink throws, the whole batch is
+ * retried later, including on the sinks that already accepted it.
+ */
+public interface OutboxSink {
+
+    /**
+     * @param events Events in outbox order
+     */
+    void publish(List<DomainEvent> events) throws Exception;
+}
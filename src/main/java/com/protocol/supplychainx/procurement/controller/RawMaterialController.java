@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.procurement.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
 import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
 import com.protocol.supplychainx.procurement.service.IRawMaterialService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -64,6 +66,17 @@ public class RawMaterialController {
         return ResponseEntity.ok(material);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get raw materials by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " raw materials in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Raw materials fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<RawMaterialDTO>>> getRawMaterialsByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<RawMaterialDTO>> rawMaterials = rawMaterialService.getRawMaterialsByIds(request.getIds());
+        return ResponseEntity.ok(rawMaterials);
+    }
+
     @GetMapping
     @Operation(summary = "Get all raw materials", description = "Retrieve paginated list of all raw materials (US11)")
     @ApiResponses(value = {
@@ -97,15 +110,18 @@ public class RawMaterialController {
     }
 
     @GetMapping("/below-minimum")
-    @Operation(summary = "Get materials below minimum stock", description = "Retrieve materials with stock below minimum threshold (US12)")
+    @Operation(summary = "Get materials below minimum stock", description = "Retrieve materials with stock below minimum threshold, worst deficit first by default (US12)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Materials retrieved successfully")
     })
     public ResponseEntity<Page<RawMaterialDTO>> getMaterialsBelowMinimumStock(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field") @RequestParam(defaultValue = "deficit") String sortBy,
+            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String direction) {
 
-        Pageable pageable = PageRequest.of(page, size);
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
         Page<RawMaterialDTO> materials = rawMaterialService.getRawMaterialsBelowMinimumStock(pageable);
         return ResponseEntity.ok(materials);
     }
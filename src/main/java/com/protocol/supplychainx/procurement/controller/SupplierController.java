@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.procurement.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
 import com.protocol.supplychainx.procurement.dto.SupplierDTO;
 import com.protocol.supplychainx.procurement.service.ISupplierService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/procurement/suppliers")
 @RequiredArgsConstructor
@@ -62,6 +66,17 @@ public class SupplierController {
         return ResponseEntity.ok(supplier);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get suppliers by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " suppliers in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suppliers fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<SupplierDTO>>> getSuppliersByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<SupplierDTO>> suppliers = supplierService.getSuppliersByIds(request.getIds());
+        return ResponseEntity.ok(suppliers);
+    }
+
     @GetMapping
     @Operation(summary = "Get all suppliers", description = "Retrieve paginated list of all suppliers (US6)")
     @ApiResponses(value = {
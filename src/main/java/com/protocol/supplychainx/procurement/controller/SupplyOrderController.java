@@ -1,5 +1,9 @@
 package com.protocol.supplychainx.procurement.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionRequestDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
 import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
 import com.protocol.supplychainx.procurement.dto.SupplyOrderDTO;
 import com.protocol.supplychainx.procurement.service.ISupplyOrderService;
@@ -18,6 +22,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/procurement/supply-orders")
 @RequiredArgsConstructor
@@ -64,6 +70,17 @@ public class SupplyOrderController {
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get supply orders by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " supply orders in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Supply orders fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<SupplyOrderDTO>>> getSupplyOrdersByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<SupplyOrderDTO>> supplyOrders = supplyOrderService.getSupplyOrdersByIds(request.getIds());
+        return ResponseEntity.ok(supplyOrders);
+    }
+
     @GetMapping
     @Operation(summary = "Get all supply orders", description = "Retrieve paginated list of all supply orders (US16)")
     @ApiResponses(value = {
@@ -125,6 +142,19 @@ public class SupplyOrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PatchMapping("/status")
+    @Operation(summary = "Update the status of supply orders in bulk", description = "Move up to " + BulkTransitionRequestDTO.MAX_IDS + " supply orders to a new status in one call; orders that do not exist or whose status does not allow the move are left unchanged and returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses updated"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<BulkTransitionResultDTO> updateOrderStatuses(
+            @Parameter(description = "New status") @RequestParam SupplyOrderStatus status,
+            @Valid @RequestBody BulkTransitionRequestDTO request) {
+        BulkTransitionResultDTO result = supplyOrderService.updateOrderStatuses(request.getIds(), status);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a supply order", description = "Delete a supply order if not yet delivered (US15)")
     @ApiResponses(value = {
@@ -137,4 +167,15 @@ public class SupplyOrderController {
         supplyOrderService.deleteSupplyOrder(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/delete")
+    @Operation(summary = "Delete supply orders in bulk", description = "Delete up to " + BulkTransitionRequestDTO.MAX_IDS + " supply orders in one call; orders that do not exist or are no longer EN_ATTENTE are left unchanged and returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders deleted"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<BulkTransitionResultDTO> deleteSupplyOrders(@Valid @RequestBody BulkTransitionRequestDTO request) {
+        BulkTransitionResultDTO result = supplyOrderService.deleteSupplyOrders(request.getIds());
+        return ResponseEntity.ok(result);
+    }
 }
@@ -33,4 +33,6 @@ public class RawMaterialDTO {
     private Set<Long> supplierIds; // IDs of associated suppliers
     
     private Boolean isBelowMinimum; // Calculated field
+
+    private Integer deficit; // Calculated field (stockMin - stock)
 }
@@ -1,13 +1,18 @@
 package com.protocol.supplychainx.procurement.entity;
 
+import com.protocol.supplychainx.config.cache.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "raw_materials")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.RAW_MATERIAL_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,6 +37,15 @@ public class RawMaterial {
     @Column(nullable = false)
     private String unit;
 
+    // Generated by the database (stock_min - stock), indexed for below-minimum queries
+    @Column(insertable = false, updatable = false)
+    private Integer deficit;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @BatchSize(size = 100)
     @ManyToMany
     @JoinTable(
             name = "material_suppliers",
@@ -41,6 +55,15 @@ public class RawMaterial {
     @Builder.Default
     private Set<Supplier> suppliers = new HashSet<>();
 
+    // Mirrors the generated column in memory: the deficit is never written, but the second-level cache
+    // entry is built from this state after a flush, and a stale value would feed the low-stock report.
+    // A missing stock or minimum is left to the NOT NULL constraints to reject
+    @PrePersist
+    @PreUpdate
+    void syncDeficit() {
+        deficit = stock == null || stockMin == null ? null : stockMin - stock;
+    }
+
     public boolean isStockBelowMinimum() {
         return stock < stockMin;
     }
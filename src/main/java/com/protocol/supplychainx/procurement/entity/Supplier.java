@@ -1,13 +1,18 @@
 package com.protocol.supplychainx.procurement.entity;
 
+import com.protocol.supplychainx.config.cache.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "suppliers")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = HibernateCacheConfig.SUPPLIER_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +36,7 @@ public class Supplier {
     @Column(nullable = false)
     private Integer leadTime;
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "supplier", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     private List<SupplyOrder> orders = new ArrayList<>();
@@ -3,6 +3,7 @@ package com.protocol.supplychainx.procurement.entity;
 import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -10,6 +11,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "supply_orders")
+@NamedEntityGraph(name = SupplyOrder.LIST_GRAPH, attributeNodes = @NamedAttributeNode("supplier"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +19,9 @@ import java.util.Set;
 @Builder
 public class SupplyOrder {
 
+    // Associations the list mapper reads, fetched in the same query as the page
+    public static final String LIST_GRAPH = "SupplyOrder.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_order")
@@ -26,6 +31,7 @@ public class SupplyOrder {
     @JoinColumn(name = "supplier_id", nullable = false)
     private Supplier supplier;
 
+    @BatchSize(size = 100)
     @ManyToMany
     @JoinTable(
             name = "supply_order_materials",
@@ -44,7 +50,27 @@ public class SupplyOrder {
 
     private LocalDate expectedDeliveryDate;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Statuses in which an order can be deleted: not yet sent to the supplier
+     */
+    public static final Set<SupplyOrderStatus> DELETABLE_STATUSES = Set.of(SupplyOrderStatus.EN_ATTENTE);
+
     public boolean canBeDeleted() {
-        return status == SupplyOrderStatus.EN_ATTENTE;
+        return DELETABLE_STATUSES.contains(status);
+    }
+
+    /**
+     * Statuses an order can be moved to the given status from by a bulk transition: one step forward
+     */
+    public static Set<SupplyOrderStatus> statusesBefore(SupplyOrderStatus status) {
+        return switch (status) {
+            case EN_ATTENTE -> Set.of();
+            case EN_COURS -> Set.of(SupplyOrderStatus.EN_ATTENTE);
+            case RECUE -> Set.of(SupplyOrderStatus.EN_COURS);
+        };
     }
 }
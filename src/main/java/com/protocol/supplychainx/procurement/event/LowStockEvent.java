@@ -0,0 +1,20 @@
+package com.protocol.supplychainx.procurement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a raw material's stock crosses below its minimum level.
+ * Only the crossing is reported, not every mutation of an already short material.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class LowStockEvent {
+
+    private final Long materialId;
+    private final String materialName;
+    private final Integer stock;
+    private final Integer stockMin;
+}
@@ -13,13 +13,18 @@ public interface RawMaterialMapper {
     
     @Mapping(target = "supplierIds", expression = "java(mapSuppliersToIds(rawMaterial.getSuppliers()))")
     @Mapping(target = "isBelowMinimum", expression = "java(rawMaterial.isStockBelowMinimum())")
+    @Mapping(target = "deficit", expression = "java(rawMaterial.getStockMin() - rawMaterial.getStock())")
     RawMaterialDTO toDTO(RawMaterial rawMaterial);
     
     @Mapping(target = "suppliers", ignore = true)
+    @Mapping(target = "deficit", ignore = true)
+    @Mapping(target = "version", ignore = true)
     RawMaterial toEntity(RawMaterialDTO rawMaterialDTO);
     
     @Mapping(target = "suppliers", ignore = true)
+    @Mapping(target = "deficit", ignore = true)
     @Mapping(target = "idMaterial", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDTO(RawMaterialDTO rawMaterialDTO, @MappingTarget RawMaterial rawMaterial);
     
     default Set<Long> mapSuppliersToIds(Set<Supplier> suppliers) {
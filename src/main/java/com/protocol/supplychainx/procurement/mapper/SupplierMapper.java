@@ -2,6 +2,7 @@ package com.protocol.supplychainx.procurement.mapper;
 
 import com.protocol.supplychainx.procurement.dto.SupplierDTO;
 import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.repository.projection.SupplierView;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -10,6 +11,8 @@ public interface SupplierMapper {
     @Mapping(target = "activeOrdersCount", expression = "java(supplier.getOrders() != null ? supplier.getOrders().size() : 0)")
     SupplierDTO toDTO(Supplier supplier);
     
+    SupplierDTO toDTO(SupplierView supplierView);
+    
     @Mapping(target = "orders", ignore = true)
     Supplier toEntity(SupplierDTO supplierDTO);
     
@@ -18,11 +18,13 @@ public interface SupplyOrderMapper {
     
     @Mapping(target = "supplier", ignore = true)
     @Mapping(target = "materials", ignore = true)
+    @Mapping(target = "version", ignore = true)
     SupplyOrder toEntity(SupplyOrderDTO supplyOrderDTO);
     
     @Mapping(target = "supplier", ignore = true)
     @Mapping(target = "materials", ignore = true)
     @Mapping(target = "idOrder", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDTO(SupplyOrderDTO supplyOrderDTO, @MappingTarget SupplyOrder supplyOrder);
     
     default Set<Long> mapMaterialsToIds(Set<RawMaterial> materials) {
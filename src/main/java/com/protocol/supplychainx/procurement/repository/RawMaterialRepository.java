@@ -1,27 +1,48 @@
 package com.protocol.supplychainx.procurement.repository;
 
 import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RawMaterial> findByName(String name);
     
     boolean existsByName(String name);
     
     Page<RawMaterial> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
-    @Query("SELECT r FROM RawMaterial r WHERE r.stock < r.stockMin")
+    // deficit = stock_min - stock, a range scan on idx_material_deficit
+    @Query("SELECT r FROM RawMaterial r WHERE r.deficit > 0")
     Page<RawMaterial> findByStockLessThanStockMin(Pageable pageable);
     
-    @Query("SELECT r FROM RawMaterial r WHERE r.stock < r.stockMin")
+    @Query("SELECT r FROM RawMaterial r WHERE r.deficit > 0 ORDER BY r.deficit DESC")
     List<RawMaterial> findByStockLessThanStockMin();
+
+    // Keyset page of below-minimum materials after (deficit, id), ordered worst deficit first
+    @Query("SELECT r FROM RawMaterial r WHERE r.deficit > 0 " +
+            "AND (r.deficit < :deficit OR (r.deficit = :deficit AND r.idMaterial > :idMaterial)) " +
+            "ORDER BY r.deficit DESC, r.idMaterial ASC")
+    List<RawMaterial> findBelowMinimumAfter(@Param("deficit") int deficit,
+                                            @Param("idMaterial") long idMaterial,
+                                            Pageable pageable);
+
+    // Batch get: the suppliers in the same statement
+    @EntityGraph(attributePaths = "suppliers")
+    @Query("SELECT r FROM RawMaterial r WHERE r.idMaterial IN :ids")
+    List<RawMaterial> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,19 +2,25 @@ package com.protocol.supplychainx.procurement.repository;
 
 import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
 import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.repository.projection.SupplierView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Supplier> findByName(String name);
     
     boolean existsByName(String name);
@@ -22,4 +28,23 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     @Query("SELECT COUNT(o) FROM SupplyOrder o WHERE o.supplier.idSupplier = :supplierId AND o.status IN :statuses")
     long countActiveOrdersBySupplier(@Param("supplierId") Long supplierId, 
                                      @Param("statuses") List<SupplyOrderStatus> statuses);
+
+    // Read endpoints: one statement per request, rows are not managed by the persistence context
+    String SELECT_VIEW = "SELECT new com.protocol.supplychainx.procurement.repository.projection.SupplierView("
+            + "s.idSupplier, s.name, s.contact, s.rating, s.leadTime, "
+            + "(SELECT COUNT(o) FROM SupplyOrder o WHERE o.supplier = s)) "
+            + "FROM Supplier s";
+
+    @Query(SELECT_VIEW + " WHERE s.idSupplier = :id")
+    Optional<SupplierView> findViewById(@Param("id") Long id);
+
+    @Query(value = SELECT_VIEW, countQuery = "SELECT COUNT(s) FROM Supplier s")
+    Page<SupplierView> findAllViews(Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%'))",
+            countQuery = "SELECT COUNT(s) FROM Supplier s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<SupplierView> findViewsByNameContainingIgnoreCase(@Param("name") String name, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE s.idSupplier IN :ids")
+    List<SupplierView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,18 +2,53 @@ package com.protocol.supplychainx.procurement.repository;
 
 import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
 import com.protocol.supplychainx.procurement.entity.SupplyOrder;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SupplyOrderRepository extends JpaRepository<SupplyOrder, Long> {
+    @Override
+    @EntityGraph(SupplyOrder.LIST_GRAPH)
+    Page<SupplyOrder> findAll(Pageable pageable);
     
+    @EntityGraph(SupplyOrder.LIST_GRAPH)
     Page<SupplyOrder> findByStatus(SupplyOrderStatus status, Pageable pageable);
+    @EntityGraph(SupplyOrder.LIST_GRAPH)
     Page<SupplyOrder> findBySupplierIdSupplier(Long supplierId, Pageable pageable);
     
     long countBySupplierIdSupplierAndStatusIn(Long supplierId, List<SupplyOrderStatus> statuses);
+
+    // Batch get: the supplier and the materials in the same statement
+    @EntityGraph(attributePaths = {"supplier", "materials"})
+    @Query("SELECT o FROM SupplyOrder o WHERE o.idOrder IN :ids")
+    List<SupplyOrder> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bulk transitions: the orders among ids whose status allows the move, locked until the transition commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.idOrder FROM SupplyOrder o WHERE o.idOrder IN :ids AND o.status IN :statuses")
+    List<Long> lockIdsByStatusIn(@Param("ids") Collection<Long> ids,
+                                 @Param("statuses") Collection<SupplyOrderStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE SupplyOrder o SET o.status = :status, o.version = o.version + 1 WHERE o.idOrder IN :ids AND o.status IN :statuses")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("statuses") Collection<SupplyOrderStatus> statuses,
+                     @Param("status") SupplyOrderStatus status);
+
+    // The rows of supply_order_materials are deleted with the orders
+    @Modifying
+    @Query("DELETE FROM SupplyOrder o WHERE o.idOrder IN :ids AND o.status IN :statuses")
+    int deleteByStatusIn(@Param("ids") Collection<Long> ids,
+                         @Param("statuses") Collection<SupplyOrderStatus> statuses);
 }
@@ -0,0 +1,15 @@
+package com.protocol.supplychainx.procurement.repository.projection;
+
+/**
+ * Read-only row for supplier GET endpoints, selected by a constructor expression so the orders
+ * collection is counted in SQL instead of being loaded.
+ */
+public record SupplierView(
+        Long idSupplier,
+        String name,
+        String contact,
+        Double rating,
+        Integer leadTime,
+        Long activeOrdersCount
+) {
+}
@@ -1,5 +1,6 @@
 package com.protocol.supplychainx.procurement.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,8 @@ public interface IRawMaterialService {
     RawMaterialDTO createRawMaterial(RawMaterialDTO rawMaterialDTO);
     RawMaterialDTO updateRawMaterial(Long id, RawMaterialDTO rawMaterialDTO);
     RawMaterialDTO getRawMaterial(Long id);
+
+    List<BatchGetItemDTO<RawMaterialDTO>> getRawMaterialsByIds(List<Long> ids);
     Page<RawMaterialDTO> getAllRawMaterials(Pageable pageable);
     Page<RawMaterialDTO> searchRawMaterialsByName(String name, Pageable pageable);
     Page<RawMaterialDTO> getRawMaterialsBelowMinimumStock(Pageable pageable);
@@ -1,17 +1,27 @@
 package com.protocol.supplychainx.procurement.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
 import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
 import com.protocol.supplychainx.procurement.dto.SupplyOrderDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ISupplyOrderService {
     SupplyOrderDTO createSupplyOrder(SupplyOrderDTO supplyOrderDTO);
     SupplyOrderDTO updateSupplyOrder(Long id, SupplyOrderDTO supplyOrderDTO);
     SupplyOrderDTO getSupplyOrder(Long id);
+
+    List<BatchGetItemDTO<SupplyOrderDTO>> getSupplyOrdersByIds(List<Long> ids);
     Page<SupplyOrderDTO> getAllSupplyOrders(Pageable pageable);
     Page<SupplyOrderDTO> getSupplyOrdersByStatus(SupplyOrderStatus status, Pageable pageable);
     Page<SupplyOrderDTO> getSupplyOrdersBySupplier(Long supplierId, Pageable pageable);
     void deleteSupplyOrder(Long id);
+
+    BulkTransitionResultDTO deleteSupplyOrders(List<Long> ids);
     SupplyOrderDTO updateOrderStatus(Long id, SupplyOrderStatus status);
+
+    BulkTransitionResultDTO updateOrderStatuses(List<Long> ids, SupplyOrderStatus status);
 }
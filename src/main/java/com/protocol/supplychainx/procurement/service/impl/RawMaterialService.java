@@ -1,23 +1,37 @@
 package com.protocol.supplychainx.procurement.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
 import com.protocol.supplychainx.common.exceptions.procurement.RawMaterialNotFoundException;
 import com.protocol.supplychainx.common.exceptions.procurement.SupplierNotFoundException;
+import com.protocol.supplychainx.config.aop.RetryOnConflict;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
 import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
 import com.protocol.supplychainx.procurement.entity.RawMaterial;
 import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.event.LowStockEvent;
 import com.protocol.supplychainx.procurement.mapper.RawMaterialMapper;
 import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
 import com.protocol.supplychainx.procurement.repository.SupplierRepository;
 import com.protocol.supplychainx.procurement.service.IRawMaterialService;
-import jakarta.transaction.Transactional;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,6 +44,10 @@ public class RawMaterialService implements IRawMaterialService {
     private final RawMaterialRepository rawMaterialRepository;
     private final SupplierRepository supplierRepository;
     private final RawMaterialMapper rawMaterialMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventOutboxService domainEventOutboxService;
+    private final StockLedgerService stockLedgerService;
+    private final SearchIndexService searchIndexService;
 
     @Override
     public RawMaterialDTO createRawMaterial(RawMaterialDTO rawMaterialDTO) {
@@ -49,17 +67,29 @@ public class RawMaterialService implements IRawMaterialService {
 
         RawMaterial savedMaterial = rawMaterialRepository.save(rawMaterial);
         log.info("Raw material created successfully with ID: {}", savedMaterial.getIdMaterial());
+        searchIndexService.index(SearchDocumentType.RAW_MATERIAL, savedMaterial.getIdMaterial(), savedMaterial.getName());
+
+        publishIfCrossedBelowMinimum(false, savedMaterial);
+        domainEventOutboxService.recordStock(savedMaterial);
+        stockLedgerService.record(StockItemType.RAW_MATERIAL, savedMaterial.getIdMaterial(), savedMaterial.getStock(),
+                StockMovementReason.ITEM_CREATED, null);
 
         return rawMaterialMapper.toDTO(savedMaterial);
     }
 
     @Override
+    @RetryOnConflict
     public RawMaterialDTO updateRawMaterial(Long id, RawMaterialDTO rawMaterialDTO) {
         log.info("Updating raw material with ID: {}", id);
 
         RawMaterial existingMaterial = rawMaterialRepository.findById(id)
                 .orElseThrow(() -> new RawMaterialNotFoundException(id));
 
+        boolean wasBelowMinimum = existingMaterial.isStockBelowMinimum();
+        int previousStock = existingMaterial.getStock();
+        boolean stockChanged = !Objects.equals(existingMaterial.getStock(), rawMaterialDTO.getStock())
+                || !Objects.equals(existingMaterial.getStockMin(), rawMaterialDTO.getStockMin());
+
         existingMaterial.setName(rawMaterialDTO.getName());
         existingMaterial.setStock(rawMaterialDTO.getStock());
         existingMaterial.setStockMin(rawMaterialDTO.getStockMin());
@@ -77,11 +107,20 @@ public class RawMaterialService implements IRawMaterialService {
 
         RawMaterial updatedMaterial = rawMaterialRepository.save(existingMaterial);
         log.info("Raw material updated successfully with ID: {}", updatedMaterial.getIdMaterial());
+        searchIndexService.index(SearchDocumentType.RAW_MATERIAL, id, updatedMaterial.getName());
+
+        publishIfCrossedBelowMinimum(wasBelowMinimum, updatedMaterial);
+        if (stockChanged) {
+            domainEventOutboxService.recordStock(updatedMaterial);
+        }
+        stockLedgerService.record(StockItemType.RAW_MATERIAL, id, updatedMaterial.getStock() - previousStock,
+                StockMovementReason.MANUAL_ADJUSTMENT, null);
 
         return rawMaterialMapper.toDTO(updatedMaterial);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RawMaterialDTO getRawMaterial(Long id) {
         log.info("Fetching raw material with ID: {}", id);
 
@@ -92,6 +131,19 @@ public class RawMaterialService implements IRawMaterialService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<RawMaterialDTO>> getRawMaterialsByIds(List<Long> ids) {
+        log.info("Fetching {} raw materials by ID", ids.size());
+
+        List<RawMaterialDTO> rawMaterials = rawMaterialRepository.findWithDetailsByIdIn(new LinkedHashSet<>(ids))
+                .stream()
+                .map(rawMaterialMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, rawMaterials, RawMaterialDTO::getIdMaterial);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<RawMaterialDTO> getAllRawMaterials(Pageable pageable) {
         log.info("Fetching all raw materials with pagination");
 
@@ -100,14 +152,19 @@ public class RawMaterialService implements IRawMaterialService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<RawMaterialDTO> searchRawMaterialsByName(String name, Pageable pageable) {
         log.info("Searching raw materials by name: {}", name);
 
-        Page<RawMaterial> materials = rawMaterialRepository.findByNameContainingIgnoreCase(name, pageable);
+        Page<RawMaterial> materials = searchIndexService.searchIds(SearchDocumentType.RAW_MATERIAL, name, pageable)
+                .map(ids -> SearchIndexService.inIdOrder(ids,
+                        rawMaterialRepository.findWithDetailsByIdIn(ids.getContent()), RawMaterial::getIdMaterial))
+                .orElseGet(() -> rawMaterialRepository.findByNameContainingIgnoreCase(name, pageable));
         return materials.map(rawMaterialMapper::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<RawMaterialDTO> getRawMaterialsBelowMinimumStock(Pageable pageable) {
         log.info("Fetching raw materials below minimum stock");
 
@@ -116,6 +173,7 @@ public class RawMaterialService implements IRawMaterialService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RawMaterialDTO> getAllRawMaterialsBelowMinimumStock() {
         log.info("Fetching all raw materials below minimum stock");
 
@@ -130,15 +188,19 @@ public class RawMaterialService implements IRawMaterialService {
     public void deleteRawMaterial(Long id) {
         log.info("Attempting to delete raw material with ID: {}", id);
 
-        if (!rawMaterialRepository.existsById(id)) {
-            throw new RawMaterialNotFoundException(id);
-        }
+        // Loaded rather than checked for existence: the remaining stock is written off in the ledger
+        RawMaterial material = rawMaterialRepository.findById(id)
+                .orElseThrow(() -> new RawMaterialNotFoundException(id));
 
         rawMaterialRepository.deleteById(id);
+        searchIndexService.remove(SearchDocumentType.RAW_MATERIAL, id);
+        stockLedgerService.record(StockItemType.RAW_MATERIAL, id, -material.getStock(), StockMovementReason.ITEM_DELETED, null);
         log.info("Raw material deleted successfully with ID: {}", id);
+        domainEventOutboxService.record(ChangeType.MATERIAL_STOCK, id, ChangeAction.DELETED, null);
     }
 
     @Override
+    @RetryOnConflict
     public RawMaterialDTO addSupplierToMaterial(Long materialId, Long supplierId) {
         log.info("Adding supplier {} to raw material {}", supplierId, materialId);
 
@@ -156,6 +218,7 @@ public class RawMaterialService implements IRawMaterialService {
     }
 
     @Override
+    @RetryOnConflict
     public RawMaterialDTO removeSupplierFromMaterial(Long materialId, Long supplierId) {
         log.info("Removing supplier {} from raw material {}", supplierId, materialId);
 
@@ -171,4 +234,16 @@ public class RawMaterialService implements IRawMaterialService {
         log.info("Supplier removed successfully from material");
         return rawMaterialMapper.toDTO(updatedMaterial);
     }
+
+    private void publishIfCrossedBelowMinimum(boolean wasBelowMinimum, RawMaterial material) {
+        if (!wasBelowMinimum && material.isStockBelowMinimum()) {
+            log.warn("Raw material {} (ID: {}) crossed below minimum stock: Stock={}, Min={}",
+                    material.getName(), material.getIdMaterial(), material.getStock(), material.getStockMin());
+            eventPublisher.publishEvent(new LowStockEvent(
+                    material.getIdMaterial(),
+                    material.getName(),
+                    material.getStock(),
+                    material.getStockMin()));
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.procurement.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
 import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
 import com.protocol.supplychainx.common.exceptions.procurement.SupplierHasActiveOrdersException;
 import com.protocol.supplychainx.common.exceptions.procurement.SupplierNotFoundException;
@@ -7,15 +9,19 @@ import com.protocol.supplychainx.procurement.dto.SupplierDTO;
 import com.protocol.supplychainx.procurement.entity.Supplier;
 import com.protocol.supplychainx.procurement.mapper.SupplierMapper;
 import com.protocol.supplychainx.procurement.repository.SupplierRepository;
+import com.protocol.supplychainx.procurement.repository.projection.SupplierView;
 import com.protocol.supplychainx.procurement.service.ISupplierService;
-import jakarta.transaction.Transactional;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 @Service
 @Transactional
@@ -25,6 +31,7 @@ public class SupplierService implements ISupplierService {
 
     private final SupplierRepository supplierRepository;
     private final SupplierMapper supplierMapper;
+    private final SearchIndexService searchIndexService;
 
     @Override
     public SupplierDTO createSupplier(SupplierDTO supplierDTO) {
@@ -34,6 +41,7 @@ public class SupplierService implements ISupplierService {
         Supplier savedSupplier = supplierRepository.save(supplier);
         
         log.info("Supplier created successfully with ID: {}", savedSupplier.getIdSupplier());
+        searchIndexService.index(SearchDocumentType.SUPPLIER, savedSupplier.getIdSupplier(), savedSupplier.getName());
         return supplierMapper.toDTO(savedSupplier);
     }
 
@@ -51,33 +59,51 @@ public class SupplierService implements ISupplierService {
 
         Supplier updatedSupplier = supplierRepository.save(existingSupplier);
         log.info("Supplier updated successfully with ID: {}", updatedSupplier.getIdSupplier());
+        searchIndexService.index(SearchDocumentType.SUPPLIER, id, updatedSupplier.getName());
 
         return supplierMapper.toDTO(updatedSupplier);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SupplierDTO getSupplier(Long id) {
         log.info("Fetching supplier with ID: {}", id);
 
-        Supplier supplier = supplierRepository.findById(id)
+        SupplierView supplier = supplierRepository.findViewById(id)
                 .orElseThrow(() -> new SupplierNotFoundException(id));
 
         return supplierMapper.toDTO(supplier);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<SupplierDTO>> getSuppliersByIds(List<Long> ids) {
+        log.info("Fetching {} suppliers by ID", ids.size());
+
+        List<SupplierDTO> suppliers = supplierRepository.findViewsByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(supplierMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, suppliers, SupplierDTO::getIdSupplier);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<SupplierDTO> getAllSuppliers(Pageable pageable) {
         log.info("Fetching all suppliers with pagination");
 
-        Page<Supplier> suppliers = supplierRepository.findAll(pageable);
+        Page<SupplierView> suppliers = supplierRepository.findAllViews(pageable);
         return suppliers.map(supplierMapper::toDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SupplierDTO> searchSuppliersByName(String name, Pageable pageable) {
         log.info("Searching suppliers by name: {}", name);
 
-        Page<Supplier> suppliers = supplierRepository.findByNameContainingIgnoreCase(name, pageable);
+        Page<SupplierView> suppliers = searchIndexService.searchIds(SearchDocumentType.SUPPLIER, name, pageable)
+                .map(ids -> SearchIndexService.inIdOrder(ids, supplierRepository.findViewsByIdIn(ids.getContent()),
+                        SupplierView::idSupplier))
+                .orElseGet(() -> supplierRepository.findViewsByNameContainingIgnoreCase(name, pageable));
         return suppliers.map(supplierMapper::toDTO);
     }
 
@@ -101,6 +127,7 @@ public class SupplierService implements ISupplierService {
         }
 
         supplierRepository.deleteById(id);
+        searchIndexService.remove(SearchDocumentType.SUPPLIER, id);
         log.info("Supplier deleted successfully with ID: {}", id);
     }
 }
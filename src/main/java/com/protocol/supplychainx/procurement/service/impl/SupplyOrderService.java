@@ -1,10 +1,17 @@
 package com.protocol.supplychainx.procurement.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
 import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
 import com.protocol.supplychainx.common.exceptions.procurement.RawMaterialNotFoundException;
 import com.protocol.supplychainx.common.exceptions.procurement.SupplierNotFoundException;
 import com.protocol.supplychainx.common.exceptions.procurement.SupplyOrderCannotBeDeletedException;
 import com.protocol.supplychainx.common.exceptions.procurement.SupplyOrderNotFoundException;
+import com.protocol.supplychainx.config.aop.RetryOnConflict;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
 import com.protocol.supplychainx.procurement.dto.SupplyOrderDTO;
 import com.protocol.supplychainx.procurement.entity.RawMaterial;
 import com.protocol.supplychainx.procurement.entity.Supplier;
@@ -14,14 +21,16 @@ import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
 import com.protocol.supplychainx.procurement.repository.SupplierRepository;
 import com.protocol.supplychainx.procurement.repository.SupplyOrderRepository;
 import com.protocol.supplychainx.procurement.service.ISupplyOrderService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 @Service
@@ -34,6 +43,8 @@ public class SupplyOrderService implements ISupplyOrderService {
     private final SupplierRepository supplierRepository;
     private final RawMaterialRepository rawMaterialRepository;
     private final SupplyOrderMapper supplyOrderMapper;
+    private final DomainMetrics domainMetrics;
+    private final DomainEventOutboxService domainEventOutboxService;
 
     @Override
     public SupplyOrderDTO createSupplyOrder(SupplyOrderDTO supplyOrderDTO) {
@@ -55,11 +66,15 @@ public class SupplyOrderService implements ISupplyOrderService {
 
         SupplyOrder savedOrder = supplyOrderRepository.save(supplyOrder);
         log.info("Supply order created successfully with ID: {}", savedOrder.getIdOrder());
+        domainMetrics.supplyOrderCreated();
 
-        return supplyOrderMapper.toDTO(savedOrder);
+        SupplyOrderDTO savedOrderDTO = supplyOrderMapper.toDTO(savedOrder);
+        domainEventOutboxService.record(ChangeType.SUPPLY_ORDER, savedOrder.getIdOrder(), ChangeAction.CREATED, savedOrderDTO);
+        return savedOrderDTO;
     }
 
     @Override
+    @RetryOnConflict
     public SupplyOrderDTO updateSupplyOrder(Long id, SupplyOrderDTO supplyOrderDTO) {
         log.info("Updating supply order with ID: {}", id);
 
@@ -89,10 +104,13 @@ public class SupplyOrderService implements ISupplyOrderService {
         SupplyOrder updatedOrder = supplyOrderRepository.save(existingOrder);
         log.info("Supply order updated successfully with ID: {}", updatedOrder.getIdOrder());
 
-        return supplyOrderMapper.toDTO(updatedOrder);
+        SupplyOrderDTO updatedOrderDTO = supplyOrderMapper.toDTO(updatedOrder);
+        domainEventOutboxService.record(ChangeType.SUPPLY_ORDER, id, ChangeAction.UPDATED, updatedOrderDTO);
+        return updatedOrderDTO;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SupplyOrderDTO getSupplyOrder(Long id) {
         log.info("Fetching supply order with ID: {}", id);
 
@@ -103,6 +121,19 @@ public class SupplyOrderService implements ISupplyOrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<SupplyOrderDTO>> getSupplyOrdersByIds(List<Long> ids) {
+        log.info("Fetching {} supply orders by ID", ids.size());
+
+        List<SupplyOrderDTO> supplyOrders = supplyOrderRepository.findWithDetailsByIdIn(new LinkedHashSet<>(ids))
+                .stream()
+                .map(supplyOrderMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, supplyOrders, SupplyOrderDTO::getIdOrder);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<SupplyOrderDTO> getAllSupplyOrders(Pageable pageable) {
         log.info("Fetching all supply orders with pagination");
 
@@ -111,6 +142,7 @@ public class SupplyOrderService implements ISupplyOrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SupplyOrderDTO> getSupplyOrdersByStatus(SupplyOrderStatus status, Pageable pageable) {
         log.info("Fetching supply orders by status: {}", status);
 
@@ -119,6 +151,7 @@ public class SupplyOrderService implements ISupplyOrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SupplyOrderDTO> getSupplyOrdersBySupplier(Long supplierId, Pageable pageable) {
         log.info("Fetching supply orders for supplier ID: {}", supplierId);
 
@@ -144,9 +177,11 @@ public class SupplyOrderService implements ISupplyOrderService {
 
         supplyOrderRepository.deleteById(id);
         log.info("Supply order deleted successfully with ID: {}", id);
+        domainEventOutboxService.record(ChangeType.SUPPLY_ORDER, id, ChangeAction.DELETED, null);
     }
 
     @Override
+    @RetryOnConflict
     public SupplyOrderDTO updateOrderStatus(Long id, SupplyOrderStatus status) {
         log.info("Updating status of supply order {} to {}", id, status);
 
@@ -157,6 +192,49 @@ public class SupplyOrderService implements ISupplyOrderService {
         SupplyOrder updatedOrder = supplyOrderRepository.save(supplyOrder);
 
         log.info("Supply order status updated successfully");
-        return supplyOrderMapper.toDTO(updatedOrder);
+        SupplyOrderDTO updatedOrderDTO = supplyOrderMapper.toDTO(updatedOrder);
+        domainEventOutboxService.record(ChangeType.SUPPLY_ORDER, id, ChangeAction.UPDATED, updatedOrderDTO);
+        return updatedOrderDTO;
+    }
+
+    @Override
+    public BulkTransitionResultDTO updateOrderStatuses(List<Long> ids, SupplyOrderStatus status) {
+        log.info("Updating status of {} supply orders to {}", ids.size(), status);
+
+        Set<SupplyOrderStatus> allowedStatuses = SupplyOrder.statusesBefore(status);
+        BulkTransitionResultDTO result = BulkTransitionResultDTO.inChunks(ids, chunk -> {
+            if (allowedStatuses.isEmpty()) {
+                return List.of();
+            }
+            List<Long> orderIds = supplyOrderRepository.lockIdsByStatusIn(chunk, allowedStatuses);
+            if (orderIds.isEmpty()) {
+                return orderIds;
+            }
+            supplyOrderRepository.updateStatus(orderIds, allowedStatuses, status);
+            supplyOrderRepository.findWithDetailsByIdIn(orderIds).forEach(order -> domainEventOutboxService.record(
+                    ChangeType.SUPPLY_ORDER, order.getIdOrder(), ChangeAction.UPDATED, supplyOrderMapper.toDTO(order)));
+            return orderIds;
+        });
+
+        log.info("{} supply orders moved to {}, {} rejected", result.getTransitioned(), status, result.getRejectedIds().size());
+        return result;
+    }
+
+    @Override
+    public BulkTransitionResultDTO deleteSupplyOrders(List<Long> ids) {
+        log.info("Deleting {} supply orders", ids.size());
+
+        BulkTransitionResultDTO result = BulkTransitionResultDTO.inChunks(ids, chunk -> {
+            List<Long> orderIds = supplyOrderRepository.lockIdsByStatusIn(chunk, SupplyOrder.DELETABLE_STATUSES);
+            if (orderIds.isEmpty()) {
+                return orderIds;
+            }
+            supplyOrderRepository.deleteByStatusIn(orderIds, SupplyOrder.DELETABLE_STATUSES);
+            orderIds.forEach(id -> domainEventOutboxService.record(ChangeType.SUPPLY_ORDER, id, ChangeAction.DELETED, null));
+            return orderIds;
+        });
+
+        log.info("{} supply orders deleted, {} rejected", result.getTransitioned(), result.getRejectedIds().size());
+        return result;
     }
 }
@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.production.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
 import com.protocol.supplychainx.production.dto.BillOfMaterialDTO;
 import com.protocol.supplychainx.production.service.IBillOfMaterialService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -62,6 +64,17 @@ public class BillOfMaterialController {
         return ResponseEntity.ok(billOfMaterial);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get bills of materials by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " bills of materials in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bills of materials fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<BillOfMaterialDTO>>> getBillOfMaterialsByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<BillOfMaterialDTO>> billOfMaterials = billOfMaterialService.getBillOfMaterialsByIds(request.getIds());
+        return ResponseEntity.ok(billOfMaterials);
+    }
+
     @GetMapping
     @Operation(summary = "Get all BOM entries", description = "Retrieve all Bill of Material entries with pagination")
     @ApiResponses(value = {
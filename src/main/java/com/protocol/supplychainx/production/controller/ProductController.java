@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.production.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
 import com.protocol.supplychainx.common.enums.RoleUtilisateur;
 import com.protocol.supplychainx.config.aop.SecuredEndpoint;
 import com.protocol.supplychainx.production.dto.ProductDTO;
@@ -17,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/production/products")
 @RequiredArgsConstructor
@@ -65,6 +69,18 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
+    @PostMapping("/batch-get")
+    @SecuredEndpoint(allowedRoles = {RoleUtilisateur.ADMIN, RoleUtilisateur.CHEF_PRODUCTION, RoleUtilisateur.SUPERVISEUR_PRODUCTION, RoleUtilisateur.PLANIFICATEUR})
+    @Operation(summary = "Get products by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " products in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<ProductDTO>>> getProductsByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<ProductDTO>> products = productService.getProductsByIds(request.getIds());
+        return ResponseEntity.ok(products);
+    }
+
     @GetMapping
     @Operation(summary = "Get all products", description = "Retrieve all products with pagination")
     @ApiResponses(value = {
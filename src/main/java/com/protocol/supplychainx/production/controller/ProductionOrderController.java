@@ -1,9 +1,14 @@
 package com.protocol.supplychainx.production.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionRequestDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
 import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
 import com.protocol.supplychainx.production.dto.ProductionOrderDTO;
 import com.protocol.supplychainx.production.service.IProductionOrderService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +21,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/production/orders")
 @RequiredArgsConstructor
@@ -62,6 +69,17 @@ public class ProductionOrderController {
         return ResponseEntity.ok(productionOrder);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get production orders by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " production orders in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Production orders fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<ProductionOrderDTO>>> getProductionOrdersByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<ProductionOrderDTO>> productionOrders = productionOrderService.getProductionOrdersByIds(request.getIds());
+        return ResponseEntity.ok(productionOrders);
+    }
+
     @GetMapping
     @Operation(summary = "Get all production orders", description = "Retrieve all production orders with pagination")
     @ApiResponses(value = {
@@ -130,6 +148,19 @@ public class ProductionOrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PatchMapping("/status")
+    @Operation(summary = "Update the status of production orders in bulk", description = "Move up to " + BulkTransitionRequestDTO.MAX_IDS + " production orders to a new status in one call; orders that do not exist or whose status does not allow the move are left unchanged and returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses updated"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<BulkTransitionResultDTO> updateOrderStatuses(
+            @Parameter(description = "New status") @RequestParam ProductionOrderStatus status,
+            @Valid @RequestBody BulkTransitionRequestDTO request) {
+        BulkTransitionResultDTO result = productionOrderService.updateOrderStatuses(request.getIds(), status);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Cancel a production order", description = "Cancel a production order (only EN_ATTENTE status)")
     @ApiResponses(value = {
@@ -142,6 +173,17 @@ public class ProductionOrderController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/cancel")
+    @Operation(summary = "Cancel production orders in bulk", description = "Cancel up to " + BulkTransitionRequestDTO.MAX_IDS + " production orders in one call; orders that do not exist or are no longer EN_ATTENTE are left unchanged and returned")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders cancelled"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<BulkTransitionResultDTO> cancelProductionOrders(@Valid @RequestBody BulkTransitionRequestDTO request) {
+        BulkTransitionResultDTO result = productionOrderService.cancelProductionOrders(request.getIds());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/calculate-time")
     @Operation(summary = "Calculate estimated production time", description = "Calculate estimated production time for a product and quantity")
     @ApiResponses(value = {
@@ -6,6 +6,10 @@ import lombok.*;
 
 @Entity
 @Table(name = "bill_of_materials")
+@NamedEntityGraph(name = BillOfMaterial.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("product"),
+        @NamedAttributeNode("material")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,6 +17,9 @@ import lombok.*;
 @Builder
 public class BillOfMaterial {
 
+    // Associations the list mapper reads, fetched in the same query as the page
+    public static final String LIST_GRAPH = "BillOfMaterial.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_bom")
@@ -1,13 +1,18 @@
 package com.protocol.supplychainx.production.entity;
 
+import com.protocol.supplychainx.config.cache.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.PRODUCT_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,10 +37,16 @@ public class Product {
     @Column(nullable = false)
     private Integer stock;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     private List<BillOfMaterial> billOfMaterials = new ArrayList<>();
 
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
     private List<ProductionOrder> productionOrders = new ArrayList<>();
@@ -5,9 +5,11 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.util.Set;
 
 @Entity
 @Table(name = "production_orders")
+@NamedEntityGraph(name = ProductionOrder.LIST_GRAPH, attributeNodes = @NamedAttributeNode("product"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,6 +17,9 @@ import java.time.LocalDate;
 @Builder
 public class ProductionOrder {
 
+    // Associations the list mapper reads, fetched in the same query as the page
+    public static final String LIST_GRAPH = "ProductionOrder.list";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id_production_order")
@@ -40,12 +45,31 @@ public class ProductionOrder {
     @Column(name = "is_priority", nullable = false)
     private Boolean isPriority;
 
+    /**
+     * Statuses in which an order can be cancelled: production not started
+     */
+    public static final Set<ProductionOrderStatus> CANCELLABLE_STATUSES = Set.of(ProductionOrderStatus.EN_ATTENTE);
+
     public boolean canBeCancelled() {
-        return status == ProductionOrderStatus.EN_ATTENTE;
+        return CANCELLABLE_STATUSES.contains(status);
     }
 
     public boolean isActive() {
         return status == ProductionOrderStatus.EN_ATTENTE 
             || status == ProductionOrderStatus.EN_PRODUCTION;
     }
+
+    /**
+     * Statuses an order can be moved to the given status from by a bulk transition: production starts from a
+     * waiting or blocked order, only an order in production finishes, only an active order gets blocked and a
+     * blocked one goes back to waiting
+     */
+    public static Set<ProductionOrderStatus> statusesBefore(ProductionOrderStatus status) {
+        return switch (status) {
+            case EN_ATTENTE -> Set.of(ProductionOrderStatus.BLOQUE);
+            case EN_PRODUCTION -> Set.of(ProductionOrderStatus.EN_ATTENTE, ProductionOrderStatus.BLOQUE);
+            case TERMINE -> Set.of(ProductionOrderStatus.EN_PRODUCTION);
+            case BLOQUE -> Set.of(ProductionOrderStatus.EN_ATTENTE, ProductionOrderStatus.EN_PRODUCTION);
+        };
+    }
 }
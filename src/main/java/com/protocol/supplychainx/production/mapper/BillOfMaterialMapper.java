@@ -2,6 +2,7 @@ package com.protocol.supplychainx.production.mapper;
 
 import com.protocol.supplychainx.production.dto.BillOfMaterialDTO;
 import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.repository.projection.BillOfMaterialView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -15,6 +16,9 @@ public interface BillOfMaterialMapper {
     @Mapping(target = "materialAvailable", expression = "java(billOfMaterial.isMaterialAvailable())")
     BillOfMaterialDTO toDTO(BillOfMaterial billOfMaterial);
 
+    @Mapping(target = "materialAvailable", expression = "java(billOfMaterialView.materialStock() != null && billOfMaterialView.materialStock() >= billOfMaterialView.quantity())")
+    BillOfMaterialDTO toDTO(BillOfMaterialView billOfMaterialView);
+
     @Mapping(target = "product", ignore = true)
     @Mapping(target = "material", ignore = true)
     BillOfMaterial toEntity(BillOfMaterialDTO billOfMaterialDTO);
@@ -20,6 +20,7 @@ public interface ProductMapper {
 
     @Mapping(target = "billOfMaterials", ignore = true)
     @Mapping(target = "productionOrders", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Product toEntity(ProductDTO productDTO);
 
     @Named("billOfMaterialsToIds")
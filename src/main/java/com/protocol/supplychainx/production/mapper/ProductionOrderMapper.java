@@ -2,6 +2,7 @@ package com.protocol.supplychainx.production.mapper;
 
 import com.protocol.supplychainx.production.dto.ProductionOrderDTO;
 import com.protocol.supplychainx.production.entity.ProductionOrder;
+import com.protocol.supplychainx.production.repository.projection.ProductionOrderView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -14,6 +15,10 @@ public interface ProductionOrderMapper {
     @Mapping(target = "materialsAvailable", ignore = true)
     ProductionOrderDTO toDTO(ProductionOrder productionOrder);
 
+    @Mapping(target = "estimatedProductionTime", expression = "java(productionOrderView.productionTime() == null ? null : productionOrderView.productionTime() * productionOrderView.quantity())")
+    @Mapping(target = "materialsAvailable", ignore = true)
+    ProductionOrderDTO toDTO(ProductionOrderView productionOrderView);
+
     @Mapping(target = "product", ignore = true)
     ProductionOrder toEntity(ProductionOrderDTO productionOrderDTO);
 
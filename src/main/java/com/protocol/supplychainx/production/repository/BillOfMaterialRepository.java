@@ -1,18 +1,50 @@
 package com.protocol.supplychainx.production.repository;
 
 import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.repository.projection.BillOfMaterialView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BillOfMaterialRepository extends JpaRepository<BillOfMaterial, Long> {
+    @Override
+    @EntityGraph(BillOfMaterial.LIST_GRAPH)
+    Page<BillOfMaterial> findAll(Pageable pageable);
+
     List<BillOfMaterial> findByProductIdProduct(Long productId);
+    @EntityGraph(BillOfMaterial.LIST_GRAPH)
     Page<BillOfMaterial> findByProductIdProduct(Long productId, Pageable pageable);
     List<BillOfMaterial> findByMaterialIdMaterial(Long materialId);
     boolean existsByProductIdProductAndMaterialIdMaterial(Long productId, Long materialId);
     void deleteByProductIdProduct(Long productId);
+
+    // Read endpoints: one statement per request, rows are not managed by the persistence context
+    String SELECT_VIEW = "SELECT new com.protocol.supplychainx.production.repository.projection.BillOfMaterialView("
+            + "b.idBOM, p.idProduct, p.name, m.idMaterial, m.name, m.stock, b.quantity) "
+            + "FROM BillOfMaterial b JOIN b.product p JOIN b.material m";
+
+    @Query(SELECT_VIEW + " WHERE b.idBOM = :id")
+    Optional<BillOfMaterialView> findViewById(@Param("id") Long id);
+
+    @Query(value = SELECT_VIEW, countQuery = "SELECT COUNT(b) FROM BillOfMaterial b")
+    Page<BillOfMaterialView> findAllViews(Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE p.idProduct = :productId")
+    List<BillOfMaterialView> findViewsByProduct(@Param("productId") Long productId);
+
+    @Query(value = SELECT_VIEW + " WHERE p.idProduct = :productId",
+            countQuery = "SELECT COUNT(b) FROM BillOfMaterial b WHERE b.product.idProduct = :productId")
+    Page<BillOfMaterialView> findViewsByProduct(@Param("productId") Long productId, Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE b.idBOM IN :ids")
+    List<BillOfMaterialView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
 }
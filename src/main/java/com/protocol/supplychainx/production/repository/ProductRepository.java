@@ -1,16 +1,37 @@
 package com.protocol.supplychainx.production.repository;
 
 import com.protocol.supplychainx.production.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Product> findByName(String name);
     boolean existsByName(String name);
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    // Relative update for the hot stock flush, which must not overwrite the rest of the row; bumping the version
+    // makes a concurrent save of the same product fail on its stale stock instead of writing it back
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta, p.version = p.version + 1 WHERE p.idProduct = :id")
+    int addStock(@Param("id") Long id, @Param("delta") int delta);
+
+    // Batch get: the bill of materials in the same statement, production orders by @BatchSize
+    @EntityGraph(attributePaths = "billOfMaterials")
+    @Query("SELECT p FROM Product p WHERE p.idProduct IN :ids")
+    List<Product> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,19 +2,80 @@ package com.protocol.supplychainx.production.repository;
 
 import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
 import com.protocol.supplychainx.production.entity.ProductionOrder;
+import com.protocol.supplychainx.production.repository.projection.ProductionOrderView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductionOrderRepository extends JpaRepository<ProductionOrder, Long> {
+    @Override
+    @EntityGraph(ProductionOrder.LIST_GRAPH)
+    Page<ProductionOrder> findAll(Pageable pageable);
+
+    @EntityGraph(ProductionOrder.LIST_GRAPH)
     Page<ProductionOrder> findByStatus(ProductionOrderStatus status, Pageable pageable);
+    @EntityGraph(ProductionOrder.LIST_GRAPH)
     Page<ProductionOrder> findByProductIdProduct(Long productId, Pageable pageable);
+    @EntityGraph(ProductionOrder.LIST_GRAPH)
     Page<ProductionOrder> findByIsPriorityTrue(Pageable pageable);
+    @EntityGraph(ProductionOrder.LIST_GRAPH)
     Page<ProductionOrder> findByStatusIn(List<ProductionOrderStatus> statuses, Pageable pageable);
     long countByProductIdProductAndStatusIn(Long productId, List<ProductionOrderStatus> statuses);
     List<ProductionOrder> findByProductIdProductAndStatus(Long productId, ProductionOrderStatus status);
+
+    // Read endpoints: one statement per request, rows are not managed by the persistence context
+    String SELECT_VIEW = "SELECT new com.protocol.supplychainx.production.repository.projection.ProductionOrderView("
+            + "po.idOrder, p.idProduct, p.name, p.productionTime, po.quantity, po.status, "
+            + "po.startDate, po.endDate, po.isPriority) "
+            + "FROM ProductionOrder po JOIN po.product p";
+
+    @Query(SELECT_VIEW + " WHERE po.idOrder = :id")
+    Optional<ProductionOrderView> findViewById(@Param("id") Long id);
+
+    @Query(value = SELECT_VIEW, countQuery = "SELECT COUNT(po) FROM ProductionOrder po")
+    Page<ProductionOrderView> findAllViews(Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE po.status = :status",
+            countQuery = "SELECT COUNT(po) FROM ProductionOrder po WHERE po.status = :status")
+    Page<ProductionOrderView> findViewsByStatus(@Param("status") ProductionOrderStatus status, Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE p.idProduct = :productId",
+            countQuery = "SELECT COUNT(po) FROM ProductionOrder po WHERE po.product.idProduct = :productId")
+    Page<ProductionOrderView> findViewsByProduct(@Param("productId") Long productId, Pageable pageable);
+
+    @Query(value = SELECT_VIEW + " WHERE po.isPriority = true",
+            countQuery = "SELECT COUNT(po) FROM ProductionOrder po WHERE po.isPriority = true")
+    Page<ProductionOrderView> findPriorityViews(Pageable pageable);
+
+    @Query(SELECT_VIEW + " WHERE po.idOrder IN :ids")
+    List<ProductionOrderView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bulk transitions: the orders among ids whose status allows the move, locked until the transition commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po.idOrder FROM ProductionOrder po WHERE po.idOrder IN :ids AND po.status IN :statuses")
+    List<Long> lockIdsByStatusIn(@Param("ids") Collection<Long> ids,
+                                 @Param("statuses") Collection<ProductionOrderStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE ProductionOrder po SET po.status = :status WHERE po.idOrder IN :ids AND po.status IN :statuses")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("statuses") Collection<ProductionOrderStatus> statuses,
+                     @Param("status") ProductionOrderStatus status);
+
+    @Modifying
+    @Query("DELETE FROM ProductionOrder po WHERE po.idOrder IN :ids AND po.status IN :statuses")
+    int deleteByStatusIn(@Param("ids") Collection<Long> ids,
+                         @Param("statuses") Collection<ProductionOrderStatus> statuses);
 }
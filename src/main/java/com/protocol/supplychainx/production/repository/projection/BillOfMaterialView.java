@@ -0,0 +1,16 @@
+package com.protocol.supplychainx.production.repository.projection;
+
+/**
+ * Read-only row for bill of material GET endpoints. Carries the material's stock so availability
+ * can be computed without loading the material.
+ */
+public record BillOfMaterialView(
+        Long idBOM,
+        Long productId,
+        String productName,
+        Long materialId,
+        String materialName,
+        Integer materialStock,
+        Integer quantity
+) {
+}
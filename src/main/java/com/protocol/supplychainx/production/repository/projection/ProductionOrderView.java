@@ -0,0 +1,22 @@
+package com.protocol.supplychainx.production.repository.projection;
+
+import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only row for production order GET endpoints. Carries the product's production time so the
+ * estimated time can be computed without loading the product.
+ */
+public record ProductionOrderView(
+        Long idOrder,
+        Long productId,
+        String productName,
+        Integer productionTime,
+        Integer quantity,
+        ProductionOrderStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        Boolean isPriority
+) {
+}
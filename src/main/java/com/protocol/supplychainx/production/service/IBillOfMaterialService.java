@@ -1,5 +1,6 @@
 package com.protocol.supplychainx.production.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.production.dto.BillOfMaterialDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +14,8 @@ public interface IBillOfMaterialService {
     BillOfMaterialDTO updateBillOfMaterial(Long id, BillOfMaterialDTO billOfMaterialDTO);
     
     BillOfMaterialDTO getBillOfMaterialById(Long id);
+
+    List<BatchGetItemDTO<BillOfMaterialDTO>> getBillOfMaterialsByIds(List<Long> ids);
     
     Page<BillOfMaterialDTO> getAllBillOfMaterials(Pageable pageable);
     
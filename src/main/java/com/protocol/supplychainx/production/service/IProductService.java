@@ -1,9 +1,12 @@
 package com.protocol.supplychainx.production.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.production.dto.ProductDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface IProductService {
     
     ProductDTO createProduct(ProductDTO productDTO);
@@ -11,6 +14,8 @@ public interface IProductService {
     ProductDTO updateProduct(Long id, ProductDTO productDTO);
     
     ProductDTO getProductById(Long id);
+
+    List<BatchGetItemDTO<ProductDTO>> getProductsByIds(List<Long> ids);
     
     Page<ProductDTO> getAllProducts(Pageable pageable);
     
@@ -1,10 +1,14 @@
 package com.protocol.supplychainx.production.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
 import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
 import com.protocol.supplychainx.production.dto.ProductionOrderDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface IProductionOrderService {
     
     ProductionOrderDTO createProductionOrder(ProductionOrderDTO productionOrderDTO);
@@ -12,6 +16,8 @@ public interface IProductionOrderService {
     ProductionOrderDTO updateProductionOrder(Long id, ProductionOrderDTO productionOrderDTO);
     
     ProductionOrderDTO getProductionOrderById(Long id);
+
+    List<BatchGetItemDTO<ProductionOrderDTO>> getProductionOrdersByIds(List<Long> ids);
     
     Page<ProductionOrderDTO> getAllProductionOrders(Pageable pageable);
     
@@ -22,8 +28,12 @@ public interface IProductionOrderService {
     Page<ProductionOrderDTO> getPriorityProductionOrders(Pageable pageable);
     
     ProductionOrderDTO updateOrderStatus(Long id, ProductionOrderStatus status);
+
+    BulkTransitionResultDTO updateOrderStatuses(List<Long> ids, ProductionOrderStatus status);
     
     void cancelProductionOrder(Long id);
+
+    BulkTransitionResultDTO cancelProductionOrders(List<Long> ids);
     
     Integer calculateEstimatedProductionTime(Long productId, Integer quantity);
 }
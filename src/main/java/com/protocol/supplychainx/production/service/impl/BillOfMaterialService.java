@@ -1,5 +1,6 @@
 package com.protocol.supplychainx.production.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.common.exceptions.production.BillOfMaterialNotFoundException;
 import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
 import com.protocol.supplychainx.common.exceptions.procurement.RawMaterialNotFoundException;
@@ -9,6 +10,7 @@ import com.protocol.supplychainx.production.entity.Product;
 import com.protocol.supplychainx.production.mapper.BillOfMaterialMapper;
 import com.protocol.supplychainx.production.repository.BillOfMaterialRepository;
 import com.protocol.supplychainx.production.repository.ProductRepository;
+import com.protocol.supplychainx.production.repository.projection.BillOfMaterialView;
 import com.protocol.supplychainx.procurement.entity.RawMaterial;
 import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
 import com.protocol.supplychainx.production.service.IBillOfMaterialService;
@@ -19,6 +21,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -74,18 +77,29 @@ public class BillOfMaterialService implements IBillOfMaterialService {
     public BillOfMaterialDTO getBillOfMaterialById(Long id) {
         log.info("Fetching Bill of Material with ID: {}", id);
 
-        BillOfMaterial billOfMaterial = billOfMaterialRepository.findById(id)
+        BillOfMaterialView billOfMaterial = billOfMaterialRepository.findViewById(id)
                 .orElseThrow(() -> new BillOfMaterialNotFoundException(id));
 
         return billOfMaterialMapper.toDTO(billOfMaterial);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<BillOfMaterialDTO>> getBillOfMaterialsByIds(List<Long> ids) {
+        log.info("Fetching {} bills of materials by ID", ids.size());
+
+        List<BillOfMaterialDTO> billOfMaterials = billOfMaterialRepository.findViewsByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(billOfMaterialMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, billOfMaterials, BillOfMaterialDTO::getIdBOM);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<BillOfMaterialDTO> getAllBillOfMaterials(Pageable pageable) {
         log.info("Fetching all Bills of Material with pagination");
 
-        Page<BillOfMaterial> billOfMaterials = billOfMaterialRepository.findAll(pageable);
+        Page<BillOfMaterialView> billOfMaterials = billOfMaterialRepository.findAllViews(pageable);
         return billOfMaterials.map(billOfMaterialMapper::toDTO);
     }
 
@@ -98,7 +112,7 @@ public class BillOfMaterialService implements IBillOfMaterialService {
             throw new ProductNotFoundException(productId);
         }
 
-        List<BillOfMaterial> billOfMaterials = billOfMaterialRepository.findByProductIdProduct(productId);
+        List<BillOfMaterialView> billOfMaterials = billOfMaterialRepository.findViewsByProduct(productId);
         return billOfMaterials.stream()
                 .map(billOfMaterialMapper::toDTO)
                 .collect(Collectors.toList());
@@ -113,7 +127,7 @@ public class BillOfMaterialService implements IBillOfMaterialService {
             throw new ProductNotFoundException(productId);
         }
 
-        Page<BillOfMaterial> billOfMaterials = billOfMaterialRepository.findByProductIdProduct(productId, pageable);
+        Page<BillOfMaterialView> billOfMaterials = billOfMaterialRepository.findViewsByProduct(productId, pageable);
         return billOfMaterials.map(billOfMaterialMapper::toDTO);
     }
 
@@ -1,14 +1,26 @@
 package com.protocol.supplychainx.production.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
 import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import com.protocol.supplychainx.common.exceptions.delivery.InsufficientProductStockException;
 import com.protocol.supplychainx.common.exceptions.production.ProductHasActiveOrdersException;
 import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
+import com.protocol.supplychainx.config.aop.RetryOnConflict;
+import com.protocol.supplychainx.hotstock.service.HotStockService;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
 import com.protocol.supplychainx.production.dto.ProductDTO;
 import com.protocol.supplychainx.production.entity.Product;
 import com.protocol.supplychainx.production.mapper.ProductMapper;
 import com.protocol.supplychainx.production.repository.ProductRepository;
 import com.protocol.supplychainx.production.repository.ProductionOrderRepository;
 import com.protocol.supplychainx.production.service.IProductService;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,6 +29,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +42,10 @@ public class ProductService implements IProductService {
     private final ProductRepository productRepository;
     private final ProductionOrderRepository productionOrderRepository;
     private final ProductMapper productMapper;
+    private final DomainEventOutboxService domainEventOutboxService;
+    private final StockLedgerService stockLedgerService;
+    private final HotStockService hotStockService;
+    private final SearchIndexService searchIndexService;
 
     @Override
     public ProductDTO createProduct(ProductDTO productDTO) {
@@ -36,10 +55,15 @@ public class ProductService implements IProductService {
         Product savedProduct = productRepository.save(product);
 
         log.info("Product created successfully with ID: {}", savedProduct.getIdProduct());
+        searchIndexService.index(SearchDocumentType.PRODUCT, savedProduct.getIdProduct(), savedProduct.getName());
+        domainEventOutboxService.recordStock(savedProduct);
+        stockLedgerService.record(StockItemType.PRODUCT, savedProduct.getIdProduct(), savedProduct.getStock(),
+                StockMovementReason.ITEM_CREATED, null);
         return productMapper.toDTO(savedProduct);
     }
 
     @Override
+    @RetryOnConflict
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         log.info("Updating product with ID: {}", id);
 
@@ -49,9 +73,31 @@ public class ProductService implements IProductService {
         existingProduct.setName(productDTO.getName());
         existingProduct.setProductionTime(productDTO.getProductionTime());
         existingProduct.setCost(productDTO.getCost());
+        searchIndexService.index(SearchDocumentType.PRODUCT, id, existingProduct.getName());
+
+        // The stock of a hot product is the in-memory counter, its row is only updated by the flush
+        if (hotStockService.isHot(id)) {
+            Product updatedProduct = productRepository.save(existingProduct);
+            int delta = productDTO.getStock() - hotStockService.available(id);
+            if (!hotStockService.tryApply(id, delta, StockMovementReason.MANUAL_ADJUSTMENT, null)) {
+                throw new InsufficientProductStockException(updatedProduct.getName(), hotStockService.available(id), -delta);
+            }
+            log.info("Product updated successfully with ID: {}", id);
+            ProductDTO updatedProductDTO = productMapper.toDTO(updatedProduct);
+            updatedProductDTO.setStock(productDTO.getStock());
+            return updatedProductDTO;
+        }
+
+        int previousStock = existingProduct.getStock();
+        boolean stockChanged = !Objects.equals(existingProduct.getStock(), productDTO.getStock());
         existingProduct.setStock(productDTO.getStock());
 
         Product updatedProduct = productRepository.save(existingProduct);
+        if (stockChanged) {
+            domainEventOutboxService.recordStock(updatedProduct);
+            stockLedgerService.record(StockItemType.PRODUCT, id, updatedProduct.getStock() - previousStock,
+                    StockMovementReason.MANUAL_ADJUSTMENT, null);
+        }
 
         log.info("Product updated successfully with ID: {}", id);
         return productMapper.toDTO(updatedProduct);
@@ -68,6 +114,17 @@ public class ProductService implements IProductService {
         return productMapper.toDTO(product);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<ProductDTO>> getProductsByIds(List<Long> ids) {
+        log.info("Fetching {} products by ID", ids.size());
+
+        List<ProductDTO> products = productRepository.findWithDetailsByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(productMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, products, ProductDTO::getIdProduct);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProductDTO> getAllProducts(Pageable pageable) {
@@ -82,7 +139,10 @@ public class ProductService implements IProductService {
     public Page<ProductDTO> searchProductsByName(String name, Pageable pageable) {
         log.info("Searching products by name: {}", name);
 
-        Page<Product> products = productRepository.findByNameContainingIgnoreCase(name, pageable);
+        Page<Product> products = searchIndexService.searchIds(SearchDocumentType.PRODUCT, name, pageable)
+                .map(ids -> SearchIndexService.inIdOrder(ids, productRepository.findWithDetailsByIdIn(ids.getContent()),
+                        Product::getIdProduct))
+                .orElseGet(() -> productRepository.findByNameContainingIgnoreCase(name, pageable));
         return products.map(productMapper::toDTO);
     }
 
@@ -90,9 +150,9 @@ public class ProductService implements IProductService {
     public void deleteProduct(Long id) {
         log.info("Attempting to delete product with ID: {}", id);
 
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException(id);
-        }
+        // Loaded rather than checked for existence: the remaining stock is written off in the ledger
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
 
         long activeOrdersCount = productionOrderRepository.countByProductIdProductAndStatusIn(
                 id,
@@ -104,8 +164,12 @@ public class ProductService implements IProductService {
             throw new ProductHasActiveOrdersException(id, (int) activeOrdersCount);
         }
 
+        int remainingStock = hotStockService.isHot(id) ? hotStockService.available(id) : product.getStock();
         productRepository.deleteById(id);
+        searchIndexService.remove(SearchDocumentType.PRODUCT, id);
+        stockLedgerService.record(StockItemType.PRODUCT, id, -remainingStock, StockMovementReason.ITEM_DELETED, null);
         log.info("Product deleted successfully with ID: {}", id);
+        domainEventOutboxService.record(ChangeType.PRODUCT_STOCK, id, ChangeAction.DELETED, null);
     }
 
     @Override
@@ -1,10 +1,16 @@
 package com.protocol.supplychainx.production.service.impl;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
 import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
 import com.protocol.supplychainx.common.exceptions.production.InsufficientMaterialsException;
 import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
 import com.protocol.supplychainx.common.exceptions.production.ProductionOrderCannotBeCancelledException;
 import com.protocol.supplychainx.common.exceptions.production.ProductionOrderNotFoundException;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
 import com.protocol.supplychainx.production.dto.ProductionOrderDTO;
 import com.protocol.supplychainx.production.entity.BillOfMaterial;
 import com.protocol.supplychainx.production.entity.Product;
@@ -13,6 +19,7 @@ import com.protocol.supplychainx.production.mapper.ProductionOrderMapper;
 import com.protocol.supplychainx.production.repository.BillOfMaterialRepository;
 import com.protocol.supplychainx.production.repository.ProductRepository;
 import com.protocol.supplychainx.production.repository.ProductionOrderRepository;
+import com.protocol.supplychainx.production.repository.projection.ProductionOrderView;
 import com.protocol.supplychainx.production.service.IBillOfMaterialService;
 import com.protocol.supplychainx.production.service.IProductionOrderService;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +29,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,6 +45,8 @@ public class ProductionOrderService implements IProductionOrderService {
     private final BillOfMaterialRepository billOfMaterialRepository;
     private final ProductionOrderMapper productionOrderMapper;
     private final IBillOfMaterialService billOfMaterialService;
+    private final DomainMetrics domainMetrics;
+    private final DomainEventOutboxService domainEventOutboxService;
 
     @Override
     public ProductionOrderDTO createProductionOrder(ProductionOrderDTO productionOrderDTO) {
@@ -51,6 +62,7 @@ public class ProductionOrderService implements IProductionOrderService {
 
         if (!materialsAvailable) {
             String missingMaterials = getMissingMaterialsDetails(productionOrderDTO.getProductId(), productionOrderDTO.getQuantity());
+            domainMetrics.insufficientMaterials();
             throw new InsufficientMaterialsException(productionOrderDTO.getProductId(), missingMaterials);
         }
 
@@ -64,8 +76,10 @@ public class ProductionOrderService implements IProductionOrderService {
         ProductionOrder savedOrder = productionOrderRepository.save(productionOrder);
 
         log.info("Production order created successfully with ID: {}", savedOrder.getIdOrder());
+        domainMetrics.productionOrderCreated();
         ProductionOrderDTO resultDTO = productionOrderMapper.toDTO(savedOrder);
         resultDTO.setMaterialsAvailable(true);
+        domainEventOutboxService.record(ChangeType.PRODUCTION_ORDER, savedOrder.getIdOrder(), ChangeAction.CREATED, resultDTO);
         return resultDTO;
     }
 
@@ -85,7 +99,9 @@ public class ProductionOrderService implements IProductionOrderService {
         ProductionOrder updatedOrder = productionOrderRepository.save(existingOrder);
 
         log.info("Production order updated successfully with ID: {}", id);
-        return productionOrderMapper.toDTO(updatedOrder);
+        ProductionOrderDTO updatedOrderDTO = productionOrderMapper.toDTO(updatedOrder);
+        domainEventOutboxService.record(ChangeType.PRODUCTION_ORDER, id, ChangeAction.UPDATED, updatedOrderDTO);
+        return updatedOrderDTO;
     }
 
     @Override
@@ -93,26 +109,37 @@ public class ProductionOrderService implements IProductionOrderService {
     public ProductionOrderDTO getProductionOrderById(Long id) {
         log.info("Fetching production order with ID: {}", id);
 
-        ProductionOrder productionOrder = productionOrderRepository.findById(id)
+        ProductionOrderView productionOrder = productionOrderRepository.findViewById(id)
                 .orElseThrow(() -> new ProductionOrderNotFoundException(id));
 
         ProductionOrderDTO dto = productionOrderMapper.toDTO(productionOrder);
         
         boolean materialsAvailable = billOfMaterialService.checkMaterialsAvailability(
-                productionOrder.getProduct().getIdProduct(),
-                productionOrder.getQuantity()
+                productionOrder.productId(),
+                productionOrder.quantity()
         );
         dto.setMaterialsAvailable(materialsAvailable);
 
         return dto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<ProductionOrderDTO>> getProductionOrdersByIds(List<Long> ids) {
+        log.info("Fetching {} production orders by ID", ids.size());
+
+        List<ProductionOrderDTO> productionOrders = productionOrderRepository.findViewsByIdIn(new LinkedHashSet<>(ids)).stream()
+                .map(productionOrderMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, productionOrders, ProductionOrderDTO::getIdOrder);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProductionOrderDTO> getAllProductionOrders(Pageable pageable) {
         log.info("Fetching all production orders with pagination");
 
-        Page<ProductionOrder> orders = productionOrderRepository.findAll(pageable);
+        Page<ProductionOrderView> orders = productionOrderRepository.findAllViews(pageable);
         return orders.map(productionOrderMapper::toDTO);
     }
 
@@ -121,7 +148,7 @@ public class ProductionOrderService implements IProductionOrderService {
     public Page<ProductionOrderDTO> getProductionOrdersByStatus(ProductionOrderStatus status, Pageable pageable) {
         log.info("Fetching production orders by status: {}", status);
 
-        Page<ProductionOrder> orders = productionOrderRepository.findByStatus(status, pageable);
+        Page<ProductionOrderView> orders = productionOrderRepository.findViewsByStatus(status, pageable);
         return orders.map(productionOrderMapper::toDTO);
     }
 
@@ -134,7 +161,7 @@ public class ProductionOrderService implements IProductionOrderService {
             throw new ProductNotFoundException(productId);
         }
 
-        Page<ProductionOrder> orders = productionOrderRepository.findByProductIdProduct(productId, pageable);
+        Page<ProductionOrderView> orders = productionOrderRepository.findViewsByProduct(productId, pageable);
         return orders.map(productionOrderMapper::toDTO);
     }
 
@@ -143,7 +170,7 @@ public class ProductionOrderService implements IProductionOrderService {
     public Page<ProductionOrderDTO> getPriorityProductionOrders(Pageable pageable) {
         log.info("Fetching priority production orders");
 
-        Page<ProductionOrder> orders = productionOrderRepository.findByIsPriorityTrue(pageable);
+        Page<ProductionOrderView> orders = productionOrderRepository.findPriorityViews(pageable);
         return orders.map(productionOrderMapper::toDTO);
     }
 
@@ -158,7 +185,50 @@ public class ProductionOrderService implements IProductionOrderService {
         ProductionOrder updatedOrder = productionOrderRepository.save(productionOrder);
 
         log.info("Production order status updated successfully for ID: {}", id);
-        return productionOrderMapper.toDTO(updatedOrder);
+        ProductionOrderDTO updatedOrderDTO = productionOrderMapper.toDTO(updatedOrder);
+        domainEventOutboxService.record(ChangeType.PRODUCTION_ORDER, id, ChangeAction.UPDATED, updatedOrderDTO);
+        return updatedOrderDTO;
+    }
+
+    @Override
+    public BulkTransitionResultDTO updateOrderStatuses(List<Long> ids, ProductionOrderStatus status) {
+        log.info("Updating status of {} production orders to {}", ids.size(), status);
+
+        Set<ProductionOrderStatus> allowedStatuses = ProductionOrder.statusesBefore(status);
+        BulkTransitionResultDTO result = BulkTransitionResultDTO.inChunks(ids, chunk -> {
+            if (allowedStatuses.isEmpty()) {
+                return List.of();
+            }
+            List<Long> orderIds = productionOrderRepository.lockIdsByStatusIn(chunk, allowedStatuses);
+            if (orderIds.isEmpty()) {
+                return orderIds;
+            }
+            productionOrderRepository.updateStatus(orderIds, allowedStatuses, status);
+            productionOrderRepository.findViewsByIdIn(orderIds).forEach(order -> domainEventOutboxService.record(
+                    ChangeType.PRODUCTION_ORDER, order.idOrder(), ChangeAction.UPDATED, productionOrderMapper.toDTO(order)));
+            return orderIds;
+        });
+
+        log.info("{} production orders moved to {}, {} rejected", result.getTransitioned(), status, result.getRejectedIds().size());
+        return result;
+    }
+
+    @Override
+    public BulkTransitionResultDTO cancelProductionOrders(List<Long> ids) {
+        log.info("Cancelling {} production orders", ids.size());
+
+        BulkTransitionResultDTO result = BulkTransitionResultDTO.inChunks(ids, chunk -> {
+            List<Long> orderIds = productionOrderRepository.lockIdsByStatusIn(chunk, ProductionOrder.CANCELLABLE_STATUSES);
+            if (orderIds.isEmpty()) {
+                return orderIds;
+            }
+            productionOrderRepository.deleteByStatusIn(orderIds, ProductionOrder.CANCELLABLE_STATUSES);
+            orderIds.forEach(id -> domainEventOutboxService.record(ChangeType.PRODUCTION_ORDER, id, ChangeAction.DELETED, null));
+            return orderIds;
+        });
+
+        log.info("{} production orders cancelled, {} rejected", result.getTransitioned(), result.getRejectedIds().size());
+        return result;
     }
 
     @Override
@@ -175,6 +245,7 @@ public class ProductionOrderService implements IProductionOrderService {
 
         productionOrderRepository.deleteById(id);
         log.info("Production order cancelled successfully with ID: {}", id);
+        domainEventOutboxService.record(ChangeType.PRODUCTION_ORDER, id, ChangeAction.DELETED, null);
     }
 
     @Override
@@ -0,0 +1,145 @@
+package com.protocol.supplychainx.scheduler;
+
+import com.protocol.supplychainx.common.enums.JobRunOutcome;
+import com.protocol.supplychainx.scheduler.entity.ScheduledJobRun;
+import com.protocol.supplychainx.scheduler.service.ScheduledJobLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs a scheduled job on a single node of the cluster.
+ * The node that wins the lease runs the job while a heartbeat keeps renewing the lease;
+ * if that node dies the lease expires and the next trigger on any other node takes over.
+ * A finished job keeps its lease for scheduler.job-lock.min-hold-ms after it started, so that the same trigger
+ * firing slightly later on another node is skipped instead of running the job a second time.
+ * Every run executed here is recorded in scheduled_job_run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterJobRunner {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ScheduledJobLockService scheduledJobLockService;
+
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+
+    @Value("${scheduler.job-lock.enabled:true}")
+    private boolean lockEnabled;
+
+    @Value("${scheduler.job-lock.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${scheduler.job-lock.min-hold-ms:300000}")
+    private long minHoldMs;
+
+    @FunctionalInterface
+    public interface ClusterJob {
+        /**
+         * @return The number of rows processed, recorded in the run history
+         */
+        long run() throws Exception;
+    }
+
+    /**
+     * @return true if the job ran on this node, false if another node holds the lease
+     */
+    public boolean runExclusive(String jobName, ClusterJob job) {
+        if (lockEnabled && !tryAcquire(jobName)) {
+            log.info("Skipping job {}: lease held by another node", jobName);
+            return false;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        long rowsProcessed = 0;
+        JobRunOutcome outcome = JobRunOutcome.SUCCES;
+        String errorMessage = null;
+
+        try {
+            rowsProcessed = job.run();
+        } catch (Exception e) {
+            outcome = JobRunOutcome.ECHEC;
+            errorMessage = truncate(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            log.error("✗ Scheduled job {} failed", jobName, e);
+        } finally {
+            if (lockEnabled) {
+                heldLeases.remove(jobName);
+                release(jobName);
+            }
+        }
+
+        long durationMs = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        recordRun(ScheduledJobRun.builder()
+                .jobName(jobName)
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .durationMs(durationMs)
+                .rowsProcessed(rowsProcessed)
+                .outcome(outcome)
+                .errorMessage(errorMessage)
+                .build());
+        return true;
+    }
+
+    /**
+     * Heartbeat extending the lease of every job currently running on this node.
+     * Must fire well within scheduler.job-lock.lease-ms.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.job-lock.renew-interval-ms:20000}")
+    public void renewHeldLeases() {
+        for (String jobName : heldLeases) {
+            try {
+                if (!scheduledJobLockService.renew(jobName, leaseMs)) {
+                    log.error("Lease lost for job {}: another node may now run it concurrently", jobName);
+                    heldLeases.remove(jobName);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to renew lease for job {}", jobName, e);
+            }
+        }
+    }
+
+    private boolean tryAcquire(String jobName) {
+        try {
+            if (scheduledJobLockService.tryAcquire(jobName, leaseMs)) {
+                heldLeases.add(jobName);
+                log.debug("Lease acquired for job {} by node {}", jobName, scheduledJobLockService.getNodeId());
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("✗ Could not acquire lease for job {}", jobName, e);
+        }
+        return false;
+    }
+
+    private void release(String jobName) {
+        try {
+            scheduledJobLockService.release(jobName, minHoldMs);
+        } catch (Exception e) {
+            // The lease simply expires after lease-ms
+            log.warn("Failed to release lease for job {}", jobName, e);
+        }
+    }
+
+    private void recordRun(ScheduledJobRun run) {
+        try {
+            scheduledJobLockService.recordRun(run);
+        } catch (Exception e) {
+            log.warn("Failed to record run of job {}", run.getJobName(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,105 @@
+package com.protocol.supplychainx.scheduler;
+
+import com.protocol.supplychainx.scheduler.entity.EmailOutbox;
+import com.protocol.supplychainx.scheduler.service.EmailOutboxService;
+import com.protocol.supplychainx.scheduler.service.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Background dispatcher for the email outbox.
+ * Polls due emails and sends them on a bounded executor, so SMTP latency never blocks business code.
+ * The claimed batch is split across the email.outbox.concurrency workers and each worker sends its share in one
+ * SMTP session.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "email.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailService emailService;
+    private final TaskExecutor emailDispatchExecutor;
+
+    private final int concurrency;
+
+    @Value("${email.outbox.batch-size:20}")
+    private int batchSize;
+
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+                                 EmailService emailService,
+                                 @Qualifier("emailDispatchExecutor") TaskExecutor emailDispatchExecutor,
+                                 @Value("${email.outbox.concurrency:4}") int concurrency) {
+        this.emailOutboxService = emailOutboxService;
+        this.emailService = emailService;
+        this.emailDispatchExecutor = emailDispatchExecutor;
+        this.concurrency = concurrency;
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void dispatchPendingEmails() {
+        List<EmailOutbox> emails;
+        try {
+            emails = emailOutboxService.claimDueEmails(batchSize);
+        } catch (Exception e) {
+            log.error("Failed to claim emails from outbox", e);
+            return;
+        }
+
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        log.debug("Dispatching {} email(s) from outbox", emails.size());
+
+        int perWorker = (emails.size() + concurrency - 1) / concurrency;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += perWorker) {
+            List<EmailOutbox> share = emails.subList(from, Math.min(from + perWorker, emails.size()));
+            futures.add(CompletableFuture.runAsync(() -> deliver(share), emailDispatchExecutor));
+        }
+
+        // Wait for the batch so the next poll never overlaps with in-flight sends
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void deliver(List<EmailOutbox> emails) {
+        Map<Integer, Exception> failures;
+        try {
+            failures = emailService.sendHtmlEmails(emails.stream()
+                    .map(email -> new EmailService.HtmlEmail(email.getRecipientList(), email.getSubject(), email.getBody()))
+                    .toList());
+        } catch (Exception e) {
+            failures = new HashMap<>();
+            for (int i = 0; i < emails.size(); i++) {
+                failures.put(i, e);
+            }
+        }
+
+        for (int i = 0; i < emails.size(); i++) {
+            EmailOutbox email = emails.get(i);
+            Exception failure = failures.get(i);
+            try {
+                if (failure == null) {
+                    emailOutboxService.markSent(email.getIdEmail());
+                } else {
+                    String error = failure.getCause() != null ? failure.getCause().getMessage() : failure.getMessage();
+                    emailOutboxService.markFailed(email.getIdEmail(), error);
+                }
+            } catch (Exception e) {
+                log.error("Failed to record the outcome of email {}", email.getIdEmail(), e);
+            }
+        }
+    }
+}
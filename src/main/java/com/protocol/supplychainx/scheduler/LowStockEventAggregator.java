@@ -0,0 +1,103 @@
+package com.protocol.supplychainx.scheduler;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.procurement.event.LowStockEvent;
+import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects LowStockEvents published on stock mutations and sends them as debounced alert batches.
+ * A batch is flushed once no new shortage arrived for the quiet period, or when the oldest
+ * pending shortage has waited for the maximum delay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "scheduler.low-stock.enabled", havingValue = "true", matchIfMissing = true)
+public class LowStockEventAggregator {
+
+    private final RawMaterialRepository rawMaterialRepository;
+    private final LowStockAlertScheduler lowStockAlertScheduler;
+
+    // Keyed by material ID, so repeated crossings of the same material collapse into one alert line
+    private final Map<Long, LowStockEvent> pendingEvents = new ConcurrentHashMap<>();
+    private final AtomicLong firstEventAt = new AtomicLong(0);
+    private final AtomicLong lastEventAt = new AtomicLong(0);
+
+    @Value("${scheduler.low-stock.debounce.quiet-period-ms:60000}")
+    private long quietPeriodMs;
+
+    @Value("${scheduler.low-stock.debounce.max-delay-ms:300000}")
+    private long maxDelayMs;
+
+    // Only committed stock changes are reported
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLowStock(LowStockEvent event) {
+        long now = System.currentTimeMillis();
+        pendingEvents.put(event.getMaterialId(), event);
+        firstEventAt.compareAndSet(0, now);
+        lastEventAt.set(now);
+        log.debug("Low stock event queued for material ID: {} ({} pending)", event.getMaterialId(), pendingEvents.size());
+    }
+
+    // Read-write: the alert state and the outbox email are written in this transaction, on the primary
+    @Scheduled(fixedDelayString = "${scheduler.low-stock.debounce.check-interval-ms:5000}")
+    @Transactional
+    public void flushPendingAlerts() {
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean quiet = now - lastEventAt.get() >= quietPeriodMs;
+        boolean overdue = now - firstEventAt.get() >= maxDelayMs;
+        if (!quiet && !overdue) {
+            return;
+        }
+
+        List<Long> materialIds = drain();
+        if (materialIds.isEmpty()) {
+            return;
+        }
+
+        // Re-read current stock: materials replenished since the event are not reported
+        List<RawMaterial> stillLow = rawMaterialRepository.findAllById(materialIds).stream()
+                .filter(RawMaterial::isStockBelowMinimum)
+                .toList();
+
+        log.info("Flushing low stock batch: {} event(s), {} material(s) still below minimum",
+                materialIds.size(), stillLow.size());
+
+        if (!stillLow.isEmpty()) {
+            lowStockAlertScheduler.sendLowStockAlert(stillLow);
+        }
+    }
+
+    private List<Long> drain() {
+        firstEventAt.set(0);
+        List<Long> materialIds = new ArrayList<>();
+        for (Long materialId : pendingEvents.keySet()) {
+            if (pendingEvents.remove(materialId) != null) {
+                materialIds.add(materialId);
+            }
+        }
+        // Events that raced in during the drain start a new batch window
+        if (!pendingEvents.isEmpty()) {
+            firstEventAt.compareAndSet(0, System.currentTimeMillis());
+        }
+        return materialIds;
+    }
+}
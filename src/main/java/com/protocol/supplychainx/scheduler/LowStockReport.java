@@ -0,0 +1,368 @@
+package com.protocol.supplychainx.scheduler;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.scheduler.service.LowStockAlertStateService.AlertChange;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming low stock report.
+ * Materials are added one at a time: summary statistics are accumulated in a single pass and table rows,
+ * short then recovered, are rendered straight into the current email part, which is handed to the sender
+ * once it reaches rowsPerEmail rows. Memory use is bounded by one part, whatever the number of materials.
+ * Each part carries the materials it reports, so the sender can record their alert state along with it.
+ */
+class LowStockReport {
+
+    static final String SUBJECT = "⚠️ ALERTE STOCK CRITIQUE - SupplyChainX";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final int rowsPerEmail;
+    private final Consumer<Part> sender;
+    private final Statistics totalStatistics = new Statistics();
+    private int recoveredCount = 0;
+
+    private Statistics partStatistics = new Statistics();
+    private StringBuilder rows = new StringBuilder();
+    private StringBuilder recoveredRows = new StringBuilder();
+    private List<AlertChange> partAlerted = new ArrayList<>();
+    private List<RawMaterial> partRecovered = new ArrayList<>();
+    private int partNumber = 0;
+
+    /**
+     * One email of the report.
+     *
+     * @param alerted   Short materials listed in this email, empty for the summary
+     * @param recovered Recovered materials listed in this email, empty for the summary
+     */
+    record Part(String subject, String htmlBody, List<AlertChange> alerted, List<RawMaterial> recovered) {
+    }
+
+    LowStockReport(int rowsPerEmail, Consumer<Part> sender) {
+        this.rowsPerEmail = rowsPerEmail;
+        this.sender = sender;
+    }
+
+    void add(RawMaterial material) {
+        add(material, null);
+    }
+
+    /**
+     * @param previousDeficit Deficit reported by the last alert, null if the material is newly short
+     */
+    void add(RawMaterial material, Integer previousDeficit) {
+        int deficit = material.getStockMin() - material.getStock();
+        totalStatistics.record(deficit);
+        partStatistics.record(deficit);
+        appendRow(material, deficit, previousDeficit);
+        partAlerted.add(new AlertChange(material, previousDeficit));
+
+        if (getPartRowCount() >= rowsPerEmail) {
+            flushPart();
+        }
+    }
+
+    /**
+     * Lists a material that was previously alerted and is back at or above its minimum.
+     */
+    void addRecovered(RawMaterial material) {
+        recoveredCount++;
+        recoveredRows.append("<tr>")
+                .append("<td>").append(material.getIdMaterial()).append("</td>")
+                .append("<td><strong>").append(material.getName()).append("</strong></td>")
+                .append("<td>").append(material.getStock()).append("</td>")
+                .append("<td>").append(material.getStockMin()).append("</td>")
+                .append("<td>").append(material.getUnit()).append("</td>")
+                .append("</tr>");
+        partRecovered.add(material);
+
+        if (getPartRowCount() >= rowsPerEmail) {
+            flushPart();
+        }
+    }
+
+    /**
+     * Sends the remaining rows. A report that fits in one part is sent as a single email,
+     * otherwise a summary email with the global statistics follows the parts.
+     */
+    void finish() {
+        if (totalStatistics.count == 0 && recoveredCount == 0) {
+            return;
+        }
+
+        if (partNumber == 0) {
+            sender.accept(new Part(SUBJECT, renderPart(totalStatistics, null), partAlerted, partRecovered));
+            return;
+        }
+
+        if (getPartRowCount() > 0) {
+            flushPart();
+        }
+        sender.accept(new Part(SUBJECT + " (résumé)", renderSummary(), List.of(), List.of()));
+    }
+
+    int getMaterialCount() {
+        return totalStatistics.count;
+    }
+
+    long getTotalDeficit() {
+        return totalStatistics.totalDeficit;
+    }
+
+    int getRecoveredCount() {
+        return recoveredCount;
+    }
+
+    int getPartCount() {
+        return Math.max(partNumber, totalStatistics.count > 0 || recoveredCount > 0 ? 1 : 0);
+    }
+
+    private int getPartRowCount() {
+        return partStatistics.count + partRecovered.size();
+    }
+
+    private void flushPart() {
+        partNumber++;
+        sender.accept(new Part(SUBJECT + " (partie " + partNumber + ")",
+                renderPart(partStatistics, "Partie " + partNumber), partAlerted, partRecovered));
+        partStatistics = new Statistics();
+        rows = new StringBuilder();
+        recoveredRows = new StringBuilder();
+        partAlerted = new ArrayList<>();
+        partRecovered = new ArrayList<>();
+    }
+
+    private void appendRow(RawMaterial material, int deficit, Integer previousDeficit) {
+        String priorityClass;
+        String priorityText;
+
+        if (deficit > 50) {
+            priorityClass = "priority-high";
+            priorityText = "Haute";
+        } else if (deficit > 20) {
+            priorityClass = "priority-medium";
+            priorityText = "Moyenne";
+        } else {
+            priorityClass = "priority-low";
+            priorityText = "Basse";
+        }
+
+        rows.append("<tr>")
+                .append("<td>").append(material.getIdMaterial()).append("</td>")
+                .append("<td><strong>").append(material.getName()).append("</strong></td>")
+                .append("<td class='warning-value'>").append(material.getStock()).append("</td>")
+                .append("<td>").append(material.getStockMin()).append("</td>")
+                .append("<td>").append(material.getUnit()).append("</td>")
+                .append("<td class='warning-value deficit'>").append(deficit).append(" ").append(material.getUnit()).append("</td>")
+                .append("<td class='").append(priorityClass).append("'>").append(priorityText).append("</td>")
+                .append("<td>").append(previousDeficit == null ? "Nouveau" : "Aggravé (+" + (deficit - previousDeficit) + ")").append("</td>")
+                .append("</tr>");
+    }
+
+    private String renderPart(Statistics statistics, String partLabel) {
+        StringBuilder html = new StringBuilder(rows.length() + recoveredRows.length() + 8192);
+        appendHead(html);
+
+        if (partLabel != null) {
+            html.append("<p class='summary-title'>📄 ").append(partLabel).append("</p>");
+        }
+
+        if (statistics.count > 0) {
+            appendSummary(html, statistics);
+            appendTable(html);
+        }
+
+        appendRecovered(html);
+        appendFooter(html);
+        return html.toString();
+    }
+
+    private void appendTable(StringBuilder html) {
+        html.append("<table>")
+                .append("<thead>")
+                .append("<tr>")
+                .append("<th>ID</th>")
+                .append("<th>Nom de la Matière</th>")
+                .append("<th>Stock Actuel</th>")
+                .append("<th>Stock Minimum</th>")
+                .append("<th>Unité</th>")
+                .append("<th>Déficit</th>")
+                .append("<th>Priorité</th>")
+                .append("<th>Évolution</th>")
+                .append("</tr>")
+                .append("</thead>")
+                .append("<tbody>")
+                .append(rows)
+                .append("</tbody>")
+                .append("</table>");
+    }
+
+    private void appendRecovered(StringBuilder html) {
+        if (partRecovered.isEmpty()) {
+            return;
+        }
+
+        html.append("<h3 class='summary-title'>✅ Matières Revenues au Stock Minimum (").append(partRecovered.size()).append(")</h3>")
+                .append("<table>")
+                .append("<thead>")
+                .append("<tr>")
+                .append("<th>ID</th>")
+                .append("<th>Nom de la Matière</th>")
+                .append("<th>Stock Actuel</th>")
+                .append("<th>Stock Minimum</th>")
+                .append("<th>Unité</th>")
+                .append("</tr>")
+                .append("</thead>")
+                .append("<tbody>")
+                .append(recoveredRows)
+                .append("</tbody>")
+                .append("</table>");
+    }
+
+    private String renderSummary() {
+        StringBuilder html = new StringBuilder(8192);
+        appendHead(html);
+        appendSummary(html, totalStatistics);
+        if (recoveredCount > 0) {
+            html.append("<p><strong>").append(recoveredCount)
+                    .append("</strong> matières sont revenues au stock minimum.</p>");
+        }
+        html.append("<p>Le détail des matières est réparti sur <strong>").append(partNumber)
+                .append("</strong> emails, classés du déficit le plus élevé au plus faible.</p>");
+        appendFooter(html);
+        return html.toString();
+    }
+
+    private void appendHead(StringBuilder html) {
+        html.append("<!DOCTYPE html>")
+                .append("<html lang='fr'>")
+                .append("<head>")
+                .append("<meta charset='UTF-8'>")
+                .append("<meta name='viewport' content='width=device-width, initial-scale=1.0'>")
+                .append("<style>")
+                .append("@import url('https://fonts.googleapis.com/css2?family=Roboto:wght@300;400;500;700&display=swap');")
+                .append("body { font-family: 'Roboto', 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; color: #333; background-color: #f4f4f4; margin: 0; padding: 20px; }")
+                .append(".container { max-width: 800px; margin: 0 auto; background-color: white; border-radius: 8px; overflow: hidden; box-shadow: 0 4px 12px rgba(0,0,0,0.15); }")
+                .append(".header { background: linear-gradient(135deg, #d32f2f 0%, #f44336 100%); color: white; padding: 30px; text-align: center; position: relative; overflow: hidden; }")
+                .append(".header::before { content: ''; position: absolute; top: 0; left: 0; width: 100%; height: 100%; background: url('data:image/svg+xml,<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"100\" height=\"100\" viewBox=\"0 0 100 100\"><rect width=\"100\" height=\"100\" fill=\"none\"/><circle cx=\"50\" cy=\"50\" r=\"40\" fill=\"none\" stroke=\"rgba(255,255,255,0.1)\" stroke-width=\"0.5\"/></svg>') repeat; opacity: 0.2; }")
+                .append(".header h1 { margin: 0; font-size: 28px; font-weight: 600; position: relative; z-index: 1; }")
+                .append(".header p { margin: 10px 0 0 0; font-size: 14px; opacity: 0.9; position: relative; z-index: 1; }")
+                .append(".content { padding: 30px; }")
+                .append(".alert-box { background-color: #fff3cd; border-left: 5px solid #ffc107; padding: 15px; margin-bottom: 25px; border-radius: 4px; display: flex; align-items: center; }")
+                .append(".alert-icon { font-size: 24px; margin-right: 15px; }")
+                .append(".alert-box p { margin: 0; color: #856404; font-size: 16px; font-weight: 500; }")
+                .append("table { border-collapse: collapse; width: 100%; margin-top: 20px; background-color: white; border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.08); }")
+                .append("th { background-color: #d32f2f; color: white; padding: 14px; text-align: left; font-weight: 600; font-size: 14px; text-transform: uppercase; letter-spacing: 0.5px; }")
+                .append("td { border: 1px solid #e0e0e0; padding: 12px; font-size: 14px; }")
+                .append("tr:nth-child(even) { background-color: #f9f9f9; }")
+                .append("tr:hover { background-color: #f5f5f5; transition: background-color 0.3s ease; }")
+                .append(".warning-value { color: #d32f2f; font-weight: bold; }")
+                .append(".deficit { background-color: #ffebee; }")
+                .append(".action-box { background-color: #e3f2fd; border-left: 5px solid #2196f3; padding: 15px; margin-top: 25px; border-radius: 4px; }")
+                .append(".action-box strong { color: #1976d2; }")
+                .append(".footer { background-color: #f5f5f5; padding: 20px 30px; text-align: center; border-top: 1px solid #e0e0e0; }")
+                .append(".footer p { margin: 5px 0; color: #666; font-size: 12px; }")
+                .append(".stats { display: flex; justify-content: space-around; margin: 20px 0; }")
+                .append(".stat-item { text-align: center; padding: 15px; background-color: #f9f9f9; border-radius: 8px; flex: 1; margin: 0 10px; transition: transform 0.3s ease, box-shadow 0.3s ease; }")
+                .append(".stat-item:hover { transform: translateY(-5px); box-shadow: 0 6px 12px rgba(0,0,0,0.1); }")
+                .append(".stat-number { font-size: 32px; font-weight: bold; color: #d32f2f; margin: 0; }")
+                .append(".stat-label { font-size: 14px; color: #666; margin: 5px 0 0 0; }")
+                .append(".summary-box { background-color: #f8f9fa; border-radius: 8px; padding: 20px; margin-bottom: 25px; border: 1px solid #e9ecef; }")
+                .append(".summary-title { font-size: 18px; font-weight: 500; color: #495057; margin-top: 0; margin-bottom: 15px; }")
+                .append(".priority-high { color: #d32f2f; font-weight: bold; }")
+                .append(".priority-medium { color: #ff9800; font-weight: bold; }")
+                .append(".priority-low { color: #4caf50; font-weight: bold; }")
+                .append(".chart-container { height: 200px; margin: 20px 0; }")
+                .append("@media (max-width: 600px) { .stats { flex-direction: column; } .stat-item { margin: 10px 0; } }")
+                .append("</style>")
+                .append("</head>")
+                .append("<body>")
+                .append("<div class='container'>")
+                .append("<div class='header'>")
+                .append("<h1>⚠️ Alerte Stock Critique</h1>")
+                .append("<p>SupplyChainX - Système de Gestion de la Supply Chain</p>")
+                .append("<p>").append(LocalDateTime.now().format(FORMATTER)).append("</p>")
+                .append("</div>")
+                .append("<div class='content'>")
+                .append("<div class='alert-box'>")
+                .append("<div class='alert-icon'>⚠️</div>")
+                .append("<p>Attention : Des matières premières nécessitent un réapprovisionnement immédiat !</p>")
+                .append("</div>");
+    }
+
+    private void appendSummary(StringBuilder html, Statistics statistics) {
+        html.append("<div class='summary-box'>")
+                .append("<h3 class='summary-title'>📊 Résumé de l'Alerte</h3>")
+                .append("<p>Un total de <strong>").append(statistics.count).append("</strong> matières premières sont en stock critique avec un déficit total de <strong>").append(statistics.totalDeficit).append("</strong> unités.</p>")
+                .append("<p>Priorités : <span class='priority-high'>Haute (").append(statistics.highPriorityCount).append(")</span> | ")
+                .append("<span class='priority-medium'>Moyenne (").append(statistics.mediumPriorityCount).append(")</span> | ")
+                .append("<span class='priority-low'>Basse (").append(statistics.lowPriorityCount).append(")</span></p>")
+                .append("</div>");
+
+        html.append("<div class='stats'>")
+                .append("<div class='stat-item'>")
+                .append("<p class='stat-number'>").append(statistics.count).append("</p>")
+                .append("<p class='stat-label'>Matières en Alerte</p>")
+                .append("</div>")
+                .append("<div class='stat-item'>")
+                .append("<p class='stat-number'>").append(statistics.totalDeficit).append("</p>")
+                .append("<p class='stat-label'>Déficit Total</p>")
+                .append("</div>")
+                .append("<div class='stat-item'>")
+                .append("<p class='stat-number'>").append(statistics.highPriorityCount).append("</p>")
+                .append("<p class='stat-label'>Haute Priorité</p>")
+                .append("</div>")
+                .append("</div>");
+    }
+
+    private void appendFooter(StringBuilder html) {
+        html.append("<div class='action-box'>")
+                .append("<p><strong>📋 Actions Requises :</strong></p>")
+                .append("<ul style='margin: 10px 0; padding-left: 20px;'>")
+                .append("<li>Créer des commandes d'approvisionnement pour ces matières</li>")
+                .append("<li>Contacter les fournisseurs pour vérifier les délais de livraison</li>")
+                .append("<li>Prioriser les commandes selon l'urgence de production</li>")
+                .append("<li>Mettre à jour le système après création des commandes</li>")
+                .append("<li>Considérer des alternatives temporaires si nécessaire</li>")
+                .append("</ul>")
+                .append("</div>")
+                .append("</div>")
+                .append("<div class='footer'>")
+                .append("<p><strong>SupplyChainX</strong> - Système de Gestion de la Supply Chain</p>")
+                .append("<p>Cet email a été généré automatiquement par le système de surveillance des stocks.</p>")
+                .append("<p>Pour toute question, contactez le département d'approvisionnement.</p>")
+                .append("<p style='margin-top: 15px; color: #999;'>© 2025 SupplyChainX. Tous droits réservés.</p>")
+                .append("</div>")
+                .append("</div>")
+                .append("</body>")
+                .append("</html>");
+    }
+
+    /**
+     * Summary statistics, updated once per material.
+     */
+    private static final class Statistics {
+        private int count;
+        private long totalDeficit;
+        private int highPriorityCount;
+        private int mediumPriorityCount;
+        private int lowPriorityCount;
+
+        private void record(int deficit) {
+            count++;
+            totalDeficit += deficit;
+            if (deficit > 50) {
+                highPriorityCount++;
+            } else if (deficit > 20) {
+                mediumPriorityCount++;
+            } else {
+                lowPriorityCount++;
+            }
+        }
+    }
+}
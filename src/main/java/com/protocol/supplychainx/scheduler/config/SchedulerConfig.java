@@ -1,17 +1,31 @@
 package com.protocol.supplychainx.scheduler.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 /**
  * Configuration for Spring Scheduler
- * Configures a thread pool for scheduled tasks to run concurrently
+ * Configures a thread pool for scheduled tasks to run concurrently, or virtual threads when
+ * spring.threads.virtual.enabled is set on Java 21+
  */
 @Configuration
 public class SchedulerConfig implements SchedulingConfigurer {
 
+    private final Environment environment;
+
+    public SchedulerConfig(Environment environment) {
+        this.environment = environment;
+    }
+
     /**
      * Configure task scheduler with a thread pool
      * This allows multiple scheduled tasks to run concurrently without blocking each other
@@ -20,6 +34,11 @@ public class SchedulerConfig implements SchedulingConfigurer {
      */
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        // Spring Boot's own scheduler then runs each task on a new virtual thread (spring.task.scheduling.*)
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return;
+        }
+
         ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
         
         // Configure pool size (number of concurrent scheduled tasks)
@@ -43,4 +62,34 @@ public class SchedulerConfig implements SchedulingConfigurer {
         // Register the scheduler
         taskRegistrar.setTaskScheduler(taskScheduler);
     }
+
+    /**
+     * Bounded executor used by the email outbox dispatcher
+     * Limits the number of concurrent SMTP sessions regardless of the outbox backlog
+     *
+     * @param concurrency Maximum number of emails sent in parallel
+     * @return The email dispatch executor
+     */
+    @Bean(name = "emailDispatchExecutor")
+    public TaskExecutor emailDispatchExecutor(@Value("${email.outbox.concurrency:4}") int concurrency) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // One virtual thread per email; once the limit is reached the dispatcher blocks on submit instead of
+            // queueing, which is fine as it waits for the whole batch anyway
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("email-dispatch-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrency);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("email-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
 }
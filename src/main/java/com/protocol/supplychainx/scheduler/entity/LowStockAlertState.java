@@ -0,0 +1,30 @@
+package com.protocol.supplychainx.scheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last low stock alert sent for a material.
+ * The row exists while the material is known to be short and is removed once it has recovered.
+ */
+@Entity
+@Table(name = "low_stock_alert_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LowStockAlertState {
+
+    @Id
+    @Column(name = "material_id")
+    private Long materialId;
+
+    @Column(name = "last_alerted_deficit", nullable = false)
+    private Integer lastAlertedDeficit;
+
+    @Column(name = "last_alerted_at", nullable = false)
+    private LocalDateTime lastAlertedAt;
+}
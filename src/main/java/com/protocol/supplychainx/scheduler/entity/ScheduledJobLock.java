@@ -0,0 +1,31 @@
+package com.protocol.supplychainx.scheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduled_job_lock")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledJobLock {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    // Node currently holding the lease, null once released
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    // The lease can be taken over by any node after this instant
+    @Column(name = "lock_until", nullable = false)
+    private LocalDateTime lockUntil;
+}
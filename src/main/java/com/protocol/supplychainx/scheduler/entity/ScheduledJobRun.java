@@ -0,0 +1,47 @@
+package com.protocol.supplychainx.scheduler.entity;
+
+import com.protocol.supplychainx.common.enums.JobRunOutcome;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduled_job_run")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduledJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_run")
+    private Long idRun;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private Long durationMs;
+
+    @Column(name = "rows_processed", nullable = false)
+    private Long rowsProcessed;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobRunOutcome outcome;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
@@ -0,0 +1,41 @@
+package com.protocol.supplychainx.scheduler.repository;
+
+import com.protocol.supplychainx.common.enums.EmailOutboxStatus;
+import com.protocol.supplychainx.scheduler.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.idEmail FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") EmailOutboxStatus status,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    // Conditional update so that only one dispatcher (thread or node) can claim a given email
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :claimed, e.lockedAt = :now " +
+            "WHERE e.idEmail = :id AND e.status = :expected")
+    int claim(@Param("id") Long id,
+              @Param("expected") EmailOutboxStatus expected,
+              @Param("claimed") EmailOutboxStatus claimed,
+              @Param("now") LocalDateTime now);
+
+    // Emails left EN_COURS by a crashed dispatcher are handed back to the queue
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :pending, e.lockedAt = NULL " +
+            "WHERE e.status = :sending AND e.lockedAt < :lockedBefore")
+    int releaseStale(@Param("sending") EmailOutboxStatus sending,
+                     @Param("pending") EmailOutboxStatus pending,
+                     @Param("lockedBefore") LocalDateTime lockedBefore);
+
+    long countByStatus(EmailOutboxStatus status);
+}
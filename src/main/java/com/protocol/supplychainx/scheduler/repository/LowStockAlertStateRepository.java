@@ -0,0 +1,20 @@
+package com.protocol.supplychainx.scheduler.repository;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.scheduler.entity.LowStockAlertState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LowStockAlertStateRepository extends JpaRepository<LowStockAlertState, Long> {
+
+    // Materials that were alerted as short and are now back at or above their minimum, keyset-paged by ID
+    @Query("SELECT r FROM RawMaterial r, LowStockAlertState s WHERE r.idMaterial = s.materialId AND r.deficit <= 0 " +
+            "AND r.idMaterial > :afterId ORDER BY r.idMaterial")
+    List<RawMaterial> findRecoveredMaterialsAfter(@Param("afterId") long afterId, Pageable pageable);
+}
@@ -0,0 +1,50 @@
+package com.protocol.supplychainx.scheduler.repository;
+
+import com.protocol.supplychainx.scheduler.entity.ScheduledJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Lease operations use the database clock (NOW(3)) so that clock drift between nodes
+ * cannot make two of them believe they hold the same lease.
+ */
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduled_job_lock (job_name, lock_until) VALUES (:jobName, NOW(3))",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("jobName") String jobName);
+
+    // Only succeeds when the previous lease was released or has expired
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_lock " +
+            "SET locked_by = :nodeId, locked_at = NOW(3), lock_until = NOW(3) + INTERVAL :leaseMs * 1000 MICROSECOND " +
+            "WHERE job_name = :jobName AND lock_until <= NOW(3)",
+            nativeQuery = true)
+    int tryAcquire(@Param("jobName") String jobName,
+                   @Param("nodeId") String nodeId,
+                   @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_lock SET lock_until = NOW(3) + INTERVAL :leaseMs * 1000 MICROSECOND " +
+            "WHERE job_name = :jobName AND locked_by = :nodeId AND lock_until > NOW(3)",
+            nativeQuery = true)
+    int renew(@Param("jobName") String jobName,
+              @Param("nodeId") String nodeId,
+              @Param("leaseMs") long leaseMs);
+
+    // The lease stays taken until minHoldMs after it was acquired, so that a node whose trigger fires a little
+    // later does not run the same occurrence again
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_lock SET locked_by = NULL, " +
+            "lock_until = GREATEST(NOW(3), locked_at + INTERVAL :minHoldMs * 1000 MICROSECOND) " +
+            "WHERE job_name = :jobName AND locked_by = :nodeId",
+            nativeQuery = true)
+    int release(@Param("jobName") String jobName,
+                @Param("nodeId") String nodeId,
+                @Param("minHoldMs") long minHoldMs);
+}
@@ -0,0 +1,13 @@
+package com.protocol.supplychainx.scheduler.repository;
+
+import com.protocol.supplychainx.scheduler.entity.ScheduledJobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+    Page<ScheduledJobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+}
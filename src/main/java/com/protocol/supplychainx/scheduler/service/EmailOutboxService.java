@@ -0,0 +1,146 @@
+package com.protocol.supplychainx.scheduler.service;
+
+import com.protocol.supplychainx.common.enums.EmailOutboxStatus;
+import com.protocol.supplychainx.scheduler.entity.EmailOutbox;
+import com.protocol.supplychainx.scheduler.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable outbox for outgoing emails.
+ * Callers only insert a row; the actual SMTP work is done by the EmailOutboxDispatcher.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${email.outbox.lock-timeout-ms:600000}")
+    private long lockTimeoutMs;
+
+    public Long enqueueHtmlEmail(String to, String subject, String htmlBody) {
+        return enqueueHtmlEmail(new String[]{to}, subject, htmlBody);
+    }
+
+    public Long enqueueHtmlEmail(String[] to, String subject, String htmlBody) {
+        LocalDateTime now = LocalDateTime.now();
+
+        EmailOutbox email = EmailOutbox.builder()
+                .recipients(String.join(",", trimAll(to)))
+                .subject(subject)
+                .body(htmlBody)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+
+        EmailOutbox savedEmail = emailOutboxRepository.save(email);
+        log.debug("Email queued with ID: {} for {} recipient(s)", savedEmail.getIdEmail(), to.length);
+        return savedEmail.getIdEmail();
+    }
+
+    /**
+     * Claims up to batchSize due emails for sending.
+     * Each row is claimed with a conditional update, so concurrent dispatchers never send the same email twice.
+     */
+    public List<EmailOutbox> claimDueEmails(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+
+        int released = emailOutboxRepository.releaseStale(
+                EmailOutboxStatus.EN_COURS,
+                EmailOutboxStatus.EN_ATTENTE,
+                now.minus(Duration.ofMillis(lockTimeoutMs)));
+        if (released > 0) {
+            log.warn("Released {} email(s) stuck in sending state", released);
+        }
+
+        List<Long> dueIds = emailOutboxRepository.findDueIds(EmailOutboxStatus.EN_ATTENTE, now, PageRequest.of(0, batchSize));
+
+        List<Long> claimedIds = new ArrayList<>();
+        for (Long id : dueIds) {
+            if (emailOutboxRepository.claim(id, EmailOutboxStatus.EN_ATTENTE, EmailOutboxStatus.EN_COURS, now) == 1) {
+                claimedIds.add(id);
+            }
+        }
+
+        return claimedIds.isEmpty() ? List.of() : emailOutboxRepository.findAllById(claimedIds);
+    }
+
+    public void markSent(Long id) {
+        emailOutboxRepository.findById(id).ifPresent(email -> {
+            email.setStatus(EmailOutboxStatus.ENVOYE);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setSentAt(LocalDateTime.now());
+            email.setLockedAt(null);
+            email.setLastError(null);
+        });
+    }
+
+    public void markFailed(Long id, String error) {
+        emailOutboxRepository.findById(id).ifPresent(email -> {
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setLockedAt(null);
+            email.setLastError(truncate(error));
+
+            if (attempts >= maxAttempts) {
+                email.setStatus(EmailOutboxStatus.ECHEC);
+                log.error("Email ID: {} moved to dead letter after {} attempt(s): {}", id, attempts, error);
+            } else {
+                email.setStatus(EmailOutboxStatus.EN_ATTENTE);
+                email.setNextAttemptAt(LocalDateTime.now().plus(computeBackoff(attempts)));
+                log.warn("Email ID: {} failed (attempt {}/{}), next attempt at {}",
+                        id, attempts, maxAttempts, email.getNextAttemptAt());
+            }
+        });
+    }
+
+    /**
+     * Exponential backoff: initialBackoff * 2^(attempts - 1), capped at maxBackoff.
+     */
+    Duration computeBackoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = initialBackoffMs << shift;
+        if (delay <= 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return Duration.ofMillis(delay);
+    }
+
+    private static String[] trimAll(String[] values) {
+        String[] trimmed = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            trimmed[i] = values[i].trim();
+        }
+        return trimmed;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
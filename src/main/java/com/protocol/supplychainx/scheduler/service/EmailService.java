@@ -5,21 +5,33 @@ import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final SmtpTransportPool transportPool;
 
     @Value("${scheduler.low-stock.email-from:noreply@supplychainx.com}")
     private String fromEmail;
 
+    @Value("${email.smtp.pool.enabled:false}")
+    private boolean poolEnabled;
+
     public void sendSimpleEmail(String to, String subject, String body) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
@@ -46,7 +58,7 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(htmlBody, true); // true = HTML
 
-            mailSender.send(message);
+            send(message);
             log.info("HTML email sent successfully to: {}", to);
         } catch (MessagingException e) {
             log.error("Failed to send HTML email to: {}", to, e);
@@ -64,11 +76,79 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(htmlBody, true);
 
-            mailSender.send(message);
+            send(message);
             log.info("HTML email sent successfully to {} recipients", to.length);
         } catch (MessagingException e) {
             log.error("Failed to send HTML email to multiple recipients", e);
             throw new RuntimeException("Failed to send HTML email to multiple recipients", e);
         }
     }
+
+    /**
+     * Sends HTML emails in one SMTP session instead of one per email: on a pooled connection in pooled mode,
+     * on a single new connection otherwise
+     *
+     * @return The position in the list and the cause of each email that could not be sent
+     */
+    public Map<Integer, Exception> sendHtmlEmails(List<HtmlEmail> emails) {
+        Map<Integer, Exception> failures = new HashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(emails.size());
+        Map<MimeMessage, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            HtmlEmail email = emails.get(i);
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+                helper.setFrom(fromEmail);
+                helper.setTo(email.to());
+                helper.setSubject(email.subject());
+                helper.setText(email.htmlBody(), true);
+
+                messages.add(message);
+                positions.put(message, i);
+            } catch (MessagingException e) {
+                failures.put(i, e);
+            }
+        }
+
+        try {
+            send(messages);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                positions.values().forEach(position -> failures.put(position, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failures.put(positions.get(message), cause));
+        } catch (MailException e) {
+            // Raised before any message was sent, authentication for instance
+            positions.values().forEach(position -> failures.put(position, e));
+        }
+
+        log.info("HTML email batch sent: {} of {} delivered", emails.size() - failures.size(), emails.size());
+        return failures;
+    }
+
+    private void send(MimeMessage message) {
+        // Pooled mode reuses open SMTP connections instead of connecting per message
+        if (poolEnabled && transportPool.isAvailable()) {
+            transportPool.send(message);
+        } else {
+            mailSender.send(message);
+        }
+    }
+
+    private void send(List<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (poolEnabled && transportPool.isAvailable()) {
+            transportPool.send(messages);
+        } else {
+            // JavaMailSenderImpl sends an array of messages on one connection as well
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+        }
+    }
+
+    public record HtmlEmail(String[] to, String subject, String htmlBody) {
+    }
 }
@@ -0,0 +1,108 @@
+package com.protocol.supplychainx.scheduler.service;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.scheduler.entity.LowStockAlertState;
+import com.protocol.supplychainx.scheduler.repository.LowStockAlertStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers what was last alerted for each short material,
+ * so that low stock reports only contain what changed since the previous alert.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class LowStockAlertStateService {
+
+    private final LowStockAlertStateRepository lowStockAlertStateRepository;
+
+    /**
+     * A material to alert on, with the deficit of its previous alert (null if newly short).
+     */
+    public record AlertChange(RawMaterial material, Integer previousDeficit) {
+    }
+
+    /**
+     * Compares a batch of short materials with their stored state in a single pass.
+     * Nothing is written: the state of the materials returned is recorded by record, once they are reported.
+     *
+     * @param shortMaterials Materials currently below their minimum stock
+     * @return Materials that are newly short or whose deficit grew since their last alert
+     */
+    public List<AlertChange> findChanges(List<RawMaterial> shortMaterials) {
+        if (shortMaterials.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, LowStockAlertState> states = findStates(shortMaterials.stream().map(RawMaterial::getIdMaterial).toList());
+        List<AlertChange> changes = new ArrayList<>();
+
+        for (RawMaterial material : shortMaterials) {
+            LowStockAlertState state = states.get(material.getIdMaterial());
+            if (state == null) {
+                changes.add(new AlertChange(material, null));
+            } else if (material.getStockMin() - material.getStock() > state.getLastAlertedDeficit()) {
+                changes.add(new AlertChange(material, state.getLastAlertedDeficit()));
+            }
+        }
+
+        log.debug("{} of {} short material(s) changed since their last alert", changes.size(), shortMaterials.size());
+        return changes;
+    }
+
+    /**
+     * Records what one report email said: the deficit of each alerted material, and forgets recovered materials
+     * so that a future shortage is reported as new.
+     * Must run in the transaction that queues the email, so that a material is never marked as alerted
+     * by an email that was not sent.
+     */
+    public void record(List<AlertChange> alerted, List<RawMaterial> recovered) {
+        if (!alerted.isEmpty()) {
+            Map<Long, LowStockAlertState> states = findStates(alerted.stream()
+                    .map(change -> change.material().getIdMaterial()).toList());
+            LocalDateTime now = LocalDateTime.now();
+            List<LowStockAlertState> updatedStates = new ArrayList<>(alerted.size());
+
+            for (AlertChange change : alerted) {
+                RawMaterial material = change.material();
+                LowStockAlertState state = states.computeIfAbsent(material.getIdMaterial(),
+                        id -> LowStockAlertState.builder().materialId(id).build());
+                state.setLastAlertedDeficit(material.getStockMin() - material.getStock());
+                state.setLastAlertedAt(now);
+                updatedStates.add(state);
+            }
+            lowStockAlertStateRepository.saveAll(updatedStates);
+        }
+
+        if (!recovered.isEmpty()) {
+            lowStockAlertStateRepository.deleteAllByIdInBatch(recovered.stream().map(RawMaterial::getIdMaterial).toList());
+        }
+    }
+
+    /**
+     * Returns one page of the materials that were alerted as short and are now back at or above their minimum,
+     * by increasing ID.
+     *
+     * @param afterId ID of the last material of the previous page, 0 for the first page
+     */
+    public List<RawMaterial> findRecovered(long afterId, int pageSize) {
+        return lowStockAlertStateRepository.findRecoveredMaterialsAfter(afterId, PageRequest.of(0, pageSize));
+    }
+
+    private Map<Long, LowStockAlertState> findStates(List<Long> materialIds) {
+        return lowStockAlertStateRepository.findAllById(materialIds).stream()
+                .collect(Collectors.toMap(LowStockAlertState::getMaterialId, Function.identity()));
+    }
+}
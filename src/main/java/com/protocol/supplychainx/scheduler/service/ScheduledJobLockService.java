@@ -0,0 +1,69 @@
+package com.protocol.supplychainx.scheduler.service;
+
+import com.protocol.supplychainx.scheduler.entity.ScheduledJobRun;
+import com.protocol.supplychainx.scheduler.repository.ScheduledJobLockRepository;
+import com.protocol.supplychainx.scheduler.repository.ScheduledJobRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Database-backed lease lock for scheduled jobs.
+ * Each operation commits on its own so the lease is visible to other nodes immediately,
+ * independently of whatever transaction the job itself runs in.
+ */
+@Service
+@Slf4j
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class ScheduledJobLockService {
+
+    private final ScheduledJobLockRepository scheduledJobLockRepository;
+    private final ScheduledJobRunRepository scheduledJobRunRepository;
+    private final String nodeId;
+
+    public ScheduledJobLockService(ScheduledJobLockRepository scheduledJobLockRepository,
+                                   ScheduledJobRunRepository scheduledJobRunRepository,
+                                   @Value("${scheduler.job-lock.node-id:}") String configuredNodeId) {
+        this.scheduledJobLockRepository = scheduledJobLockRepository;
+        this.scheduledJobRunRepository = scheduledJobRunRepository;
+        this.nodeId = configuredNodeId.isBlank() ? defaultNodeId() : configuredNodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean tryAcquire(String jobName, long leaseMs) {
+        scheduledJobLockRepository.insertIfAbsent(jobName);
+        return scheduledJobLockRepository.tryAcquire(jobName, nodeId, leaseMs) > 0;
+    }
+
+    public boolean renew(String jobName, long leaseMs) {
+        return scheduledJobLockRepository.renew(jobName, nodeId, leaseMs) > 0;
+    }
+
+    public void release(String jobName, long minHoldMs) {
+        scheduledJobLockRepository.release(jobName, nodeId, minHoldMs);
+    }
+
+    public void recordRun(ScheduledJobRun run) {
+        run.setNodeId(nodeId);
+        scheduledJobRunRepository.save(run);
+    }
+
+    // Host name plus a random suffix, so a restarted node never inherits the lease of its previous life
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
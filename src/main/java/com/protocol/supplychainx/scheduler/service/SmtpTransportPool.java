@@ -0,0 +1,235 @@
+package com.protocol.supplychainx.scheduler.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of authenticated SMTP transports.
+ * Keeps connections open between sends so the TCP connect, STARTTLS handshake and AUTH
+ * are paid once per connection instead of once per message.
+ */
+@Component
+@Slf4j
+public class SmtpTransportPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingDeque<PooledTransport> idleTransports = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+
+    @Value("${email.smtp.pool.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${email.smtp.pool.validate-after-idle-ms:5000}")
+    private long validateAfterIdleMs;
+
+    @Value("${email.smtp.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${email.smtp.pool.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs;
+
+    public SmtpTransportPool(JavaMailSender mailSender,
+                             @Value("${email.smtp.pool.max-size:4}") int maxSize) {
+        // Pooling needs direct access to the mail session, only available on JavaMailSenderImpl
+        this.mailSender = mailSender instanceof JavaMailSenderImpl impl ? impl : null;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public boolean isAvailable() {
+        return mailSender != null;
+    }
+
+    /**
+     * Sends a message on a pooled connection.
+     * A connection that fails during the send is discarded, healthy connections go back to the pool.
+     */
+    public void send(MimeMessage message) {
+        PooledTransport pooled = borrow();
+        boolean broken = true;
+        try {
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.messagesSent++;
+            broken = false;
+        } catch (MessagingException e) {
+            throw new MailSendException("Failed to send message on pooled SMTP connection", e);
+        } finally {
+            release(pooled, broken);
+        }
+    }
+
+    /**
+     * Sends messages back to back on one pooled connection, the SMTP session of a batch.
+     * Moves to another connection when the current one fails or reaches max-messages-per-connection; when no
+     * connection can be opened the remaining messages fail without waiting for one each.
+     *
+     * @throws MailSendException With the messages that could not be sent, as JavaMailSender#send(MimeMessage...)
+     */
+    public void send(List<MimeMessage> messages) {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport pooled = null;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                MimeMessage message = messages.get(i);
+                if (pooled == null) {
+                    try {
+                        pooled = borrow();
+                    } catch (MailSendException | IllegalStateException e) {
+                        messages.subList(i, messages.size()).forEach(unsent -> failedMessages.put(unsent, e));
+                        break;
+                    }
+                }
+                try {
+                    message.saveChanges();
+                    pooled.transport.sendMessage(message, message.getAllRecipients());
+                    pooled.messagesSent++;
+                    if (pooled.messagesSent >= maxMessagesPerConnection) {
+                        release(pooled, false);
+                        pooled = null;
+                    }
+                } catch (MessagingException e) {
+                    failedMessages.put(message, e);
+                    release(pooled, true);
+                    pooled = null;
+                }
+            }
+        } finally {
+            if (pooled != null) {
+                release(pooled, false);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${email.smtp.pool.eviction-interval-ms:30000}")
+    public void evictIdleTransports() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledTransport> iterator = idleTransports.iterator();
+        while (iterator.hasNext()) {
+            PooledTransport pooled = iterator.next();
+            if (now - pooled.lastUsedAt > idleTimeoutMs && idleTransports.remove(pooled)) {
+                close(pooled);
+            }
+        }
+    }
+
+    public int getIdleCount() {
+        return idleTransports.size();
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport pooled;
+        while ((pooled = idleTransports.poll()) != null) {
+            close(pooled);
+        }
+    }
+
+    private PooledTransport borrow() {
+        if (mailSender == null) {
+            throw new IllegalStateException("SMTP pooling requires a JavaMailSenderImpl");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("Timed out waiting for a pooled SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for a pooled SMTP connection", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            // Most recently used first, so rarely used connections age out
+            while ((pooled = idleTransports.pollFirst()) != null) {
+                if (isHealthy(pooled)) {
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return connect();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledTransport pooled, boolean broken) {
+        try {
+            if (broken || pooled.messagesSent >= maxMessagesPerConnection) {
+                close(pooled);
+            } else {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                idleTransports.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isHealthy(PooledTransport pooled) {
+        long idleFor = System.currentTimeMillis() - pooled.lastUsedAt;
+        if (idleFor > idleTimeoutMs) {
+            return false;
+        }
+        // Only ping (NOOP) connections that sat idle for a while, hot connections are trusted
+        return idleFor < validateAfterIdleMs || pooled.transport.isConnected();
+    }
+
+    private PooledTransport connect() {
+        try {
+            String protocol = mailSender.getProtocol();
+            if (protocol == null) {
+                protocol = mailSender.getSession().getProperty("mail.transport.protocol");
+            }
+            Transport transport = mailSender.getSession().getTransport(protocol != null ? protocol : "smtp");
+            transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            log.debug("Opened new pooled SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+            return new PooledTransport(transport);
+        } catch (MessagingException e) {
+            throw new MailSendException("Failed to open SMTP connection", e);
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error while closing pooled SMTP connection", e);
+        }
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedAt = System.currentTimeMillis();
+        private int messagesSent;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
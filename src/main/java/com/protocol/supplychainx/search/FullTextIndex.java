@@ -0,0 +1,458 @@
+package com.protocol.supplychainx.search;
+
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of short texts such as names, by document type and ID.
+ * Texts are split into lowercase tokens without accents. Each token lists the documents containing it, and each
+ * trigram of the padded token ("^" + token + "$") lists the tokens containing it, so that a query token is matched
+ * against the vocabulary rather than the documents: exactly, as a prefix, as a substring found through its
+ * trigrams, or within one or two typos found through the trigrams a misspelling still shares.
+ * A document matches when every query token matches one of its tokens; its score is the mean of the best match of
+ * each query token, plus a bonus when the query tokens appear next to each other in order.
+ */
+public final class FullTextIndex {
+
+    static final double EXACT_SCORE = 1.0;
+    static final double PREFIX_SCORE = 0.8;
+    static final double SUBSTRING_SCORE = 0.6;
+    static final double ONE_TYPO_SCORE = 0.4;
+    static final double TWO_TYPOS_SCORE = 0.2;
+    static final double PHRASE_BONUS = 0.5;
+
+    // Query tokens shorter than this only match exactly, by prefix or as a substring
+    private static final int ONE_TYPO_MIN_LENGTH = 4;
+    private static final int TWO_TYPOS_MIN_LENGTH = 8;
+    // A typo changes at most this many trigrams of a padded token (a transposition, counted as one typo)
+    private static final int TRIGRAMS_PER_TYPO = 4;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingInt(hit -> hit.label().length())
+            .thenComparing(Hit::label)
+            .thenComparing(Hit::type)
+            .thenComparingLong(Hit::id);
+
+    public record Hit(SearchDocumentType type, long id, String label, double score) {
+    }
+
+    /**
+     * @param hits  The requested slice of the ranking
+     * @param total Number of matching documents
+     */
+    public record Result(List<Hit> hits, long total) {
+    }
+
+    private record Key(SearchDocumentType type, long id) {
+    }
+
+    // phrase: the tokens in text order, separated by single spaces
+    private record Document(Key key, String label, Set<String> tokens, String phrase) {
+    }
+
+    // Ordinals of the documents containing a token, in no particular order
+    private static final class Postings {
+
+        private int[] ordinals = new int[2];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        private void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    ordinals[i] = ordinals[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    // Work arrays of one query, indexed by document ordinal and reused by later queries. A slot is only valid when
+    // its stamp is that of the current query token, so nothing is cleared between queries.
+    private static final class Scratch {
+
+        private int[] tokenStamps = new int[0];
+        private double[] tokenScores = new double[0];
+        // Stamp of the last query token the document matched, and the sum of its scores so far
+        private int[] matchedStamps = new int[0];
+        private double[] scores = new double[0];
+        private int[] candidates = new int[16];
+        private int stamp;
+
+        private void ensureCapacity(int documents) {
+            if (tokenStamps.length < documents) {
+                int capacity = Math.max(documents, tokenStamps.length * 2);
+                tokenStamps = Arrays.copyOf(tokenStamps, capacity);
+                tokenScores = Arrays.copyOf(tokenScores, capacity);
+                matchedStamps = Arrays.copyOf(matchedStamps, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+            }
+        }
+
+        private int nextStamp() {
+            if (stamp == Integer.MAX_VALUE) {
+                Arrays.fill(tokenStamps, 0);
+                Arrays.fill(matchedStamps, 0);
+                stamp = 0;
+            }
+            return ++stamp;
+        }
+
+        private void addCandidate(int position, int ordinal) {
+            if (position == candidates.length) {
+                candidates = Arrays.copyOf(candidates, position * 2);
+            }
+            candidates[position] = ordinal;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Documents by ordinal; the slot of a removed document is null until a new document reuses it
+    private Document[] documents = new Document[64];
+    private int ordinalLimit;
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<Key, Integer> ordinals = new HashMap<>();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final Queue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adds a document or replaces its text; a text without any letter or digit removes it
+     */
+    public void put(SearchDocumentType type, long id, String label) {
+        Key key = new Key(type, id);
+        List<String> tokens = tokenize(label);
+        lock.writeLock().lock();
+        try {
+            removeDocument(key);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            int ordinal = freeOrdinals.isEmpty() ? ordinalLimit++ : freeOrdinals.pop();
+            if (ordinal == documents.length) {
+                documents = Arrays.copyOf(documents, ordinal * 2);
+            }
+            Document document = new Document(key, label, new LinkedHashSet<>(tokens), String.join(" ", tokens));
+            documents[ordinal] = document;
+            ordinals.put(key, ordinal);
+            for (String token : document.tokens()) {
+                postings.computeIfAbsent(token, this::addToVocabulary).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchDocumentType type, long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(new Key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param query  Free text; a query without any letter or digit matches nothing
+     * @param types  Document types to search, all of them when empty
+     * @param offset Number of best hits to skip
+     * @param limit  Maximum number of hits returned
+     */
+    public Result search(String query, Set<SearchDocumentType> types, int offset, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        Set<String> distinctTokens = new LinkedHashSet<>(queryTokens);
+        String queryPhrase = String.join(" ", queryTokens);
+        boolean[] searchedTypes = new boolean[SearchDocumentType.values().length];
+        for (SearchDocumentType type : types.isEmpty() ? EnumSet.allOf(SearchDocumentType.class) : types) {
+            searchedTypes[type.ordinal()] = true;
+        }
+
+        Scratch scratch = Objects.requireNonNullElseGet(scratches.poll(), Scratch::new);
+        lock.readLock().lock();
+        try {
+            scratch.ensureCapacity(ordinalLimit);
+            int matchedStamp = 0;
+            int candidateCount = 0;
+            for (String queryToken : distinctTokens) {
+                int tokenStamp = scratch.nextStamp();
+                candidateCount = matchToken(queryToken, searchedTypes, scratch, tokenStamp, matchedStamp);
+                if (candidateCount == 0) {
+                    return new Result(List.of(), 0);
+                }
+                matchedStamp = tokenStamp;
+            }
+            return rank(scratch, candidateCount, distinctTokens.size(),
+                    queryTokens.size() > 1 ? queryPhrase : null, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+            scratches.offer(scratch);
+        }
+    }
+
+    /**
+     * Lowercase tokens of a text, without accents, in text order
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Adds the best score of queryToken to each document of the searched types that matched the previous query
+    // tokens (every document for the first one, when previousStamp is 0). The documents it matches are left in
+    // the candidates of the scratch, stamped with tokenStamp; returns their number.
+    private int matchToken(String queryToken, boolean[] searchedTypes, Scratch scratch, int tokenStamp,
+                           int previousStamp) {
+        int count = 0;
+        for (Map.Entry<String, Double> match : matchingTokens(queryToken).entrySet()) {
+            double score = match.getValue();
+            Postings tokenPostings = postings.get(match.getKey());
+            for (int i = 0; i < tokenPostings.size; i++) {
+                int ordinal = tokenPostings.ordinals[i];
+                if (previousStamp != 0 ? scratch.matchedStamps[ordinal] != previousStamp
+                        : !searchedTypes[documents[ordinal].key().type().ordinal()]) {
+                    continue;
+                }
+                if (scratch.tokenStamps[ordinal] != tokenStamp) {
+                    scratch.tokenStamps[ordinal] = tokenStamp;
+                    scratch.tokenScores[ordinal] = score;
+                    scratch.addCandidate(count++, ordinal);
+                } else if (score > scratch.tokenScores[ordinal]) {
+                    scratch.tokenScores[ordinal] = score;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int ordinal = scratch.candidates[i];
+            scratch.scores[ordinal] = (previousStamp != 0 ? scratch.scores[ordinal] : 0) + scratch.tokenScores[ordinal];
+            scratch.matchedStamps[ordinal] = tokenStamp;
+        }
+        return count;
+    }
+
+    // Keeps the offset + limit best candidates, the worst of them at the head of the queue
+    private Result rank(Scratch scratch, int candidateCount, int queryTokenCount, String queryPhrase, int offset,
+                        int limit) {
+        long wanted = (long) offset + limit;
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        for (int i = 0; i < candidateCount; i++) {
+            int ordinal = scratch.candidates[i];
+            Document document = documents[ordinal];
+            double score = scratch.scores[ordinal] / queryTokenCount;
+            if (queryPhrase != null && document.phrase().contains(queryPhrase)) {
+                score += PHRASE_BONUS;
+            }
+            if (best.size() == wanted && !ranksBefore(score, document, best.peek())) {
+                continue;
+            }
+            best.add(new Hit(document.key().type(), document.key().id(), document.label(), score));
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new Result(List.copyOf(page), candidateCount);
+    }
+
+    // RANKING without building a Hit, as most candidates of a common word are rejected here
+    private static boolean ranksBefore(double score, Document document, Hit worst) {
+        if (score != worst.score()) {
+            return score > worst.score();
+        }
+        if (document.label().length() != worst.label().length()) {
+            return document.label().length() < worst.label().length();
+        }
+        int byLabel = document.label().compareTo(worst.label());
+        if (byLabel != 0) {
+            return byLabel < 0;
+        }
+        if (document.key().type() != worst.type()) {
+            return document.key().type().compareTo(worst.type()) < 0;
+        }
+        return document.key().id() < worst.id();
+    }
+
+    // Tokens of the vocabulary matched by a query token, with the score of the best way they match
+    private Map<String, Double> matchingTokens(String queryToken) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.containsKey(queryToken)) {
+            matches.put(queryToken, EXACT_SCORE);
+        }
+        for (String token : postings.subMap(queryToken, false, queryToken + Character.MAX_VALUE, false).keySet()) {
+            matches.put(token, PREFIX_SCORE);
+        }
+
+        if (queryToken.length() < 3) {
+            // No trigram to look up: the vocabulary is scanned, it is much smaller than the documents
+            for (String token : postings.keySet()) {
+                if (token.contains(queryToken)) {
+                    matches.putIfAbsent(token, SUBSTRING_SCORE);
+                }
+            }
+        } else {
+            for (String token : tokensWithAll(trigramsOf(queryToken))) {
+                if (token.contains(queryToken)) {
+                    matches.putIfAbsent(token, SUBSTRING_SCORE);
+                }
+            }
+        }
+
+        int maxTypos = queryToken.length() >= TWO_TYPOS_MIN_LENGTH ? 2
+                : queryToken.length() >= ONE_TYPO_MIN_LENGTH ? 1 : 0;
+        if (maxTypos > 0) {
+            Set<String> queryTrigrams = trigramsOf("^" + queryToken + "$");
+            int minShared = Math.max(1, queryTrigrams.size() - TRIGRAMS_PER_TYPO * maxTypos);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                for (String token : trigrams.getOrDefault(trigram, Set.of())) {
+                    shared.merge(token, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                String token = candidate.getKey();
+                if (candidate.getValue() >= minShared && !matches.containsKey(token)
+                        && Math.abs(token.length() - queryToken.length()) <= maxTypos) {
+                    int typos = typos(queryToken, token, maxTypos);
+                    if (typos <= maxTypos) {
+                        matches.put(token, typos == 1 ? ONE_TYPO_SCORE : TWO_TYPOS_SCORE);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Tokens containing every given trigram, starting from the rarest one
+    private Collection<String> tokensWithAll(Set<String> wanted) {
+        List<Set<String>> lists = new ArrayList<>();
+        for (String trigram : wanted) {
+            Set<String> tokens = trigrams.get(trigram);
+            if (tokens == null) {
+                return List.of();
+            }
+            lists.add(tokens);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        List<String> result = new ArrayList<>();
+        for (String token : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(token);
+            }
+            if (inAll) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    // Called with the write lock held, for a token not yet in the vocabulary
+    private Postings addToVocabulary(String token) {
+        for (String trigram : trigramsOf("^" + token + "$")) {
+            trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(token);
+        }
+        return new Postings();
+    }
+
+    // Called with the write lock held
+    private void removeDocument(Key key) {
+        Integer ordinal = ordinals.remove(key);
+        if (ordinal == null) {
+            return;
+        }
+        Document document = documents[ordinal];
+        documents[ordinal] = null;
+        freeOrdinals.push(ordinal);
+        for (String token : document.tokens()) {
+            Postings tokenPostings = postings.get(token);
+            tokenPostings.remove(ordinal);
+            if (tokenPostings.size == 0) {
+                postings.remove(token);
+                for (String trigram : trigramsOf("^" + token + "$")) {
+                    Set<String> tokens = trigrams.get(trigram);
+                    tokens.remove(token);
+                    if (tokens.isEmpty()) {
+                        trigrams.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    // Edits (insertion, deletion, substitution or transposition of neighbours) turning a into b, or max + 1 when
+    // more than max are needed
+    static int typos(String a, String b, int max) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}
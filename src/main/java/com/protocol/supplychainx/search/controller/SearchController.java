@@ -0,0 +1,49 @@
+package com.protocol.supplychainx.search.controller;
+
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import com.protocol.supplychainx.config.aop.SecuredEndpoint;
+import com.protocol.supplychainx.search.dto.SearchHitDTO;
+import com.protocol.supplychainx.search.service.SearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search across products, raw materials, suppliers, customers, users and deliveries")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    @GetMapping
+    @SecuredEndpoint
+    @Operation(summary = "Search by name", description = "Ranked search of names (driver names for deliveries), tolerant to accents, partial words and typos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully")
+    })
+    public ResponseEntity<Page<SearchHitDTO>> search(
+            @Parameter(description = "Text to search") @RequestParam String q,
+            @Parameter(description = "Types to search, all of them when omitted") @RequestParam(required = false) List<SearchDocumentType> types,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        Set<SearchDocumentType> searchedTypes = types == null || types.isEmpty()
+                ? Set.of()
+                : EnumSet.copyOf(types);
+        Page<SearchHitDTO> hits = searchIndexService.search(q, searchedTypes, pageable);
+        return ResponseEntity.ok(hits);
+    }
+}
@@ -0,0 +1,23 @@
+package com.protocol.supplychainx.search.dto;
+
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import lombok.*;
+
+/**
+ * One result of the unified search: what was found, its indexed name and how well it matched the query
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHitDTO {
+
+    private SearchDocumentType type;
+
+    private Long id;
+
+    private String label;
+
+    private Double score;
+}
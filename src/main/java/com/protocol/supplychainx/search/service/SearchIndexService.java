@@ -0,0 +1,255 @@
+package com.protocol.supplychainx.search.service;
+
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import com.protocol.supplychainx.search.FullTextIndex;
+import com.protocol.supplychainx.search.dto.SearchHitDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text index of the names of products, raw materials, suppliers, customers and users, and of delivery drivers,
+ * replacing LIKE '%name%' scans that no index can serve.
+ * Services report their writes, applied to the index when their transaction commits. The index is built from the
+ * database once the application is ready and rebuilt every search.index.rebuild-interval-ms, which also picks up
+ * the writes of other instances and of anything bypassing the services; writes committed during a rebuild are
+ * replayed onto the new index before it replaces the current one.
+ * Until the first build completes the name searches of the services fall back to their LIKE query.
+ */
+@Service
+@Slf4j
+public class SearchIndexService {
+
+    static final String DOCUMENTS_METRIC = "supplychainx.search.documents";
+    private static final int LOAD_CHUNK = 5_000;
+
+    // The ID then the indexed columns of each document type, paged by ID
+    private record Source(SearchDocumentType type, String query) {
+    }
+
+    private static final List<Source> SOURCES = List.of(
+            new Source(SearchDocumentType.PRODUCT,
+                    "SELECT p.idProduct, p.name FROM Product p WHERE p.idProduct > :after ORDER BY p.idProduct"),
+            new Source(SearchDocumentType.RAW_MATERIAL,
+                    "SELECT m.idMaterial, m.name FROM RawMaterial m WHERE m.idMaterial > :after ORDER BY m.idMaterial"),
+            new Source(SearchDocumentType.SUPPLIER,
+                    "SELECT s.idSupplier, s.name FROM Supplier s WHERE s.idSupplier > :after ORDER BY s.idSupplier"),
+            new Source(SearchDocumentType.CUSTOMER,
+                    "SELECT c.idCustomer, c.name FROM Customer c WHERE c.idCustomer > :after ORDER BY c.idCustomer"),
+            new Source(SearchDocumentType.USER,
+                    "SELECT u.id, u.firstName, u.lastName FROM User u WHERE u.id > :after ORDER BY u.id"),
+            new Source(SearchDocumentType.DELIVERY,
+                    "SELECT d.idDelivery, d.driver FROM Delivery d WHERE d.idDelivery > :after ORDER BY d.idDelivery"));
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Serializes rebuilds; writes take updateLock, searches read the current index without locking here.
+    // Locks rather than synchronized, so request threads waiting on a write never pin a virtual thread carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile FullTextIndex index = new FullTextIndex();
+    private volatile boolean ready;
+    // Writes committed while a rebuild is loading, null when none is
+    private List<Consumer<FullTextIndex>> writesDuringRebuild;
+
+    public SearchIndexService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder(DOCUMENTS_METRIC, this, service -> service.index.size())
+                .description("Documents in the full-text search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes a document, or reindexes it, when the current transaction commits
+     *
+     * @param texts Indexed columns, null ones are skipped
+     */
+    public void index(SearchDocumentType type, Long id, String... texts) {
+        String label = label(texts);
+        afterCommit(target -> target.put(type, id, label));
+    }
+
+    /**
+     * Removes a document when the current transaction commits
+     */
+    public void remove(SearchDocumentType type, Long id) {
+        afterCommit(target -> target.remove(type, id));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ranked search over the given types, all of them when empty; builds the index first if it was never built
+     */
+    public Page<SearchHitDTO> search(String query, Set<SearchDocumentType> types, Pageable pageable) {
+        if (!ready) {
+            rebuildLock.lock();
+            try {
+                if (!ready) {
+                    build();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        FullTextIndex.Result result = index.search(query, types, (int) pageable.getOffset(), pageable.getPageSize());
+        List<SearchHitDTO> hits = result.hits().stream()
+                .map(hit -> SearchHitDTO.builder()
+                        .type(hit.type())
+                        .id(hit.id())
+                        .label(hit.label())
+                        .score(hit.score())
+                        .build())
+                .toList();
+        return new PageImpl<>(hits, pageable, result.total());
+    }
+
+    /**
+     * IDs of the best matches of one type, best first, or empty while the index is not built yet and for a query
+     * without any word, which LIKE answers with every row
+     */
+    public Optional<Page<Long>> searchIds(SearchDocumentType type, String query, Pageable pageable) {
+        if (!ready || FullTextIndex.tokenize(query).isEmpty()) {
+            return Optional.empty();
+        }
+        FullTextIndex.Result result = index.search(query, Set.of(type), (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = result.hits().stream().map(FullTextIndex.Hit::id).toList();
+        return Optional.of(new PageImpl<>(ids, pageable, result.total()));
+    }
+
+    /**
+     * Puts rows loaded by ID in the order of a page of searchIds; rows deleted since the search are left out
+     */
+    public static <T> Page<T> inIdOrder(Page<Long> ids, Collection<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval-ms:600000}",
+            initialDelayString = "${search.index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            build();
+        } catch (RuntimeException e) {
+            // The current index, or the LIKE queries before the first build, keep serving searches
+            log.error("Search index rebuild failed", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Called with rebuildLock held
+    private void build() {
+        long started = System.nanoTime();
+        updateLock.lock();
+        try {
+            writesDuringRebuild = new ArrayList<>();
+        } finally {
+            updateLock.unlock();
+        }
+        FullTextIndex rebuilt = new FullTextIndex();
+        try {
+            SOURCES.forEach(source -> load(source, rebuilt));
+        } catch (RuntimeException e) {
+            updateLock.lock();
+            try {
+                writesDuringRebuild = null;
+            } finally {
+                updateLock.unlock();
+            }
+            throw e;
+        }
+        updateLock.lock();
+        try {
+            writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+            writesDuringRebuild = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            updateLock.unlock();
+        }
+        log.info("Search index built with {} documents in {} ms", rebuilt.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void load(Source source, FullTextIndex target) {
+        long after = 0;
+        List<Object[]> rows;
+        do {
+            long from = after;
+            rows = readOnlyTransaction.execute(status -> entityManager.createQuery(source.query(), Object[].class)
+                    .setParameter("after", from)
+                    .setMaxResults(LOAD_CHUNK)
+                    .getResultList());
+            for (Object[] row : rows) {
+                String[] texts = Arrays.copyOfRange(row, 1, row.length, String[].class);
+                target.put(source.type(), ((Number) row[0]).longValue(), label(texts));
+            }
+            if (!rows.isEmpty()) {
+                after = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+            }
+        } while (rows.size() == LOAD_CHUNK);
+    }
+
+    private void afterCommit(Consumer<FullTextIndex> write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(write);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(write);
+            }
+        });
+    }
+
+    private void apply(Consumer<FullTextIndex> write) {
+        updateLock.lock();
+        try {
+            write.accept(index);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(write);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private static String label(String... texts) {
+        return Arrays.stream(texts)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+    }
+}
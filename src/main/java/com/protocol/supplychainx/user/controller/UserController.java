@@ -1,5 +1,7 @@
 package com.protocol.supplychainx.user.controller;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.dto.BatchGetRequestDTO;
 import com.protocol.supplychainx.user.dto.UserDTO;
 import com.protocol.supplychainx.user.service.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +19,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -64,6 +68,17 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get users by IDs", description = "Fetch up to " + BatchGetRequestDTO.MAX_IDS + " users in one call, in the order of the requested IDs, each marked found or not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users fetched"),
+            @ApiResponse(responseCode = "400", description = "No IDs, a null ID or too many IDs")
+    })
+    public ResponseEntity<List<BatchGetItemDTO<UserDTO>>> getUsersByIds(@Valid @RequestBody BatchGetRequestDTO request) {
+        List<BatchGetItemDTO<UserDTO>> users = userService.getUsersByIds(request.getIds());
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/email/{email}")
     @Operation(summary = "Get user by email", description = "Retrieve user details by email address")
     @ApiResponses(value = {
@@ -1,13 +1,18 @@
 package com.protocol.supplychainx.user.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
 import com.protocol.supplychainx.user.dto.UserDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface IUserService {
     UserDTO createUser(UserDTO userDTO);
     UserDTO updateUser(Long id, UserDTO userDTO);
     UserDTO getUser(Long id);
+
+    List<BatchGetItemDTO<UserDTO>> getUsersByIds(List<Long> ids);
     UserDTO getUserByEmail(String email);
     Page<UserDTO> getUsers(Pageable pageable);
     Page<UserDTO> searchUsersByName(String name, Pageable pageable);
@@ -1,18 +1,24 @@
 package com.protocol.supplychainx.user.service;
 
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
 import com.protocol.supplychainx.common.exceptions.user.EmailAlreadyExistsException;
 import com.protocol.supplychainx.common.exceptions.user.UserNotFoundException;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import com.protocol.supplychainx.user.dto.UserDTO;
 import com.protocol.supplychainx.user.entity.User;
 import com.protocol.supplychainx.user.mapper.UserMapper;
 import com.protocol.supplychainx.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
 
 @Service
 @Transactional
@@ -23,6 +29,7 @@ public class UserService implements IUserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final SearchIndexService searchIndexService;
 
     @Override
     public UserDTO createUser(UserDTO userDTO) {
@@ -39,6 +46,7 @@ public class UserService implements IUserService {
 
         User savedUser = userRepository.save(user);
         log.info("User created successfully with ID: {}", savedUser.getId());
+        searchIndexService.index(SearchDocumentType.USER, savedUser.getId(), savedUser.getFirstName(), savedUser.getLastName());
 
         return userMapper.toDTO(savedUser);
     }
@@ -67,11 +75,13 @@ public class UserService implements IUserService {
 
         User updatedUser = userRepository.save(existingUser);
         log.info("User updated successfully with ID: {}", updatedUser.getId());
+        searchIndexService.index(SearchDocumentType.USER, id, updatedUser.getFirstName(), updatedUser.getLastName());
 
         return userMapper.toDTO(updatedUser);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDTO getUser(Long id) {
         log.info("Fetching user with ID: {}", id);
         
@@ -82,6 +92,18 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<BatchGetItemDTO<UserDTO>> getUsersByIds(List<Long> ids) {
+        log.info("Fetching {} users by ID", ids.size());
+
+        List<UserDTO> users = userRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .map(userMapper::toDTO)
+                .toList();
+        return BatchGetItemDTO.inRequestOrder(ids, users, UserDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
         log.info("Fetching user with email: {}", email);
         
@@ -92,6 +114,7 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserDTO> getUsers(Pageable pageable) {
         log.info("Fetching all users with pagination");
         
@@ -100,11 +123,14 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserDTO> searchUsersByName(String name, Pageable pageable) {
         log.info("Searching users by name: {}", name);
         
-        Page<User> users = userRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-                name, name, pageable);
+        Page<User> users = searchIndexService.searchIds(SearchDocumentType.USER, name, pageable)
+                .map(ids -> SearchIndexService.inIdOrder(ids, userRepository.findAllById(ids.getContent()), User::getId))
+                .orElseGet(() -> userRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+                        name, name, pageable));
         return users.map(userMapper::toDTO);
     }
 
@@ -117,6 +143,7 @@ public class UserService implements IUserService {
         }
 
         userRepository.deleteById(id);
+        searchIndexService.remove(SearchDocumentType.USER, id);
         log.info("User deleted successfully with ID: {}", id);
     }
 }
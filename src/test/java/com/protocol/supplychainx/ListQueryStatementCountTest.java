@@ -0,0 +1,245 @@
+package com.protocol.supplychainx;
+
+import com.protocol.supplychainx.common.dto.BatchGetItemDTO;
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.DeliveryStatus;
+import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
+import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.mapper.CustomerMapperImpl;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapperImpl;
+import com.protocol.supplychainx.delivery.mapper.DeliveryMapperImpl;
+import com.protocol.supplychainx.delivery.repository.CustomerOrderRepository;
+import com.protocol.supplychainx.delivery.repository.CustomerRepository;
+import com.protocol.supplychainx.delivery.repository.DeliveryRepository;
+import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.entity.SupplyOrder;
+import com.protocol.supplychainx.procurement.mapper.RawMaterialMapperImpl;
+import com.protocol.supplychainx.procurement.mapper.SupplierMapperImpl;
+import com.protocol.supplychainx.procurement.mapper.SupplyOrderMapperImpl;
+import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
+import com.protocol.supplychainx.procurement.repository.SupplierRepository;
+import com.protocol.supplychainx.procurement.repository.SupplyOrderRepository;
+import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.entity.ProductionOrder;
+import com.protocol.supplychainx.production.mapper.BillOfMaterialMapperImpl;
+import com.protocol.supplychainx.production.mapper.ProductMapperImpl;
+import com.protocol.supplychainx.production.mapper.ProductionOrderMapperImpl;
+import com.protocol.supplychainx.production.repository.BillOfMaterialRepository;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import com.protocol.supplychainx.production.repository.ProductionOrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Maps a small and a large page of every list endpoint to DTOs, the way the services do, and checks
+ * that the number of SQL statements does not grow with the page size.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=100"
+})
+@Import({
+        SupplyOrderMapperImpl.class, RawMaterialMapperImpl.class, SupplierMapperImpl.class,
+        ProductMapperImpl.class, BillOfMaterialMapperImpl.class, ProductionOrderMapperImpl.class,
+        CustomerMapperImpl.class, CustomerOrderMapperImpl.class, DeliveryMapperImpl.class
+})
+class ListQueryStatementCountTest {
+
+    private static final int ROWS = 60;
+    private static final Pageable SMALL_PAGE = PageRequest.of(0, 5);
+    private static final Pageable LARGE_PAGE = PageRequest.of(0, 50);
+
+    @Autowired private TestEntityManager entityManager;
+
+    @Autowired private SupplyOrderRepository supplyOrderRepository;
+    @Autowired private RawMaterialRepository rawMaterialRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private BillOfMaterialRepository billOfMaterialRepository;
+    @Autowired private ProductionOrderRepository productionOrderRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private CustomerOrderRepository customerOrderRepository;
+    @Autowired private DeliveryRepository deliveryRepository;
+
+    @Autowired private SupplyOrderMapperImpl supplyOrderMapper;
+    @Autowired private RawMaterialMapperImpl rawMaterialMapper;
+    @Autowired private SupplierMapperImpl supplierMapper;
+    @Autowired private ProductMapperImpl productMapper;
+    @Autowired private BillOfMaterialMapperImpl billOfMaterialMapper;
+    @Autowired private ProductionOrderMapperImpl productionOrderMapper;
+    @Autowired private CustomerMapperImpl customerMapper;
+    @Autowired private CustomerOrderMapperImpl customerOrderMapper;
+    @Autowired private DeliveryMapperImpl deliveryMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Every order points at its own supplier, customer and product, so a lazy load per row shows up
+        for (int i = 0; i < ROWS; i++) {
+            Supplier supplier = entityManager.persist(Supplier.builder()
+                    .name("Supplier " + i).contact("contact" + i + "@example.com").rating(4.0).leadTime(3).build());
+            RawMaterial material = entityManager.persist(RawMaterial.builder()
+                    .name("Material " + i).stock(100).stockMin(10).unit("kg").suppliers(Set.of(supplier)).build());
+            entityManager.persist(SupplyOrder.builder()
+                    .supplier(supplier).materials(Set.of(material)).orderDate(LocalDate.now())
+                    .status(SupplyOrderStatus.EN_ATTENTE).build());
+
+            Product product = entityManager.persist(Product.builder()
+                    .name("Product " + i).productionTime(2).cost(10.0).stock(5).build());
+            entityManager.persist(BillOfMaterial.builder().product(product).material(material).quantity(3).build());
+            entityManager.persist(ProductionOrder.builder()
+                    .product(product).quantity(4).status(ProductionOrderStatus.EN_ATTENTE)
+                    .startDate(LocalDate.now()).isPriority(false).build());
+
+            Customer customer = entityManager.persist(Customer.builder().name("Customer " + i).city("Safi").build());
+            CustomerOrder order = entityManager.persist(CustomerOrder.builder()
+                    .customer(customer).product(product).quantity(1).status(CustomerOrderStatus.EN_PREPARATION).build());
+            entityManager.persist(Delivery.builder()
+                    .order(order).vehicle("Truck").driver("Driver " + i).status(DeliveryStatus.PLANIFIEE)
+                    .deliveryDate(LocalDate.now()).cost(50.0).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Supply order list should not load suppliers or materials per row")
+    void supplyOrders() {
+        assertConstantStatements(pageable -> supplyOrderRepository.findAll(pageable).map(supplyOrderMapper::toDTO).getContent(), 3);
+    }
+
+    @Test
+    @DisplayName("Raw material list should batch the supplier collections")
+    void rawMaterials() {
+        assertConstantStatements(pageable -> rawMaterialRepository.findAll(pageable).map(rawMaterialMapper::toDTO).getContent(), 3);
+    }
+
+    @Test
+    @DisplayName("Supplier list should batch the order collections")
+    void suppliers() {
+        assertConstantStatements(pageable -> supplierRepository.findAll(pageable).map(supplierMapper::toDTO).getContent(), 3);
+    }
+
+    @Test
+    @DisplayName("Product list should batch bills of material and production orders")
+    void products() {
+        assertConstantStatements(pageable -> productRepository.findAll(pageable).map(productMapper::toDTO).getContent(), 4);
+    }
+
+    @Test
+    @DisplayName("Bill of material list should join product and material")
+    void billOfMaterials() {
+        assertConstantStatements(pageable -> billOfMaterialRepository.findAll(pageable).map(billOfMaterialMapper::toDTO).getContent(), 2);
+    }
+
+    @Test
+    @DisplayName("Production order list should join the product")
+    void productionOrders() {
+        assertConstantStatements(pageable -> productionOrderRepository.findAll(pageable).map(productionOrderMapper::toDTO).getContent(), 2);
+    }
+
+    @Test
+    @DisplayName("Customer list should batch the order collections")
+    void customers() {
+        assertConstantStatements(pageable -> customerRepository.findAll(pageable).map(customerMapper::toDTO).getContent(), 3);
+    }
+
+    @Test
+    @DisplayName("Customer order list should join customer, product and delivery")
+    void customerOrders() {
+        assertConstantStatements(pageable -> customerOrderRepository.findAll(pageable).map(customerOrderMapper::toDTO).getContent(), 2);
+    }
+
+    @Test
+    @DisplayName("Delivery list should join the order with its customer and product")
+    void deliveries() {
+        assertConstantStatements(pageable -> deliveryRepository.findAll(pageable).map(deliveryMapper::toDTO).getContent(), 2);
+    }
+
+    @Test
+    @DisplayName("Batch gets should read every requested row in one statement per resource, in request order")
+    void batchGets() {
+        List<Long> materialIds = ids("SELECT m.idMaterial FROM RawMaterial m ORDER BY m.idMaterial DESC");
+        List<Long> supplyOrderIds = ids("SELECT o.idOrder FROM SupplyOrder o");
+        List<Long> productIds = ids("SELECT p.idProduct FROM Product p");
+        List<Long> deliveryIds = ids("SELECT d.idDelivery FROM Delivery d");
+
+        assertEquals(1, countStatements(() -> rawMaterialRepository.findWithDetailsByIdIn(materialIds).stream().map(rawMaterialMapper::toDTO).toList(), ROWS));
+        assertEquals(1, countStatements(() -> supplyOrderRepository.findWithDetailsByIdIn(supplyOrderIds).stream().map(supplyOrderMapper::toDTO).toList(), ROWS));
+        // Production orders are a second collection, left to @BatchSize
+        assertEquals(2, countStatements(() -> productRepository.findWithDetailsByIdIn(productIds).stream().map(productMapper::toDTO).toList(), ROWS));
+        assertEquals(1, countStatements(() -> deliveryRepository.findViewsByIdIn(deliveryIds), ROWS));
+
+        List<Long> requested = new ArrayList<>(materialIds.subList(0, 3));
+        requested.add(-1L);
+        List<BatchGetItemDTO<RawMaterialDTO>> items = BatchGetItemDTO.inRequestOrder(requested,
+                rawMaterialRepository.findWithDetailsByIdIn(requested).stream().map(rawMaterialMapper::toDTO).toList(),
+                RawMaterialDTO::getIdMaterial);
+        assertEquals(requested, items.stream().map(BatchGetItemDTO::getId).toList());
+        assertEquals(List.of(true, true, true, false), items.stream().map(BatchGetItemDTO::isFound).toList());
+        assertEquals(requested.subList(0, 3), items.subList(0, 3).stream().map(item -> item.getData().getIdMaterial()).toList());
+        assertNull(items.get(3).getData());
+    }
+
+    private void assertConstantStatements(Function<Pageable, List<?>> listPage, long maxStatements) {
+        long small = countStatements(listPage, SMALL_PAGE);
+        long large = countStatements(listPage, LARGE_PAGE);
+
+        assertEquals(small, large, "statements grew with the page size");
+        assertTrue(large <= maxStatements, "expected at most " + maxStatements + " statements but got " + large);
+    }
+
+    private long countStatements(Function<Pageable, List<?>> listPage, Pageable pageable) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<?> content = listPage.apply(pageable);
+
+        assertEquals(pageable.getPageSize(), content.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> ids(String query) {
+        return entityManager.getEntityManager().createQuery(query, Long.class).getResultList();
+    }
+
+    private long countStatements(java.util.function.Supplier<List<?>> load, int expectedSize) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<?> content = load.get();
+
+        assertEquals(expectedSize, content.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,250 @@
+package com.protocol.supplychainx;
+
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.DeliveryStatus;
+import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
+import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.mapper.CustomerMapperImpl;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapperImpl;
+import com.protocol.supplychainx.delivery.mapper.DeliveryMapperImpl;
+import com.protocol.supplychainx.delivery.repository.CustomerOrderRepository;
+import com.protocol.supplychainx.delivery.repository.CustomerRepository;
+import com.protocol.supplychainx.delivery.repository.DeliveryRepository;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.entity.SupplyOrder;
+import com.protocol.supplychainx.procurement.mapper.SupplierMapperImpl;
+import com.protocol.supplychainx.procurement.repository.SupplierRepository;
+import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.entity.ProductionOrder;
+import com.protocol.supplychainx.production.mapper.BillOfMaterialMapperImpl;
+import com.protocol.supplychainx.production.mapper.ProductionOrderMapperImpl;
+import com.protocol.supplychainx.production.repository.BillOfMaterialRepository;
+import com.protocol.supplychainx.production.repository.ProductionOrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The projection queries behind the read endpoints must produce the same DTOs as mapping the
+ * entities, in one statement (plus the count for a page) and without loading any entity.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({
+        SupplierMapperImpl.class, BillOfMaterialMapperImpl.class, ProductionOrderMapperImpl.class,
+        CustomerMapperImpl.class, CustomerOrderMapperImpl.class, DeliveryMapperImpl.class
+})
+class ReadProjectionTest {
+
+    private static final int ROWS = 12;
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    @Autowired private TestEntityManager entityManager;
+
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private BillOfMaterialRepository billOfMaterialRepository;
+    @Autowired private ProductionOrderRepository productionOrderRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private CustomerOrderRepository customerOrderRepository;
+    @Autowired private DeliveryRepository deliveryRepository;
+
+    @Autowired private SupplierMapperImpl supplierMapper;
+    @Autowired private BillOfMaterialMapperImpl billOfMaterialMapper;
+    @Autowired private ProductionOrderMapperImpl productionOrderMapper;
+    @Autowired private CustomerMapperImpl customerMapper;
+    @Autowired private CustomerOrderMapperImpl customerOrderMapper;
+    @Autowired private DeliveryMapperImpl deliveryMapper;
+
+    private Statistics statistics;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        // Every other customer order has a delivery, every third one is delivered (not active)
+        for (int i = 0; i < ROWS; i++) {
+            Supplier supplier = entityManager.persist(Supplier.builder()
+                    .name("Supplier " + i).contact("contact" + i + "@example.com").rating(4.0).leadTime(3).build());
+            RawMaterial material = entityManager.persist(RawMaterial.builder()
+                    .name("Material " + i).stock(i).stockMin(10).unit("kg").build());
+            for (int j = 0; j < i % 3; j++) {
+                entityManager.persist(SupplyOrder.builder()
+                        .supplier(supplier).materials(Set.of(material)).orderDate(LocalDate.now())
+                        .status(SupplyOrderStatus.EN_ATTENTE).build());
+            }
+
+            Product product = entityManager.persist(Product.builder()
+                    .name("Product " + i).productionTime(1 + i % 3).cost(10.0).stock(5).build());
+            entityManager.persist(BillOfMaterial.builder().product(product).material(material).quantity(5).build());
+            entityManager.persist(ProductionOrder.builder()
+                    .product(product).quantity(4).status(ProductionOrderStatus.EN_ATTENTE)
+                    .startDate(LocalDate.now()).isPriority(i % 2 == 0).build());
+            productId = product.getIdProduct();
+
+            Customer customer = entityManager.persist(Customer.builder().name("Customer " + i).city("Safi").build());
+            CustomerOrder order = entityManager.persist(CustomerOrder.builder()
+                    .customer(customer).product(product).quantity(1)
+                    .status(i % 3 == 0 ? CustomerOrderStatus.LIVREE : CustomerOrderStatus.EN_PREPARATION).build());
+            if (i % 2 == 0) {
+                entityManager.persist(Delivery.builder()
+                        .order(order).vehicle("Truck").driver("Driver " + i).status(DeliveryStatus.PLANIFIEE)
+                        .deliveryDate(LocalDate.now()).cost(50.0).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Supplier views should match the entity mapping, counting orders in SQL")
+    void suppliers() {
+        Long id = supplierRepository.findAll().get(2).getIdSupplier();
+
+        assertSameDtos(
+                () -> List.of(supplierMapper.toDTO(supplierRepository.findViewById(id).orElseThrow())),
+                () -> List.of(supplierMapper.toDTO(supplierRepository.findById(id).orElseThrow())), 1);
+        assertSameDtos(
+                () -> supplierRepository.findAllViews(PAGE).map(supplierMapper::toDTO).getContent(),
+                () -> supplierRepository.findAll(PAGE).map(supplierMapper::toDTO).getContent(), 2);
+        assertSameDtos(
+                () -> supplierRepository.findViewsByNameContainingIgnoreCase("PLIER 1", PAGE).map(supplierMapper::toDTO).getContent(),
+                () -> supplierRepository.findByNameContainingIgnoreCase("PLIER 1", PAGE).map(supplierMapper::toDTO).getContent(), 1);
+    }
+
+    @Test
+    @DisplayName("Customer views should match the entity mapping, counting active orders in SQL")
+    void customers() {
+        Long id = customerRepository.findAll().get(1).getIdCustomer();
+
+        assertSameDtos(
+                () -> List.of(customerMapper.toDTO(customerRepository.findViewById(id).orElseThrow())),
+                () -> List.of(customerMapper.toDTO(customerRepository.findById(id).orElseThrow())), 1);
+        assertSameDtos(
+                () -> customerRepository.findAllViews(PAGE).map(customerMapper::toDTO).getContent(),
+                () -> customerRepository.findAll(PAGE).map(customerMapper::toDTO).getContent(), 2);
+    }
+
+    @Test
+    @DisplayName("Customer order views should match the entity mapping, with and without a delivery")
+    void customerOrders() {
+        List<CustomerOrder> orders = customerOrderRepository.findAll();
+        Long withDelivery = orders.get(0).getIdOrder();
+        Long withoutDelivery = orders.get(1).getIdOrder();
+        Long customerId = orders.get(0).getCustomer().getIdCustomer();
+        entityManager.clear();
+
+        for (Long id : List.of(withDelivery, withoutDelivery)) {
+            assertSameDtos(
+                    () -> List.of(customerOrderMapper.toDTO(customerOrderRepository.findViewById(id).orElseThrow())),
+                    () -> List.of(customerOrderMapper.toDTO(customerOrderRepository.findById(id).orElseThrow())), 1);
+        }
+        assertSameDtos(
+                () -> customerOrderRepository.findAllViews(PAGE).map(customerOrderMapper::toDTO).getContent(),
+                () -> customerOrderRepository.findAll(PAGE).map(customerOrderMapper::toDTO).getContent(), 2);
+        assertSameDtos(
+                () -> customerOrderRepository.findViewsByCustomer(customerId, PAGE).map(customerOrderMapper::toDTO).getContent(),
+                () -> customerOrderRepository.findByCustomerIdCustomer(customerId, PAGE).map(customerOrderMapper::toDTO).getContent(), 1);
+        assertSameDtos(
+                () -> customerOrderRepository.findViewsByStatus(CustomerOrderStatus.LIVREE, PAGE).map(customerOrderMapper::toDTO).getContent(),
+                () -> customerOrderRepository.findByStatus(CustomerOrderStatus.LIVREE, PAGE).map(customerOrderMapper::toDTO).getContent(), 1);
+    }
+
+    @Test
+    @DisplayName("Delivery views should match the entity mapping")
+    void deliveries() {
+        Delivery delivery = deliveryRepository.findAll().get(0);
+        Long id = delivery.getIdDelivery();
+        Long orderId = delivery.getOrder().getIdOrder();
+        entityManager.clear();
+
+        assertSameDtos(
+                () -> List.of(deliveryMapper.toDTO(deliveryRepository.findViewById(id).orElseThrow())),
+                () -> List.of(deliveryMapper.toDTO(deliveryRepository.findById(id).orElseThrow())), 1);
+        assertSameDtos(
+                () -> List.of(deliveryMapper.toDTO(deliveryRepository.findViewByOrderId(orderId).orElseThrow())),
+                () -> List.of(deliveryMapper.toDTO(deliveryRepository.findByOrderIdOrder(orderId).orElseThrow())), 1);
+        assertSameDtos(
+                () -> deliveryRepository.findViewsByStatus(DeliveryStatus.PLANIFIEE, PAGE).map(deliveryMapper::toDTO).getContent(),
+                () -> deliveryRepository.findByStatus(DeliveryStatus.PLANIFIEE, PAGE).map(deliveryMapper::toDTO).getContent(), 1);
+    }
+
+    @Test
+    @DisplayName("Production order views should match the entity mapping, including the estimated time")
+    void productionOrders() {
+        Long id = productionOrderRepository.findAll().get(1).getIdOrder();
+        entityManager.clear();
+
+        assertSameDtos(
+                () -> List.of(productionOrderMapper.toDTO(productionOrderRepository.findViewById(id).orElseThrow())),
+                () -> List.of(productionOrderMapper.toDTO(productionOrderRepository.findById(id).orElseThrow())), 1);
+        assertSameDtos(
+                () -> productionOrderRepository.findAllViews(PAGE).map(productionOrderMapper::toDTO).getContent(),
+                () -> productionOrderRepository.findAll(PAGE).map(productionOrderMapper::toDTO).getContent(), 2);
+        assertSameDtos(
+                () -> productionOrderRepository.findPriorityViews(PAGE).map(productionOrderMapper::toDTO).getContent(),
+                () -> productionOrderRepository.findByIsPriorityTrue(PAGE).map(productionOrderMapper::toDTO).getContent(), 1);
+        assertSameDtos(
+                () -> productionOrderRepository.findViewsByProduct(productId, PAGE).map(productionOrderMapper::toDTO).getContent(),
+                () -> productionOrderRepository.findByProductIdProduct(productId, PAGE).map(productionOrderMapper::toDTO).getContent(), 1);
+    }
+
+    @Test
+    @DisplayName("Bill of material views should match the entity mapping, including availability")
+    void billOfMaterials() {
+        Long id = billOfMaterialRepository.findAll().get(6).getIdBOM();
+        entityManager.clear();
+
+        assertSameDtos(
+                () -> List.of(billOfMaterialMapper.toDTO(billOfMaterialRepository.findViewById(id).orElseThrow())),
+                () -> List.of(billOfMaterialMapper.toDTO(billOfMaterialRepository.findById(id).orElseThrow())), 1);
+        assertSameDtos(
+                () -> billOfMaterialRepository.findAllViews(PAGE).map(billOfMaterialMapper::toDTO).getContent(),
+                () -> billOfMaterialRepository.findAll(PAGE).map(billOfMaterialMapper::toDTO).getContent(), 2);
+        assertSameDtos(
+                () -> billOfMaterialRepository.findViewsByProduct(productId).stream().map(billOfMaterialMapper::toDTO).toList(),
+                () -> billOfMaterialRepository.findByProductIdProduct(productId).stream().map(billOfMaterialMapper::toDTO).toList(), 1);
+    }
+
+    private void assertSameDtos(DtoQuery fromViews, DtoQuery fromEntities, long expectedStatements) {
+        entityManager.clear();
+        statistics.clear();
+        List<?> views = fromViews.run();
+
+        assertEquals(expectedStatements, statistics.getPrepareStatementCount(), "statements for the projection");
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded by the projection");
+        assertFalse(views.isEmpty());
+
+        entityManager.clear();
+        assertThat(views).usingRecursiveComparison().isEqualTo(fromEntities.run());
+    }
+
+    private interface DtoQuery {
+        List<?> run();
+    }
+}
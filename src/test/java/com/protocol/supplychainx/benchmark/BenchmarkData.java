@@ -0,0 +1,45 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+
+/**
+ * Entity graphs shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static RawMaterial material(long id) {
+        RawMaterial material = new RawMaterial();
+        material.setIdMaterial(id);
+        material.setName("Matière " + id);
+        material.setStock(100_000);
+        material.setStockMin(500);
+        material.setUnit("kg");
+        return material;
+    }
+
+    /**
+     * @param bomLines Number of bill of material lines, each on its own raw material
+     */
+    static Product product(long id, int bomLines) {
+        Product product = new Product();
+        product.setIdProduct(id);
+        product.setName("Produit " + id);
+        product.setProductionTime(120);
+        product.setCost(249.90);
+        product.setStock(1_000);
+        for (int i = 0; i < bomLines; i++) {
+            BillOfMaterial bom = new BillOfMaterial();
+            bom.setIdBOM(id * 1_000 + i);
+            bom.setProduct(product);
+            bom.setMaterial(material(id * 1_000 + i));
+            bom.setQuantity(1 + i % 5);
+            product.getBillOfMaterials().add(bom);
+        }
+        return product;
+    }
+}
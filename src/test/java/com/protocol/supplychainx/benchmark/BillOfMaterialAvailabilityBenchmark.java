@@ -0,0 +1,103 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
+import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.mapper.BillOfMaterialMapperImpl;
+import com.protocol.supplychainx.production.repository.BillOfMaterialRepository;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import com.protocol.supplychainx.production.service.IBillOfMaterialService;
+import com.protocol.supplychainx.production.service.impl.BillOfMaterialService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BillOfMaterialService.checkMaterialsAvailability against an in-memory H2 database (MySQL mode),
+ * through the real repositories and transaction proxy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BillOfMaterialAvailabilityBenchmark {
+
+    @Param({"5", "50"})
+    private int bomLines;
+
+    private ConfigurableApplicationContext context;
+    private IBillOfMaterialService billOfMaterialService;
+    private Long productId;
+
+    // Not a @Configuration: component scanning from the application class would pick it up and narrow
+    // the repository scan of any full application context started from the test classpath
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = {Product.class, RawMaterial.class})
+    @EnableJpaRepositories(basePackageClasses = {ProductRepository.class, RawMaterialRepository.class})
+    @Import({BillOfMaterialService.class, BillOfMaterialMapperImpl.class})
+    static class BenchmarkConfiguration {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bom;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "spring.docker.compose.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        billOfMaterialService = context.getBean(IBillOfMaterialService.class);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        RawMaterialRepository rawMaterialRepository = context.getBean(RawMaterialRepository.class);
+        BillOfMaterialRepository billOfMaterialRepository = context.getBean(BillOfMaterialRepository.class);
+
+        Product template = BenchmarkData.product(1L, 0);
+        template.setIdProduct(null);
+        Product product = productRepository.save(template);
+        for (int i = 0; i < bomLines; i++) {
+            RawMaterial material = BenchmarkData.material(i);
+            material.setIdMaterial(null);
+
+            BillOfMaterial bom = new BillOfMaterial();
+            bom.setProduct(product);
+            bom.setMaterial(rawMaterialRepository.save(material));
+            bom.setQuantity(1 + i % 5);
+            billOfMaterialRepository.save(bom);
+        }
+        productId = product.getIdProduct();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean checkMaterialsAvailability() {
+        return billOfMaterialService.checkMaterialsAvailability(productId, 10);
+    }
+}
@@ -0,0 +1,51 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.service.impl.DeliveryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeliveryService.calculateCost, JFR hot path event included (not recording).
+ * The method is private and reached through a method handle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeliveryCostBenchmark {
+
+    private static final MethodHandle CALCULATE_COST;
+
+    static {
+        try {
+            CALCULATE_COST = MethodHandles.privateLookupIn(DeliveryService.class, MethodHandles.lookup())
+                    .findVirtual(DeliveryService.class, "calculateCost", MethodType.methodType(Double.class, CustomerOrder.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private DeliveryService deliveryService;
+    private CustomerOrder order;
+
+    @Setup
+    public void setUp() {
+        deliveryService = new DeliveryService(null, null, null, null, null, null);
+        order = new CustomerOrder();
+        order.setIdOrder(1L);
+        order.setProduct(BenchmarkData.product(1L, 0));
+        order.setQuantity(12);
+    }
+
+    @Benchmark
+    public Double calculateCost() throws Throwable {
+        return (Double) CALCULATE_COST.invokeExact(deliveryService, order);
+    }
+}
@@ -0,0 +1,166 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.changefeed.ChangeFeedBroker;
+import com.protocol.supplychainx.config.aop.OptimisticLockRetryAspect;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
+import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapperImpl;
+import com.protocol.supplychainx.delivery.mapper.DeliveryMapperImpl;
+import com.protocol.supplychainx.delivery.repository.CustomerRepository;
+import com.protocol.supplychainx.delivery.service.ICustomerOrderService;
+import com.protocol.supplychainx.delivery.service.impl.CustomerOrderService;
+import com.protocol.supplychainx.hotstock.HotStockFlusher;
+import com.protocol.supplychainx.hotstock.entity.HotStockFlushState;
+import com.protocol.supplychainx.hotstock.repository.HotStockFlushStateRepository;
+import com.protocol.supplychainx.hotstock.service.HotStockService;
+import com.protocol.supplychainx.ledger.entity.StockMovement;
+import com.protocol.supplychainx.ledger.repository.StockMovementRepository;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.entity.DomainEventOutbox;
+import com.protocol.supplychainx.outbox.repository.DomainEventOutboxRepository;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer orders per second on a single SKU from 8 threads, through CustomerOrderService with its retry on
+ * optimistic conflicts, with the stock in the products row (row) and in the write-behind counters (hot). Each
+ * order also inserts the order, its ledger movement and its outbox event.
+ * H2 in memory (MySQL mode): the row path contends on the row lock and version as on MySQL, but commits cost no
+ * disk write, while the hot path fsyncs its journal to a temporary directory. The primary score counts attempts;
+ * "placed" is the secondary score of orders accepted and "conflicts" that of orders failed after their retries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotStockOrderBenchmark {
+
+    @Param({"row", "hot"})
+    private String stock;
+
+    private ConfigurableApplicationContext context;
+    private ICustomerOrderService customerOrderService;
+    private CustomerOrderDTO order;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long placed;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            placed = 0;
+            conflicts = 0;
+        }
+    }
+
+    // Not a @Configuration, see BillOfMaterialAvailabilityBenchmark
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class,
+            AopAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = {Product.class, RawMaterial.class, Customer.class, StockMovement.class,
+            DomainEventOutbox.class, HotStockFlushState.class})
+    @EnableJpaRepositories(basePackageClasses = {ProductRepository.class, CustomerRepository.class,
+            StockMovementRepository.class, DomainEventOutboxRepository.class, HotStockFlushStateRepository.class})
+    @EnableScheduling
+    @Import({CustomerOrderService.class, CustomerOrderMapperImpl.class, DeliveryMapperImpl.class, DomainMetrics.class,
+            DomainEventOutboxService.class, ChangeFeedBroker.class, StockLedgerService.class, HotStockService.class,
+            HotStockFlusher.class, OptimisticLockRetryAspect.class})
+    static class BenchmarkConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        Executor changeFeedExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        Path journal = Files.createTempDirectory("hot-stock-journal");
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:hotstock-" + stock + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "spring.docker.compose.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "hot-stock.enabled=" + "hot".equals(stock),
+                        // The product created below is the first row of the table
+                        "hot-stock.product-ids=1",
+                        "hot-stock.journal.dir=" + journal)
+                .run();
+        customerOrderService = context.getBean(ICustomerOrderService.class);
+
+        Product product = BenchmarkData.product(0, 0);
+        product.setIdProduct(null);
+        product.setStock(Integer.MAX_VALUE / 2);
+        product = context.getBean(ProductRepository.class).save(product);
+        Customer customer = context.getBean(CustomerRepository.class).save(
+                Customer.builder().name("Client").address("1 rue Principale").city("Casablanca").build());
+        order = CustomerOrderDTO.builder()
+                .customerId(customer.getIdCustomer())
+                .productId(product.getIdProduct())
+                .quantity(1)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void placeOrder(Outcomes outcomes) {
+        try {
+            customerOrderService.createCustomerOrder(order);
+            outcomes.placed++;
+        } catch (ConcurrencyFailureException | OptimisticLockException e) {
+            outcomes.conflicts++;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the committed baseline (see the benchmark Maven profile).
+ * Exits with status 1 when a score regressed by more than the allowed percentage;
+ * throughput scores regress when they drop, time scores when they grow.
+ *
+ * Usage: JmhBaselineComparator baseline.json result.json maxRegressionPercent updateBaseline
+ */
+public final class JmhBaselineComparator {
+
+    private JmhBaselineComparator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path baseline = Path.of(args[0]);
+        Path result = Path.of(args[1]);
+        double maxRegressionPercent = Double.parseDouble(args[2]);
+        boolean updateBaseline = Boolean.parseBoolean(args[3]);
+
+        if (updateBaseline || !Files.exists(baseline)) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline written to " + baseline);
+            return;
+        }
+
+        Map<String, JsonNode> baselineScores = readScores(baseline);
+        Map<String, JsonNode> resultScores = readScores(result);
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : resultScores.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode previous = baselineScores.get(entry.getKey());
+            double currentScore = current.at("/primaryMetric/score").asDouble();
+            String unit = current.at("/primaryMetric/scoreUnit").asText();
+
+            if (previous == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  (new) %s%n", entry.getKey(), "-", currentScore, "-", unit);
+                continue;
+            }
+
+            double previousScore = previous.at("/primaryMetric/score").asDouble();
+            double changePercent = (currentScore - previousScore) / previousScore * 100.0;
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double regressionPercent = higherIsBetter ? -changePercent : changePercent;
+            boolean regressed = regressionPercent > maxRegressionPercent;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    entry.getKey(), previousScore, currentScore, changePercent, unit, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, maxRegressionPercent);
+            System.exit(1);
+        }
+        System.out.println("No regression above " + maxRegressionPercent + "%");
+    }
+
+    // Benchmark name plus its @Param values, so each parameter combination is compared separately
+    private static Map<String, JsonNode> readScores(Path file) throws Exception {
+        Map<String, JsonNode> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Map<String, String> params = new LinkedHashMap<>();
+            run.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+            if (!params.isEmpty()) {
+                key.append(params);
+            }
+            scores.put(key.toString(), run);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,144 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.DeliveryStatus;
+import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
+import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
+import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapper;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapperImpl;
+import com.protocol.supplychainx.delivery.mapper.DeliveryMapperImpl;
+import com.protocol.supplychainx.procurement.dto.SupplyOrderDTO;
+import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.entity.SupplyOrder;
+import com.protocol.supplychainx.procurement.mapper.SupplyOrderMapper;
+import com.protocol.supplychainx.procurement.mapper.SupplyOrderMapperImpl;
+import com.protocol.supplychainx.production.dto.ProductDTO;
+import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.entity.ProductionOrder;
+import com.protocol.supplychainx.production.mapper.ProductMapper;
+import com.protocol.supplychainx.production.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mappers on object graphs sized like production data:
+ * a product with 30 BOM lines and 50 production orders, a supply order with 25 materials,
+ * a customer order with its customer, product and delivery.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ProductMapper productMapper;
+    private SupplyOrderMapper supplyOrderMapper;
+    private CustomerOrderMapper customerOrderMapper;
+
+    private Product product;
+    private ProductDTO productDTO;
+    private SupplyOrder supplyOrder;
+    private SupplyOrderDTO supplyOrderDTO;
+    private CustomerOrder customerOrder;
+    private CustomerOrderDTO customerOrderDTO;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        supplyOrderMapper = new SupplyOrderMapperImpl();
+        customerOrderMapper = new CustomerOrderMapperImpl();
+        ReflectionTestUtils.setField(customerOrderMapper, "deliveryMapper", new DeliveryMapperImpl());
+
+        product = BenchmarkData.product(1L, 30);
+        for (int i = 0; i < 50; i++) {
+            ProductionOrder order = new ProductionOrder();
+            order.setIdOrder((long) i);
+            order.setProduct(product);
+            order.setQuantity(10 + i);
+            order.setStatus(ProductionOrderStatus.values()[i % ProductionOrderStatus.values().length]);
+            order.setStartDate(LocalDate.now());
+            order.setIsPriority(i % 3 == 0);
+            product.getProductionOrders().add(order);
+        }
+        productDTO = productMapper.toDTO(product);
+
+        Supplier supplier = new Supplier();
+        supplier.setIdSupplier(1L);
+        supplier.setName("Fournisseur Atlas");
+        supplier.setContact("contact@atlas.ma");
+        supplier.setRating(4.5);
+        supplier.setLeadTime(7);
+        supplyOrder = new SupplyOrder();
+        supplyOrder.setIdOrder(1L);
+        supplyOrder.setSupplier(supplier);
+        supplyOrder.setOrderDate(LocalDate.now());
+        supplyOrder.setExpectedDeliveryDate(LocalDate.now().plusDays(7));
+        supplyOrder.setStatus(SupplyOrderStatus.values()[0]);
+        for (BillOfMaterial bom : product.getBillOfMaterials().subList(0, 25)) {
+            supplyOrder.getMaterials().add(bom.getMaterial());
+        }
+        supplyOrderDTO = supplyOrderMapper.toDTO(supplyOrder);
+
+        Customer customer = new Customer();
+        customer.setIdCustomer(1L);
+        customer.setName("Client Casablanca");
+        customer.setAddress("12 boulevard Zerktouni");
+        customer.setCity("Casablanca");
+        customerOrder = new CustomerOrder();
+        customerOrder.setIdOrder(1L);
+        customerOrder.setCustomer(customer);
+        customerOrder.setProduct(product);
+        customerOrder.setQuantity(5);
+        customerOrder.setStatus(CustomerOrderStatus.EN_PREPARATION);
+        Delivery delivery = new Delivery();
+        delivery.setIdDelivery(1L);
+        delivery.setOrder(customerOrder);
+        delivery.setVehicle("Camion 12");
+        delivery.setDriver("Youssef");
+        delivery.setStatus(DeliveryStatus.values()[0]);
+        delivery.setDeliveryDate(LocalDate.now().plusDays(2));
+        delivery.setCost(120.0);
+        customerOrder.setDelivery(delivery);
+        customerOrderDTO = customerOrderMapper.toDTO(customerOrder);
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return productMapper.toEntity(productDTO);
+    }
+
+    @Benchmark
+    public SupplyOrderDTO supplyOrderToDTO() {
+        return supplyOrderMapper.toDTO(supplyOrder);
+    }
+
+    @Benchmark
+    public SupplyOrder supplyOrderToEntity() {
+        return supplyOrderMapper.toEntity(supplyOrderDTO);
+    }
+
+    @Benchmark
+    public CustomerOrderDTO customerOrderToDTO() {
+        return customerOrderMapper.toDTO(customerOrder);
+    }
+
+    @Benchmark
+    public CustomerOrder customerOrderToEntity() {
+        return customerOrderMapper.toEntity(customerOrderDTO);
+    }
+}
@@ -0,0 +1,128 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.DeliveryStatus;
+import com.protocol.supplychainx.delivery.dto.CustomerOrderDTO;
+import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapper;
+import com.protocol.supplychainx.delivery.mapper.CustomerOrderMapperImpl;
+import com.protocol.supplychainx.delivery.mapper.DeliveryMapperImpl;
+import com.protocol.supplychainx.delivery.repository.CustomerOrderRepository;
+import com.protocol.supplychainx.delivery.repository.CustomerRepository;
+import com.protocol.supplychainx.delivery.repository.DeliveryRepository;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of customer orders read the way the service did before (managed entities through the list
+ * entity graph, then MapStruct) and through the constructor projection, in a read-only transaction
+ * on an in-memory H2 database (MySQL mode). Run with -prof gc for the bytes allocated per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadProjectionBenchmark {
+
+    @Param({"1", "50"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CustomerOrderRepository customerOrderRepository;
+    private CustomerOrderMapper customerOrderMapper;
+    private TransactionTemplate readOnlyTransaction;
+    private Pageable pageable;
+
+    // Not a @Configuration, see BillOfMaterialAvailabilityBenchmark
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = {Product.class, RawMaterial.class, Customer.class})
+    @EnableJpaRepositories(basePackageClasses = {ProductRepository.class, CustomerRepository.class})
+    @Import({CustomerOrderMapperImpl.class, DeliveryMapperImpl.class})
+    static class BenchmarkConfiguration {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:projection;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "spring.docker.compose.enabled=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        customerOrderRepository = context.getBean(CustomerOrderRepository.class);
+        customerOrderMapper = context.getBean(CustomerOrderMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        pageable = PageRequest.of(0, pageSize);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        DeliveryRepository deliveryRepository = context.getBean(DeliveryRepository.class);
+
+        // One customer and product per order so the entity path cannot share associations
+        for (int i = 0; i < 100; i++) {
+            Product template = BenchmarkData.product(i, 0);
+            template.setIdProduct(null);
+            Product product = productRepository.save(template);
+            Customer customer = customerRepository.save(
+                    Customer.builder().name("Client " + i).address(i + " rue Principale").city("Casablanca").build());
+            CustomerOrder order = customerOrderRepository.save(CustomerOrder.builder()
+                    .customer(customer).product(product).quantity(1 + i % 10)
+                    .status(CustomerOrderStatus.EN_PREPARATION).build());
+            deliveryRepository.save(Delivery.builder()
+                    .order(order).vehicle("Camion").driver("Chauffeur " + i).status(DeliveryStatus.PLANIFIEE)
+                    .deliveryDate(LocalDate.now()).cost(150.0).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerOrderDTO> entities() {
+        return readOnlyTransaction.execute(status ->
+                customerOrderRepository.findAll(pageable).map(customerOrderMapper::toDTO).getContent());
+    }
+
+    @Benchmark
+    public List<CustomerOrderDTO> projection() {
+        return readOnlyTransaction.execute(status ->
+                customerOrderRepository.findAllViews(pageable).map(customerOrderMapper::toDTO).getContent());
+    }
+}
@@ -0,0 +1,75 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import com.protocol.supplychainx.search.FullTextIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page (10 hits) of a name search over 100 000 raw material names built from a small vocabulary, so that
+ * each word is shared by thousands of names, plus a unique reference per name.
+ * "index" is FullTextIndex; "scan" lowercases and tests every name as LIKE '%query%' does once the rows are read,
+ * without the database around it, so it is a lower bound of the LIKE query.
+ * Queries: a whole word, a prefix, a substring, a word with a typo, two words.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int DOCUMENTS = 100_000;
+    private static final String[] MATERIALS = {"Acier", "Aluminium", "Cuivre", "Laiton", "Plastique", "Caoutchouc",
+            "Bois", "Verre", "Carton", "Textile"};
+    private static final String[] FORMS = {"tôle", "barre", "tube", "fil", "plaque", "granulé", "rouleau", "profilé",
+            "vis", "écrou"};
+    private static final String[] FINISHES = {"galvanisé", "brossé", "poli", "peint", "anodisé", "brut", "laqué",
+            "trempé"};
+
+    @Param({"rouleau", "galva", "oulea", "galvanzie", "acier tole"})
+    private String query;
+
+    private FullTextIndex index;
+    private List<String> names;
+
+    @Setup
+    public void setUp() {
+        index = new FullTextIndex();
+        names = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            String name = MATERIALS[i % MATERIALS.length] + " " + FORMS[i / 10 % FORMS.length] + " "
+                    + FINISHES[i / 100 % FINISHES.length] + " REF-" + (100_000 + i);
+            names.add(name);
+            index.put(SearchDocumentType.RAW_MATERIAL, i, name);
+        }
+    }
+
+    @Benchmark
+    public FullTextIndex.Result index() {
+        return index.search(query, Set.of(SearchDocumentType.RAW_MATERIAL), 0, 10);
+    }
+
+    @Benchmark
+    public List<String> scan() {
+        String pattern = query.toLowerCase(Locale.ROOT);
+        List<String> page = new ArrayList<>(10);
+        int total = 0;
+        for (String name : names) {
+            if (name.toLowerCase(Locale.ROOT).contains(pattern)) {
+                if (page.size() < 10) {
+                    page.add(name);
+                }
+                total++;
+            }
+        }
+        page.add(String.valueOf(total));
+        return page;
+    }
+}
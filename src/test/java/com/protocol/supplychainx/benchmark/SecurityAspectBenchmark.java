@@ -0,0 +1,80 @@
+package com.protocol.supplychainx.benchmark;
+
+import com.protocol.supplychainx.common.enums.RoleUtilisateur;
+import com.protocol.supplychainx.config.aop.SecuredEndpoint;
+import com.protocol.supplychainx.config.aop.SecurityAspect;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import com.protocol.supplychainx.user.entity.User;
+import com.protocol.supplychainx.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a @SecuredEndpoint call through SecurityAspect, BCrypt verification included,
+ * with the user lookup served from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityAspectBenchmark {
+
+    private static final String EMAIL = "gestionnaire@supplychainx.com";
+    private static final String PASSWORD = "motdepasse";
+
+    public static class SecuredController {
+        @SecuredEndpoint(allowedRoles = {RoleUtilisateur.ADMIN})
+        public String call() {
+            return "ok";
+        }
+    }
+
+    private SecuredController endpoint;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(RoleUtilisateur.ADMIN);
+
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        return EMAIL.equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        // Class-based proxy as for the real controllers, SecurityAspect reads the annotation from the proxied method
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SecuredController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SecurityAspect(userRepository, passwordEncoder, new DomainMetrics(new SimpleMeterRegistry())));
+        endpoint = factory.getProxy();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Email", EMAIL);
+        request.addHeader("X-User-Password", PASSWORD);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Benchmark
+    public String securedCall() {
+        return endpoint.call();
+    }
+}
@@ -0,0 +1,316 @@
+package com.protocol.supplychainx.catalog.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protocol.supplychainx.catalog.handler.CatalogHandler;
+import com.protocol.supplychainx.catalog.handler.ReactiveEndpointAuthenticator;
+import com.protocol.supplychainx.catalog.repository.CatalogReadRepository;
+import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+import com.protocol.supplychainx.common.enums.RoleUtilisateur;
+import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
+import com.protocol.supplychainx.procurement.dto.SupplierDTO;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.entity.SupplyOrder;
+import com.protocol.supplychainx.procurement.mapper.RawMaterialMapperImpl;
+import com.protocol.supplychainx.procurement.mapper.SupplierMapperImpl;
+import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
+import com.protocol.supplychainx.procurement.repository.SupplierRepository;
+import com.protocol.supplychainx.procurement.repository.SupplyOrderRepository;
+import com.protocol.supplychainx.production.dto.ProductDTO;
+import com.protocol.supplychainx.production.entity.BillOfMaterial;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.entity.ProductionOrder;
+import com.protocol.supplychainx.production.mapper.ProductMapperImpl;
+import com.protocol.supplychainx.production.repository.BillOfMaterialRepository;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import com.protocol.supplychainx.production.repository.ProductionOrderRepository;
+import com.protocol.supplychainx.user.entity.User;
+import com.protocol.supplychainx.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive catalogue routes must return the same DTOs as the MVC services, reading over R2DBC the rows
+ * JPA wrote to the same in-memory database.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.url=jdbc:h2:mem:reactivecatalog;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductMapperImpl.class, RawMaterialMapperImpl.class, SupplierMapperImpl.class})
+// Rows are committed so the R2DBC connections can see them
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactiveCatalogRoutesTest {
+
+    private static final int MATERIALS = 250;
+    private static final String EMAIL = "planner@example.com";
+    private static final String PASSWORD = "secret";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private RawMaterialRepository rawMaterialRepository;
+    @Autowired private SupplyOrderRepository supplyOrderRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private BillOfMaterialRepository billOfMaterialRepository;
+    @Autowired private ProductionOrderRepository productionOrderRepository;
+
+    @Autowired private ProductMapperImpl productMapper;
+    @Autowired private RawMaterialMapperImpl rawMaterialMapper;
+    @Autowired private SupplierMapperImpl supplierMapper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private CatalogDatabase catalogDatabase;
+    private WebTestClient client;
+
+    @BeforeAll
+    void setUp() {
+        // Same generated column as the Liquibase changelog, so below-minimum reads the index column on both sides
+        jdbcTemplate.execute("ALTER TABLE raw_materials DROP COLUMN deficit");
+        jdbcTemplate.execute("ALTER TABLE raw_materials ADD COLUMN deficit INT GENERATED ALWAYS AS (stock_min - stock)");
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+        userRepository.save(User.builder().firstName("Plan").lastName("Ner").email(EMAIL)
+                .password(passwordEncoder.encode(PASSWORD)).role(RoleUtilisateur.PLANIFICATEUR).build());
+        userRepository.save(User.builder().firstName("Sup").lastName("Plier").email("buyer@example.com")
+                .password(passwordEncoder.encode(PASSWORD)).role(RoleUtilisateur.RESPONSABLE_ACHATS).build());
+
+        List<Supplier> suppliers = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            suppliers.add(supplierRepository.save(Supplier.builder().name("Supplier " + i)
+                    .contact("contact" + i + "@example.com").rating(i % 2 == 0 ? 4.5 : null).leadTime(1 + i).build()));
+        }
+        List<RawMaterial> materials = new ArrayList<>();
+        for (int i = 0; i < MATERIALS; i++) {
+            materials.add(rawMaterialRepository.save(RawMaterial.builder().name(String.format("Material %03d", i))
+                    .stock(i % 40).stockMin(20).unit("kg")
+                    .suppliers(Set.of(suppliers.get(i % 12), suppliers.get((i + 5) % 12))).build()));
+        }
+        for (int i = 0; i < 30; i++) {
+            supplyOrderRepository.save(SupplyOrder.builder().supplier(suppliers.get(i % 5))
+                    .materials(Set.of(materials.get(i))).orderDate(LocalDate.now()).status(SupplyOrderStatus.EN_ATTENTE).build());
+        }
+        ProductionOrderStatus[] statuses = ProductionOrderStatus.values();
+        for (int i = 0; i < 15; i++) {
+            Product product = productRepository.save(Product.builder().name("Product " + i)
+                    .productionTime(1 + i % 4).cost(10.0 + i).stock(i).build());
+            for (int line = 0; line < i % 4; line++) {
+                billOfMaterialRepository.save(BillOfMaterial.builder().product(product)
+                        .material(materials.get(i * 4 + line)).quantity(1 + line).build());
+            }
+            for (int order = 0; order < i % 5; order++) {
+                productionOrderRepository.save(ProductionOrder.builder().product(product).quantity(1)
+                        .status(statuses[order % statuses.length]).startDate(LocalDate.now()).isPriority(false).build());
+            }
+        }
+
+        catalogDatabase = new CatalogDatabase("r2dbc:h2:mem:///reactivecatalog", "sa", "", 4, Duration.ofSeconds(3));
+        DatabaseClient databaseClient = catalogDatabase.client();
+        CatalogHandler handler = new CatalogHandler(new CatalogReadRepository(databaseClient),
+                new ReactiveEndpointAuthenticator(databaseClient, passwordEncoder, new DomainMetrics(new SimpleMeterRegistry())));
+        client = WebTestClient.bindToRouterFunction(ReactiveCatalogConfig.routes(handler)).build();
+    }
+
+    @AfterAll
+    void tearDown() {
+        catalogDatabase.destroy();
+    }
+
+    @Test
+    @DisplayName("Product page should match the MVC DTOs, bill of material ids and active order count included")
+    void products_Page_MatchesJpa() {
+        List<ProductDTO> expected = jpa(() -> productRepository.findAll(PageRequest.of(1, 5, Sort.by("idProduct")))
+                .map(productMapper::toDTO));
+
+        List<ProductDTO> actual = getList("/api/production/products?page=1&size=5", ProductDTO.class);
+
+        assertThat(actual).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Lists should return the Spring Data page body of the MVC endpoints, totals included")
+    void rawMaterials_PageBody_MatchesMvcPage() {
+        Pageable pageable = PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "name"));
+        Page<RawMaterialDTO> expected = jpaPage(() -> rawMaterialRepository.findAll(pageable).map(rawMaterialMapper::toDTO));
+
+        JsonNode counted = getPage("/api/procurement/raw-materials?page=3&size=20&sortBy=name&direction=DESC");
+        JsonNode lastPage = getPage("/api/procurement/raw-materials/search?name=material&page=12&size=20");
+
+        assertEquals(expected.getTotalElements(), counted.get("totalElements").asLong());
+        assertEquals(expected.getTotalPages(), counted.get("totalPages").asInt());
+        assertEquals(3, counted.get("number").asInt());
+        assertEquals(20, counted.get("size").asInt());
+        assertEquals(20, counted.get("numberOfElements").asInt());
+        assertFalse(counted.get("first").asBoolean());
+        assertFalse(counted.get("last").asBoolean());
+        assertTrue(counted.get("sort").get("sorted").asBoolean());
+        assertEquals(3, counted.get("pageable").get("pageNumber").asInt());
+        // Total taken from the short last page, without a count
+        assertEquals(MATERIALS, lastPage.get("totalElements").asLong());
+        assertEquals(10, lastPage.get("numberOfElements").asInt());
+        assertTrue(lastPage.get("last").asBoolean());
+        assertFalse(lastPage.get("sort").get("sorted").asBoolean());
+    }
+
+    @Test
+    @DisplayName("Raw material page should follow sortBy and direction like the MVC endpoint")
+    void rawMaterials_SortedPage_MatchesJpa() {
+        List<RawMaterialDTO> expected = jpa(() -> rawMaterialRepository.findAll(
+                PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "name"))).map(rawMaterialMapper::toDTO));
+
+        List<RawMaterialDTO> actual = getList(
+                "/api/procurement/raw-materials?page=2&size=20&sortBy=name&direction=DESC", RawMaterialDTO.class);
+
+        assertThat(actual).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Below-minimum page should match the MVC DTOs, largest deficit first")
+    void rawMaterials_BelowMinimum_MatchesJpa() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "deficit").and(Sort.by("idMaterial")));
+        List<RawMaterialDTO> expected = jpa(() -> rawMaterialRepository.findByStockLessThanStockMin(pageable)
+                .map(rawMaterialMapper::toDTO));
+
+        List<RawMaterialDTO> actual = getList("/api/procurement/raw-materials/below-minimum?size=10", RawMaterialDTO.class);
+
+        assertEquals(10, actual.size());
+        assertThat(actual).extracting(RawMaterialDTO::getDeficit)
+                .containsExactlyElementsOf(expected.stream().map(RawMaterialDTO::getDeficit).toList());
+        assertThat(actual).allMatch(RawMaterialDTO::getIsBelowMinimum);
+    }
+
+    @Test
+    @DisplayName("Supplier search should match the MVC DTOs")
+    void suppliers_Search_MatchesJpa() {
+        List<SupplierDTO> expected = jpa(() -> supplierRepository.findByNameContainingIgnoreCase("supplier 1",
+                PageRequest.of(0, 10, Sort.by("idSupplier"))).map(supplierMapper::toDTO));
+
+        List<SupplierDTO> actual = getList("/api/procurement/suppliers/search?name=SUPPLIER 1", SupplierDTO.class);
+
+        assertEquals(3, actual.size());
+        assertThat(actual).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("NDJSON without size should stream the whole catalogue in id order, across several chunks")
+    void rawMaterials_Ndjson_StreamsEveryRow() {
+        List<RawMaterialDTO> actual = client.get().uri("/api/procurement/raw-materials")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(RawMaterialDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(actual);
+        assertEquals(MATERIALS, actual.size());
+        assertThat(actual).extracting(RawMaterialDTO::getIdMaterial).isSorted();
+        assertThat(actual).allSatisfy(material -> assertEquals(2, material.getSupplierIds().size()));
+    }
+
+    @Test
+    @DisplayName("Product by id should require the same credentials and roles as the MVC endpoint")
+    void productById_Secured() {
+        Long id = jpa(() -> productRepository.findAll(PageRequest.of(0, 1, Sort.by("idProduct"))).map(Product::getIdProduct)).get(0);
+
+        client.get().uri("/api/production/products/{id}", id).exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.message").value(message -> assertThat((String) message).startsWith("Authentication headers missing"));
+        client.get().uri("/api/production/products/{id}", id)
+                .header("X-User-Email", EMAIL).header("X-User-Password", "wrong").exchange()
+                .expectStatus().isUnauthorized();
+        client.get().uri("/api/production/products/{id}", id)
+                .header("X-User-Email", "buyer@example.com").header("X-User-Password", PASSWORD).exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.message").value(message -> assertThat((String) message).startsWith("Access denied"));
+        client.get().uri("/api/production/products/{id}", id)
+                .header("X-User-Email", EMAIL).header("X-User-Password", PASSWORD).exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductDTO.class).value(product -> assertEquals(id, product.getIdProduct()));
+    }
+
+    @Test
+    @DisplayName("Unknown ids should be 404 and invalid parameters 400, with the MVC error body")
+    void errors() {
+        client.get().uri("/api/procurement/suppliers/999999").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Supplier not found with ID: 999999");
+        client.get().uri("/api/procurement/raw-materials?sortBy=password").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/procurement/raw-materials/abc").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private <T> List<T> getList(String uri, Class<T> type) {
+        JsonNode content = getPage(uri).get("content");
+        return objectMapper.convertValue(content,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+    }
+
+    private JsonNode getPage(String uri) {
+        return client.get().uri(uri).accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private <T> List<T> jpa(JpaQuery<T> query) {
+        return jpaPage(query).getContent();
+    }
+
+    private <T> Page<T> jpaPage(JpaQuery<T> query) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> query.get());
+    }
+
+    // Not java.util.function.Supplier, which clashes with the Supplier entity
+    private interface JpaQuery<T> {
+        Page<T> get();
+    }
+}
@@ -0,0 +1,189 @@
+package com.protocol.supplychainx.changefeed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.protocol.supplychainx.changefeed.controller.ChangeFeedController;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import com.protocol.supplychainx.delivery.dto.DeliveryDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ChangeFeedBrokerTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChangeFeedBroker broker;
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void createBroker(Executor executor, int replaySize, int bufferSize) {
+        broker = new ChangeFeedBroker(new ObjectMapper().findAndRegisterModules(), executor, meterRegistry,
+                replaySize, bufferSize, 60_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(broker)).build();
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private void publishDelivery(long id) {
+        broker.publish(ChangeType.DELIVERY, id, ChangeAction.UPDATED, DeliveryDTO.builder().idDelivery(id).build());
+    }
+
+    private static List<String> eventIds(MockHttpServletResponse response) throws Exception {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = EVENT_ID.matcher(response.getContentAsString());
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private double subscribers() {
+        return meterRegistry.get(ChangeFeedBroker.SUBSCRIBERS_METRIC).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should push only the changes matching the subscriber's types and IDs")
+    void subscribe_WithFilter_ReceivesMatchingChangesOnly() throws Exception {
+        createBroker(new SyncTaskExecutor(), 16, 16);
+        MockHttpServletResponse filtered = subscribe(get("/api/changes").param("types", "DELIVERY").param("ids", "7"));
+        MockHttpServletResponse all = subscribe(get("/api/changes"));
+
+        // Act
+        publishDelivery(7);
+        publishDelivery(8);
+        broker.publish(ChangeType.CUSTOMER_ORDER, 7L, ChangeAction.DELETED, null);
+
+        // Assert
+        String content = filtered.getContentAsString();
+        assertEquals(1, eventIds(filtered).size());
+        assertTrue(content.contains("event:DELIVERY"));
+        assertTrue(content.contains("\"idDelivery\":7"));
+        assertTrue(content.contains("\"action\":\"UPDATED\""));
+        assertEquals(3, eventIds(all).size());
+        assertEquals(2, subscribers());
+    }
+
+    @Test
+    @DisplayName("Should replay the events missed since Last-Event-ID")
+    void subscribe_WithLastEventId_ReplaysMissedEvents() throws Exception {
+        createBroker(new SyncTaskExecutor(), 16, 16);
+        MockHttpServletResponse first = subscribe(get("/api/changes"));
+        publishDelivery(1);
+        publishDelivery(2);
+        publishDelivery(3);
+        List<String> ids = eventIds(first);
+
+        // Act
+        MockHttpServletResponse resumed = subscribe(get("/api/changes").header("Last-Event-ID", ids.get(0)));
+        MockHttpServletResponse resumedByParam = subscribe(get("/api/changes")
+                .param("lastEventId", ids.get(1)).param("types", "DELIVERY"));
+        publishDelivery(4);
+
+        // Assert
+        assertEquals(3, ids.size());
+        assertEquals(List.of(ids.get(1), ids.get(2)), eventIds(resumed).subList(0, 2));
+        assertEquals(3, eventIds(resumed).size());
+        assertEquals(ids.get(2), eventIds(resumedByParam).get(0));
+        assertEquals(2, eventIds(resumedByParam).size());
+        assertFalse(resumed.getContentAsString().contains("event:" + ChangeFeedBroker.RESET_EVENT));
+    }
+
+    @Test
+    @DisplayName("Should send a reset event when the missed events are no longer in the ring")
+    void subscribe_WithExpiredOrForeignEventId_SendsReset() throws Exception {
+        createBroker(new SyncTaskExecutor(), 4, 16);
+        MockHttpServletResponse first = subscribe(get("/api/changes"));
+        for (long id = 1; id <= 6; id++) {
+            publishDelivery(id);
+        }
+        List<String> ids = eventIds(first);
+
+        // Act
+        MockHttpServletResponse expired = subscribe(get("/api/changes").header("Last-Event-ID", ids.get(0)));
+        MockHttpServletResponse oldestKept = subscribe(get("/api/changes").header("Last-Event-ID", ids.get(1)));
+        MockHttpServletResponse foreign = subscribe(get("/api/changes").header("Last-Event-ID", "previousrun-3"));
+
+        // Assert
+        assertTrue(expired.getContentAsString().contains("event:" + ChangeFeedBroker.RESET_EVENT));
+        assertEquals(List.of(ids.get(5)), eventIds(expired));
+        assertEquals(ids.subList(2, 6), eventIds(oldestKept));
+        assertTrue(foreign.getContentAsString().contains("event:" + ChangeFeedBroker.RESET_EVENT));
+    }
+
+    @Test
+    @DisplayName("Should evict a subscriber whose buffer is full without blocking the publisher")
+    void publish_SlowSubscriber_IsEvicted() throws Exception {
+        List<Runnable> pendingSends = new ArrayList<>();
+        createBroker(pendingSends::add, 16, 2);
+        MockHttpServletResponse slow = subscribe(get("/api/changes"));
+
+        // Act: the sender never runs, as if the client stopped reading
+        publishDelivery(1);
+        publishDelivery(2);
+        publishDelivery(3);
+        publishDelivery(4);
+
+        // Assert
+        assertEquals(1, meterRegistry.get(ChangeFeedBroker.EVICTIONS_METRIC).counter().count());
+        assertEquals(0, subscribers());
+        assertEquals(1, pendingSends.size());
+
+        pendingSends.get(0).run();
+        assertTrue(eventIds(slow).isEmpty());
+        assertNotNull(slow.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should push a change only once its transaction commits")
+    void publish_InTransaction_WaitsForCommit() throws Exception {
+        createBroker(new SyncTaskExecutor(), 16, 16);
+        MockHttpServletResponse response = subscribe(get("/api/changes"));
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        publishDelivery(1);
+        List<TransactionSynchronization> committed = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        publishDelivery(2);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Assert
+        assertTrue(eventIds(response).isEmpty());
+        committed.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, eventIds(response).size());
+        assertTrue(response.getContentAsString().contains("\"idDelivery\":1"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.protocol.supplychainx.config.aop;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryAspectTest {
+
+    static class StockService {
+        int calls;
+        int conflictsBeforeSuccess;
+
+        @RetryOnConflict(maxAttempts = 3, backoffMs = 1, maxBackoffMs = 2)
+        public String adjustStock() {
+            calls++;
+            if (calls <= conflictsBeforeSuccess) {
+                throw new ObjectOptimisticLockingFailureException("Product", 1L);
+            }
+            return "ok";
+        }
+
+        @RetryOnConflict(maxAttempts = 2, backoffMs = 1, maxBackoffMs = 1)
+        public void jpaConflict() {
+            calls++;
+            throw new OptimisticLockException("stale");
+        }
+
+        @RetryOnConflict
+        public void otherFailure() {
+            calls++;
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockService target;
+    private StockService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new StockService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OptimisticLockRetryAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Should re-execute the method until the conflict clears")
+    void retry_ConflictThenSuccess() {
+        // Arrange
+        target.conflictsBeforeSuccess = 2;
+
+        // Act
+        String result = service.adjustStock();
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(3, target.calls);
+        assertEquals(2.0, count(OptimisticLockRetryAspect.CONFLICTS_METRIC, "adjustStock"));
+        assertEquals(2.0, count(OptimisticLockRetryAspect.RETRIES_METRIC, "adjustStock"));
+        assertEquals(0.0, count(OptimisticLockRetryAspect.EXHAUSTED_METRIC, "adjustStock"));
+    }
+
+    @Test
+    @DisplayName("Should rethrow the conflict once attempts are exhausted")
+    void retry_Exhausted() {
+        // Act & Assert
+        assertThrows(OptimisticLockException.class, () -> service.jpaConflict());
+        assertEquals(2, target.calls);
+        assertEquals(2.0, count(OptimisticLockRetryAspect.CONFLICTS_METRIC, "jpaConflict"));
+        assertEquals(1.0, count(OptimisticLockRetryAspect.RETRIES_METRIC, "jpaConflict"));
+        assertEquals(1.0, count(OptimisticLockRetryAspect.EXHAUSTED_METRIC, "jpaConflict"));
+    }
+
+    @Test
+    @DisplayName("Should not retry other exceptions")
+    void retry_OtherException() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service.otherFailure());
+        assertEquals(1, target.calls);
+    }
+
+    @Test
+    @DisplayName("Should leave the retry to the outer call when a transaction is already active")
+    void retry_InsideTransaction_NotRetried() {
+        // Arrange
+        target.conflictsBeforeSuccess = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.adjustStock());
+        assertEquals(1, target.calls);
+    }
+
+    @Test
+    @DisplayName("Should keep the jittered backoff within the doubling ceiling")
+    void backoff_WithinCeiling() throws Exception {
+        // Arrange
+        RetryOnConflict defaults = StockService.class.getMethod("otherFailure").getAnnotation(RetryOnConflict.class);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            assertTrue(OptimisticLockRetryAspect.backoff(defaults, 1) <= 20);
+            assertTrue(OptimisticLockRetryAspect.backoff(defaults, 2) <= 40);
+            assertTrue(OptimisticLockRetryAspect.backoff(defaults, 10) <= 500);
+        }
+    }
+
+    private double count(String metric, String method) {
+        return meterRegistry.get(metric).tag("method", method).counter().count();
+    }
+}
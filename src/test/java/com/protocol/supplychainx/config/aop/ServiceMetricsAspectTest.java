@@ -0,0 +1,68 @@
+package com.protocol.supplychainx.config.aop;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceMetricsAspectTest {
+
+    interface IGreetingService {
+        String greet(String name);
+
+        void fail();
+    }
+
+    static class GreetingService implements IGreetingService {
+        @Override
+        public String greet(String name) {
+            return "Bonjour " + name;
+        }
+
+        @Override
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private IGreetingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new GreetingService());
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should time each call under the implementation class and method name")
+    void timeServiceCall_RecordsPerMethodTimer() {
+        // Act
+        assertEquals("Bonjour Alice", service.greet("Alice"));
+        service.greet("Bob");
+
+        // Assert
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tag("class", "GreetingService")
+                .tag("method", "greet")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    @DisplayName("Should still time calls that throw")
+    void timeServiceCall_Exception_StillRecorded() {
+        assertThrows(IllegalStateException.class, () -> service.fail());
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME).tag("method", "fail").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,99 @@
+package com.protocol.supplychainx.config.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateCacheConfigTest {
+
+    private final HibernateCacheConfig config = new HibernateCacheConfig();
+    private MockEnvironment environment;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should create every region with its default size and expiry")
+    void hibernateCacheManager_Defaults() {
+        // Act
+        cacheManager = config.hibernateCacheManager(environment);
+
+        // Assert
+        for (HibernateCacheConfig.Region region : HibernateCacheConfig.REGIONS) {
+            assertNotNull(cacheManager.getCache(region.name()), region.name());
+        }
+        CaffeineConfiguration<?, ?> product = configurationOf(HibernateCacheConfig.PRODUCT_REGION);
+        assertEquals(OptionalLong.of(10_000), product.getMaximumSize());
+        assertEquals(OptionalLong.of(TimeUnit.MINUTES.toNanos(60)), product.getExpireAfterWrite());
+        assertTrue(product.isStatisticsEnabled());
+    }
+
+    @Test
+    @DisplayName("Should never bound or expire the update timestamps region")
+    void hibernateCacheManager_TimestampsUnbounded() {
+        // Act
+        cacheManager = config.hibernateCacheManager(environment);
+
+        // Assert
+        CaffeineConfiguration<?, ?> timestamps = configurationOf(HibernateCacheConfig.UPDATE_TIMESTAMPS_REGION);
+        assertTrue(timestamps.getMaximumSize().isEmpty());
+        assertTrue(timestamps.getExpireAfterWrite().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply per-region overrides from the environment")
+    void hibernateCacheManager_Overrides() {
+        // Arrange
+        environment.setProperty("cache.l2.region.raw-material.max-entries", "250");
+        environment.setProperty("cache.l2.region.raw-material.expire-after-write-minutes", "5");
+
+        // Act
+        cacheManager = config.hibernateCacheManager(environment);
+
+        // Assert
+        CaffeineConfiguration<?, ?> rawMaterial = configurationOf(HibernateCacheConfig.RAW_MATERIAL_REGION);
+        assertEquals(OptionalLong.of(250), rawMaterial.getMaximumSize());
+        assertEquals(OptionalLong.of(TimeUnit.MINUTES.toNanos(5)), rawMaterial.getExpireAfterWrite());
+    }
+
+    @Test
+    @DisplayName("Should register cache meters for every region")
+    void hibernateCacheMetrics_BindsRegions() {
+        // Arrange
+        cacheManager = config.hibernateCacheManager(environment);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        config.hibernateCacheMetrics(cacheManager).bindTo(registry);
+
+        // Assert
+        for (HibernateCacheConfig.Region region : HibernateCacheConfig.REGIONS) {
+            assertNotNull(registry.find("cache.puts").tag("cache", region.name()).functionCounter(), region.name());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configurationOf(String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+    }
+}
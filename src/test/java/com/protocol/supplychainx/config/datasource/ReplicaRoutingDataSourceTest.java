@@ -0,0 +1,124 @@
+package com.protocol.supplychainx.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Replica first;
+    private Replica second;
+    private Replica third;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        first = replica("replica-0", 5);
+        second = replica("replica-1", 1);
+        third = replica("replica-2", 3);
+    }
+
+    @Test
+    @DisplayName("Should rotate over available replicas and skip unavailable ones")
+    void roundRobin_SkipsUnavailable() {
+        // Arrange
+        first.markAvailable(0);
+        second.markUnavailable(30);
+        third.markAvailable(1);
+        ReplicaRoutingDataSource router = router(ReplicaSelection.ROUND_ROBIN);
+
+        // Act & Assert
+        assertEquals("replica-0", router.determineCurrentLookupKey());
+        assertEquals("replica-2", router.determineCurrentLookupKey());
+        assertEquals("replica-2", router.determineCurrentLookupKey());
+        assertEquals("replica-0", router.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Should pick the available replica with the fewest active connections")
+    void leastLoaded_PicksFewestActive() {
+        // Arrange
+        first.markAvailable(0);
+        second.markUnavailable(-1);
+        third.markAvailable(0);
+        ReplicaRoutingDataSource router = router(ReplicaSelection.LEAST_LOADED);
+
+        // Act
+        Object key = router.determineCurrentLookupKey();
+
+        // Assert
+        assertEquals("replica-2", key);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when no replica is available")
+    void noReplicaAvailable_FallsBackToPrimary() {
+        // Arrange
+        ReplicaRoutingDataSource router = router(ReplicaSelection.ROUND_ROBIN);
+
+        // Act
+        Object key = router.determineCurrentLookupKey();
+
+        // Assert
+        assertNull(key);
+        assertEquals(1.0, meterRegistry.get("supplychainx.datasource.replica.fallbacks").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should take a lagging replica out of rotation and bring it back once caught up")
+    void healthCheck_LagGuard() {
+        // Arrange
+        ReplicaHealthChecker checker = spy(new ReplicaHealthChecker(List.of(first), 5));
+        doReturn(12L).doReturn(2L).when(checker).replicationLag(first);
+        first.markAvailable(0);
+
+        // Act & Assert
+        checker.check(first);
+        assertFalse(first.isAvailable());
+        assertEquals(12L, first.getLagSeconds());
+
+        checker.check(first);
+        assertTrue(first.isAvailable());
+        assertEquals(2L, first.getLagSeconds());
+    }
+
+    @Test
+    @DisplayName("Should mark a replica unavailable when replication is stopped or it is unreachable")
+    void healthCheck_StoppedOrUnreachable() {
+        // Arrange
+        ReplicaHealthChecker checker = spy(new ReplicaHealthChecker(List.of(first, second), 5));
+        doReturn(-1L).when(checker).replicationLag(first);
+        doThrow(new IllegalStateException("Connection refused")).when(checker).replicationLag(second);
+        first.markAvailable(0);
+        second.markAvailable(0);
+
+        // Act
+        checker.checkReplicas();
+
+        // Assert
+        assertFalse(first.isAvailable());
+        assertFalse(second.isAvailable());
+    }
+
+    private ReplicaRoutingDataSource router(ReplicaSelection selection) {
+        return new ReplicaRoutingDataSource(mock(DataSource.class), List.of(first, second, third), selection, meterRegistry);
+    }
+
+    private static Replica replica(String name, int activeConnections) {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        lenient().when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        lenient().when(pool.getActiveConnections()).thenReturn(activeConnections);
+        return new Replica(name, dataSource);
+    }
+}
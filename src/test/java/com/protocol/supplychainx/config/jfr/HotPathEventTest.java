@@ -0,0 +1,68 @@
+package com.protocol.supplychainx.config.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotPathEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should commit ids, outcome, DB and CPU time when recording")
+    void finish_Recording_CommitsEvent() throws Exception {
+        Path file = tempDir.resolve("events.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(CustomerOrderCreateEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            // Act
+            CustomerOrderCreateEvent event = new CustomerOrderCreateEvent();
+            event.start();
+            DbTimeTracker.add(5_000_000L);
+            event.setOrderId(7L);
+            event.setProductId(3L);
+            event.setQuantity(12);
+            event.finish(HotPathEvent.SUCCESS);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.protocol.supplychainx.CustomerOrderCreate"))
+                .toList();
+        assertEquals(1, events.size());
+        RecordedEvent recorded = events.get(0);
+        assertEquals(7L, recorded.getLong("orderId"));
+        assertEquals(12, recorded.getInt("quantity"));
+        assertEquals(HotPathEvent.SUCCESS, recorded.getString("outcome"));
+        assertEquals(Duration.ofMillis(5), recorded.getDuration("dbTime"));
+        assertTrue(recorded.getDuration("cpuTime").toNanos() >= 0);
+        assertFalse(DbTimeTracker.isTracking());
+    }
+
+    @Test
+    @DisplayName("Should not track DB time when no recording is enabled")
+    void start_NotRecording_DoesNothing() {
+        CustomerOrderCreateEvent event = new CustomerOrderCreateEvent();
+
+        event.start();
+
+        assertFalse(DbTimeTracker.isTracking());
+        event.finish(HotPathEvent.SUCCESS);
+        assertFalse(DbTimeTracker.isTracking());
+    }
+}
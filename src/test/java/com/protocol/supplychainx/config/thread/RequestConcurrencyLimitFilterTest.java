@@ -0,0 +1,121 @@
+package com.protocol.supplychainx.config.thread;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestConcurrencyLimitFilter(1, 50, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should pass requests through while under the limit")
+    void doFilter_UnderLimit_PassesThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/delivery/orders"), response, chain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/delivery/orders"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, meterRegistry.get(RequestConcurrencyLimitFilter.SHED_METRIC).counter().count());
+        assertEquals(0, meterRegistry.get(RequestConcurrencyLimitFilter.IN_FLIGHT_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After once the limit is reached")
+    void doFilter_LimitReached_Returns503() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread holder = new Thread(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/delivery/orders"), new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        holder.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/delivery/orders"), response, chain);
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(chain.getRequest());
+        assertEquals(1, meterRegistry.get(RequestConcurrencyLimitFilter.SHED_METRIC).counter().count());
+        assertEquals(1, meterRegistry.get(RequestConcurrencyLimitFilter.IN_FLIGHT_METRIC).gauge().value());
+
+        release.countDown();
+        holder.join(5_000);
+        assertEquals(0, meterRegistry.get(RequestConcurrencyLimitFilter.IN_FLIGHT_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should never limit actuator endpoints")
+    void doFilter_Actuator_NotLimited() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/production/products"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            entered.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        holder.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // Act
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+
+        release.countDown();
+        holder.join(5_000);
+    }
+}
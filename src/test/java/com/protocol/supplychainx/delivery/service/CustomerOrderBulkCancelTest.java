@@ -0,0 +1,135 @@
+package com.protocol.supplychainx.delivery.service;
+
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.DeliveryStatus;
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import com.protocol.supplychainx.config.metrics.DomainMetrics;
+import com.protocol.supplychainx.delivery.entity.Customer;
+import com.protocol.supplychainx.delivery.entity.CustomerOrder;
+import com.protocol.supplychainx.delivery.entity.Delivery;
+import com.protocol.supplychainx.delivery.repository.CustomerOrderRepository;
+import com.protocol.supplychainx.delivery.repository.CustomerRepository;
+import com.protocol.supplychainx.delivery.repository.DeliveryRepository;
+import com.protocol.supplychainx.delivery.service.impl.CustomerOrderService;
+import com.protocol.supplychainx.hotstock.service.HotStockService;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bulk cancellation against H2: only orders still in preparation go, and their stock comes back order by order
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class CustomerOrderBulkCancelTest {
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private CustomerOrderRepository customerOrderRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private DeliveryRepository deliveryRepository;
+
+    private DomainEventOutboxService domainEventOutboxService;
+    private StockLedgerService stockLedgerService;
+    private HotStockService hotStockService;
+    private CustomerOrderService customerOrderService;
+    private Long productId;
+    private Long firstId;
+    private Long secondId;
+    private Long shippedId;
+
+    @BeforeEach
+    void setUp() {
+        domainEventOutboxService = mock(DomainEventOutboxService.class);
+        stockLedgerService = mock(StockLedgerService.class);
+        hotStockService = mock(HotStockService.class);
+        when(hotStockService.isHot(anyLong())).thenReturn(false);
+        customerOrderService = new CustomerOrderService(customerOrderRepository, customerRepository, productRepository,
+                null, mock(DomainMetrics.class), domainEventOutboxService, stockLedgerService, hotStockService,
+                deliveryRepository);
+
+        Customer customer = entityManager.persist(Customer.builder().name("Customer").city("Paris").build());
+        Product product = entityManager.persist(Product.builder()
+                .name("Product").productionTime(2).cost(10.0).stock(50).build());
+        productId = product.getIdProduct();
+        firstId = persistOrder(customer, product, 3, CustomerOrderStatus.EN_PREPARATION);
+        secondId = persistOrder(customer, product, 4, CustomerOrderStatus.EN_PREPARATION);
+        shippedId = persistOrder(customer, product, 5, CustomerOrderStatus.EN_ROUTE);
+        entityManager.persist(Delivery.builder().order(entityManager.find(CustomerOrder.class, firstId))
+                .vehicle("Van").driver("Driver").status(DeliveryStatus.PLANIFIEE).deliveryDate(LocalDate.now()).build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Long persistOrder(Customer customer, Product product, int quantity, CustomerOrderStatus status) {
+        return entityManager.persist(CustomerOrder.builder()
+                .customer(customer).product(product).quantity(quantity).status(status).build())
+                .getIdOrder();
+    }
+
+    @Test
+    @DisplayName("Should cancel the orders in preparation, give their stock back and return the others")
+    void cancelCustomerOrders_CancelsOrdersInPreparationAndRejectsTheRest() {
+        // Act
+        BulkTransitionResultDTO result = customerOrderService.cancelCustomerOrders(List.of(firstId, secondId, shippedId, -1L));
+
+        // Assert
+        assertEquals(2, result.getTransitioned());
+        assertEquals(List.of(shippedId, -1L), result.getRejectedIds());
+        verify(stockLedgerService).record(StockItemType.PRODUCT, productId, 3, StockMovementReason.CUSTOMER_ORDER_CANCELLED, firstId);
+        verify(stockLedgerService).record(StockItemType.PRODUCT, productId, 4, StockMovementReason.CUSTOMER_ORDER_CANCELLED, secondId);
+        verify(stockLedgerService, never()).record(any(), any(), anyInt(), any(), eq(shippedId));
+        verify(domainEventOutboxService, times(2))
+                .record(eq(ChangeType.CUSTOMER_ORDER), anyLong(), eq(ChangeAction.DELETED), any());
+
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(57, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(List.of(shippedId), customerOrderRepository.findAll().stream().map(CustomerOrder::getIdOrder).toList());
+        assertEquals(0, deliveryRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should give the stock of a hot product back through the in-memory counters")
+    void cancelCustomerOrders_GivesHotStockBackThroughTheCounters() {
+        when(hotStockService.isHot(productId)).thenReturn(true);
+        when(hotStockService.tryApply(eq(productId), anyInt(), any(), anyLong())).thenReturn(true);
+
+        // Act
+        BulkTransitionResultDTO result = customerOrderService.cancelCustomerOrders(List.of(firstId, secondId));
+
+        // Assert
+        assertEquals(2, result.getTransitioned());
+        verify(hotStockService).tryApply(productId, 3, StockMovementReason.CUSTOMER_ORDER_CANCELLED, firstId);
+        verify(hotStockService).tryApply(productId, 4, StockMovementReason.CUSTOMER_ORDER_CANCELLED, secondId);
+        verify(stockLedgerService, never()).record(any(), any(), anyInt(), any(), any());
+    }
+}
@@ -0,0 +1,182 @@
+package com.protocol.supplychainx.hotstock.service;
+
+import com.protocol.supplychainx.changefeed.ChangeFeedBroker;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import com.protocol.supplychainx.hotstock.StripedStockCounter;
+import com.protocol.supplychainx.hotstock.repository.HotStockFlushStateRepository;
+import com.protocol.supplychainx.ledger.repository.StockMovementRepository;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.repository.DomainEventOutboxRepository;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hot stock changes against H2, committed for real; a crash is a service dropped without flushing, replaced by a
+ * new one on the same journal directory
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({StockLedgerService.class, DomainEventOutboxService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotStockServiceTest {
+
+    @Autowired private ProductRepository productRepository;
+    @Autowired private StockLedgerService stockLedgerService;
+    @Autowired private StockMovementRepository stockMovementRepository;
+    @Autowired private DomainEventOutboxService domainEventOutboxService;
+    @Autowired private DomainEventOutboxRepository domainEventOutboxRepository;
+    @Autowired private HotStockFlushStateRepository hotStockFlushStateRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockitoBean private ChangeFeedBroker changeFeedBroker;
+
+    @TempDir private Path journalDirectory;
+
+    private TransactionTemplate transaction;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        productId = productRepository.save(Product.builder()
+                .name("Flash sale widget").productionTime(2).cost(10.0).stock(100).build()).getIdProduct();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotStockFlushStateRepository.deleteAll();
+        domainEventOutboxRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    private HotStockService start() throws Exception {
+        HotStockService service = new HotStockService(productRepository, stockLedgerService, domainEventOutboxService,
+                hotStockFlushStateRepository, transactionManager, new SimpleMeterRegistry(),
+                true, Set.of(productId), 4, journalDirectory, "test", 1024, true);
+        service.recover();
+        return service;
+    }
+
+    private boolean apply(HotStockService service, int delta, boolean commit) {
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            boolean applied = service.tryApply(productId, delta, StockMovementReason.CUSTOMER_ORDER, null);
+            if (!commit) {
+                status.setRollbackOnly();
+            }
+            return applied;
+        }));
+    }
+
+    private int storedStock() {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+
+    @Test
+    @DisplayName("Should take committed changes from the counter at once and write them to the row at the flush")
+    void tryApply_CommittedThenFlushed() throws Exception {
+        HotStockService service = start();
+
+        // Act
+        boolean ordered = apply(service, -30, true);
+        boolean rolledBack = apply(service, -50, false);
+        boolean returned = apply(service, 5, true);
+        boolean tooMany = apply(service, -76, true);
+
+        // Assert
+        assertThat(ordered).isTrue();
+        assertThat(rolledBack).isTrue();
+        assertThat(returned).isTrue();
+        assertThat(tooMany).isFalse();
+        assertThat(service.available(productId)).isEqualTo(75);
+        assertThat(storedStock()).isEqualTo(100);
+
+        assertThat(service.flush()).isEqualTo(2);
+        assertThat(storedStock()).isEqualTo(75);
+        assertThat(service.flush()).isZero();
+        assertThat(stockMovementRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should apply at startup the committed changes a crash left unflushed, once")
+    void recover_AppliesUnflushedCommittedChangesOnce() throws Exception {
+        HotStockService crashed = start();
+        apply(crashed, -10, true);
+        crashed.flush();
+        apply(crashed, -20, true);
+        apply(crashed, -40, false);
+        apply(crashed, -5, true);
+
+        // Act
+        HotStockService restarted = start();
+        HotStockService restartedAgain = start();
+
+        // Assert
+        assertThat(storedStock()).isEqualTo(65);
+        assertThat(restarted.available(productId)).isEqualTo(65);
+        assertThat(restartedAgain.available(productId)).isEqualTo(65);
+    }
+
+    @Test
+    @DisplayName("Should never let concurrent reservations take more than the stock")
+    void stripedCounter_ConcurrentReservations() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(1_000, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        for (int thread = 0; thread < 8; thread++) {
+            results.add(executor.submit(() -> {
+                int taken = 0;
+                for (int i = 0; i < 500; i++) {
+                    if (counter.tryReserve(3)) {
+                        taken += 3;
+                    }
+                }
+                return taken;
+            }));
+        }
+        int taken = 0;
+        for (Future<Integer> result : results) {
+            taken += result.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(taken + counter.available()).isEqualTo(1_000);
+        assertThat(counter.available()).isLessThan(3);
+    }
+}
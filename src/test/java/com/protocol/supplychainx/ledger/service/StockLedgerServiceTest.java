@@ -0,0 +1,129 @@
+package com.protocol.supplychainx.ledger.service;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import com.protocol.supplychainx.common.exceptions.production.ProductNotFoundException;
+import com.protocol.supplychainx.ledger.dto.StockAsOfDTO;
+import com.protocol.supplychainx.ledger.entity.StockMovement;
+import com.protocol.supplychainx.ledger.entity.StockSnapshot;
+import com.protocol.supplychainx.ledger.repository.StockMovementRepository;
+import com.protocol.supplychainx.ledger.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(StockLedgerService.class)
+class StockLedgerServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 8, 0);
+
+    @Autowired private StockLedgerService stockLedgerService;
+    @Autowired private StockMovementRepository stockMovementRepository;
+    @Autowired private StockSnapshotRepository stockSnapshotRepository;
+
+    private void movement(StockItemType itemType, long itemId, int delta, LocalDateTime occurredAt) {
+        stockMovementRepository.save(StockMovement.builder()
+                .itemType(itemType)
+                .itemId(itemId)
+                .delta(delta)
+                .reason(StockMovementReason.MANUAL_ADJUSTMENT)
+                .occurredAt(occurredAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should replay the movements up to the requested time when there is no snapshot")
+    void getStockAsOf_WithoutSnapshot_ReplaysMovements() {
+        movement(StockItemType.PRODUCT, 1, 100, T0);
+        movement(StockItemType.PRODUCT, 1, -30, T0.plusHours(2));
+        movement(StockItemType.PRODUCT, 1, -20, T0.plusHours(4));
+        movement(StockItemType.RAW_MATERIAL, 1, 999, T0.plusHours(1));
+
+        // Act
+        StockAsOfDTO stock = stockLedgerService.getStockAsOf(StockItemType.PRODUCT, 1L, T0.plusHours(3));
+
+        // Assert
+        assertThat(stock.getStock()).isEqualTo(70);
+        assertThat(stock.getMovementsReplayed()).isEqualTo(2);
+        assertThat(stock.getSnapshotTakenAt()).isNull();
+        assertThat(stockLedgerService.getStockAsOf(StockItemType.PRODUCT, 1L, T0.plusHours(2)).getStock()).isEqualTo(70);
+        assertThatThrownBy(() -> stockLedgerService.getStockAsOf(StockItemType.PRODUCT, 1L, T0.minusMinutes(1)))
+                .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should start from the latest snapshot and only replay the movements after it")
+    void getStockAsOf_WithSnapshot_ReplaysOnlyLaterMovements() {
+        movement(StockItemType.PRODUCT, 1, 100, T0);
+        movement(StockItemType.PRODUCT, 1, -30, T0.plusHours(2));
+        movement(StockItemType.PRODUCT, 2, 50, T0.plusHours(2));
+        stockLedgerService.takeSnapshots(T0.plusHours(3));
+        movement(StockItemType.PRODUCT, 1, -20, T0.plusHours(4));
+        movement(StockItemType.PRODUCT, 1, 5, T0.plusHours(5));
+
+        // Act
+        StockAsOfDTO stock = stockLedgerService.getStockAsOf(StockItemType.PRODUCT, 1L, T0.plusHours(6));
+
+        // Assert
+        assertThat(stock.getStock()).isEqualTo(55);
+        assertThat(stock.getSnapshotTakenAt()).isEqualTo(T0.plusHours(3));
+        assertThat(stock.getMovementsReplayed()).isEqualTo(2);
+        assertThat(stockLedgerService.getStockAsOf(StockItemType.PRODUCT, 2L, T0.plusHours(6)).getStock()).isEqualTo(50);
+        assertThat(stockLedgerService.getStockAsOf(StockItemType.PRODUCT, 1L, T0.plusHours(1)).getStock()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should snapshot only the items that moved since the previous run, on top of their previous snapshot")
+    void takeSnapshots_Incremental() {
+        movement(StockItemType.PRODUCT, 1, 100, T0);
+        movement(StockItemType.RAW_MATERIAL, 1, 40, T0);
+        assertThat(stockLedgerService.takeSnapshots(T0.plusHours(1))).isEqualTo(2);
+        movement(StockItemType.PRODUCT, 1, -25, T0.plusHours(2));
+
+        // Act
+        int taken = stockLedgerService.takeSnapshots(T0.plusHours(3));
+        int again = stockLedgerService.takeSnapshots(T0.plusHours(3));
+
+        // Assert
+        assertThat(taken).isEqualTo(1);
+        assertThat(again).isZero();
+        StockSnapshot latest = stockSnapshotRepository
+                .findFirstByItemTypeAndItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(StockItemType.PRODUCT, 1L, T0.plusHours(3))
+                .orElseThrow();
+        assertThat(latest.getStock()).isEqualTo(75);
+        assertThat(latest.getTakenAt()).isEqualTo(T0.plusHours(3));
+    }
+
+    @Test
+    @DisplayName("Should append a movement per non-zero change and list them most recent first")
+    void record_AppendsMovements() {
+        // Act
+        stockLedgerService.record(StockItemType.RAW_MATERIAL, 7L, 12, StockMovementReason.ITEM_CREATED, null);
+        stockLedgerService.record(StockItemType.RAW_MATERIAL, 7L, 0, StockMovementReason.MANUAL_ADJUSTMENT, null);
+        stockLedgerService.record(StockItemType.RAW_MATERIAL, 7L, -4, StockMovementReason.CUSTOMER_ORDER, 3L);
+
+        // Assert
+        assertThat(stockLedgerService.getMovements(StockItemType.RAW_MATERIAL, 7L, T0, LocalDateTime.now().plusMinutes(1),
+                PageRequest.of(0, 10)))
+                .extracting("delta", "reason", "referenceOrderId")
+                .containsExactly(
+                        tuple(-4, StockMovementReason.CUSTOMER_ORDER, 3L),
+                        tuple(12, StockMovementReason.ITEM_CREATED, null));
+        assertThat(stockLedgerService.getStockAsOf(StockItemType.RAW_MATERIAL, 7L, LocalDateTime.now().plusMinutes(1))
+                .getStock()).isEqualTo(8);
+    }
+}
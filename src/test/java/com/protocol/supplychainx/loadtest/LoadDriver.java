@@ -0,0 +1,219 @@
+package com.protocol.supplychainx.loadtest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * HTTP traffic generator.
+ * In open-loop mode requests are issued on a fixed schedule at the target rate whatever the response times, and
+ * latency is measured from the scheduled start, so a slow server shows up as latency instead of a lower request
+ * rate. In closed-loop mode a fixed number of clients each send their next request as soon as the previous one
+ * completes, so the request rate is what the server sustains at that concurrency.
+ */
+class LoadDriver {
+
+    /**
+     * A weighted request type; name is the endpoint template used in the report.
+     */
+    record Scenario(String name, int weight, Function<SplittableRandom, HttpRequest> request) {
+    }
+
+    private final List<Scenario> scenarios;
+    private final int totalWeight;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    private MeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> timers = new LinkedHashMap<>();
+    private final Map<String, Counter> rejections = new LinkedHashMap<>();
+    private final Map<String, Counter> errors = new LinkedHashMap<>();
+
+    LoadDriver(List<Scenario> scenarios, int maxInFlight) {
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        this.executor = Executors.newFixedThreadPool(Math.min(maxInFlight, 64));
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sends traffic for the given duration; only measurements of the last call are kept for the report.
+     */
+    void run(double rate, Duration duration) throws InterruptedException {
+        resetMeters(duration);
+        SplittableRandom random = new SplittableRandom(7);
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Scenario scenario = pick(random);
+            HttpRequest request = scenario.request().apply(random);
+            inFlight.acquire();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        record(scenario, scheduled, response, error);
+                    });
+        }
+
+        // Let in-flight requests finish before reporting
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    /**
+     * Keeps the given number of clients busy for the given duration, each waiting for its response before
+     * sending the next request; only measurements of the last call are kept for the report.
+     */
+    void runClients(int clients, Duration duration) throws InterruptedException {
+        resetMeters(duration);
+        long end = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            sendNext(new SplittableRandom(i), end, finished);
+        }
+        finished.await();
+    }
+
+    private void sendNext(SplittableRandom random, long end, CountDownLatch finished) {
+        long start = System.nanoTime();
+        if (start >= end) {
+            finished.countDown();
+            return;
+        }
+        Scenario scenario = pick(random);
+        client.sendAsync(scenario.request().apply(random), HttpResponse.BodyHandlers.discarding())
+                .whenCompleteAsync((response, error) -> {
+                    record(scenario, start, response, error);
+                    sendNext(random, end, finished);
+                }, executor);
+    }
+
+    private void record(Scenario scenario, long startNanos, HttpResponse<?> response, Throwable error) {
+        timers.get(scenario.name()).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        // 4xx are business rejections (insufficient stock...), 5xx and I/O failures are errors
+        if (error != null || response.statusCode() >= 500) {
+            errors.get(scenario.name()).increment();
+        } else if (response.statusCode() >= 400) {
+            rejections.get(scenario.name()).increment();
+        }
+    }
+
+    void printReport(Duration duration, Path csvFile) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        String header = String.format("%-64s %9s %8s %7s %9s %9s %9s %9s %9s %9s",
+                "Endpoint", "Requests", "Rejected", "Errors", "Req/s", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+
+        Files.createDirectories(csvFile.toAbsolutePath().getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(csvFile))) {
+            csv.println("endpoint,requests,rejected,errors,throughput_rps,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            for (Scenario scenario : scenarios) {
+                Timer timer = timers.get(scenario.name());
+                long count = timer.count();
+                long rejected = (long) rejections.get(scenario.name()).count();
+                long errorCount = (long) errors.get(scenario.name()).count();
+                double[] percentiles = percentiles(timer);
+                double mean = timer.mean(TimeUnit.MILLISECONDS);
+                double max = timer.max(TimeUnit.MILLISECONDS);
+
+                System.out.printf("%-64s %,9d %,8d %,7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        scenario.name(), count, rejected, errorCount, count / seconds, mean,
+                        percentiles[0], percentiles[1], percentiles[2], max);
+                csv.printf(Locale.ROOT, "\"%s\",%d,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        scenario.name(), count, rejected, errorCount, count / seconds, mean,
+                        percentiles[0], percentiles[1], percentiles[2], max);
+            }
+        }
+        System.out.println("Report written to " + csvFile);
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private void resetMeters(Duration duration) {
+        registry.close();
+        registry = new SimpleMeterRegistry();
+        timers.clear();
+        rejections.clear();
+        errors.clear();
+        for (Scenario scenario : scenarios) {
+            timers.put(scenario.name(), Timer.builder("loadtest.request")
+                    .tag("endpoint", scenario.name())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .percentilePrecision(2)
+                    // Percentiles over the whole run rather than Micrometer's default rolling window
+                    .distributionStatisticExpiry(duration.plusMinutes(5))
+                    .distributionStatisticBufferLength(1)
+                    .register(registry));
+            rejections.put(scenario.name(), Counter.builder("loadtest.rejections")
+                    .tag("endpoint", scenario.name())
+                    .register(registry));
+            errors.put(scenario.name(), Counter.builder("loadtest.errors")
+                    .tag("endpoint", scenario.name())
+                    .register(registry));
+        }
+    }
+
+    private Scenario pick(SplittableRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            value -= scenario.weight();
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static double[] percentiles(Timer timer) {
+        double[] values = new double[3];
+        ValueAtPercentile[] snapshot = timer.takeSnapshot().percentileValues();
+        for (int i = 0; i < snapshot.length && i < values.length; i++) {
+            values[i] = snapshot[i].value(TimeUnit.MILLISECONDS);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,173 @@
+package com.protocol.supplychainx.loadtest;
+
+import com.protocol.supplychainx.SupplyChainXApplication;
+import com.protocol.supplychainx.common.enums.ProductionOrderStatus;
+import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Entry point of the load-test Maven profile.
+ * Without loadtest.target-url the application is started in-process on an in-memory database, seeded, then
+ * driven over HTTP; with a target URL the traffic goes to an already running instance, seeded through
+ * loadtest.jdbc-url when one is given.
+ */
+public class LoadTestRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        try {
+            String baseUrl;
+            DataSource dataSource;
+            if (settings.embedded()) {
+                context = startEmbedded(settings.virtualThreads());
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                baseUrl = "http://localhost:" + port;
+                dataSource = context.getBean(DataSource.class);
+            } else {
+                baseUrl = settings.targetUrl().replaceAll("/+$", "");
+                dataSource = settings.jdbcUrl().isBlank()
+                        ? null
+                        : new DriverManagerDataSource(settings.jdbcUrl(), settings.jdbcUser(), settings.jdbcPassword());
+            }
+            if (dataSource == null) {
+                throw new IllegalStateException("loadtest.jdbc-url is required with loadtest.target-url, "
+                        + "the driver reads the id ranges from the database");
+            }
+
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource);
+            if (settings.seed()) {
+                generator.generate(settings);
+            }
+            List<LoadDriver.Scenario> scenarios = scenarios(baseUrl, generator);
+
+            LoadDriver driver = new LoadDriver(scenarios, settings.maxInFlight());
+            try {
+                if (settings.closedLoop()) {
+                    System.out.printf("Warming up for %ds with %d clients against %s%n",
+                            settings.warmup().toSeconds(), settings.clients(), baseUrl);
+                    driver.runClients(settings.clients(), settings.warmup());
+                    System.out.printf("Measuring for %ds with %d clients%n", settings.duration().toSeconds(), settings.clients());
+                    driver.runClients(settings.clients(), settings.duration());
+                } else {
+                    System.out.printf("Warming up for %ds at %.0f req/s against %s%n",
+                            settings.warmup().toSeconds(), settings.rate(), baseUrl);
+                    driver.run(settings.rate(), settings.warmup());
+                    System.out.printf("Measuring for %ds at %.0f req/s%n", settings.duration().toSeconds(), settings.rate());
+                    driver.run(settings.rate(), settings.duration());
+                }
+                driver.printReport(settings.duration(), Path.of(settings.reportFile()));
+            } finally {
+                driver.close();
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        // The task scheduler built in SchedulerConfig is not a bean and keeps its non-daemon threads after close
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(boolean virtualThreads) {
+        // DevTools would relaunch the application in a restart class loader, away from the test classpath
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(SupplyChainXApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.main.banner-mode=off",
+                        "spring.docker.compose.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.liquibase.enabled=false",
+                        "spring.mail.host=localhost",
+                        "scheduler.job-lock.enabled=false",
+                        "email.outbox.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static List<LoadDriver.Scenario> scenarios(String baseUrl, SyntheticDataGenerator generator) {
+        long[] suppliers = generator.idRange("suppliers", "id_supplier");
+        long[] materials = generator.idRange("raw_materials", "id_material");
+        long[] products = generator.idRange("products", "id_product");
+        long[] customers = generator.idRange("customers", "id_customer");
+        long[] orders = generator.idRange("customer_orders", "id_order");
+        LocalDate today = LocalDate.now();
+
+        return List.of(
+                new LoadDriver.Scenario("GET /api/procurement/raw-materials/{id}", 20,
+                        r -> get(baseUrl + "/api/procurement/raw-materials/" + pick(r, materials))),
+                new LoadDriver.Scenario("GET /api/procurement/raw-materials/below-minimum", 5,
+                        r -> get(baseUrl + "/api/procurement/raw-materials/below-minimum?page=" + r.nextInt(5) + "&size=20")),
+                new LoadDriver.Scenario("GET /api/production/products", 10,
+                        r -> get(baseUrl + "/api/production/products?page=" + r.nextInt(20) + "&size=20")),
+                new LoadDriver.Scenario("GET /api/production/products/{id} (secured)", 5,
+                        r -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/production/products/" + pick(r, products)))
+                                .timeout(REQUEST_TIMEOUT)
+                                .header("X-User-Email", SyntheticDataGenerator.LOAD_TEST_EMAIL)
+                                .header("X-User-Password", SyntheticDataGenerator.LOAD_TEST_PASSWORD)
+                                .GET()
+                                .build()),
+                new LoadDriver.Scenario("GET /api/delivery/orders/{id}", 20,
+                        r -> get(baseUrl + "/api/delivery/orders/" + pick(r, orders))),
+                new LoadDriver.Scenario("GET /api/delivery/orders/customer/{customerId}", 10,
+                        r -> get(baseUrl + "/api/delivery/orders/customer/" + pick(r, customers) + "?page=0&size=20")),
+                new LoadDriver.Scenario("GET /api/production/bom/product/{productId}/check-availability", 10,
+                        r -> get(baseUrl + "/api/production/bom/product/" + pick(r, products)
+                                + "/check-availability?quantity=" + (1 + r.nextInt(20)))),
+                new LoadDriver.Scenario("POST /api/delivery/orders", 10,
+                        r -> post(baseUrl + "/api/delivery/orders", String.format(
+                                "{\"customerId\":%d,\"productId\":%d,\"quantity\":%d,\"status\":\"EN_PREPARATION\"}",
+                                pick(r, customers), pick(r, products), 1 + r.nextInt(5)))),
+                new LoadDriver.Scenario("POST /api/production/orders", 5,
+                        r -> post(baseUrl + "/api/production/orders", String.format(
+                                "{\"productId\":%d,\"quantity\":%d,\"status\":\"%s\",\"startDate\":\"%s\",\"isPriority\":%b}",
+                                pick(r, products), 1 + r.nextInt(100), ProductionOrderStatus.EN_ATTENTE,
+                                today.plusDays(r.nextInt(30)), r.nextInt(10) == 0))),
+                new LoadDriver.Scenario("POST /api/procurement/supply-orders", 5,
+                        r -> post(baseUrl + "/api/procurement/supply-orders", String.format(
+                                "{\"supplierId\":%d,\"materialIds\":[%d,%d],\"orderDate\":\"%s\",\"status\":\"%s\",\"expectedDeliveryDate\":\"%s\"}",
+                                pick(r, suppliers), pick(r, materials), pick(r, materials), today,
+                                SupplyOrderStatus.EN_ATTENTE, today.plusDays(1 + r.nextInt(30))))));
+    }
+
+    private static long pick(SplittableRandom random, long[] range) {
+        return random.nextLong(range[0], range[1] + 1);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.protocol.supplychainx.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from -Dloadtest.* system properties (see the load-test Maven profile).
+ */
+record LoadTestSettings(
+        String targetUrl,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        boolean seed,
+        int suppliers,
+        int materials,
+        int products,
+        int bomLinesPerProduct,
+        int customers,
+        int customerOrders,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int maxInFlight,
+        int clients,
+        boolean virtualThreads,
+        String reportFile) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                System.getProperty("loadtest.target-url", ""),
+                System.getProperty("loadtest.jdbc-url", ""),
+                System.getProperty("loadtest.jdbc-user", "root"),
+                System.getProperty("loadtest.jdbc-password", ""),
+                Boolean.parseBoolean(System.getProperty("loadtest.seed", "true")),
+                Integer.getInteger("loadtest.suppliers", 1_000),
+                Integer.getInteger("loadtest.materials", 10_000),
+                Integer.getInteger("loadtest.products", 1_000),
+                Integer.getInteger("loadtest.bom-lines-per-product", 8),
+                Integer.getInteger("loadtest.customers", 10_000),
+                Integer.getInteger("loadtest.customer-orders", 100_000),
+                Double.parseDouble(System.getProperty("loadtest.rate", "100")),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L)),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10L)),
+                Integer.getInteger("loadtest.max-in-flight", 256),
+                Integer.getInteger("loadtest.clients", 0),
+                Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "false")),
+                System.getProperty("loadtest.report", "target/loadtest-report.csv"));
+    }
+
+    boolean closedLoop() {
+        return clients > 0;
+    }
+
+    boolean embedded() {
+        return targetUrl.isBlank();
+    }
+}
@@ -0,0 +1,140 @@
+package com.protocol.supplychainx.loadtest;
+
+import com.protocol.supplychainx.common.enums.CustomerOrderStatus;
+import com.protocol.supplychainx.common.enums.RoleUtilisateur;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds the database with synthetic data in JDBC batches, far beyond the fixtures in schema/*.sql.
+ * Ids are left to the database; the load driver reads the id ranges back afterwards.
+ * Values come from a fixed seed so two runs with the same volumes produce the same data.
+ */
+class SyntheticDataGenerator {
+
+    static final String LOAD_TEST_EMAIL = "loadtest@supplychainx.com";
+    static final String LOAD_TEST_PASSWORD = "loadtest";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] UNITS = {"kg", "L", "m", "pièce", "tonne"};
+    private static final String[] CITIES = {"Casablanca", "Rabat", "Marrakech", "Tanger", "Fès", "Agadir", "Oujda"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean deficitIsPlainColumn;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    SyntheticDataGenerator(DataSource dataSource) throws Exception {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            // On MySQL deficit is a generated column; the in-memory stand-in has a plain column to fill
+            this.deficitIsPlainColumn = !connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        }
+    }
+
+    void generate(LoadTestSettings settings) {
+        long start = System.nanoTime();
+
+        insertUser();
+
+        insert("suppliers", "INSERT INTO suppliers (name, contact, rating, lead_time) VALUES (?, ?, ?, ?)",
+                settings.suppliers(), i -> new Object[]{
+                        "Fournisseur " + i, "contact" + i + "@fournisseur.ma",
+                        1.0 + random.nextInt(40) / 10.0, 1 + random.nextInt(30)});
+
+        insert("raw_materials", deficitIsPlainColumn
+                        ? "INSERT INTO raw_materials (name, stock, stock_min, unit, deficit, version) VALUES (?, ?, ?, ?, ?, 0)"
+                        : "INSERT INTO raw_materials (name, stock, stock_min, unit, version) VALUES (?, ?, ?, ?, 0)",
+                settings.materials(), i -> {
+                    int stockMin = 50 + random.nextInt(500);
+                    // About 5% of materials start below their minimum
+                    int stock = random.nextInt(100) < 5 ? random.nextInt(stockMin) : stockMin + random.nextInt(50_000);
+                    String unit = UNITS[random.nextInt(UNITS.length)];
+                    return deficitIsPlainColumn
+                            ? new Object[]{"Matière " + i, stock, stockMin, unit, stockMin - stock}
+                            : new Object[]{"Matière " + i, stock, stockMin, unit};
+                });
+
+        long[] supplierIds = idRange("suppliers", "id_supplier");
+        long[] materialIds = idRange("raw_materials", "id_material");
+
+        insert("material_suppliers", "INSERT INTO material_suppliers (material_id, supplier_id) VALUES (?, ?)",
+                settings.materials(), i -> new Object[]{materialIds[0] + i, pick(supplierIds)});
+
+        insert("products", "INSERT INTO products (name, production_time, cost, stock, version) VALUES (?, ?, ?, ?, 0)",
+                settings.products(), i -> new Object[]{
+                        "Produit " + i, 30 + random.nextInt(600),
+                        Math.round((10 + random.nextDouble() * 990) * 100) / 100.0, 1_000_000});
+
+        long[] productIds = idRange("products", "id_product");
+
+        // Fan-out varies around the configured average, each line on a distinct random material
+        List<Object[]> bomLines = new ArrayList<>();
+        for (long productId = productIds[0]; productId <= productIds[1]; productId++) {
+            int lines = Math.max(1, settings.bomLinesPerProduct() / 2 + random.nextInt(settings.bomLinesPerProduct() + 1));
+            long firstMaterial = pick(materialIds);
+            for (int line = 0; line < lines; line++) {
+                long materialId = materialIds[0] + (firstMaterial - materialIds[0] + line * 7919L) % (materialIds[1] - materialIds[0] + 1);
+                bomLines.add(new Object[]{productId, materialId, 1 + random.nextInt(10)});
+            }
+        }
+        insert("bill_of_materials", "INSERT INTO bill_of_materials (product_id, material_id, quantity) VALUES (?, ?, ?)",
+                bomLines.size(), bomLines::get);
+
+        insert("customers", "INSERT INTO customers (name, address, city) VALUES (?, ?, ?)",
+                settings.customers(), i -> new Object[]{
+                        "Client " + i, (1 + random.nextInt(300)) + " rue " + i, CITIES[random.nextInt(CITIES.length)]});
+
+        long[] customerIds = idRange("customers", "id_customer");
+        CustomerOrderStatus[] statuses = CustomerOrderStatus.values();
+
+        insert("customer_orders", "INSERT INTO customer_orders (customer_id, product_id, quantity, status, version) VALUES (?, ?, ?, ?, 0)",
+                settings.customerOrders(), i -> new Object[]{
+                        pick(customerIds), pick(productIds), 1 + random.nextInt(20), statuses[random.nextInt(statuses.length)].name()});
+
+        System.out.printf("Seeding completed in %d s%n", (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    /**
+     * @return {min, max} of the table ids
+     */
+    long[] idRange(String table, String idColumn) {
+        return jdbcTemplate.queryForObject("SELECT MIN(" + idColumn + "), MAX(" + idColumn + ") FROM " + table,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    private void insertUser() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, LOAD_TEST_EMAIL);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                "Load", "Test", LOAD_TEST_EMAIL, new BCryptPasswordEncoder().encode(LOAD_TEST_PASSWORD), RoleUtilisateur.ADMIN.name());
+    }
+
+    private void insert(String table, String sql, int rows, IntFunction<Object[]> row) {
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        System.out.printf("  %-20s %,10d rows in %,6d ms%n", table, rows, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private long pick(long[] range) {
+        return range[0] + random.nextLong(range[1] - range[0] + 1);
+    }
+}
@@ -0,0 +1,214 @@
+package com.protocol.supplychainx.outbox;
+
+import com.protocol.supplychainx.changefeed.ChangeFeedBroker;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import com.protocol.supplychainx.outbox.entity.DomainEventOutbox;
+import com.protocol.supplychainx.outbox.event.DomainEvent;
+import com.protocol.supplychainx.outbox.repository.DomainEventOutboxRepository;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.outbox.sink.OutboxSink;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import com.protocol.supplychainx.scheduler.ClusterJobRunner;
+import com.protocol.supplychainx.scheduler.service.ScheduledJobLockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Outbox writes against H2, committed for real so that the relay sees exactly what another node would.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(DomainEventOutboxService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DomainEventRelayTest {
+
+    @Autowired private DomainEventOutboxService domainEventOutboxService;
+    @Autowired private DomainEventOutboxRepository domainEventOutboxRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockitoBean private ChangeFeedBroker changeFeedBroker;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        domainEventOutboxRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    /** Records every batch it receives and fails the first failures of them */
+    private static class RecordingSink implements OutboxSink {
+
+        private final List<DomainEvent> received = new ArrayList<>();
+        private int failures;
+
+        RecordingSink(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void publish(List<DomainEvent> events) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("sink unavailable");
+            }
+            received.addAll(events);
+        }
+    }
+
+    private DomainEventRelay relay(List<OutboxSink> sinks, ClusterJobRunner clusterJobRunner) {
+        DomainEventRelay relay = new DomainEventRelay(domainEventOutboxService, sinks,
+                mock(ScheduledJobLockService.class), clusterJobRunner, meterRegistry);
+        ReflectionTestUtils.setField(relay, "lockEnabled", false);
+        ReflectionTestUtils.setField(relay, "batchSize", 2);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerPoll", 10);
+        ReflectionTestUtils.setField(relay, "initialBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(relay, "retentionMs", 3_600_000L);
+        ReflectionTestUtils.setField(relay, "compactionBatchSize", 2);
+        return relay;
+    }
+
+    private void recordCommitted(long aggregateId, ChangeAction action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                domainEventOutboxService.record(ChangeType.CUSTOMER_ORDER, aggregateId, action,
+                        Map.of("idOrder", aggregateId, "action", action.name())));
+    }
+
+    @Test
+    @DisplayName("Should write the event with the change, and not at all when the change rolls back")
+    void record_FollowsTheTransactionOutcome() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            Product product = productRepository.save(Product.builder()
+                    .name("Widget").productionTime(2).cost(10.0).stock(5).build());
+            domainEventOutboxService.recordStock(product);
+        });
+        transaction.executeWithoutResult(status -> {
+            Product product = productRepository.save(Product.builder()
+                    .name("Gadget").productionTime(2).cost(10.0).stock(7).build());
+            domainEventOutboxService.recordStock(product);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        List<DomainEventOutbox> rows = domainEventOutboxRepository.findAll();
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getAggregateType()).isEqualTo(ChangeType.PRODUCT_STOCK);
+        assertThat(rows.get(0).getPayload()).contains("\"name\":\"Widget\"", "\"stock\":5");
+        assertThat(rows.get(0).getPublishedAt()).isNull();
+        verify(changeFeedBroker, times(2)).publish(eq(ChangeType.PRODUCT_STOCK), any(), eq(ChangeAction.UPDATED), any());
+    }
+
+    @Test
+    @DisplayName("Should publish pending events to every sink in outbox order and mark them published")
+    void relayPendingEvents_PublishesInOrder() {
+        recordCommitted(1, ChangeAction.CREATED);
+        recordCommitted(2, ChangeAction.CREATED);
+        recordCommitted(1, ChangeAction.UPDATED);
+        RecordingSink first = new RecordingSink(0);
+        RecordingSink second = new RecordingSink(0);
+        DomainEventRelay relay = relay(List.of(first, second), mock(ClusterJobRunner.class));
+
+        // Act
+        int relayed = relay.relayPendingEvents();
+
+        // Assert
+        assertThat(relayed).isEqualTo(3);
+        assertThat(first.received).extracting(DomainEvent::getAggregateId).containsExactly(1L, 2L, 1L);
+        assertThat(first.received).extracting(DomainEvent::getEventType)
+                .containsExactly(ChangeAction.CREATED, ChangeAction.CREATED, ChangeAction.UPDATED);
+        assertThat(second.received).hasSize(3);
+        assertThat(domainEventOutboxRepository.countByPublishedAtIsNull()).isZero();
+        assertThat(relay.relayPendingEvents()).isZero();
+        assertThat(meterRegistry.get(DomainEventRelay.PUBLISHED_METRIC).counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should retry the failed batch, without letting later events overtake it")
+    void relayPendingEvents_SinkFailure_RetriesSameBatch() {
+        recordCommitted(1, ChangeAction.CREATED);
+        recordCommitted(1, ChangeAction.UPDATED);
+        recordCommitted(1, ChangeAction.DELETED);
+        RecordingSink healthy = new RecordingSink(0);
+        RecordingSink failing = new RecordingSink(1);
+        DomainEventRelay relay = relay(List.of(healthy, failing), mock(ClusterJobRunner.class));
+
+        // Act
+        int failedPoll = relay.relayPendingEvents();
+        int duringBackoff = relay.relayPendingEvents();
+        ReflectionTestUtils.setField(relay, "retryAt", 0L);
+        int retried = relay.relayPendingEvents();
+
+        // Assert
+        assertThat(failedPoll).isZero();
+        assertThat(duringBackoff).isZero();
+        assertThat(retried).isEqualTo(3);
+        assertThat(failing.received).extracting(DomainEvent::getEventType)
+                .containsExactly(ChangeAction.CREATED, ChangeAction.UPDATED, ChangeAction.DELETED);
+        // At least once: the healthy sink got the first batch twice, still in order
+        assertThat(healthy.received).extracting(DomainEvent::getEventType)
+                .containsExactly(ChangeAction.CREATED, ChangeAction.UPDATED,
+                        ChangeAction.CREATED, ChangeAction.UPDATED, ChangeAction.DELETED);
+        assertThat(meterRegistry.get(DomainEventRelay.FAILURES_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete published events past retention and keep pending ones")
+    void compactPublishedEvents_DeletesOldPublishedRowsOnly() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            recordCommitted(id, ChangeAction.CREATED);
+        }
+        List<DomainEventOutbox> rows = domainEventOutboxRepository.findAll();
+        List<Long> old = rows.subList(0, 3).stream().map(DomainEventOutbox::getIdEvent).toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            domainEventOutboxRepository.markPublished(old, LocalDateTime.now().minusDays(2));
+            domainEventOutboxRepository.markPublished(List.of(rows.get(3).getIdEvent()), LocalDateTime.now());
+        });
+
+        ClusterJobRunner clusterJobRunner = mock(ClusterJobRunner.class);
+        when(clusterJobRunner.runExclusive(eq(DomainEventRelay.COMPACTION_JOB_NAME), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, ClusterJobRunner.ClusterJob.class).run();
+            return true;
+        });
+
+        // Act
+        relay(List.of(), clusterJobRunner).compactPublishedEvents();
+
+        // Assert
+        assertThat(domainEventOutboxRepository.findAll()).extracting(DomainEventOutbox::getIdEvent)
+                .containsExactly(rows.get(3).getIdEvent(), rows.get(4).getIdEvent());
+    }
+}
@@ -0,0 +1,130 @@
+package com.protocol.supplychainx.procurement.service;
+
+import com.protocol.supplychainx.common.enums.StockItemType;
+import com.protocol.supplychainx.common.enums.StockMovementReason;
+import com.protocol.supplychainx.ledger.service.StockLedgerService;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.procurement.dto.RawMaterialDTO;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.procurement.event.LowStockEvent;
+import com.protocol.supplychainx.procurement.mapper.RawMaterialMapper;
+import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
+import com.protocol.supplychainx.procurement.repository.SupplierRepository;
+import com.protocol.supplychainx.procurement.service.impl.RawMaterialService;
+import com.protocol.supplychainx.search.service.SearchIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RawMaterialServiceTest {
+
+    @Mock
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    @Mock
+    private RawMaterialMapper rawMaterialMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DomainEventOutboxService domainEventOutboxService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @InjectMocks
+    private RawMaterialService rawMaterialService;
+
+    private RawMaterial material;
+
+    @BeforeEach
+    void setUp() {
+        material = RawMaterial.builder()
+                .idMaterial(1L)
+                .name("Steel Sheets")
+                .stock(500)
+                .stockMin(100)
+                .unit("kg")
+                .build();
+    }
+
+    private RawMaterialDTO updateWithStock(int stock) {
+        return RawMaterialDTO.builder()
+                .name("Steel Sheets")
+                .stock(stock)
+                .stockMin(100)
+                .unit("kg")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should publish low stock event when stock crosses below minimum")
+    void testUpdateRawMaterial_CrossesBelowMinimum() {
+        when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(material));
+        when(rawMaterialRepository.save(any(RawMaterial.class))).thenReturn(material);
+
+        rawMaterialService.updateRawMaterial(1L, updateWithStock(40));
+
+        ArgumentCaptor<LowStockEvent> captor = ArgumentCaptor.forClass(LowStockEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().getMaterialId());
+        assertEquals(40, captor.getValue().getStock());
+    }
+
+    @Test
+    @DisplayName("Should not publish event when material was already below minimum")
+    void testUpdateRawMaterial_AlreadyBelowMinimum() {
+        material.setStock(50);
+        when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(material));
+        when(rawMaterialRepository.save(any(RawMaterial.class))).thenReturn(material);
+
+        rawMaterialService.updateRawMaterial(1L, updateWithStock(30));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should not publish event when stock stays above minimum")
+    void testUpdateRawMaterial_AboveMinimum() {
+        when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(material));
+        when(rawMaterialRepository.save(any(RawMaterial.class))).thenReturn(material);
+
+        rawMaterialService.updateRawMaterial(1L, updateWithStock(300));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should record a stock event only when stock changes")
+    void testUpdateRawMaterial_RecordsStockChange() {
+        when(rawMaterialRepository.findById(1L)).thenReturn(Optional.of(material));
+        when(rawMaterialRepository.save(any(RawMaterial.class))).thenReturn(material);
+
+        rawMaterialService.updateRawMaterial(1L, updateWithStock(500));
+        verify(domainEventOutboxService, never()).recordStock(any(RawMaterial.class));
+
+        rawMaterialService.updateRawMaterial(1L, updateWithStock(300));
+        verify(domainEventOutboxService, times(1)).recordStock(material);
+        verify(stockLedgerService).record(StockItemType.RAW_MATERIAL, 1L, -200, StockMovementReason.MANUAL_ADJUSTMENT, null);
+    }
+}
\ No newline at end of file
@@ -6,7 +6,9 @@ import com.protocol.supplychainx.procurement.dto.SupplierDTO;
 import com.protocol.supplychainx.procurement.entity.Supplier;
 import com.protocol.supplychainx.procurement.mapper.SupplierMapper;
 import com.protocol.supplychainx.procurement.repository.SupplierRepository;
+import com.protocol.supplychainx.procurement.repository.projection.SupplierView;
 import com.protocol.supplychainx.procurement.service.impl.SupplierService;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -34,11 +36,15 @@ class SupplierServiceTest {
     @Mock
     private SupplierMapper supplierMapper;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private SupplierService supplierService;
 
     private SupplierDTO supplierDTO;
     private Supplier supplier;
+    private SupplierView supplierView;
 
     @BeforeEach
     void setUp() {
@@ -57,6 +63,8 @@ class SupplierServiceTest {
                 .rating(4.5)
                 .leadTime(7)
                 .build();
+
+        supplierView = new SupplierView(1L, "Supplier A", "contact@supplierA.com, +1234567890", 4.5, 7, 0L);
     }
 
     @Test
@@ -142,21 +150,22 @@ class SupplierServiceTest {
     @DisplayName("Should get supplier successfully")
     void testGetSupplier_Success() {
         Long supplierId = 1L;
-        when(supplierRepository.findById(supplierId)).thenReturn(Optional.of(supplier));
-        when(supplierMapper.toDTO(any(Supplier.class))).thenReturn(supplierDTO);
+        when(supplierRepository.findViewById(supplierId)).thenReturn(Optional.of(supplierView));
+        when(supplierMapper.toDTO(any(SupplierView.class))).thenReturn(supplierDTO);
 
         SupplierDTO result = supplierService.getSupplier(supplierId);
 
         assertNotNull(result);
         assertEquals(supplierDTO.getName(), result.getName());
-        verify(supplierRepository, times(1)).findById(supplierId);
+        verify(supplierRepository, times(1)).findViewById(supplierId);
+        verify(supplierRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Should throw SupplierNotFoundException when getting non-existent supplier")
     void testGetSupplier_NotFound() {
         Long supplierId = 999L;
-        when(supplierRepository.findById(supplierId)).thenReturn(Optional.empty());
+        when(supplierRepository.findViewById(supplierId)).thenReturn(Optional.empty());
 
         assertThrows(SupplierNotFoundException.class,
                 () -> supplierService.getSupplier(supplierId));
@@ -167,9 +176,9 @@ class SupplierServiceTest {
     void testGetAllSuppliers_Success() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Supplier> supplierPage = new PageImpl<>(java.util.Collections.singletonList(supplier));
-        when(supplierRepository.findAll(pageable)).thenReturn(supplierPage);
-        when(supplierMapper.toDTO(any(Supplier.class))).thenReturn(supplierDTO);
+        Page<SupplierView> supplierPage = new PageImpl<>(java.util.Collections.singletonList(supplierView));
+        when(supplierRepository.findAllViews(pageable)).thenReturn(supplierPage);
+        when(supplierMapper.toDTO(any(SupplierView.class))).thenReturn(supplierDTO);
 
         // Act
         Page<SupplierDTO> result = supplierService.getAllSuppliers(pageable);
@@ -177,7 +186,7 @@ class SupplierServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(supplierRepository, times(1)).findAll(pageable);
+        verify(supplierRepository, times(1)).findAllViews(pageable);
     }
 
     @Test
@@ -186,9 +195,9 @@ class SupplierServiceTest {
         // Arrange
         String searchName = "Supplier";
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Supplier> supplierPage = new PageImpl<>(java.util.Collections.singletonList(supplier));
-        when(supplierRepository.findByNameContainingIgnoreCase(searchName, pageable)).thenReturn(supplierPage);
-        when(supplierMapper.toDTO(any(Supplier.class))).thenReturn(supplierDTO);
+        Page<SupplierView> supplierPage = new PageImpl<>(java.util.Collections.singletonList(supplierView));
+        when(supplierRepository.findViewsByNameContainingIgnoreCase(searchName, pageable)).thenReturn(supplierPage);
+        when(supplierMapper.toDTO(any(SupplierView.class))).thenReturn(supplierDTO);
 
         // Act
         Page<SupplierDTO> result = supplierService.searchSuppliersByName(searchName, pageable);
@@ -196,7 +205,7 @@ class SupplierServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(supplierRepository, times(1)).findByNameContainingIgnoreCase(searchName, pageable);
+        verify(supplierRepository, times(1)).findViewsByNameContainingIgnoreCase(searchName, pageable);
     }
 
     @Test
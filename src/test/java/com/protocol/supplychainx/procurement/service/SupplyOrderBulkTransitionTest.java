@@ -0,0 +1,157 @@
+package com.protocol.supplychainx.procurement.service;
+
+import com.protocol.supplychainx.common.dto.BulkTransitionResultDTO;
+import com.protocol.supplychainx.common.enums.ChangeAction;
+import com.protocol.supplychainx.common.enums.ChangeType;
+import com.protocol.supplychainx.common.enums.SupplyOrderStatus;
+import com.protocol.supplychainx.outbox.service.DomainEventOutboxService;
+import com.protocol.supplychainx.procurement.dto.SupplyOrderDTO;
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.procurement.entity.Supplier;
+import com.protocol.supplychainx.procurement.entity.SupplyOrder;
+import com.protocol.supplychainx.procurement.mapper.SupplyOrderMapperImpl;
+import com.protocol.supplychainx.procurement.repository.RawMaterialRepository;
+import com.protocol.supplychainx.procurement.repository.SupplierRepository;
+import com.protocol.supplychainx.procurement.repository.SupplyOrderRepository;
+import com.protocol.supplychainx.procurement.service.impl.SupplyOrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bulk status transitions against H2: the rules are applied by the queries, chunk by chunk
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(SupplyOrderMapperImpl.class)
+class SupplyOrderBulkTransitionTest {
+
+    // More than one chunk
+    private static final int ORDERS = BulkTransitionResultDTO.CHUNK_SIZE + 200;
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private SupplyOrderRepository supplyOrderRepository;
+    @Autowired private SupplierRepository supplierRepository;
+    @Autowired private RawMaterialRepository rawMaterialRepository;
+    @Autowired private SupplyOrderMapperImpl supplyOrderMapper;
+
+    private DomainEventOutboxService domainEventOutboxService;
+    private SupplyOrderService supplyOrderService;
+    private List<Long> waitingIds;
+    private Long receivedId;
+
+    @BeforeEach
+    void setUp() {
+        domainEventOutboxService = mock(DomainEventOutboxService.class);
+        supplyOrderService = new SupplyOrderService(supplyOrderRepository, supplierRepository, rawMaterialRepository,
+                supplyOrderMapper, null, domainEventOutboxService);
+
+        Supplier supplier = entityManager.persist(Supplier.builder()
+                .name("Supplier").contact("contact@example.com").rating(4.0).leadTime(3).build());
+        RawMaterial material = entityManager.persist(RawMaterial.builder()
+                .name("Material").stock(100).stockMin(10).unit("kg").build());
+        waitingIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            waitingIds.add(persistOrder(supplier, material, SupplyOrderStatus.EN_ATTENTE));
+        }
+        receivedId = persistOrder(supplier, material, SupplyOrderStatus.RECUE);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Long persistOrder(Supplier supplier, RawMaterial material, SupplyOrderStatus status) {
+        return entityManager.persist(SupplyOrder.builder()
+                .supplier(supplier).materials(Set.of(material)).orderDate(LocalDate.now()).status(status).build())
+                .getIdOrder();
+    }
+
+    @Test
+    @DisplayName("Should move the allowed orders in a few statements per chunk and return the others")
+    void updateOrderStatuses_MovesAllowedOrdersAndRejectsTheRest() {
+        List<Long> ids = new ArrayList<>(waitingIds);
+        ids.add(receivedId);
+        ids.add(-1L);
+        ids.add(waitingIds.get(0));
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        BulkTransitionResultDTO result = supplyOrderService.updateOrderStatuses(ids, SupplyOrderStatus.EN_COURS);
+
+        // Assert
+        assertEquals(ORDERS, result.getTransitioned());
+        assertEquals(List.of(receivedId, -1L), result.getRejectedIds());
+        // Lock, update and reload per chunk
+        assertEquals(6, statistics.getPrepareStatementCount());
+        verify(domainEventOutboxService, times(ORDERS))
+                .record(eq(ChangeType.SUPPLY_ORDER), anyLong(), eq(ChangeAction.UPDATED), any(SupplyOrderDTO.class));
+
+        entityManager.clear();
+        SupplyOrder moved = supplyOrderRepository.findById(waitingIds.get(ORDERS - 1)).orElseThrow();
+        assertEquals(SupplyOrderStatus.EN_COURS, moved.getStatus());
+        assertEquals(1L, moved.getVersion());
+        assertEquals(SupplyOrderStatus.RECUE, supplyOrderRepository.findById(receivedId).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should only move orders one step forward")
+    void updateOrderStatuses_RejectsSkippedAndBackwardSteps() {
+        // Act
+        BulkTransitionResultDTO skipped = supplyOrderService.updateOrderStatuses(waitingIds.subList(0, 2), SupplyOrderStatus.RECUE);
+        BulkTransitionResultDTO backward = supplyOrderService.updateOrderStatuses(List.of(receivedId), SupplyOrderStatus.EN_ATTENTE);
+
+        // Assert
+        assertEquals(0, skipped.getTransitioned());
+        assertEquals(waitingIds.subList(0, 2), skipped.getRejectedIds());
+        assertEquals(0, backward.getTransitioned());
+        assertEquals(List.of(receivedId), backward.getRejectedIds());
+    }
+
+    @Test
+    @DisplayName("Should delete only the waiting orders with their materials and return the others")
+    void deleteSupplyOrders_DeletesWaitingOrdersAndRejectsTheRest() {
+        List<Long> ids = new ArrayList<>(waitingIds);
+        ids.add(receivedId);
+        ids.add(-1L);
+
+        // Act
+        BulkTransitionResultDTO result = supplyOrderService.deleteSupplyOrders(ids);
+
+        // Assert
+        assertEquals(ORDERS, result.getTransitioned());
+        assertEquals(List.of(receivedId, -1L), result.getRejectedIds());
+        verify(domainEventOutboxService, times(ORDERS))
+                .record(eq(ChangeType.SUPPLY_ORDER), anyLong(), eq(ChangeAction.DELETED), any());
+
+        entityManager.clear();
+        assertTrue(supplyOrderRepository.findById(waitingIds.get(ORDERS - 1)).isEmpty());
+        assertEquals(1, supplyOrderRepository.findById(receivedId).orElseThrow().getMaterials().size());
+        Number joinRows = (Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM supply_order_materials").getSingleResult();
+        assertEquals(1, joinRows.intValue());
+    }
+}
@@ -0,0 +1,116 @@
+package com.protocol.supplychainx.scheduler;
+
+import com.protocol.supplychainx.common.enums.JobRunOutcome;
+import com.protocol.supplychainx.scheduler.entity.ScheduledJobRun;
+import com.protocol.supplychainx.scheduler.service.ScheduledJobLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterJobRunnerTest {
+
+    private static final String JOB = "test-job";
+
+    @Mock
+    private ScheduledJobLockService scheduledJobLockService;
+
+    @InjectMocks
+    private ClusterJobRunner clusterJobRunner;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clusterJobRunner, "lockEnabled", true);
+        ReflectionTestUtils.setField(clusterJobRunner, "leaseMs", 60000L);
+        ReflectionTestUtils.setField(clusterJobRunner, "minHoldMs", 300000L);
+    }
+
+    @Test
+    @DisplayName("Should run job, release lease after the minimum hold and record a successful run")
+    void runExclusive_LeaseAcquired_RunsAndRecords() {
+        // Arrange
+        when(scheduledJobLockService.tryAcquire(JOB, 60000L)).thenReturn(true);
+
+        // Act
+        boolean ran = clusterJobRunner.runExclusive(JOB, () -> 42L);
+
+        // Assert
+        assertTrue(ran);
+        verify(scheduledJobLockService).release(JOB, 300000L);
+        ArgumentCaptor<ScheduledJobRun> captor = ArgumentCaptor.forClass(ScheduledJobRun.class);
+        verify(scheduledJobLockService).recordRun(captor.capture());
+        assertEquals(JobRunOutcome.SUCCES, captor.getValue().getOutcome());
+        assertEquals(42L, captor.getValue().getRowsProcessed());
+        assertEquals(JOB, captor.getValue().getJobName());
+    }
+
+    @Test
+    @DisplayName("Should skip job when another node holds the lease")
+    void runExclusive_LeaseHeldElsewhere_Skips() {
+        // Arrange
+        when(scheduledJobLockService.tryAcquire(JOB, 60000L)).thenReturn(false);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        // Act
+        boolean ran = clusterJobRunner.runExclusive(JOB, () -> {
+            executed.set(true);
+            return 0L;
+        });
+
+        // Assert
+        assertFalse(ran);
+        assertFalse(executed.get());
+        verify(scheduledJobLockService, never()).release(any(), anyLong());
+        verify(scheduledJobLockService, never()).recordRun(any());
+    }
+
+    @Test
+    @DisplayName("Should record a failed run and still release the lease")
+    void runExclusive_JobThrows_RecordsFailure() {
+        // Arrange
+        when(scheduledJobLockService.tryAcquire(JOB, 60000L)).thenReturn(true);
+
+        // Act
+        clusterJobRunner.runExclusive(JOB, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // Assert
+        verify(scheduledJobLockService).release(JOB, 300000L);
+        ArgumentCaptor<ScheduledJobRun> captor = ArgumentCaptor.forClass(ScheduledJobRun.class);
+        verify(scheduledJobLockService).recordRun(captor.capture());
+        assertEquals(JobRunOutcome.ECHEC, captor.getValue().getOutcome());
+        assertEquals("boom", captor.getValue().getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should renew held leases and stop renewing a lost one")
+    void renewHeldLeases_LostLease_StopsRenewing() {
+        // Arrange
+        when(scheduledJobLockService.tryAcquire(JOB, 60000L)).thenReturn(true);
+        when(scheduledJobLockService.renew(JOB, 60000L)).thenReturn(false);
+
+        // Act: renew from inside the running job, as the heartbeat would
+        clusterJobRunner.runExclusive(JOB, () -> {
+            clusterJobRunner.renewHeldLeases();
+            clusterJobRunner.renewHeldLeases();
+            return 0L;
+        });
+
+        // Assert
+        verify(scheduledJobLockService, times(1)).renew(JOB, 60000L);
+    }
+}
@@ -0,0 +1,139 @@
+package com.protocol.supplychainx.scheduler;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LowStockReportTest {
+
+    private final List<String> subjects = new ArrayList<>();
+    private final List<String> bodies = new ArrayList<>();
+    private final List<LowStockReport.Part> parts = new ArrayList<>();
+
+    private RawMaterial material(long id, int stock, int stockMin) {
+        RawMaterial material = new RawMaterial();
+        material.setIdMaterial(id);
+        material.setName("Matière " + id);
+        material.setStock(stock);
+        material.setStockMin(stockMin);
+        material.setUnit("kg");
+        return material;
+    }
+
+    @Test
+    @DisplayName("Should send a single email when the report fits in one part")
+    void finish_SmallReport_SendsSingleEmail() {
+        // Arrange
+        LowStockReport report = new LowStockReport(10, part -> { subjects.add(part.subject()); bodies.add(part.htmlBody()); });
+
+        // Act
+        report.add(material(1L, 0, 100));
+        report.add(material(2L, 10, 20));
+        report.finish();
+
+        // Assert
+        assertEquals(List.of(LowStockReport.SUBJECT), subjects);
+        assertEquals(2, report.getMaterialCount());
+        assertEquals(110, report.getTotalDeficit());
+        assertEquals(1, report.getPartCount());
+        assertTrue(bodies.get(0).contains("Matière 1"));
+        assertTrue(bodies.get(0).contains("Matière 2"));
+    }
+
+    @Test
+    @DisplayName("Should split a large report into parts followed by a summary")
+    void finish_LargeReport_SendsPartsAndSummary() {
+        // Arrange
+        LowStockReport report = new LowStockReport(2, part -> { subjects.add(part.subject()); bodies.add(part.htmlBody()); });
+
+        // Act
+        for (long id = 1; id <= 5; id++) {
+            report.add(material(id, 0, 10));
+        }
+        report.finish();
+
+        // Assert
+        assertEquals(List.of(
+                LowStockReport.SUBJECT + " (partie 1)",
+                LowStockReport.SUBJECT + " (partie 2)",
+                LowStockReport.SUBJECT + " (partie 3)",
+                LowStockReport.SUBJECT + " (résumé)"), subjects);
+        assertEquals(3, report.getPartCount());
+        assertEquals(50, report.getTotalDeficit());
+        assertTrue(bodies.get(2).contains("Matière 5"));
+        assertFalse(bodies.get(2).contains("Matière 1<"));
+    }
+
+    @Test
+    @DisplayName("Should send nothing when no material is below minimum")
+    void finish_EmptyReport_SendsNothing() {
+        LowStockReport report = new LowStockReport(2, part -> subjects.add(part.subject()));
+
+        report.finish();
+
+        assertTrue(subjects.isEmpty());
+        assertEquals(0, report.getPartCount());
+    }
+
+    @Test
+    @DisplayName("Should mark worse shortages and list recovered materials")
+    void finish_WithChangesAndRecovered_RendersBoth() {
+        // Arrange
+        LowStockReport report = new LowStockReport(10, part -> { subjects.add(part.subject()); bodies.add(part.htmlBody()); });
+
+        // Act
+        report.add(material(1L, 0, 100), 60);
+        report.addRecovered(material(2L, 80, 50));
+        report.finish();
+
+        // Assert
+        assertEquals(1, subjects.size());
+        assertTrue(bodies.get(0).contains("Aggravé (+40)"));
+        assertTrue(bodies.get(0).contains("Matière 2"));
+        assertEquals(1, report.getRecoveredCount());
+    }
+
+    @Test
+    @DisplayName("Should send an email when materials only recovered")
+    void finish_OnlyRecovered_SendsSingleEmail() {
+        LowStockReport report = new LowStockReport(10, part -> subjects.add(part.subject()));
+
+        report.addRecovered(material(2L, 80, 50));
+        report.finish();
+
+        assertEquals(List.of(LowStockReport.SUBJECT), subjects);
+    }
+
+    @Test
+    @DisplayName("Should split recovered materials into parts carrying the materials they report")
+    void finish_ManyRecovered_SplitsRecoveredIntoParts() {
+        // Arrange
+        LowStockReport report = new LowStockReport(2, parts::add);
+
+        // Act
+        report.add(material(1L, 0, 10));
+        for (long id = 2; id <= 4; id++) {
+            report.addRecovered(material(id, 80, 50));
+        }
+        report.finish();
+
+        // Assert
+        assertEquals(List.of(
+                LowStockReport.SUBJECT + " (partie 1)",
+                LowStockReport.SUBJECT + " (partie 2)",
+                LowStockReport.SUBJECT + " (résumé)"), parts.stream().map(LowStockReport.Part::subject).toList());
+        assertEquals(List.of(1L), parts.get(0).alerted().stream().map(change -> change.material().getIdMaterial()).toList());
+        assertEquals(List.of(2L), parts.get(0).recovered().stream().map(RawMaterial::getIdMaterial).toList());
+        assertTrue(parts.get(1).alerted().isEmpty());
+        assertEquals(List.of(3L, 4L), parts.get(1).recovered().stream().map(RawMaterial::getIdMaterial).toList());
+        assertFalse(parts.get(1).htmlBody().contains("Matière 2<"));
+        assertTrue(parts.get(2).alerted().isEmpty());
+        assertTrue(parts.get(2).recovered().isEmpty());
+        assertEquals(3, report.getRecoveredCount());
+    }
+}
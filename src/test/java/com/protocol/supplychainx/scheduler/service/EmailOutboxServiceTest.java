@@ -0,0 +1,112 @@
+package com.protocol.supplychainx.scheduler.service;
+
+import com.protocol.supplychainx.common.enums.EmailOutboxStatus;
+import com.protocol.supplychainx.scheduler.entity.EmailOutbox;
+import com.protocol.supplychainx.scheduler.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    private EmailOutbox email;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutboxService, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(emailOutboxService, "maxBackoffMs", 5000L);
+
+        email = EmailOutbox.builder()
+                .idEmail(1L)
+                .recipients("a@supplychainx.com")
+                .subject("Subject")
+                .body("<p>Body</p>")
+                .status(EmailOutboxStatus.EN_COURS)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should queue email with trimmed recipients")
+    void testEnqueueHtmlEmail() {
+        when(emailOutboxRepository.save(any(EmailOutbox.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        emailOutboxService.enqueueHtmlEmail(new String[]{"a@x.com", " b@x.com"}, "Subject", "<p>Body</p>");
+
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+        assertEquals("a@x.com,b@x.com", captor.getValue().getRecipients());
+        assertEquals(EmailOutboxStatus.EN_ATTENTE, captor.getValue().getStatus());
+        assertEquals(0, captor.getValue().getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should double backoff up to the configured maximum")
+    void testComputeBackoff() {
+        assertEquals(Duration.ofMillis(1000), emailOutboxService.computeBackoff(1));
+        assertEquals(Duration.ofMillis(2000), emailOutboxService.computeBackoff(2));
+        assertEquals(Duration.ofMillis(4000), emailOutboxService.computeBackoff(3));
+        assertEquals(Duration.ofMillis(5000), emailOutboxService.computeBackoff(4));
+        assertEquals(Duration.ofMillis(5000), emailOutboxService.computeBackoff(100));
+    }
+
+    @Test
+    @DisplayName("Should requeue failed email while attempts remain")
+    void testMarkFailed_Requeued() {
+        when(emailOutboxRepository.findById(1L)).thenReturn(Optional.of(email));
+
+        emailOutboxService.markFailed(1L, "Connection timed out");
+
+        assertEquals(EmailOutboxStatus.EN_ATTENTE, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertEquals("Connection timed out", email.getLastError());
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should dead-letter email after max attempts")
+    void testMarkFailed_DeadLetter() {
+        email.setAttempts(2);
+        when(emailOutboxRepository.findById(1L)).thenReturn(Optional.of(email));
+
+        emailOutboxService.markFailed(1L, "Connection timed out");
+
+        assertEquals(EmailOutboxStatus.ECHEC, email.getStatus());
+        assertEquals(3, email.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should mark email as sent")
+    void testMarkSent() {
+        when(emailOutboxRepository.findById(1L)).thenReturn(Optional.of(email));
+
+        emailOutboxService.markSent(1L);
+
+        assertEquals(EmailOutboxStatus.ENVOYE, email.getStatus());
+        assertNotNull(email.getSentAt());
+        assertNull(email.getLockedAt());
+    }
+}
@@ -0,0 +1,109 @@
+package com.protocol.supplychainx.scheduler.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput benchmark of EmailService against an embedded GreenMail SMTP server.
+ * Compares one connection per message with the pooled transport mode, one message per call and in batches of
+ * BATCH messages per SMTP session.
+ * Not part of the default test run (tag excluded by surefire):
+ * mvn test -Dtest=EmailThroughputBenchmark -Dtest.excluded-groups=
+ */
+@Tag("benchmark")
+class EmailThroughputBenchmark {
+
+    private static final int MESSAGES = 2000;
+    private static final int THREADS = 4;
+    private static final int BATCH = 20;
+    private static final String BODY = "<html><body><p>Stock critique</p></body></html>";
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void compareConnectionPerMessageWithPooledTransport() throws Exception {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        // Warm up both paths
+        run(emailService(mailSender, false), 200);
+        run(emailService(mailSender, true), 200);
+        runBatches(emailService(mailSender, true), 200);
+        greenMail.purgeEmailFromAllMailboxes();
+
+        double direct = run(emailService(mailSender, false), MESSAGES);
+        double pooled = run(emailService(mailSender, true), MESSAGES);
+        double pooledBatches = runBatches(emailService(mailSender, true), MESSAGES);
+
+        assertEquals(3 * MESSAGES, greenMail.getReceivedMessages().length);
+
+        System.out.printf("Connection per message : %8.1f msg/s%n", direct);
+        System.out.printf("Pooled transport       : %8.1f msg/s (x%.1f)%n", pooled, pooled / direct);
+        System.out.printf("Pooled batches of %-4d : %8.1f msg/s (x%.1f)%n", BATCH, pooledBatches, pooledBatches / direct);
+    }
+
+    private EmailService emailService(JavaMailSenderImpl mailSender, boolean pooled) {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, THREADS);
+        ReflectionTestUtils.setField(pool, "idleTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(pool, "validateAfterIdleMs", 5000L);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", 1000);
+        ReflectionTestUtils.setField(pool, "borrowTimeoutMs", 30000L);
+
+        EmailService emailService = new EmailService(mailSender, pool);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@supplychainx.com");
+        ReflectionTestUtils.setField(emailService, "poolEnabled", pooled);
+        return emailService;
+    }
+
+    private double run(EmailService emailService, int messages) throws Exception {
+        return measure(messages, () -> {
+            for (int i = 0; i < messages / THREADS; i++) {
+                emailService.sendHtmlEmail("procurement@supplychainx.com", "Alerte stock", BODY);
+            }
+        });
+    }
+
+    private double runBatches(EmailService emailService, int messages) throws Exception {
+        List<EmailService.HtmlEmail> batch = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(new EmailService.HtmlEmail(new String[]{"procurement@supplychainx.com"}, "Alerte stock", BODY));
+        }
+        return measure(messages, () -> {
+            for (int i = 0; i < messages / THREADS / BATCH; i++) {
+                assertEquals(0, emailService.sendHtmlEmails(batch).size());
+            }
+        });
+    }
+
+    private double measure(int messages, Runnable perThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(perThread));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return messages / ((System.nanoTime() - start) / 1_000_000_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
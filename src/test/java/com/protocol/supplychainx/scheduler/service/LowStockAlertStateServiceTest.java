@@ -0,0 +1,105 @@
+package com.protocol.supplychainx.scheduler.service;
+
+import com.protocol.supplychainx.procurement.entity.RawMaterial;
+import com.protocol.supplychainx.scheduler.entity.LowStockAlertState;
+import com.protocol.supplychainx.scheduler.repository.LowStockAlertStateRepository;
+import com.protocol.supplychainx.scheduler.service.LowStockAlertStateService.AlertChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockAlertStateServiceTest {
+
+    @Mock
+    private LowStockAlertStateRepository lowStockAlertStateRepository;
+
+    @InjectMocks
+    private LowStockAlertStateService lowStockAlertStateService;
+
+    private RawMaterial material(long id, int stock, int stockMin) {
+        RawMaterial material = new RawMaterial();
+        material.setIdMaterial(id);
+        material.setName("Matière " + id);
+        material.setStock(stock);
+        material.setStockMin(stockMin);
+        return material;
+    }
+
+    private LowStockAlertState state(long id, int deficit) {
+        return LowStockAlertState.builder()
+                .materialId(id)
+                .lastAlertedDeficit(deficit)
+                .lastAlertedAt(LocalDateTime.now().minusDays(1))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should report new and worse shortages, skip unchanged ones and write nothing")
+    void findChanges_MixedMaterials_ReturnsOnlyChanges() {
+        // Arrange
+        RawMaterial newlyShort = material(1L, 10, 50);
+        RawMaterial worse = material(2L, 0, 100);
+        RawMaterial unchanged = material(3L, 30, 40);
+        when(lowStockAlertStateRepository.findAllById(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(state(2L, 60), state(3L, 10)));
+
+        // Act
+        List<AlertChange> changes = lowStockAlertStateService.findChanges(List.of(newlyShort, worse, unchanged));
+
+        // Assert
+        assertEquals(2, changes.size());
+        assertSame(newlyShort, changes.get(0).material());
+        assertNull(changes.get(0).previousDeficit());
+        assertSame(worse, changes.get(1).material());
+        assertEquals(60, changes.get(1).previousDeficit());
+        verify(lowStockAlertStateRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should not touch the store for an empty batch")
+    void findChanges_EmptyBatch_NoQuery() {
+        assertTrue(lowStockAlertStateService.findChanges(List.of()).isEmpty());
+
+        verifyNoInteractions(lowStockAlertStateRepository);
+    }
+
+    @Test
+    @DisplayName("Should record the deficit of alerted materials and delete the state of recovered ones")
+    void record_AlertedAndRecovered_SavesAndDeletes() {
+        // Arrange
+        when(lowStockAlertStateRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(state(2L, 60)));
+
+        // Act
+        lowStockAlertStateService.record(
+                List.of(new AlertChange(material(1L, 10, 50), null), new AlertChange(material(2L, 0, 100), 60)),
+                List.of(material(5L, 80, 50)));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LowStockAlertState>> captor = ArgumentCaptor.forClass(List.class);
+        verify(lowStockAlertStateRepository).saveAll(captor.capture());
+        assertEquals(List.of(1L, 2L), captor.getValue().stream().map(LowStockAlertState::getMaterialId).toList());
+        assertEquals(List.of(40, 100), captor.getValue().stream().map(LowStockAlertState::getLastAlertedDeficit).toList());
+        verify(lowStockAlertStateRepository).deleteAllByIdInBatch(List.of(5L));
+    }
+
+    @Test
+    @DisplayName("Should skip the delete when nothing recovered")
+    void record_NothingRecovered_NoDelete() {
+        lowStockAlertStateService.record(List.of(), List.of());
+
+        verifyNoInteractions(lowStockAlertStateRepository);
+    }
+}
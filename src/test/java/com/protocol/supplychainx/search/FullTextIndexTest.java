@@ -0,0 +1,89 @@
+package com.protocol.supplychainx.search;
+
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextIndexTest {
+
+    private FullTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FullTextIndex();
+        index.put(SearchDocumentType.RAW_MATERIAL, 1, "Acier galvanisé");
+        index.put(SearchDocumentType.RAW_MATERIAL, 2, "Acier inoxydable brossé");
+        index.put(SearchDocumentType.RAW_MATERIAL, 3, "Aluminium");
+        index.put(SearchDocumentType.PRODUCT, 1, "Étagère en acier");
+        index.put(SearchDocumentType.SUPPLIER, 1, "Aciéries du Nord");
+        index.put(SearchDocumentType.USER, 1, "Youssef El Amrani");
+    }
+
+    private List<String> labels(String query, Set<SearchDocumentType> types) {
+        return index.search(query, types, 0, 10).hits().stream().map(FullTextIndex.Hit::label).toList();
+    }
+
+    @Test
+    @DisplayName("Should rank exact words before prefixes, ignoring case and accents")
+    void search_RanksExactBeforePrefix() {
+        // Act
+        List<String> labels = labels("ACIER", Set.of());
+
+        // Assert
+        assertThat(labels).containsExactly("Acier galvanisé", "Étagère en acier", "Acier inoxydable brossé",
+                "Aciéries du Nord");
+    }
+
+    @Test
+    @DisplayName("Should match substrings, typos and every query word, with a bonus for the words in order")
+    void search_SubstringTypoAndPhrase() {
+        // Assert
+        assertThat(labels("minium", Set.of())).containsExactly("Aluminium");
+        assertThat(labels("galvanzie", Set.of())).containsExactly("Acier galvanisé");
+        assertThat(labels("alumnium", Set.of())).containsExactly("Aluminium");
+        assertThat(labels("el amrani", Set.of())).containsExactly("Youssef El Amrani");
+        assertThat(labels("acier brossé", Set.of())).containsExactly("Acier inoxydable brossé");
+        assertThat(labels("acier cuivre", Set.of())).isEmpty();
+        assertThat(labels("--", Set.of())).isEmpty();
+
+        FullTextIndex.Hit phrase = index.search("acier galvanise", Set.of(), 0, 1).hits().get(0);
+        assertThat(phrase.score()).isEqualTo(FullTextIndex.EXACT_SCORE + FullTextIndex.PHRASE_BONUS);
+    }
+
+    @Test
+    @DisplayName("Should filter by type, page the ranking and count every match")
+    void search_TypesAndPaging() {
+        // Act
+        FullTextIndex.Result firstPage = index.search("acier", Set.of(SearchDocumentType.RAW_MATERIAL), 0, 1);
+        FullTextIndex.Result secondPage = index.search("acier", Set.of(SearchDocumentType.RAW_MATERIAL), 1, 1);
+        FullTextIndex.Result pastTheEnd = index.search("acier", Set.of(SearchDocumentType.RAW_MATERIAL), 5, 1);
+
+        // Assert
+        assertThat(firstPage.total()).isEqualTo(2);
+        assertThat(firstPage.hits()).extracting(FullTextIndex.Hit::id).containsExactly(1L);
+        assertThat(secondPage.hits()).extracting(FullTextIndex.Hit::id).containsExactly(2L);
+        assertThat(pastTheEnd.hits()).isEmpty();
+        assertThat(pastTheEnd.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should forget the old words of an updated document and the whole removed one")
+    void putAndRemove_KeepVocabularyConsistent() {
+        // Act
+        index.put(SearchDocumentType.RAW_MATERIAL, 3, "Cuivre recuit");
+        index.remove(SearchDocumentType.USER, 1);
+
+        // Assert
+        assertThat(labels("aluminium", Set.of())).isEmpty();
+        assertThat(labels("alu", Set.of())).isEmpty();
+        assertThat(labels("cuivre", Set.of())).containsExactly("Cuivre recuit");
+        assertThat(labels("amrani", Set.of())).isEmpty();
+        assertThat(index.size()).isEqualTo(5);
+    }
+}
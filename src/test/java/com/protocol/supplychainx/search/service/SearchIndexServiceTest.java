@@ -0,0 +1,123 @@
+package com.protocol.supplychainx.search.service;
+
+import com.protocol.supplychainx.common.enums.RoleUtilisateur;
+import com.protocol.supplychainx.common.enums.SearchDocumentType;
+import com.protocol.supplychainx.production.entity.Product;
+import com.protocol.supplychainx.production.repository.ProductRepository;
+import com.protocol.supplychainx.search.dto.SearchHitDTO;
+import com.protocol.supplychainx.user.entity.User;
+import com.protocol.supplychainx.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Index builds and writes against H2, committed for real
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.docker.compose.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SearchIndexServiceTest {
+
+    @Autowired private ProductRepository productRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private AutowireCapableBeanFactory beanFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionTemplate transaction;
+    private SearchIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new SearchIndexService(transactionManager, meterRegistry);
+        // Injects the entity manager
+        beanFactory.autowireBean(service);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long saveProduct(String name) {
+        return productRepository.save(Product.builder()
+                .name(name).productionTime(2).cost(10.0).stock(100).build()).getIdProduct();
+    }
+
+    @Test
+    @DisplayName("Should leave name searches to LIKE until built, then rank the database rows")
+    void rebuild_IndexesDatabaseRows() {
+        Long chair = saveProduct("Chaise pliante");
+        Long table = saveProduct("Table pliante en chêne");
+        Long user = userRepository.save(User.builder().firstName("Salma").lastName("Bennani")
+                .email("salma@x.io").password("pw").role(RoleUtilisateur.ADMIN).build()).getId();
+
+        // Act
+        Optional<Page<Long>> beforeBuild = service.searchIds(SearchDocumentType.PRODUCT, "pliante", PageRequest.of(0, 10));
+        service.rebuild();
+
+        // Assert
+        assertThat(beforeBuild).isEmpty();
+        assertThat(service.isReady()).isTrue();
+        assertThat(service.searchIds(SearchDocumentType.PRODUCT, "pliante", PageRequest.of(0, 10)).orElseThrow())
+                .containsExactly(chair, table);
+        assertThat(service.searchIds(SearchDocumentType.PRODUCT, "chene", PageRequest.of(0, 10)).orElseThrow())
+                .containsExactly(table);
+
+        Page<SearchHitDTO> hits = service.search("salma benani", Set.of(), PageRequest.of(0, 10));
+        assertThat(hits.getContent()).extracting(SearchHitDTO::getType, SearchHitDTO::getId, SearchHitDTO::getLabel)
+                .containsExactly(tuple(SearchDocumentType.USER, user, "Salma Bennani"));
+        assertThat(meterRegistry.get(SearchIndexService.DOCUMENTS_METRIC).gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should apply writes when their transaction commits, never when it rolls back")
+    void indexAndRemove_AfterCommitOnly() {
+        Long kept = saveProduct("Lampe de bureau");
+        service.rebuild();
+
+        // Act
+        transaction.executeWithoutResult(status -> service.index(SearchDocumentType.PRODUCT, kept, "Lampe d'atelier"));
+        transaction.executeWithoutResult(status -> {
+            service.index(SearchDocumentType.PRODUCT, 999L, "Lampe fantôme");
+            service.remove(SearchDocumentType.PRODUCT, kept);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(service.searchIds(SearchDocumentType.PRODUCT, "atelier", PageRequest.of(0, 10)).orElseThrow())
+                .containsExactly(kept);
+        assertThat(service.searchIds(SearchDocumentType.PRODUCT, "bureau", PageRequest.of(0, 10)).orElseThrow())
+                .isEmpty();
+        assertThat(service.searchIds(SearchDocumentType.PRODUCT, "fantome", PageRequest.of(0, 10)).orElseThrow())
+                .isEmpty();
+
+        transaction.executeWithoutResult(status -> service.remove(SearchDocumentType.PRODUCT, kept));
+        assertThat(service.searchIds(SearchDocumentType.PRODUCT, "lampe", PageRequest.of(0, 10)).orElseThrow())
+                .isEmpty();
+    }
+}
@@ -3,6 +3,7 @@ package com.protocol.supplychainx.user.service;
 import com.protocol.supplychainx.common.enums.RoleUtilisateur;
 import com.protocol.supplychainx.common.exceptions.user.EmailAlreadyExistsException;
 import com.protocol.supplychainx.common.exceptions.user.UserNotFoundException;
+import com.protocol.supplychainx.search.service.SearchIndexService;
 import com.protocol.supplychainx.user.dto.UserDTO;
 import com.protocol.supplychainx.user.entity.User;
 import com.protocol.supplychainx.user.mapper.UserMapper;
@@ -40,6 +41,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private UserService userService;
 